@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.nativegit;
+
+import org.eclipse.che.api.git.shared.GitUser;
+import org.eclipse.che.api.git.shared.Revision;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Reads objects of repository through long-lived {@code git cat-file --batch} process. Requests from different threads are served one
+ * by one by the same process, so repository is read without starting new git process for each request.
+ */
+public class GitObjectReader implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(GitObjectReader.class);
+
+    private static final int SHA1_LENGTH     = 40;
+    private static final int MAX_NAME_LENGTH = 200;
+
+    private final File         repository;
+    private final Process      process;
+    private final OutputStream requests;
+    private final InputStream  responses;
+    private final byte[]       lineBuffer;
+
+    private volatile long lastUsed;
+
+    /**
+     * @param repository
+     *         working directory of repository
+     * @throws IOException
+     *         if git process can't be started
+     */
+    public GitObjectReader(File repository) throws IOException {
+        this.repository = repository;
+        final ProcessBuilder pb = new ProcessBuilder("git", "cat-file", "--batch").directory(repository);
+        final Map<String, String> environment = pb.environment();
+        environment.put("HOME", System.getProperty("user.home"));
+        environment.put("LANG", "en_US.UTF-8");
+        environment.put("LANGUAGE", "us");
+        process = pb.start();
+        // Errors are reported in output for each request, nothing useful is expected in stderr. But it must be read anyway, otherwise
+        // process is blocked when pipe buffer is full.
+        final Thread errorReader = new Thread(this::logErrors, "GitObjectReader-stderr-" + repository.getName());
+        errorReader.setDaemon(true);
+        errorReader.start();
+        requests = new BufferedOutputStream(process.getOutputStream());
+        responses = new BufferedInputStream(process.getInputStream());
+        lineBuffer = new byte[256];
+        lastUsed = System.currentTimeMillis();
+    }
+
+    public File getRepository() {
+        return repository;
+    }
+
+    /** Gets time of the last request in milliseconds. */
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    public boolean isAlive() {
+        try {
+            process.exitValue();
+            return false;
+        } catch (IllegalThreadStateException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Reads content of object.
+     *
+     * @param name
+     *         name of object, e.g. SHA-1, name of branch or HEAD
+     * @return content of object or {@code null} if object doesn't exist
+     * @throws IOException
+     *         if an i/o error occurs, reader isn't usable after that
+     */
+    public byte[] read(String name) throws IOException {
+        final RawObject object = readObject(name);
+        return object == null ? null : object.content;
+    }
+
+    private synchronized RawObject readObject(String name) throws IOException {
+        if (name.indexOf('\n') >= 0 || name.length() > MAX_NAME_LENGTH) {
+            throw new IOException("Invalid object name " + name);
+        }
+        lastUsed = System.currentTimeMillis();
+        requests.write(name.getBytes(StandardCharsets.UTF_8));
+        requests.write('\n');
+        requests.flush();
+        // <sha1> SP <type> SP <size> LF, or <name> SP missing LF, or <name> SP ambiguous LF
+        final int length = readLine();
+        final int sizeStart = lastIndexOf(lineBuffer, length, ' ') + 1;
+        if (sizeStart == 0) {
+            throw new IOException("Unexpected response: " + new String(lineBuffer, 0, length, StandardCharsets.UTF_8));
+        }
+        if (!isNumber(lineBuffer, sizeStart, length)) {
+            return null;
+        }
+        if (sizeStart <= SHA1_LENGTH) {
+            throw new IOException("Unexpected response: " + new String(lineBuffer, 0, length, StandardCharsets.UTF_8));
+        }
+        final String id = new String(lineBuffer, 0, SHA1_LENGTH, StandardCharsets.US_ASCII);
+        final byte[] content = new byte[parseInt(lineBuffer, sizeStart, length)];
+        readFully(content);
+        if (responses.read() != '\n') {
+            throw new IOException("Unexpected end of object " + name);
+        }
+        return new RawObject(id, content);
+    }
+
+    /**
+     * Gets log of commits which are reachable from {@code revision} in reverse chronological order, the same order as {@code git log}
+     * shows by default.
+     *
+     * @param revision
+     *         start revision, e.g. branch name or HEAD
+     * @param count
+     *         max number of commits, {@code 0} for no limit
+     * @return list of commits or {@code null} if {@code revision} doesn't exist
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public List<Revision> log(String revision, int count) throws IOException {
+        final RawObject head = readObject(revision + "^{commit}");
+        if (head == null) {
+            return null;
+        }
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        final List<Revision> log = new ArrayList<>();
+        final Set<String> seen = new HashSet<>();
+        final PriorityQueue<Commit> queue = new PriorityQueue<>();
+        int order = 0;
+        seen.add(head.id);
+        queue.add(new Commit(head.id, head.content, order++));
+        while (!queue.isEmpty() && (count <= 0 || log.size() < count)) {
+            final Commit commit = queue.poll();
+            log.add(commit.toRevision(dtoFactory));
+            for (String parent : commit.parents) {
+                if (seen.add(parent)) {
+                    final byte[] content = read(parent);
+                    // Parent may be missing in shallow clone.
+                    if (content != null) {
+                        queue.add(new Commit(parent, content, order++));
+                    }
+                }
+            }
+        }
+        return log;
+    }
+
+    private void logErrors() {
+        try (BufferedReader errors = new BufferedReader(new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = errors.readLine()) != null) {
+                LOG.warn("git cat-file in {}: {}", repository, line);
+            }
+        } catch (IOException ignored) {
+            // Process is destroyed.
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            requests.close();
+        } catch (IOException ignored) {
+        }
+        process.destroy();
+    }
+
+    private int readLine() throws IOException {
+        int length = 0;
+        int b;
+        while ((b = responses.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException("git cat-file is terminated");
+            }
+            if (length < lineBuffer.length) {
+                lineBuffer[length++] = (byte)b;
+            }
+        }
+        return length;
+    }
+
+    private void readFully(byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            final int read = responses.read(buffer, offset, buffer.length - offset);
+            if (read < 0) {
+                throw new EOFException("git cat-file is terminated");
+            }
+            offset += read;
+        }
+    }
+
+    private static int lastIndexOf(byte[] bytes, int length, char c) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, char c) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNumber(byte[] bytes, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parseInt(byte[] bytes, int from, int to) throws IOException {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IOException("Invalid number " + new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+            }
+            value = value * 10 + digit;
+        }
+        return (int)value;
+    }
+
+    private static class RawObject {
+        final String id;
+        final byte[] content;
+
+        RawObject(String id, byte[] content) {
+            this.id = id;
+            this.content = content;
+        }
+    }
+
+    /** Commit parsed directly from raw content of object, only fields required for log are decoded. */
+    private static class Commit implements Comparable<Commit> {
+        final String       id;
+        final int          order;
+        final List<String> parents;
+        String committerName;
+        String committerEmail;
+        long   commitTime;
+        String subject;
+
+        Commit(String id, byte[] content, int order) throws IOException {
+            this.id = id;
+            this.order = order;
+            parents = new ArrayList<>(2);
+            int lineStart = 0;
+            // Headers are terminated with empty line.
+            while (lineStart < content.length && content[lineStart] != '\n') {
+                int lineEnd = indexOf(content, lineStart, content.length, '\n');
+                if (lineEnd < 0) {
+                    lineEnd = content.length;
+                }
+                if (startsWith(content, lineStart, "parent ")) {
+                    parents.add(new String(content, lineStart + 7, SHA1_LENGTH, StandardCharsets.US_ASCII));
+                } else if (startsWith(content, lineStart, "committer ")) {
+                    parseCommitter(content, lineStart + 10, lineEnd);
+                }
+                lineStart = lineEnd + 1;
+            }
+            parseSubject(content, lineStart + 1);
+        }
+
+        /** Parses "name SP &lt;email&gt; SP time SP zone". */
+        private void parseCommitter(byte[] content, int from, int to) throws IOException {
+            final int emailStart = indexOf(content, from, to, '<');
+            final int emailEnd = indexOf(content, emailStart + 1, to, '>');
+            if (emailStart < 0 || emailEnd < 0) {
+                throw new IOException("Invalid committer in commit " + id);
+            }
+            committerName = new String(content, from, Math.max(emailStart - 1 - from, 0), StandardCharsets.UTF_8);
+            committerEmail = new String(content, emailStart + 1, emailEnd - emailStart - 1, StandardCharsets.UTF_8);
+            final int timeStart = emailEnd + 2;
+            final int timeEnd = indexOf(content, timeStart, to, ' ');
+            commitTime = parseInt(content, timeStart, timeEnd < 0 ? to : timeEnd) * 1000L;
+        }
+
+        /** Subject is first paragraph of message with lines joined by space, as {@code %s} in {@code git log --format}. */
+        private void parseSubject(byte[] content, int from) {
+            final StringBuilder subject = new StringBuilder();
+            int lineStart = from;
+            while (lineStart < content.length && content[lineStart] != '\n') {
+                int lineEnd = indexOf(content, lineStart, content.length, '\n');
+                if (lineEnd < 0) {
+                    lineEnd = content.length;
+                }
+                if (subject.length() > 0) {
+                    subject.append(' ');
+                }
+                subject.append(new String(content, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+                lineStart = lineEnd + 1;
+            }
+            this.subject = subject.toString();
+        }
+
+        private static boolean startsWith(byte[] content, int from, String prefix) {
+            if (from + prefix.length() > content.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (content[from + i] != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Revision toRevision(DtoFactory dtoFactory) {
+            final GitUser committer = dtoFactory.createDto(GitUser.class).withName(committerName).withEmail(committerEmail);
+            return dtoFactory.createDto(Revision.class)
+                             .withId(id)
+                             .withMessage(subject)
+                             .withCommitTime(commitTime)
+                             .withCommitter(committer);
+        }
+
+        @Override
+        public int compareTo(Commit other) {
+            // Newest first, commits with the same time in order they are found, as git does.
+            final int result = Long.compare(other.commitTime, commitTime);
+            return result != 0 ? result : Integer.compare(order, other.order);
+        }
+    }
+}
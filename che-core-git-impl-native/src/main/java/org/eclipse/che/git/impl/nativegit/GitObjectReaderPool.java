@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.nativegit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.git.shared.Revision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one {@link GitObjectReader} per repository. Reader is started on the first request to repository and is stopped when it isn't
+ * used for {@link #IDLE_TIMEOUT} milliseconds.
+ * <p/>
+ * Methods of this class return {@code null} when request can't be served by reader, e.g. git process is terminated. Caller should
+ * fall back to regular git command in this case.
+ */
+@Singleton
+public class GitObjectReaderPool {
+    private static final Logger LOG = LoggerFactory.getLogger(GitObjectReaderPool.class);
+
+    static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+    /** Max number of running readers. Least recently used reader is stopped when this limit is reached. */
+    static final int  MAX_READERS  = 64;
+
+    private final ConcurrentMap<File, GitObjectReader> readers;
+    private final ScheduledExecutorService             cleaner;
+
+    public GitObjectReaderPool() {
+        readers = new ConcurrentHashMap<>();
+        cleaner = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("GitObjectReaderCleaner")
+                                                                                       .setDaemon(true).build());
+    }
+
+    @PostConstruct
+    void start() {
+        cleaner.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                stopIdleReaders(System.currentTimeMillis() - IDLE_TIMEOUT);
+            }
+        }, IDLE_TIMEOUT, IDLE_TIMEOUT / 2, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        cleaner.shutdownNow();
+        for (Iterator<GitObjectReader> i = readers.values().iterator(); i.hasNext(); ) {
+            i.next().close();
+            i.remove();
+        }
+    }
+
+    /**
+     * Gets log of commits which are reachable from {@code revision}.
+     *
+     * @return log or {@code null} if log can't be read with {@link GitObjectReader}, e.g. repository has no commits yet
+     * @see GitObjectReader#log(String, int)
+     */
+    public List<Revision> log(File repository, String revision, int count) {
+        final GitObjectReader reader = getReader(repository);
+        if (reader == null) {
+            return null;
+        }
+        try {
+            return reader.log(revision, count);
+        } catch (IOException e) {
+            LOG.warn("Unable read log of {}: {}", repository, e.getMessage());
+            // Reader may be in inconsistent state after error.
+            if (readers.remove(reader.getRepository(), reader)) {
+                reader.close();
+            }
+            return null;
+        }
+    }
+
+    private GitObjectReader getReader(File repository) {
+        final File key = repository.getAbsoluteFile();
+        GitObjectReader reader = readers.get(key);
+        if (reader != null && reader.isAlive()) {
+            return reader;
+        }
+        if (reader != null && readers.remove(key, reader)) {
+            reader.close();
+        }
+        if (readers.size() >= MAX_READERS) {
+            stopLeastRecentlyUsed();
+        }
+        final GitObjectReader newReader;
+        try {
+            newReader = new GitObjectReader(key);
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+            return null;
+        }
+        reader = readers.putIfAbsent(key, newReader);
+        if (reader != null) {
+            // Another thread started reader for the same repository.
+            newReader.close();
+            return reader;
+        }
+        return newReader;
+    }
+
+    private void stopIdleReaders(long usedBefore) {
+        for (GitObjectReader reader : readers.values()) {
+            if (reader.getLastUsed() < usedBefore && readers.remove(reader.getRepository(), reader)) {
+                reader.close();
+            }
+        }
+    }
+
+    private void stopLeastRecentlyUsed() {
+        GitObjectReader oldest = null;
+        for (GitObjectReader reader : readers.values()) {
+            if (oldest == null || reader.getLastUsed() < oldest.getLastUsed()) {
+                oldest = reader;
+            }
+        }
+        if (oldest != null && readers.remove(oldest.getRepository(), oldest)) {
+            oldest.close();
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.nativegit;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.GitException;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.vfs.server.observation.MoveEvent;
+import org.eclipse.che.api.vfs.server.observation.RenameEvent;
+import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent;
+import org.eclipse.che.vfs.impl.fs.LocalFSMountStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps result of the last {@code git status --porcelain} of each repository.
+ * <p/>
+ * Cached status is valid while {@code .git/index} and {@code HEAD} are not changed. Any change of them, e.g. after add, commit, checkout
+ * or reset, leads to full rescan of working tree. Files which are changed through virtual file system after the last status are
+ * collected as dirty and only their status is refreshed with {@code git status -- <paths>} next time. Changes which are made in local
+ * file system bypassing virtual file system and don't touch index aren't visible until next full rescan.
+ */
+@Singleton
+public class GitStatusCache {
+    private static final Logger LOG = LoggerFactory.getLogger(GitStatusCache.class);
+
+    /** Full rescan is cheaper than passing too many paths in command line. */
+    static final int MAX_DIRTY_PATHS = 500;
+
+    private final EventService                      eventService;
+    private final LocalFSMountStrategy              mountStrategy;
+    private final EventSubscriber<VirtualFileEvent> vfsSubscriber;
+    private final ConcurrentMap<File, RepoStatus>   statuses;
+
+    @Inject
+    public GitStatusCache(EventService eventService, LocalFSMountStrategy mountStrategy) {
+        this.eventService = eventService;
+        this.mountStrategy = mountStrategy;
+        statuses = new ConcurrentHashMap<>();
+        vfsSubscriber = new EventSubscriber<VirtualFileEvent>() {
+            @Override
+            public void onEvent(VirtualFileEvent event) {
+                switch (event.getType()) {
+                    case CONTENT_UPDATED:
+                    case CREATED:
+                    case IMPORTED:
+                    case DELETED:
+                        markDirty(event.getWorkspaceId(), event.getPath());
+                        break;
+                    case MOVED:
+                        markDirty(event.getWorkspaceId(), event.getPath());
+                        markDirty(event.getWorkspaceId(), ((MoveEvent)event).getOldPath());
+                        break;
+                    case RENAMED:
+                        markDirty(event.getWorkspaceId(), event.getPath());
+                        markDirty(event.getWorkspaceId(), ((RenameEvent)event).getOldPath());
+                        break;
+                }
+            }
+        };
+    }
+
+    @PostConstruct
+    void start() {
+        eventService.subscribe(vfsSubscriber);
+    }
+
+    @PreDestroy
+    void stop() {
+        eventService.unsubscribe(vfsSubscriber);
+        statuses.clear();
+    }
+
+    /**
+     * Gets status of repository in format {@link StatusFormat#PORCELAIN}. Working directory of {@code nativeGit} must be root of working
+     * tree, otherwise status isn't cached.
+     *
+     * @return lines of porcelain status
+     * @throws GitException
+     *         if git status fails
+     */
+    public List<String> getStatus(NativeGit nativeGit) throws GitException {
+        final File workDir = nativeGit.getRepository().getAbsoluteFile();
+        final File gitDir = new File(workDir, ".git");
+        if (!gitDir.isDirectory()) {
+            return nativeGit.createStatusCommand().setFormat(StatusFormat.PORCELAIN).execute();
+        }
+        RepoStatus status = statuses.get(workDir);
+        if (status == null) {
+            final RepoStatus newStatus = new RepoStatus(gitDir);
+            status = statuses.putIfAbsent(workDir, newStatus);
+            if (status == null) {
+                status = newStatus;
+            }
+        }
+        return status.get(nativeGit);
+    }
+
+    /** Drops cached status of repository with working tree {@code workDir}. */
+    public void invalidate(File workDir) {
+        statuses.remove(workDir.getAbsoluteFile());
+    }
+
+    private void markDirty(String workspace, String path) {
+        if (statuses.isEmpty() || path == null) {
+            return;
+        }
+        final File file;
+        try {
+            file = new File(mountStrategy.getMountPath(workspace), path);
+        } catch (ServerException e) {
+            LOG.error(e.getMessage(), e);
+            return;
+        }
+        final String filePath = file.getAbsolutePath();
+        for (Iterator<Map.Entry<File, RepoStatus>> i = statuses.entrySet().iterator(); i.hasNext(); ) {
+            final Map.Entry<File, RepoStatus> entry = i.next();
+            final String workDirPath = entry.getKey().getPath();
+            if (filePath.startsWith(workDirPath + File.separatorChar)) {
+                final String relPath = filePath.substring(workDirPath.length() + 1).replace(File.separatorChar, '/');
+                // Changes inside of .git are visible through index and HEAD.
+                if (!(relPath.equals(".git") || relPath.startsWith(".git/"))) {
+                    entry.getValue().markDirty(relPath);
+                }
+            } else if (workDirPath.equals(filePath) || workDirPath.startsWith(filePath + File.separatorChar)) {
+                // Repository itself is removed or moved.
+                i.remove();
+            }
+        }
+    }
+
+    /** Status of single repository. */
+    private static class RepoStatus {
+        final File gitDir;
+        /** Porcelain status lines by path. */
+        final TreeMap<String, String> lines;
+        final Set<String>             dirtyPaths;
+
+        String snapshot;
+
+        RepoStatus(File gitDir) {
+            this.gitDir = gitDir;
+            lines = new TreeMap<>();
+            dirtyPaths = new LinkedHashSet<>();
+        }
+
+        synchronized void markDirty(String path) {
+            if (snapshot != null) {
+                dirtyPaths.add(path);
+            }
+        }
+
+        synchronized List<String> get(NativeGit nativeGit) throws GitException {
+            if (!readSnapshot().equals(snapshot) || dirtyPaths.size() > MAX_DIRTY_PATHS) {
+                snapshot = null;
+                dirtyPaths.clear();
+                final List<String> output = nativeGit.createStatusCommand().setFormat(StatusFormat.PORCELAIN).execute();
+                lines.clear();
+                for (String line : output) {
+                    lines.put(getPath(line), line);
+                }
+            } else if (!dirtyPaths.isEmpty()) {
+                try {
+                    refresh(nativeGit);
+                } catch (GitException e) {
+                    // Cached lines of dirty paths are already dropped, do full rescan next time.
+                    snapshot = null;
+                    dirtyPaths.clear();
+                    throw e;
+                }
+            }
+            // git status may refresh index, read snapshot after command is done.
+            snapshot = readSnapshot();
+            return new ArrayList<>(lines.values());
+        }
+
+        private void refresh(NativeGit nativeGit) throws GitException {
+            final Set<String> paths = new LinkedHashSet<>(dirtyPaths);
+            for (Iterator<String> i = lines.keySet().iterator(); i.hasNext(); ) {
+                final String linePath = i.next();
+                for (String dirtyPath : dirtyPaths) {
+                    if (isSameOrChild(linePath, dirtyPath) || (linePath.endsWith("/") && dirtyPath.startsWith(linePath))) {
+                        // Untracked folder which contains dirty path must be checked again as well.
+                        paths.add(linePath);
+                        i.remove();
+                        break;
+                    }
+                }
+            }
+            final List<String> output = nativeGit.createStatusCommand()
+                                                 .setFormat(StatusFormat.PORCELAIN)
+                                                 .setPaths(new ArrayList<>(paths))
+                                                 .execute();
+            for (String line : output) {
+                final String path = getPath(line);
+                if (!isInsideUntrackedFolder(path)) {
+                    lines.put(path, line);
+                }
+            }
+            dirtyPaths.clear();
+        }
+
+        private boolean isInsideUntrackedFolder(String path) {
+            for (int i = path.indexOf('/'); i > 0 && i < path.length() - 1; i = path.indexOf('/', i + 1)) {
+                final String line = lines.get(path.substring(0, i + 1));
+                if (line != null && line.startsWith("??")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Reads identity of index and HEAD. Git replaces index file on each write, so file key catches writes within same second. */
+        private String readSnapshot() {
+            final StringBuilder snapshot = new StringBuilder();
+            appendAttributes(snapshot, new File(gitDir, "index").toPath());
+            try {
+                final String head = new String(Files.readAllBytes(new File(gitDir, "HEAD").toPath()), StandardCharsets.UTF_8).trim();
+                snapshot.append('|').append(head);
+                if (head.startsWith("ref: ")) {
+                    appendAttributes(snapshot, new File(gitDir, head.substring(5)).toPath());
+                }
+            } catch (IOException e) {
+                snapshot.append("|-");
+            }
+            appendAttributes(snapshot, new File(gitDir, "packed-refs").toPath());
+            return snapshot.toString();
+        }
+
+        private static void appendAttributes(StringBuilder snapshot, Path file) {
+            snapshot.append('|');
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                snapshot.append(attributes.lastModifiedTime().toMillis())
+                        .append(':').append(attributes.size())
+                        .append(':').append(Objects.toString(attributes.fileKey()));
+            } catch (NoSuchFileException e) {
+                snapshot.append('-');
+            } catch (IOException e) {
+                // Unable to check file, force full rescan next time.
+                snapshot.append(System.nanoTime());
+            }
+        }
+
+        /**
+         * Gets path from porcelain status line, for renamed entries ("R  old -> new") gets new path. Git quotes paths which contain special
+         * or non-ASCII characters, such paths are unquoted, so they may be compared with paths of virtual file system.
+         */
+        private static String getPath(String line) {
+            String path = line.substring(3);
+            if (path.startsWith("\"")) {
+                final int end = quotedEnd(path);
+                if (!path.startsWith(" -> ", end)) {
+                    return unquote(path.substring(0, end));
+                }
+                path = path.substring(end + 4);
+            } else {
+                final int arrow = path.indexOf(" -> ");
+                if (arrow >= 0) {
+                    path = path.substring(arrow + 4);
+                }
+            }
+            return path.startsWith("\"") ? unquote(path) : path;
+        }
+
+        /** Gets index next to closing quote of quoted path at the start of {@code str}. */
+        private static int quotedEnd(String str) {
+            for (int i = 1; i < str.length(); i++) {
+                final char c = str.charAt(i);
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    return i + 1;
+                }
+            }
+            return str.length();
+        }
+
+        /** Unquotes C-style quoted path, escaped octal bytes are decoded as UTF-8. */
+        private static String unquote(String quoted) {
+            final int end = quoted.length() > 1 && quoted.endsWith("\"") ? quoted.length() - 1 : quoted.length();
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(end);
+            for (int i = 1; i < end; i++) {
+                char c = quoted.charAt(i);
+                if (c == '\\' && i + 1 < end) {
+                    c = quoted.charAt(++i);
+                    if (c >= '0' && c <= '7' && i + 2 < end) {
+                        bytes.write(Integer.parseInt(quoted.substring(i, i + 3), 8));
+                        i += 2;
+                        continue;
+                    }
+                    switch (c) {
+                        case 'a':
+                            c = 7;
+                            break;
+                        case 'b':
+                            c = '\b';
+                            break;
+                        case 't':
+                            c = '\t';
+                            break;
+                        case 'n':
+                            c = '\n';
+                            break;
+                        case 'v':
+                            c = 11;
+                            break;
+                        case 'f':
+                            c = '\f';
+                            break;
+                        case 'r':
+                            c = '\r';
+                            break;
+                    }
+                }
+                final byte[] encoded = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+                bytes.write(encoded, 0, encoded.length);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        private static boolean isSameOrChild(String path, String parent) {
+            return path.startsWith(parent) && (path.length() == parent.length() || path.charAt(parent.length()) == '/');
+        }
+    }
+}
@@ -107,6 +107,8 @@ public class NativeGitConnection implements GitConnection {
     private static final Pattern notInGitRepoErrorPattern = Pattern.compile("^fatal: Not a git repository.*(\\n.*)*$", Pattern.MULTILINE);
     private final CredentialsLoader credentialsLoader;
     private final File mountRoot;
+    private final GitStatusCache statusCache;
+    private final GitObjectReaderPool readerPool;
 
     /**
      * @param mountRoot
@@ -122,7 +124,31 @@ public class NativeGitConnection implements GitConnection {
      */
     public NativeGitConnection(File mountRoot, File repository, GitSshScriptProvider gitSshScriptProvider,
                                CredentialsLoader credentialsLoader) throws GitException {
-        this(mountRoot, new NativeGit(repository, gitSshScriptProvider, credentialsLoader, new GitAskPassScript()), credentialsLoader);
+        this(mountRoot, new NativeGit(repository, gitSshScriptProvider, credentialsLoader, new GitAskPassScript()), credentialsLoader, null,
+             null);
+    }
+
+    /**
+     * @param mountRoot
+     *          directory where mount virtual file system @see property vfs.local.fs_root_dir
+     * @param repository
+     *         directory where commands will be invoked
+     * @param gitSshScriptProvider
+     *         manager for ssh keys. If it is null default ssh will be used;
+     * @param credentialsLoader
+     *         loader for credentials
+     * @param statusCache
+     *         cache of repository status, if {@code null} status isn't cached
+     * @param readerPool
+     *         pool of long-lived git processes for reading repository, if {@code null} new git process is started for each read
+     * @throws GitException
+     *         when some error occurs
+     */
+    public NativeGitConnection(File mountRoot, File repository, GitSshScriptProvider gitSshScriptProvider,
+                               CredentialsLoader credentialsLoader, GitStatusCache statusCache, GitObjectReaderPool readerPool)
+            throws GitException {
+        this(mountRoot, new NativeGit(repository, gitSshScriptProvider, credentialsLoader, new GitAskPassScript()), credentialsLoader,
+             statusCache, readerPool);
     }
 
     /**
@@ -135,9 +161,16 @@ public class NativeGitConnection implements GitConnection {
      */
     public NativeGitConnection(File mountRoot, NativeGit nativeGit, CredentialsLoader credentialsLoader)
             throws GitException {
+        this(mountRoot, nativeGit, credentialsLoader, null, null);
+    }
+
+    NativeGitConnection(File mountRoot, NativeGit nativeGit, CredentialsLoader credentialsLoader, GitStatusCache statusCache,
+                        GitObjectReaderPool readerPool) throws GitException {
         this.mountRoot = mountRoot;
         this.credentialsLoader = credentialsLoader;
         this.nativeGit = nativeGit;
+        this.statusCache = statusCache;
+        this.readerPool = readerPool;
     }
 
     @Override
@@ -362,7 +395,7 @@ public class NativeGitConnection implements GitConnection {
     @Override
     public LogPage log(LogRequest request) throws GitException {
         ensureExistenceRepoRootInWorkingDirectory();
-        return new LogPage(nativeGit.createLogCommand().execute());
+        return new LogPage(readLog());
     }
 
     @Override
@@ -492,7 +525,10 @@ public class NativeGitConnection implements GitConnection {
     @Override
     public Status status(final StatusFormat format) throws GitException {
         ensureExistenceRepoRootInWorkingDirectory();
-        return new NativeGitStatusImpl(getCurrentBranch(), nativeGit, format);
+        if (statusCache == null) {
+            return new NativeGitStatusImpl(getCurrentBranch(), nativeGit, format);
+        }
+        return new NativeGitStatusImpl(getCurrentBranch(), nativeGit, format, statusCache.getStatus(nativeGit));
     }
 
     @Override
@@ -522,13 +558,25 @@ public class NativeGitConnection implements GitConnection {
     public List<GitUser> getCommiters() throws GitException {
         ensureExistenceRepoRootInWorkingDirectory();
         List<GitUser> users = new LinkedList<>();
-        List<Revision> revList = nativeGit.createLogCommand().execute();
+        List<Revision> revList = readLog();
         for (Revision rev : revList) {
             users.add(rev.getCommitter());
         }
         return users;
     }
 
+    /** Reads log of current branch. Long-lived git process is used if possible, otherwise git log is started. */
+    private List<Revision> readLog() throws GitException {
+        if (readerPool != null) {
+            final List<Revision> log = readerPool.log(nativeGit.getRepository(), "HEAD", 0);
+            if (log != null) {
+                return log;
+            }
+        }
+        // Reports error if repository has no commits yet.
+        return nativeGit.createLogCommand().execute();
+    }
+
     @Override
     public Config getConfig() throws GitException {
         ensureExistenceRepoRootInWorkingDirectory();
@@ -35,18 +35,24 @@ public class NativeGitConnectionFactory extends GitConnectionFactory {
     private File mountRoot;
     private final CredentialsLoader credentialsLoader;
     private final GitSshScriptProvider gitSshScriptProvider;
+    private final GitStatusCache statusCache;
+    private final GitObjectReaderPool readerPool;
 
     @Inject
     public NativeGitConnectionFactory(@Named("vfs.local.fs_root_dir") java.io.File mountRoot, CredentialsLoader credentialsLoader,
-                                      GitSshScriptProvider gitSshScriptProvider) {
+                                      GitSshScriptProvider gitSshScriptProvider, GitStatusCache statusCache,
+                                      GitObjectReaderPool readerPool) {
         this.mountRoot = mountRoot;
         this.credentialsLoader = credentialsLoader;
         this.gitSshScriptProvider = gitSshScriptProvider;
+        this.statusCache = statusCache;
+        this.readerPool = readerPool;
     }
 
     @Override
     public GitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
-        final GitConnection gitConnection = new NativeGitConnection(mountRoot, workDir, gitSshScriptProvider, credentialsLoader);
+        final GitConnection gitConnection = new NativeGitConnection(mountRoot, workDir, gitSshScriptProvider, credentialsLoader, statusCache,
+                                                                  readerPool);
         gitConnection.setOutputLineConsumerFactory(outputPublisherFactory);
         return gitConnection;
     }
@@ -54,6 +54,8 @@ public class NativeGitStatusImpl implements Status, InfoPage {
     
     private String repositoryState;
 
+    private List<String> porcelain;
+
     /**
      * @param branchName
      *         current repository branch name
@@ -71,9 +73,31 @@ public class NativeGitStatusImpl implements Status, InfoPage {
         load();
     }
 
+    /**
+     * @param branchName
+     *         current repository branch name
+     * @param nativeGit
+     *         git commands factory
+     * @param format
+     *         the output format for the status
+     * @param porcelain
+     *         output of git status in porcelain format, e.g. cached result of previous command
+     */
+    public NativeGitStatusImpl(String branchName, NativeGit nativeGit, StatusFormat format, List<String> porcelain) {
+        this.branchName = branchName;
+        this.format = format;
+        this.nativeGit = nativeGit;
+        parse(porcelain);
+    }
+
     /** @see InfoPage#writeTo(java.io.OutputStream) */
     @Override
     public void writeTo(OutputStream out) throws IOException {
+        if (format == StatusFormat.PORCELAIN && porcelain != null) {
+            // Don't run git status again, porcelain output is already known.
+            out.write(String.join("\n", porcelain).getBytes());
+            return;
+        }
         StatusCommand status = nativeGit.createStatusCommand().setFormat(format);
         try {
             status.execute();
@@ -259,7 +283,11 @@ public class NativeGitStatusImpl implements Status, InfoPage {
      */
     public void load() throws GitException {
         StatusCommand status = nativeGit.createStatusCommand().setFormat(StatusFormat.PORCELAIN);
-        List<String> statusOutput = status.execute();
+        parse(status.execute());
+    }
+
+    private void parse(List<String> statusOutput) {
+        porcelain = statusOutput;
         setClean(statusOutput.size() == 0);
         if (!isClean()) {
             added = new ArrayList<>();
@@ -270,56 +298,44 @@ public class NativeGitStatusImpl implements Status, InfoPage {
             untracked = new ArrayList<>();
             untrackedFolders = new ArrayList<>();
             conflicting = new ArrayList<>();
+            // Porcelain output has single line per path, so path never goes to the same list twice.
             for (String statusLine : statusOutput) {
-                //add conflict files AA, UU, any of U
-                if (!(addIfMatches(conflicting, statusLine, 'A', 'A') //
-                        || addIfMatches(conflicting, statusLine, 'D', 'D') //
-                        || addIfMatches(conflicting, statusLine, 'U', '*') //
-                        || addIfMatches(conflicting, statusLine, '*', 'U'))) {
+                final char x = statusLine.charAt(0);
+                final char y = statusLine.charAt(1);
+                final String filename = statusLine.substring(3);
+                if (x == '?' && y == '?') {
+                    if (filename.endsWith("/")) {
+                        untrackedFolders.add(filename.substring(0, filename.length() - 1));
+                    } else {
+                        untracked.add(filename);
+                    }
+                } else if ((x == 'A' && y == 'A') || (x == 'D' && y == 'D') || x == 'U' || y == 'U') {
+                    //add conflict files AA, DD, any of U
+                    conflicting.add(filename);
+                } else {
                     // Add index-based entries
-                    addIfMatches(added, statusLine, 'A', '*');
-                    addIfMatches(removed, statusLine, 'D', '*');
-                    addIfMatches(changed, statusLine, 'M', '*');
+                    switch (x) {
+                        case 'A':
+                            added.add(filename);
+                            break;
+                        case 'D':
+                            removed.add(filename);
+                            break;
+                        case 'M':
+                            changed.add(filename);
+                            break;
+                    }
                     // Add working tree - based entries
-                    addIfMatches(missing, statusLine, '*', 'D');
-                    addIfMatches(modified, statusLine, '*', 'M');
+                    switch (y) {
+                        case 'D':
+                            missing.add(filename);
+                            break;
+                        case 'M':
+                            modified.add(filename);
+                            break;
+                    }
                 }
-                if (statusLine.endsWith("/")) {
-                    //add untracked folders
-                    addIfMatches(untrackedFolders, statusLine.substring(0, statusLine.length() - 1), '?', '?');
-                } else {
-                    //add untracked Files
-                    addIfMatches(untracked, statusLine, '?', '?');
-                }
-            }
-        }
-    }
-
-    /**
-     * Adds files to container if they matched to template.
-     *
-     * @param container
-     *         container for matched files
-     * @param statusLine
-     *         short status command line
-     * @param x
-     *         first template parameter
-     * @param y
-     *         second template parameter
-     */
-    private static boolean addIfMatches(List<String> container, String statusLine, char x, char y) {
-        if (matches(statusLine, x, y)) {
-            final String filename = statusLine.substring(3);
-            if (!container.contains(filename)) {
-                container.add(filename);
             }
-            return true;
         }
-        return false;
-    }
-
-    private static boolean matches(String statusLine, char x, char y) {
-        return (x == '*' || x == statusLine.charAt(0)) &&
-               (y == '*' || y == statusLine.charAt(1));
     }
 }
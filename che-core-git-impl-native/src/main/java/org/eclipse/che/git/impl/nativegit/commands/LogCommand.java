@@ -16,7 +16,7 @@ import org.eclipse.che.api.git.shared.GitUser;
 import org.eclipse.che.api.git.shared.Revision;
 
 import java.io.File;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +25,7 @@ import java.util.List;
  * @author Eugene Voevodin
  */
 public class LogCommand extends GitCommand<List<Revision>> {
+    private static final char SEPARATOR = '\u001f';
 
     private int    count;
     private String branch;
@@ -38,8 +39,7 @@ public class LogCommand extends GitCommand<List<Revision>> {
     public List<Revision> execute() throws GitException {
         reset();
         commandLine.add("log")
-                   .add("--format=%an#%ae#%cn#%ce#%cd#%H#%s")
-                   .add("--date=raw");
+                   .add("--format=%cn%x1f%ce%x1f%ct%x1f%H%x1f%s");
         if (branch != null) {
             commandLine.add(branch);
         }
@@ -47,20 +47,24 @@ public class LogCommand extends GitCommand<List<Revision>> {
             commandLine.add("-" + count);
         }
         start();
-        List<Revision> list = new LinkedList<>();
+        List<Revision> list = new ArrayList<>(lines.size());
         final DtoFactory dtoFactory = DtoFactory.getInstance();
         for (String oneRev : lines) {
-            String[] elements = oneRev.split("#");
-            GitUser committer = dtoFactory.createDto(GitUser.class).withName(elements[2]).withEmail(elements[3]);
-            long commitTime = Long.parseLong(elements[4].substring(0, elements[4].indexOf(" "))) * 1000L;
-            String commitId = elements[5];
-            StringBuilder commitMessage = new StringBuilder();
-            for (int i = 6; i < elements.length; i++) {
-                commitMessage.append(elements[i]);
+            // Fields are separated with unit separator which may not appear in names and subject, last field is subject.
+            final int nameEnd = oneRev.indexOf(SEPARATOR);
+            final int emailEnd = oneRev.indexOf(SEPARATOR, nameEnd + 1);
+            final int timeEnd = oneRev.indexOf(SEPARATOR, emailEnd + 1);
+            final int idEnd = oneRev.indexOf(SEPARATOR, timeEnd + 1);
+            if (nameEnd < 0 || emailEnd < 0 || timeEnd < 0 || idEnd < 0) {
+                throw new GitException("Unexpected output of git log: " + oneRev);
             }
+            GitUser committer = dtoFactory.createDto(GitUser.class)
+                                          .withName(oneRev.substring(0, nameEnd))
+                                          .withEmail(oneRev.substring(nameEnd + 1, emailEnd));
+            long commitTime = Long.parseLong(oneRev.substring(emailEnd + 1, timeEnd)) * 1000L;
             Revision revision = dtoFactory.createDto(Revision.class)
-                                          .withId(commitId)
-                                          .withMessage(commitMessage.toString())
+                                          .withId(oneRev.substring(timeEnd + 1, idEnd))
+                                          .withMessage(oneRev.substring(idEnd + 1))
                                           .withCommitTime(commitTime)
                                           .withCommitter(committer);
             list.add(revision);
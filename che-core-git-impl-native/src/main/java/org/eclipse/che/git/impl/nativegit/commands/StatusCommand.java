@@ -24,6 +24,7 @@ import java.util.List;
 public class StatusCommand extends GitCommand<List<String>> {
 
     private StatusFormat format;
+    private List<String> paths;
 
     public StatusCommand(File repository) {
         super(repository);
@@ -48,6 +49,10 @@ public class StatusCommand extends GitCommand<List<String>> {
                 default:
             }
         }
+        if (paths != null && !paths.isEmpty()) {
+            commandLine.add("--");
+            commandLine.add(paths);
+        }
         start();
         return getLines();
     }
@@ -63,4 +68,16 @@ public class StatusCommand extends GitCommand<List<String>> {
         this.format = format;
         return this;
     }
+
+    /**
+     * Limits status to the specified paths.
+     *
+     * @param paths
+     *         paths relative to the working directory, status of whole working tree is shown if {@code null} or empty
+     * @return StatusCommand with the established paths parameter
+     */
+    public StatusCommand setPaths(List<String> paths) {
+        this.paths = paths;
+        return this;
+    }
 }
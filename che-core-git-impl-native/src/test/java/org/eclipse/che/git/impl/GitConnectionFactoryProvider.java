@@ -33,7 +33,9 @@ public class GitConnectionFactoryProvider {
                 new Object[]{
                         new NativeGitConnectionFactory(Files.createTempDir(),
                                 mock(CredentialsLoader.class),
-                                new GitSshScriptProvider(host -> new byte[0]))
+                                new GitSshScriptProvider(host -> new byte[0]),
+                                null,
+                                null)
                 }
         };
     }
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.nativegit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.che.api.git.shared.Revision;
+import org.eclipse.che.git.impl.nativegit.commands.LogCommand;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class GitObjectReaderTest {
+    private File            repository;
+    private GitObjectReader reader;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        repository = Files.createTempDir();
+        git("init");
+        reader = new GitObjectReader(repository);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        reader.close();
+    }
+
+    @Test
+    public void testLogIsTheSameAsGitLog() throws Exception {
+        git("commit", "--allow-empty", "-m", "first # commit");
+        git("checkout", "-b", "feature");
+        git("commit", "--allow-empty", "-m", "feature commit\nsecond line\n\nbody");
+        git("checkout", "-");
+        git("commit", "--allow-empty", "-m", "master commit");
+        git("merge", "--no-ff", "-m", "merge", "feature");
+
+        final List<Revision> expected = new LogCommand(repository).execute();
+        final List<Revision> log = reader.log("HEAD", 0);
+        assertEquals(log.size(), 4);
+        assertEquals(log.size(), expected.size());
+        for (int i = 0; i < log.size(); i++) {
+            assertEquals(log.get(i).getId(), expected.get(i).getId());
+            assertEquals(log.get(i).getMessage(), expected.get(i).getMessage());
+            assertEquals(log.get(i).getCommitTime(), expected.get(i).getCommitTime());
+            assertEquals(log.get(i).getCommitter().getName(), expected.get(i).getCommitter().getName());
+            assertEquals(log.get(i).getCommitter().getEmail(), expected.get(i).getCommitter().getEmail());
+        }
+        assertEquals(reader.log("HEAD", 2).size(), 2);
+    }
+
+    @Test
+    public void testLogOfEmptyRepository() throws Exception {
+        assertNull(reader.log("HEAD", 0));
+        // Reader is still usable after missing object.
+        git("commit", "--allow-empty", "-m", "first");
+        assertEquals(reader.log("HEAD", 0).size(), 1);
+    }
+
+    private void git(String... args) throws Exception {
+        final String[] command = new String[args.length + 5];
+        command[0] = "git";
+        command[1] = "-c";
+        command[2] = "user.name=Test User";
+        command[3] = "-c";
+        command[4] = "user.email=test@codenvy.com";
+        System.arraycopy(args, 0, command, 5, args.length);
+        final Process process = new ProcessBuilder(command).directory(repository).inheritIO().start();
+        assertEquals(process.waitFor(), 0);
+    }
+}
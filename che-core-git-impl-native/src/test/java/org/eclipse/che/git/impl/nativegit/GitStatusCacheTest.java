@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.nativegit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.git.CredentialsLoader;
+import org.eclipse.che.api.vfs.server.observation.CreateEvent;
+import org.eclipse.che.api.vfs.server.observation.DeleteEvent;
+import org.eclipse.che.git.impl.nativegit.ssh.GitSshScriptProvider;
+import org.eclipse.che.vfs.impl.fs.LocalFSMountStrategy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class GitStatusCacheTest {
+    private static final String WORKSPACE = "my_ws";
+
+    private File           mountRoot;
+    private File           repository;
+    private EventService   eventService;
+    private GitStatusCache statusCache;
+    private NativeGit      nativeGit;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        mountRoot = Files.createTempDir();
+        repository = new File(mountRoot, "my_project");
+        assertTrue(repository.mkdir());
+        LocalFSMountStrategy mountStrategy = mock(LocalFSMountStrategy.class);
+        when(mountStrategy.getMountPath(WORKSPACE)).thenReturn(mountRoot);
+        eventService = new EventService();
+        statusCache = new GitStatusCache(eventService, mountStrategy);
+        statusCache.start();
+        nativeGit = new NativeGit(repository, new GitSshScriptProvider(host -> new byte[0]), mock(CredentialsLoader.class),
+                                  new GitAskPassScript());
+        nativeGit.createInitCommand().execute();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        statusCache.stop();
+    }
+
+    @Test
+    public void testChangedFilesAreRefreshed() throws Exception {
+        write("a.txt");
+        assertEquals(statusCache.getStatus(nativeGit), Collections.singletonList("?? a.txt"));
+
+        write("b.txt");
+        eventService.publish(new CreateEvent(WORKSPACE, "/my_project/b.txt", false));
+        assertEquals(statusCache.getStatus(nativeGit), Arrays.asList("?? a.txt", "?? b.txt"));
+
+        assertTrue(new File(repository, "a.txt").delete());
+        eventService.publish(new DeleteEvent(WORKSPACE, "/my_project/a.txt", false));
+        assertEquals(statusCache.getStatus(nativeGit), Collections.singletonList("?? b.txt"));
+    }
+
+    @Test
+    public void testCachedStatusIsUsedUntilIndexChanged() throws Exception {
+        write("a.txt");
+        assertEquals(statusCache.getStatus(nativeGit), Collections.singletonList("?? a.txt"));
+
+        // Not visible through virtual file system.
+        write("b.txt");
+        assertEquals(statusCache.getStatus(nativeGit), Collections.singletonList("?? a.txt"));
+
+        nativeGit.createAddCommand().setFilePattern(Collections.singletonList("a.txt")).execute();
+        assertEquals(statusCache.getStatus(nativeGit), Arrays.asList("A  a.txt", "?? b.txt"));
+    }
+
+    @Test
+    public void testFilesInsideUntrackedFolder() throws Exception {
+        write("dir/a.txt");
+        assertEquals(statusCache.getStatus(nativeGit), Collections.singletonList("?? dir/"));
+
+        write("dir/b.txt");
+        eventService.publish(new CreateEvent(WORKSPACE, "/my_project/dir/b.txt", false));
+        assertEquals(statusCache.getStatus(nativeGit), Collections.singletonList("?? dir/"));
+    }
+
+    @Test
+    public void testQuotedPathsAreRefreshed() throws Exception {
+        write("a\"b.txt");
+        write("a\tb.txt");
+        assertEquals(statusCache.getStatus(nativeGit), Arrays.asList("?? \"a\\tb.txt\"", "?? \"a\\\"b.txt\""));
+
+        assertTrue(new File(repository, "a\"b.txt").delete());
+        eventService.publish(new DeleteEvent(WORKSPACE, "/my_project/a\"b.txt", false));
+        assertTrue(new File(repository, "a\tb.txt").delete());
+        eventService.publish(new DeleteEvent(WORKSPACE, "/my_project/a\tb.txt", false));
+        assertEquals(statusCache.getStatus(nativeGit), Collections.emptyList());
+    }
+
+    private void write(String path) throws Exception {
+        final File file = new File(repository, path);
+        Files.createParentDirs(file);
+        Files.write(path, file, StandardCharsets.UTF_8);
+    }
+}
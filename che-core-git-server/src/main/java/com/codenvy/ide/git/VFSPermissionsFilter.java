@@ -29,7 +29,13 @@ import org.eclipse.che.commons.json.JsonParseException;
 import org.eclipse.che.commons.user.UserImpl;
 import org.eclipse.che.dto.server.DtoFactory;
 
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.everrest.core.impl.provider.json.JsonValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +51,8 @@ import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 
 /**
@@ -52,11 +60,27 @@ import java.util.regex.Matcher;
  * Filter tries to access api/vfs for given project and if no access, request
  *
  * will be denied with 403 FORBIDDEN.
+ * <p/>
+ * Decisions are cached for short time by credentials, workspace and project, so git client which sends many requests for single
+ * clone or fetch doesn't cause login, access check and logout for each of them. ACL of project is changed by API server, which usually
+ * runs in other application, so changes are seen once cached decision expires.
  *
  * @author  Max Shaposhnik
  */
 @Singleton
 public class VFSPermissionsFilter implements Filter {
+    /** How long decision about access to project is cached. ACL may be changed in other application, so keep it short. */
+    static final long DECISION_TTL        = TimeUnit.SECONDS.toMillis(30);
+    static final int  DECISION_CACHE_SIZE = 10000;
+
+    /** Result of checking access to project. */
+    enum Decision {
+        ALLOW,
+        /** Authenticated user doesn't have access or credentials are invalid. */
+        FORBIDDEN,
+        /** Anonymous user doesn't have access, client should try again with credentials. */
+        UNAUTHORIZED
+    }
 
     @Inject
     @Named("api.endpoint")
@@ -72,8 +96,19 @@ public class VFSPermissionsFilter implements Filter {
 
     private static final Logger LOG = LoggerFactory.getLogger(VFSPermissionsFilter.class);
 
+    /** Source of time for expiration of cached decisions. */
+    Ticker ticker = Ticker.systemTicker();
+
+    /** Decisions by credentials hash, workspace and project. */
+    private Cache<DecisionKey, Decision> decisions;
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
+        decisions = CacheBuilder.newBuilder()
+                                .maximumSize(DECISION_CACHE_SIZE)
+                                .expireAfterWrite(DECISION_TTL, TimeUnit.MILLISECONDS)
+                                .ticker(ticker)
+                                .build();
     }
 
     @Override
@@ -91,60 +126,33 @@ public class VFSPermissionsFilter implements Filter {
             url = url.replaceAll("/", Matcher.quoteReplacement(File.separator));
             //search for dotVFS directory
             File projectDirectory = Paths.get(vfsRoot, url).toFile();
-            String auth;
-            String userName = "";
-            String password = "";
-            if ((auth = req.getHeader("authorization")) != null) {
-                //get encoded password phrase
-                String userAndPasswordEncoded = auth.substring(6);
-                // decode Base64 user:password
-                String userAndPasswordDecoded = new String(Base64.decodeBase64(userAndPasswordEncoded));
-                //get username and password separator ':'
-                int betweenUserAndPassword = userAndPasswordDecoded.indexOf(':');
-                //get username - it is before first ':'
-                userName = userAndPasswordDecoded.substring(0, betweenUserAndPassword);
-                //get password - it is after first ':'
-                password = userAndPasswordDecoded.substring(betweenUserAndPassword + 1);
-            }
+            String workspaceId = projectDirectory.getParentFile().getName();
+            String projectName = projectDirectory.getName();
+            String auth = req.getHeader("authorization");
 
-            // Check if user authenticated and has permissions to project, or send response code 403
-            boolean needLogout = false;
-            String token = null;
-            User user;
+            // Git client sends the same credentials with each request, reuse decision without login and logout.
+            // Concurrent requests with the same key wait for the single check.
+            Decision decision;
             try {
-                if (!userName.isEmpty()) {
-                    if (password.equals("x-che")) { // internal SSO
-                        token = userName;
-                    } else {
-                        token = getToken(userName, password);
-                        if (token == null) {
-                            ((HttpServletResponse)response).sendError(HttpServletResponse.SC_FORBIDDEN);
-                            return;
-                        }
-                        needLogout = true;
-                    }
-                    user = getUserBySSO(token);
-                    EnvironmentContext.getCurrent().setUser(user);
+                decision = decisions.get(new DecisionKey(auth, workspaceId, projectName),
+                                         () -> checkAccess(auth, workspaceId, projectName));
+            } catch (ExecutionException | UncheckedExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof ServletException) {
+                    throw (ServletException)cause;
                 }
-
-                if (!hasAccessToItem(projectDirectory.getParentFile().getName(), projectDirectory.getName())) {
-                    if (!userName.isEmpty()) {
-                        // Authenticated but no access
-                        ((HttpServletResponse)response).sendError(HttpServletResponse.SC_FORBIDDEN);
-                        return;
-                    } else {
-                        // Not authenticated, try again with credentials
-                        ((HttpServletResponse)response).addHeader("Cache-Control", "private");
-                        ((HttpServletResponse)response).addHeader("WWW-Authenticate", "Basic");
-                        ((HttpServletResponse)response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
-                        return;
-                    }
-                }
-            } finally {
-                if (needLogout) {
-                    logout();
-                }
-                EnvironmentContext.reset();
+                throw new ServletException(cause.getMessage(), cause);
+            }
+            switch (decision) {
+                case FORBIDDEN:
+                    ((HttpServletResponse)response).sendError(HttpServletResponse.SC_FORBIDDEN);
+                    return;
+                case UNAUTHORIZED:
+                    // Not authenticated, try again with credentials
+                    ((HttpServletResponse)response).addHeader("Cache-Control", "private");
+                    ((HttpServletResponse)response).addHeader("WWW-Authenticate", "Basic");
+                    ((HttpServletResponse)response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+                    return;
             }
         }
         chain.doFilter(req, response);
@@ -154,6 +162,53 @@ public class VFSPermissionsFilter implements Filter {
     public void destroy() {
     }
 
+    /** Checks if user authenticated and has permissions to project. */
+    private Decision checkAccess(String auth, String workspaceId, String projectName) throws ServletException {
+        String userName = "";
+        String password = "";
+        if (auth != null) {
+            //get encoded password phrase
+            String userAndPasswordEncoded = auth.substring(6);
+            // decode Base64 user:password
+            String userAndPasswordDecoded = new String(Base64.decodeBase64(userAndPasswordEncoded));
+            //get username and password separator ':'
+            int betweenUserAndPassword = userAndPasswordDecoded.indexOf(':');
+            //get username - it is before first ':'
+            userName = userAndPasswordDecoded.substring(0, betweenUserAndPassword);
+            //get password - it is after first ':'
+            password = userAndPasswordDecoded.substring(betweenUserAndPassword + 1);
+        }
+
+        boolean needLogout = false;
+        String token = null;
+        User user;
+        try {
+            if (!userName.isEmpty()) {
+                if (password.equals("x-che")) { // internal SSO
+                    token = userName;
+                } else {
+                    token = getToken(userName, password);
+                    if (token == null) {
+                        return Decision.FORBIDDEN;
+                    }
+                    needLogout = true;
+                }
+                user = getUserBySSO(token);
+                EnvironmentContext.getCurrent().setUser(user);
+            }
+
+            if (!hasAccessToItem(workspaceId, projectName)) {
+                // Authenticated but no access or not authenticated
+                return userName.isEmpty() ? Decision.UNAUTHORIZED : Decision.FORBIDDEN;
+            }
+            return Decision.ALLOW;
+        } finally {
+            if (needLogout) {
+                logout();
+            }
+            EnvironmentContext.reset();
+        }
+    }
 
     private User getUserBySSO(String token) throws ServletException {
         try {
@@ -215,4 +270,40 @@ public class VFSPermissionsFilter implements Filter {
             LOG.warn(e.getLocalizedMessage());
         }
     }
+
+    /** Key of cached decision. Credentials are kept as hash only. */
+    static final class DecisionKey {
+        final String credentialsHash;
+        final String workspaceId;
+        final String projectName;
+
+        DecisionKey(String authorization, String workspaceId, String projectName) {
+            this.credentialsHash = authorization == null ? "" : DigestUtils.sha256Hex(authorization);
+            this.workspaceId = workspaceId;
+            this.projectName = projectName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey other = (DecisionKey)o;
+            return credentialsHash.equals(other.credentialsHash)
+                   && workspaceId.equals(other.workspaceId)
+                   && projectName.equals(other.projectName);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + credentialsHash.hashCode();
+            hash = 31 * hash + workspaceId.hashCode();
+            hash = 31 * hash + projectName.hashCode();
+            return hash;
+        }
+    }
 }
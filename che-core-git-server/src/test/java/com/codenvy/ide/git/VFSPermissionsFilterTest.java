@@ -24,6 +24,8 @@ import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.user.UserImpl;
 import org.eclipse.che.dto.server.DtoFactory;
 
+import com.google.common.base.Ticker;
+
 import org.apache.commons.codec.binary.Base64;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -39,7 +41,13 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -73,6 +81,8 @@ public class VFSPermissionsFilterTest {
     @Mock
     private HttpJsonHelper.HttpJsonHelperImpl httpJsonHelper;
 
+    private FakeTicker ticker;
+
     @BeforeMethod
     public void before() throws Exception {
         System.setProperty("organization.application.server.url", "orgPath");
@@ -80,6 +90,8 @@ public class VFSPermissionsFilterTest {
         Field f = HttpJsonHelper.class.getDeclaredField("httpJsonHelperImpl");
         f.setAccessible(true);
         f.set(null, httpJsonHelper);
+        ticker = new FakeTicker();
+        filter.ticker = ticker;
         filter.init(null);
 
         Field api = VFSPermissionsFilter.class.getDeclaredField("apiEndPoint");
@@ -167,4 +179,81 @@ public class VFSPermissionsFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    public void shouldNotLoginAgainIfDecisionIsCached() throws IOException, ServletException, ApiException {
+        //given
+        mockAuthorizedUser();
+        //when
+        filter.doFilter(request, response, filterChain);
+        filter.doFilter(request, response, filterChain);
+        //then
+        verify(filterChain, times(2)).doFilter(request, response);
+        verify(httpJsonHelper, times(1)).request(eq(Token.class), anyString(), eq("POST"), any());
+        verify(httpJsonHelper, times(1)).requestString(contains("auth/logout"), eq("GET"), any());
+    }
+
+    @Test
+    public void shouldCheckAccessAgainWhenDecisionExpires() throws IOException, ServletException, ApiException {
+        //given
+        mockAuthorizedUser();
+        filter.doFilter(request, response, filterChain);
+        //when
+        ticker.nanos += TimeUnit.MILLISECONDS.toNanos(VFSPermissionsFilter.DECISION_TTL);
+        filter.doFilter(request, response, filterChain);
+        //then
+        verify(httpJsonHelper, times(2)).request(eq(Token.class), anyString(), eq("POST"), any());
+    }
+
+    /** Emulates CI pollers which send many concurrent info/refs requests with the same credentials. */
+    @Test(timeOut = 10000)
+    public void shouldServeManyInfoRefsRequestsWithSingleLogin() throws Exception {
+        //given
+        mockAuthorizedUser();
+        when((request).getRequestURL())
+                .thenReturn(new StringBuffer("http://host.com/").append(GIT_SERVER_URI_PREFIX).append("/").append(WORKSPACE)
+                                                                .append("/testProject/info/refs"));
+        final int requests = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<?>> results = new ArrayList<>(requests);
+        try {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    filter.doFilter(request, response, filterChain);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        //then
+        verify(filterChain, times(requests)).doFilter(request, response);
+        verify(httpJsonHelper, times(1)).request(eq(Token.class), anyString(), eq("POST"), any());
+        verify(httpJsonHelper, times(1)).requestString(contains("auth/logout"), eq("GET"), any());
+    }
+
+    private void mockAuthorizedUser() throws IOException, ApiException {
+        when(request.getHeader("authorization")).thenReturn(
+                "BASIC " + (Base64.encodeBase64String(("OTHERUSER" + ":" + PASSWORD).getBytes())));
+        // get token
+        when(httpJsonHelper.request(eq(Token.class), anyString(), eq("POST"), any()))
+                .thenReturn(DtoFactory.getInstance().createDto(Token.class).withValue("123"));
+        // get user by token
+        when(httpJsonHelper.requestString(contains("internal/sso/server"), eq("GET"), isNull(),
+                                          eq(Pair.of("clienturl", URLEncoder.encode(ENDPOINT, "UTF-8")))))
+                .thenReturn(JsonHelper.toJson(new UserImpl("name1", "id1", "123", Arrays.asList("role1"), false)));
+        // check access
+        when(httpJsonHelper.requestString(anyString(), eq("GET"), any())).thenReturn("123");
+    }
+
+    private static class FakeTicker extends Ticker {
+        long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
 }
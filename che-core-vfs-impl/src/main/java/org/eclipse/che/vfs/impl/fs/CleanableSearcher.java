@@ -44,7 +44,7 @@ public class CleanableSearcher extends FSIndexSearcher {
 
     @Override
     public void init(final MountPoint mountPoint) throws ServerException {
-        doInit();
+        doInit(mountPoint);
         final ExecutorService executor = searcherService.getExecutor();
         if (!executor.isShutdown()) {
             executor.execute(new Runnable() {
@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.vfs.server.ContentStream;
 import org.eclipse.che.api.vfs.server.LazyIterator;
@@ -28,6 +29,7 @@ import org.eclipse.che.api.vfs.server.VirtualFileSystemUserContext;
 import org.eclipse.che.api.vfs.server.VirtualFileVisitor;
 import org.eclipse.che.api.vfs.server.observation.CreateEvent;
 import org.eclipse.che.api.vfs.server.observation.DeleteEvent;
+import org.eclipse.che.api.vfs.server.observation.ImportEvent;
 import org.eclipse.che.api.vfs.server.observation.MoveEvent;
 import org.eclipse.che.api.vfs.server.observation.RenameEvent;
 import org.eclipse.che.api.vfs.server.observation.UpdateACLEvent;
@@ -58,6 +60,7 @@ import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -74,17 +77,27 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -123,6 +136,15 @@ public class FSMountPoint implements MountPoint {
     private static final long LOCK_FILE_TIMEOUT     = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS = 1024;
 
+    /** Number of threads which write content of files extracted from zip. */
+    private static final int UNZIP_WRITERS         = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    /** Content of zip entry which isn't larger than this size is written by separate writer. */
+    private static final int MAX_ASYNC_WRITE_SIZE  = 64 * 1024; // 64k
+    /** Progress of unzip is reported after each this number of files. */
+    private static final int UNZIP_PROGRESS_STEP   = 1000;
+    /** Number of threads which copy files when folder is copied. */
+    private static final int COPY_WORKERS          = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
     static final String SERVICE_DIR = ".vfs";
 
     static final String ACL_DIR         = SERVICE_DIR + java.io.File.separatorChar + "acl";
@@ -390,6 +412,31 @@ public class FSMountPoint implements MountPoint {
         clearLockTokensCache();
     }
 
+    /**
+     * Drops cached ACL, lock and metadata of item. Used when item is changed in local filesystem bypassing virtual filesystem API.
+     *
+     * @param vfsPath
+     *         path of changed item
+     * @param recursive
+     *         if {@code true} cached data of all descendants of item are dropped as well. Caches can't be cleaned by path prefix, so
+     *         they are cleared completely in this case.
+     */
+    void invalidateCaches(Path vfsPath, boolean recursive) {
+        if (recursive) {
+            reset();
+            return;
+        }
+        final int index = vfsPath.hashCode() & MASK;
+        aclCache[index].remove(vfsPath);
+        lockTokensCache[index].remove(vfsPath);
+        metadataCache[index].remove(vfsPath);
+    }
+
+    /** Gets item by path without checking it existence and permissions. Used to update index with changes found in local filesystem. */
+    VirtualFileImpl getVirtualFileUnchecked(Path vfsPath) {
+        return vfsPath.isRoot() ? root : new VirtualFileImpl(new java.io.File(ioRoot, toIoPath(vfsPath)), vfsPath, pathToId(vfsPath), this);
+    }
+
     // Used in tests. Need this to check state of PathLockFactory.
     // All locks MUST be released at the end of request lifecycle.
     PathLockFactory getPathLockFactory() {
@@ -644,56 +691,17 @@ public class FSMountPoint implements MountPoint {
             // because copy destination already exists.
 
             // NOTE: Don't copy lock and permissions, just files itself and metadata files.
-
-            // Check recursively permissions of sources in case of folder
-            // and add all item current user cannot read in skip list.
-            java.io.FilenameFilter filter = null;
-            if (source.isFolder()) {
-                final LinkedList<VirtualFileImpl> skipList = new LinkedList<>();
-                final LinkedList<VirtualFile> q = new LinkedList<>();
-                q.add(source);
-                while (!q.isEmpty()) {
-                    for (VirtualFile current : doGetChildren((VirtualFileImpl)q.pop(), SERVICE_GIT_DIR_FILTER)) {
-                        // Check permission directly for current file only.
-                        // We already know parent accessible for current user otherwise we should not be here.
-                        // Ignore item if don't have permission to read it.
-                        if (!hasPermission((VirtualFileImpl)current, BasicPermissions.READ.value(), false)) {
-                            skipList.add((VirtualFileImpl)current);
-                        } else {
-                            if (current.isFolder()) {
-                                q.add(current);
-                            }
-                        }
-                    }
-                }
-                if (!skipList.isEmpty()) {
-                    filter = new java.io.FilenameFilter() {
-                        @Override
-                        public boolean accept(java.io.File dir, String name) {
-                            final String testPath = dir.getAbsolutePath() + java.io.File.separatorChar + name;
-                            for (VirtualFileImpl skipFile : skipList) {
-                                if (testPath.startsWith(skipFile.getIoFile().getAbsolutePath())) {
-                                    return false;
-                                }
-                                final java.io.File metadataFile =
-                                        new java.io.File(ioRoot, toIoPath(getMetadataFilePath(skipFile.getVirtualFilePath())));
-                                if (metadataFile.exists() && testPath.startsWith(metadataFile.getAbsolutePath())) {
-                                    return false;
-                                }
-                            }
-                            return true;
-                        }
-                    };
-                }
-            }
-
             final java.io.File sourceMetadataFile = new java.io.File(ioRoot, toIoPath(getMetadataFilePath(source.getVirtualFilePath())));
             final java.io.File destinationMetadataFile =
                     new java.io.File(ioRoot, toIoPath(getMetadataFilePath(destination.getVirtualFilePath())));
             if (sourceMetadataFile.exists()) {
-                nioCopy(sourceMetadataFile, destinationMetadataFile, filter);
+                nioCopy(sourceMetadataFile, destinationMetadataFile, null);
+            }
+            if (source.isFolder()) {
+                copyTree(source, destination.getIoFile());
+            } else {
+                nioCopy(source.getIoFile(), destination.getIoFile(), null);
             }
-            nioCopy(source.getIoFile(), destination.getIoFile(), filter);
 
             if (searcherProvider != null) {
                 try {
@@ -711,6 +719,160 @@ public class FSMountPoint implements MountPoint {
         }
     }
 
+    /**
+     * Copies content of folder. Tree is walked once: permissions of items are checked, directories are created and files are passed to
+     * the pool of copiers. Items which current user cannot read are skipped together with their metadata files. Content of .vfs and .git
+     * directories, as well as .git file of submodule, is copied without checking permissions.
+     */
+    private void copyTree(VirtualFileImpl source, java.io.File target) throws IOException {
+        final ThreadPoolExecutor copiers = new ThreadPoolExecutor(COPY_WORKERS, COPY_WORKERS, 0L, TimeUnit.MILLISECONDS,
+                                                                  new ArrayBlockingQueue<Runnable>(COPY_WORKERS * 16),
+                                                                  new ThreadFactoryBuilder().setNameFormat("FSMountPoint-Copy-%d")
+                                                                                            .setDaemon(true).build(),
+                                                                  new ThreadPoolExecutor.CallerRunsPolicy());
+        final List<Future<?>> copies = new ArrayList<>();
+        try {
+            mkdirs(target);
+            final LinkedList<VirtualFileImpl> q = new LinkedList<>();
+            final LinkedList<java.io.File> targets = new LinkedList<>();
+            q.add(source);
+            targets.add(target);
+            while (!q.isEmpty()) {
+                final VirtualFileImpl folder = q.pop();
+                final java.io.File folderTarget = targets.pop();
+                final String[] names = folder.getIoFile().list();
+                if (names == null) {
+                    throw new IOException(String.format("Unable get children '%s'. ", folder.getPath()));
+                }
+                Set<java.io.File> skippedMetadataFiles = null;
+                boolean hasServiceDir = false;
+                boolean hasGitDir = false;
+                for (String name : names) {
+                    if (SERVICE_DIR.equals(name)) {
+                        hasServiceDir = true;
+                        continue;
+                    }
+                    if (!GIT_FILTER.accept(folder.getIoFile(), name)) {
+                        hasGitDir = true;
+                        continue;
+                    }
+                    final Path childPath = folder.getVirtualFilePath().newPath(name);
+                    final VirtualFileImpl child =
+                            new VirtualFileImpl(new java.io.File(folder.getIoFile(), name), childPath, pathToId(childPath), this);
+                    // Check permission directly for current file only.
+                    // We already know parent accessible for current user otherwise we should not be here.
+                    // Ignore item if don't have permission to read it.
+                    if (!hasPermission(child, BasicPermissions.READ.value(), false)) {
+                        if (skippedMetadataFiles == null) {
+                            skippedMetadataFiles = new HashSet<>();
+                        }
+                        skippedMetadataFiles.add(new java.io.File(ioRoot, toIoPath(getMetadataFilePath(childPath))));
+                        continue;
+                    }
+                    final java.io.File childTarget = new java.io.File(folderTarget, name);
+                    if (child.isFolder()) {
+                        if (child.getIoFile().equals(target)) {
+                            // Folder is copied to one of its descendants, don't copy the copy.
+                            continue;
+                        }
+                        mkdirs(childTarget);
+                        q.push(child);
+                        targets.push(childTarget);
+                    } else {
+                        copies.add(copiers.submit(newCopyTask(child.getIoFile(), childTarget)));
+                    }
+                }
+                if (hasGitDir) {
+                    final java.io.File git = new java.io.File(folder.getIoFile(), ".git");
+                    if (git.isDirectory()) {
+                        copyDirectory(git, new java.io.File(folderTarget, ".git"), Collections.<java.io.File>emptySet(), copiers, copies);
+                    } else {
+                        // .git file of submodule or worktree, it points to the git directory.
+                        copies.add(copiers.submit(newCopyTask(git, new java.io.File(folderTarget, ".git"))));
+                    }
+                }
+                if (hasServiceDir) {
+                    if (skippedMetadataFiles == null) {
+                        skippedMetadataFiles = Collections.emptySet();
+                    }
+                    copyDirectory(new java.io.File(folder.getIoFile(), SERVICE_DIR), new java.io.File(folderTarget, SERVICE_DIR),
+                                  skippedMetadataFiles, copiers, copies);
+                }
+            }
+            for (Future<?> copy : copies) {
+                waitForCopy(copy);
+            }
+        } finally {
+            copiers.shutdownNow();
+        }
+    }
+
+    /** Copies directory without checking permissions, files from {@code excluded} set aren't copied. */
+    private void copyDirectory(java.io.File source,
+                               java.io.File target,
+                               Set<java.io.File> excluded,
+                               ThreadPoolExecutor copiers,
+                               List<Future<?>> copies) throws IOException {
+        mkdirs(target);
+        final LinkedList<java.io.File> q = new LinkedList<>();
+        final LinkedList<java.io.File> targets = new LinkedList<>();
+        q.add(source);
+        targets.add(target);
+        while (!q.isEmpty()) {
+            final java.io.File dir = q.pop();
+            final java.io.File dirTarget = targets.pop();
+            final java.io.File[] files = dir.listFiles();
+            if (files == null) {
+                throw new IOException(String.format("Unable get children '%s'. ", dir.getAbsolutePath()));
+            }
+            for (java.io.File file : files) {
+                if (excluded.contains(file)) {
+                    continue;
+                }
+                final java.io.File fileTarget = new java.io.File(dirTarget, file.getName());
+                if (file.isDirectory()) {
+                    mkdirs(fileTarget);
+                    q.push(file);
+                    targets.push(fileTarget);
+                } else {
+                    copies.add(copiers.submit(newCopyTask(file, fileTarget)));
+                }
+            }
+        }
+    }
+
+    private Callable<Void> newCopyTask(final java.io.File source, final java.io.File target) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                // Files.copy lets JDK copy content inside the kernel, e.g. with copy_file_range on linux.
+                Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                return null;
+            }
+        };
+    }
+
+    private void mkdirs(java.io.File dir) throws IOException {
+        if (!(dir.exists() || dir.mkdirs())) {
+            throw new IOException(String.format("Unable create directory '%s'. ", dir.getAbsolutePath()));
+        }
+    }
+
+    private void waitForCopy(Future<?> copy) throws IOException {
+        try {
+            copy.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for files being copied. ");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
 
     VirtualFileImpl rename(VirtualFileImpl virtualFile, String newName, String newMediaType, String lockToken)
             throws ForbiddenException, ConflictException, ServerException {
@@ -1151,7 +1313,7 @@ public class FSMountPoint implements MountPoint {
     }
 
 
-    void unzip(VirtualFileImpl parent, InputStream zipped, boolean overwrite, int stripNumber)
+    void unzip(VirtualFileImpl parent, InputStream zipped, boolean overwrite, int stripNumber, LineConsumer progress)
             throws ForbiddenException, ConflictException, ServerException {
         if (!parent.isFolder()) {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder. ", parent.getPath()));
@@ -1166,6 +1328,16 @@ public class FSMountPoint implements MountPoint {
             throw new ForbiddenException(String.format("Unable import from zip to '%s'. Operation not permitted. ", parent.getPath()));
         }
 
+        // Entries are read one by one but content of small files is written by pool of writers.
+        final ThreadPoolExecutor writers = new ThreadPoolExecutor(UNZIP_WRITERS, UNZIP_WRITERS, 0L, TimeUnit.MILLISECONDS,
+                                                                  new ArrayBlockingQueue<Runnable>(UNZIP_WRITERS * 16),
+                                                                  new ThreadFactoryBuilder().setNameFormat("FSMountPoint-Unzip-%d")
+                                                                                            .setDaemon(true).build(),
+                                                                  new ThreadPoolExecutor.CallerRunsPolicy());
+        // Pending writes, the next write of the same file waits for the previous one.
+        final Map<Path, Future<?>> writes = new HashMap<>();
+        int created = 0;
+        int updated = 0;
         ZipInputStream zip = null;
         try {
             zip = new ZipInputStream(zipContent.zippedData);
@@ -1199,7 +1371,7 @@ public class FSMountPoint implements MountPoint {
                     final java.io.File dir = new java.io.File(current.getIoFile(), name);
                     if (!dir.exists()) {
                         if (dir.mkdir()) {
-                            eventService.publish(new CreateEvent(workspaceId, newPath.toString(), true));
+                            created++;
                         } else {
                             throw new ServerException(String.format("Unable create directory '%s' ", newPath));
                         }
@@ -1230,27 +1402,74 @@ public class FSMountPoint implements MountPoint {
                         throw new ServerException(msg);
                     }
 
-                    doUpdateContent(file, noCloseZip);
+                    final Future<?> previousWrite = writes.remove(newPath);
+                    if (previousWrite != null) {
+                        waitForWrite(previousWrite);
+                    }
+                    final byte[] head = ByteStreams.toByteArray(ByteStreams.limit(noCloseZip, MAX_ASYNC_WRITE_SIZE + 1));
+                    if (head.length > MAX_ASYNC_WRITE_SIZE) {
+                        doUpdateContent(file, new SequenceInputStream(new ByteArrayInputStream(head), noCloseZip));
+                    } else {
+                        writes.put(newPath, writers.submit(new Callable<Void>() {
+                            @Override
+                            public Void call() throws Exception {
+                                doUpdateContent(file, new ByteArrayInputStream(head));
+                                return null;
+                            }
+                        }));
+                    }
                     if (newFile) {
-                        eventService.publish(new CreateEvent(workspaceId, newPath.toString(), false));
+                        created++;
                     } else {
-                        eventService.publish(new UpdateContentEvent(workspaceId, newPath.toString()));
+                        updated++;
+                    }
+                    if ((created + updated) % UNZIP_PROGRESS_STEP == 0) {
+                        writeProgress(progress, created, updated);
                     }
                 }
                 zip.closeEntry();
             }
-            if (searcherProvider != null) {
-                try {
-                    searcherProvider.getSearcher(this, true).add(parent);
-                } catch (ServerException e) {
-                    LOG.error(e.getMessage(), e);
-                }
+            for (Future<?> write : writes.values()) {
+                waitForWrite(write);
             }
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
         } finally {
+            writers.shutdownNow();
             closeQuietly(zip);
         }
+        writeProgress(progress, created, updated);
+        if (searcherProvider != null) {
+            try {
+                searcherProvider.getSearcher(this, true).add(parent);
+            } catch (ServerException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+        eventService.publish(new ImportEvent(workspaceId, parent.getPath(), created, updated));
+    }
+
+    private void waitForWrite(Future<?> write) throws ServerException {
+        try {
+            write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for unzipped files being written. ");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        }
+    }
+
+    private void writeProgress(LineConsumer progress, int created, int updated) {
+        try {
+            progress.writeLine(String.format("Extracted %d items, %d files updated", created + updated, updated));
+        } catch (IOException e) {
+            LOG.warn(e.getMessage(), e);
+        }
     }
 
    /* ============ LOCKING ============ */
@@ -137,13 +137,14 @@ public class LocalFileSystemProvider extends VirtualFileSystemProvider {
         FSMountPoint mount = mountRef.get();
         if (mount == null && create) {
             final java.io.File workspaceMountPoint = mountStrategy.getMountPath(workspaceId);
+            // Directory must exist before mount, watcher of mount point starts to watch it immediately.
+            if (!(workspaceMountPoint.exists() || workspaceMountPoint.mkdirs())) {
+                LOG.error("Unable create directory {}", workspaceMountPoint);
+                // critical error cannot continue
+                throw new ServerException(String.format("Virtual filesystem '%s' is not available. ", workspaceId));
+            }
             FSMountPoint newMount = new FSMountPoint(workspaceId, workspaceMountPoint, eventService, searcherProvider);
             if (mountRef.maybeSet(newMount)) {
-                if (!(workspaceMountPoint.exists() || workspaceMountPoint.mkdirs())) {
-                    LOG.error("Unable create directory {}", workspaceMountPoint);
-                    // critical error cannot continue
-                    throw new ServerException(String.format("Virtual filesystem '%s' is not available. ", workspaceId));
-                }
                 mount = newMount;
             }
         }
@@ -161,6 +162,7 @@ public class LocalFileSystemProvider extends VirtualFileSystemProvider {
             final boolean res = ref.compareAndSet(null, mountPoint);
             if (res) {
                 MountPointCacheCleaner.add(mountPoint);
+                MountPointWatcher.add(mountPoint);
             }
             return res;
         }
@@ -173,6 +175,7 @@ public class LocalFileSystemProvider extends VirtualFileSystemProvider {
             final FSMountPoint mountPoint = ref.getAndSet(null);
             if (mountPoint != null) {
                 MountPointCacheCleaner.remove(mountPoint);
+                MountPointWatcher.remove(mountPoint);
             }
             return mountPoint;
         }
@@ -0,0 +1,650 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.vfs.impl.fs;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.vfs.server.Path;
+import org.eclipse.che.api.vfs.server.observation.CreateEvent;
+import org.eclipse.che.api.vfs.server.observation.DeleteEvent;
+import org.eclipse.che.api.vfs.server.observation.MoveEvent;
+import org.eclipse.che.api.vfs.server.observation.RenameEvent;
+import org.eclipse.che.api.vfs.server.observation.UpdateContentEvent;
+import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent;
+import org.eclipse.che.api.vfs.server.search.Searcher;
+import org.eclipse.che.api.vfs.server.search.SearcherProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches local filesystem under {@code MountPoint} and makes changes which are done bypassing virtual filesystem API, e.g. by native
+ * git, builder or terminal, visible for virtual filesystem. For each changed item cached data of {@code MountPoint} is dropped, index is
+ * updated and {@link VirtualFileEvent} is published.
+ * <p/>
+ * All directories of mount point except content of {@code .git} directories are registered in {@link WatchService}. Events are
+ * collected until there are no new events during {@link #QUIET_PERIOD} and then processed together, so sequence of events for the same
+ * file is processed once. Changes which are made through virtual filesystem API are already indexed and published, watcher recognizes
+ * them by events of virtual filesystem and skips. If some events are lost, e.g. because of overflow of events queue, directory which has
+ * lost events is rescanned and files modified after the last processed batch are reported as updated.
+ * <p/>
+ * All watchers share single {@link WatchService} and single thread which collects and processes events of all mount points, so number
+ * of threads and inotify instances doesn't grow with number of mounted workspaces. Watch service and thread are created when the first
+ * watcher is started and closed when the last one is stopped.
+ * <p/>
+ * Watcher is started for each mount point unless system property {@code vfs.local.fs_watcher.enabled} is set to {@code false}.
+ */
+public class MountPointWatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(MountPointWatcher.class);
+
+    /** Collected events are processed when there are no new events during this time. */
+    static final long QUIET_PERIOD       = 300;
+    /** Collected events are processed after this time even if new events are still coming. */
+    static final long MAX_DELAY          = TimeUnit.SECONDS.toMillis(10);
+    /** Max delay between change of file through virtual filesystem API and event about this change from local filesystem. */
+    static final long MAX_EVENT_LATENCY  = TimeUnit.SECONDS.toMillis(2);
+    /** Changes made through virtual filesystem API are remembered for this time. */
+    static final long OWN_CHANGE_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+    /** If there are more changed files than this number whole mount point is rescanned. */
+    static final int  MAX_PENDING        = 10000;
+
+    private static final String GIT_DIR = ".git";
+
+    private static volatile boolean enabled = Boolean.parseBoolean(System.getProperty("vfs.local.fs_watcher.enabled", "true"));
+
+    private static final Map<java.io.File, MountPointWatcher> watchers = new ConcurrentHashMap<>();
+
+    /** Guards creation and closing of shared watch service and thread. */
+    private static final Object                                     lock    = new Object();
+    /** Started watchers. */
+    private static final Set<MountPointWatcher>                     started = new CopyOnWriteArraySet<>();
+    /** Watchers by keys of directories which they registered in shared watch service. */
+    private static final ConcurrentMap<WatchKey, MountPointWatcher> owners  = new ConcurrentHashMap<>();
+
+    private static WatchService sharedWatchService;
+    private static Thread       sharedThread;
+
+    static void add(FSMountPoint mountPoint) {
+        if (!enabled) {
+            return;
+        }
+        final MountPointWatcher watcher = new MountPointWatcher(mountPoint);
+        try {
+            watcher.start();
+        } catch (IOException e) {
+            LOG.warn("Unable watch changes of VFS mounted at {}: {}", mountPoint.getRoot().getIoFile(), e.getMessage());
+            return;
+        }
+        final MountPointWatcher previous = watchers.put(mountPoint.getRoot().getIoFile(), watcher);
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    static void remove(FSMountPoint mountPoint) {
+        final MountPointWatcher watcher = watchers.remove(mountPoint.getRoot().getIoFile());
+        if (watcher != null) {
+            watcher.stop();
+        }
+    }
+
+    /** Enables or disables watchers of mount points which are mounted after this call. */
+    static void setEnabled(boolean enabled) {
+        MountPointWatcher.enabled = enabled;
+    }
+
+    private final FSMountPoint                      mountPoint;
+    private final String                            workspaceId;
+    private final java.nio.file.Path                ioRoot;
+    private final ConcurrentMap<Path, OwnChange>    ownChanges;
+    private final EventSubscriber<VirtualFileEvent> ownChangesRecorder;
+
+    // Fields below are guarded by this watcher, after start they are used mostly by shared thread.
+    private final Map<WatchKey, java.nio.file.Path>      keys;
+    private final Set<java.nio.file.Path>                directories;
+    private final Map<java.nio.file.Path, PendingChange> pending;
+    private final Set<java.nio.file.Path>                rescan;
+    private       long                                   lastProcessed;
+    /** Time of the first event of current batch or {@code 0} if there is no collected events. */
+    private       long                                   batchStart;
+    /** Time of the last collected event. */
+    private       long                                   lastEvent;
+    private       boolean                                stopped;
+
+    private WatchService watchService;
+
+    MountPointWatcher(FSMountPoint mountPoint) {
+        this.mountPoint = mountPoint;
+        workspaceId = mountPoint.getWorkspaceId();
+        ioRoot = mountPoint.getRoot().getIoFile().toPath();
+        ownChanges = new ConcurrentHashMap<>();
+        keys = new HashMap<>();
+        directories = new HashSet<>();
+        // Parent goes before its descendants.
+        pending = new TreeMap<>();
+        rescan = new TreeSet<>();
+        ownChangesRecorder = new EventSubscriber<VirtualFileEvent>() {
+            @Override
+            public void onEvent(VirtualFileEvent event) {
+                if (Thread.currentThread() == sharedThread || !workspaceId.equals(event.getWorkspaceId())) {
+                    return;
+                }
+                switch (event.getType()) {
+                    case CREATED:
+                    case CONTENT_UPDATED:
+                    case DELETED:
+                    case IMPORTED:
+                        recordOwnChange(event.getPath());
+                        break;
+                    case MOVED:
+                        recordOwnChange(event.getPath());
+                        recordOwnChange(((MoveEvent)event).getOldPath());
+                        break;
+                    case RENAMED:
+                        recordOwnChange(event.getPath());
+                        recordOwnChange(((RenameEvent)event).getOldPath());
+                        break;
+                }
+            }
+        };
+    }
+
+    void start() throws IOException {
+        synchronized (lock) {
+            if (sharedWatchService == null) {
+                final WatchService newWatchService = FileSystems.getDefault().newWatchService();
+                final Thread newThread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        watch(newWatchService);
+                    }
+                }, "MountPointWatcher");
+                newThread.setDaemon(true);
+                sharedWatchService = newWatchService;
+                sharedThread = newThread;
+                newThread.start();
+            }
+            watchService = sharedWatchService;
+            started.add(this);
+        }
+        synchronized (this) {
+            lastProcessed = System.currentTimeMillis();
+            registerTree(ioRoot);
+        }
+        mountPoint.getEventService().subscribe(ownChangesRecorder);
+    }
+
+    void stop() {
+        mountPoint.getEventService().unsubscribe(ownChangesRecorder);
+        synchronized (this) {
+            stopped = true;
+            for (WatchKey key : keys.keySet()) {
+                owners.remove(key);
+                key.cancel();
+            }
+            keys.clear();
+        }
+        synchronized (lock) {
+            if (started.remove(this) && started.isEmpty()) {
+                sharedThread.interrupt();
+                try {
+                    sharedWatchService.close();
+                } catch (IOException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                sharedThread = null;
+                sharedWatchService = null;
+            }
+        }
+    }
+
+    /** Main loop of shared thread. Collects events of all mount points and processes batches of mount points which became quiet. */
+    private static void watch(WatchService watchService) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long timeout = -1;
+                final long before = System.currentTimeMillis();
+                for (MountPointWatcher watcher : started) {
+                    final long delay = watcher.getProcessingDelay(before);
+                    if (delay >= 0 && (timeout < 0 || delay < timeout)) {
+                        timeout = delay;
+                    }
+                }
+                final WatchKey key = timeout < 0 ? watchService.take() : watchService.poll(timeout, TimeUnit.MILLISECONDS);
+                final long now = System.currentTimeMillis();
+                if (key != null) {
+                    final MountPointWatcher owner = owners.get(key);
+                    if (owner != null) {
+                        owner.collectEvents(key, now);
+                    } else {
+                        // Watcher is stopped.
+                        key.pollEvents();
+                    }
+                }
+                for (MountPointWatcher watcher : started) {
+                    watcher.processIfReady(now);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // All watchers are stopped.
+        }
+    }
+
+    /**
+     * Gets time in milliseconds after which collected events should be processed, {@code 0} if they should be processed right now or
+     * {@code -1} if there are no collected events.
+     */
+    private synchronized long getProcessingDelay(long now) {
+        if (pending.isEmpty() && rescan.isEmpty()) {
+            return -1;
+        }
+        return Math.max(Math.min(lastEvent + QUIET_PERIOD, batchStart + MAX_DELAY) - now, 0);
+    }
+
+    /** Processes collected events if there were no new events during {@link #QUIET_PERIOD} or batch is collected too long. */
+    private synchronized void processIfReady(long now) {
+        if (stopped || (pending.isEmpty() && rescan.isEmpty())) {
+            return;
+        }
+        if (now - lastEvent >= QUIET_PERIOD || now - batchStart >= MAX_DELAY) {
+            try {
+                processChanges();
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+            pending.clear();
+            rescan.clear();
+            lastProcessed = now;
+            batchStart = 0;
+        }
+    }
+
+    private synchronized void collectEvents(WatchKey key, long now) {
+        if (stopped) {
+            return;
+        }
+        final java.nio.file.Path dir = keys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                rescan.add(dir == null ? ioRoot : dir);
+                continue;
+            }
+            if (dir == null) {
+                continue;
+            }
+            final java.nio.file.Path file = dir.resolve((java.nio.file.Path)event.context());
+            final int serviceDir = indexOf(file, FSMountPoint.SERVICE_DIR);
+            if (serviceDir >= 0) {
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS)) {
+                    registerTree(file);
+                }
+                serviceFileChanged(file, serviceDir);
+                continue;
+            }
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS)) {
+                // Whole new directory is reported as created, no need to collect events about its content.
+                registerTree(file);
+            }
+            PendingChange change = pending.get(file);
+            if (change == null) {
+                pending.put(file, change = new PendingChange(event.kind() == ENTRY_CREATE));
+            }
+            change.lastSeen = now;
+        }
+        if (!key.reset()) {
+            // Directory is removed.
+            keys.remove(key);
+            owners.remove(key);
+        }
+        if (pending.size() > MAX_PENDING) {
+            pending.clear();
+            rescan.add(ioRoot);
+        }
+        if (!(pending.isEmpty() && rescan.isEmpty())) {
+            lastEvent = now;
+            if (batchStart == 0) {
+                batchStart = now;
+            }
+        }
+    }
+
+    private void processChanges() {
+        final long now = System.currentTimeMillis();
+        for (Iterator<OwnChange> i = ownChanges.values().iterator(); i.hasNext(); ) {
+            if (i.next().time < now - OWN_CHANGE_TIMEOUT) {
+                i.remove();
+            }
+        }
+        final Searcher searcher = getSearcher();
+        final Set<java.nio.file.Path> processed = new HashSet<>();
+        for (java.nio.file.Path dir : rescan) {
+            if (!isUnder(dir, processed)) {
+                rescan(dir, searcher);
+                processed.add(dir);
+            }
+        }
+        for (Map.Entry<java.nio.file.Path, PendingChange> entry : pending.entrySet()) {
+            final java.nio.file.Path file = entry.getKey();
+            if (!isUnder(file, processed) && processChange(file, entry.getValue(), searcher)) {
+                processed.add(file);
+            }
+        }
+    }
+
+    /** Processes change of single item. Returns {@code true} if change of item covers all its descendants. */
+    private boolean processChange(java.nio.file.Path file, PendingChange change, Searcher searcher) {
+        final Path vfsPath = toVfsPath(file);
+        final boolean exists = Files.exists(file, LinkOption.NOFOLLOW_LINKS);
+        final boolean folder = exists ? Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS) : directories.contains(file);
+        if (!exists && folder) {
+            forgetTree(file);
+        }
+        if (isOwnChange(vfsPath, file, change.lastSeen)) {
+            return folder;
+        }
+        if (exists && change.created) {
+            mountPoint.invalidateCaches(vfsPath, false);
+            if (!isGitFile(file)) {
+                index(searcher, vfsPath, false);
+            }
+            mountPoint.getEventService().publish(new CreateEvent(workspaceId, vfsPath.toString(), folder));
+            return folder;
+        } else if (exists) {
+            // Modification of directory means its list of children is changed, each child is reported separately.
+            if (!folder) {
+                if (!isGitFile(file)) {
+                    index(searcher, vfsPath, true);
+                }
+                mountPoint.getEventService().publish(new UpdateContentEvent(workspaceId, vfsPath.toString()));
+            }
+            return false;
+        } else if (!change.created) {
+            mountPoint.invalidateCaches(vfsPath, folder);
+            if (searcher != null) {
+                try {
+                    searcher.delete(vfsPath.toString(), !folder);
+                } catch (ServerException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+            mountPoint.getEventService().publish(new DeleteEvent(workspaceId, vfsPath.toString(), folder));
+        }
+        // Item which is created and removed between two batches is ignored.
+        return folder;
+    }
+
+    /**
+     * Rescans directory after lost events. Files and directories modified after the last processed batch are reported as updated or
+     * created, removed directories are reported as deleted. Whole directory is re-indexed.
+     */
+    private void rescan(java.nio.file.Path dir, final Searcher searcher) {
+        LOG.debug("Rescan {} after lost events", dir);
+        final EventService eventService = mountPoint.getEventService();
+        final Path vfsDir = toVfsPath(dir);
+        final long since = lastProcessed - MAX_EVENT_LATENCY;
+        mountPoint.invalidateCaches(vfsDir, true);
+        for (Iterator<java.nio.file.Path> i = directories.iterator(); i.hasNext(); ) {
+            final java.nio.file.Path known = i.next();
+            if (known.startsWith(dir) && !Files.isDirectory(known, LinkOption.NOFOLLOW_LINKS)) {
+                i.remove();
+                if (Files.isDirectory(known.getParent(), LinkOption.NOFOLLOW_LINKS)) {
+                    eventService.publish(new DeleteEvent(workspaceId, toVfsPath(known).toString(), true));
+                }
+            }
+        }
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<java.nio.file.Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(java.nio.file.Path subDir, BasicFileAttributes attrs) {
+                    final java.nio.file.Path name = subDir.getFileName();
+                    if (name != null && (GIT_DIR.equals(name.toString()) || FSMountPoint.SERVICE_DIR.equals(name.toString()))) {
+                        if (!directories.contains(subDir)) {
+                            registerTree(subDir);
+                        }
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (!directories.contains(subDir)) {
+                        registerTree(subDir);
+                        final Path vfsPath = toVfsPath(subDir);
+                        if (!isOwnChange(vfsPath, subDir, attrs.lastModifiedTime().toMillis())) {
+                            eventService.publish(new CreateEvent(workspaceId, vfsPath.toString(), true));
+                        }
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(java.nio.file.Path file, BasicFileAttributes attrs) {
+                    final long modified = attrs.lastModifiedTime().toMillis();
+                    final Path vfsPath = toVfsPath(file);
+                    if (modified > since && !isOwnChange(vfsPath, file, modified)) {
+                        eventService.publish(new UpdateContentEvent(workspaceId, vfsPath.toString()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(java.nio.file.Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+        }
+        if (searcher != null) {
+            try {
+                if (!vfsDir.isRoot()) {
+                    searcher.delete(vfsDir.toString(), false);
+                }
+                if (Files.isDirectory(dir, LinkOption.NOFOLLOW_LINKS)) {
+                    searcher.add(mountPoint.getVirtualFileUnchecked(vfsDir));
+                }
+            } catch (ServerException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Drops cached data of item which ACL, lock or properties file is changed. */
+    private void serviceFileChanged(java.nio.file.Path file, int serviceDir) {
+        // <parent>/.vfs/{acl|locks|props}/<name><suffix>
+        if (file.getNameCount() != serviceDir + 3) {
+            return;
+        }
+        final String fileName = file.getFileName().toString();
+        final String suffix;
+        switch (file.getName(serviceDir + 1).toString()) {
+            case "acl":
+                suffix = FSMountPoint.ACL_FILE_SUFFIX;
+                break;
+            case "locks":
+                suffix = FSMountPoint.LOCK_FILE_SUFFIX;
+                break;
+            case "props":
+                suffix = FSMountPoint.PROPERTIES_FILE_SUFFIX;
+                break;
+            default:
+                return;
+        }
+        if (fileName.endsWith(suffix)) {
+            final Path parent = toVfsPath(file.getParent().getParent().getParent());
+            mountPoint.invalidateCaches(parent.newPath(fileName.substring(0, fileName.length() - suffix.length())), false);
+        }
+    }
+
+    private void registerTree(java.nio.file.Path dir) {
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<java.nio.file.Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(java.nio.file.Path subDir, BasicFileAttributes attrs) throws IOException {
+                    final java.nio.file.Path name = subDir.getFileName();
+                    // Creation and removing of .git directory is reported but changes inside of it are not interesting.
+                    if (name != null && GIT_DIR.equals(name.toString())) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    final WatchKey key = subDir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                    keys.put(key, subDir);
+                    owners.put(key, MountPointWatcher.this);
+                    directories.add(subDir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(java.nio.file.Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            // Most likely limit of watches is reached, changes in some directories will not be visible.
+            LOG.warn("Unable watch {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private void forgetTree(java.nio.file.Path dir) {
+        for (Iterator<java.nio.file.Path> i = directories.iterator(); i.hasNext(); ) {
+            if (i.next().startsWith(dir)) {
+                i.remove();
+            }
+        }
+    }
+
+    private void recordOwnChange(String path) {
+        final Path vfsPath = Path.fromString(path);
+        final java.io.File ioFile = vfsPath.isRoot() ? ioRoot.toFile() : new java.io.File(ioRoot.toFile(), vfsPath.join('/'));
+        ownChanges.put(vfsPath, new OwnChange(System.currentTimeMillis(), ioFile.lastModified()));
+    }
+
+    /**
+     * Checks whether change of file is done through virtual filesystem API. Change is own if item itself or any of its parents is
+     * changed through API not long before event about this change is received. Own change of file must also leave the same modification
+     * time of file, otherwise file is modified again bypassing API.
+     */
+    private boolean isOwnChange(Path vfsPath, java.nio.file.Path file, long seen) {
+        for (Path path = vfsPath; path != null; path = path.getParent()) {
+            final OwnChange change = ownChanges.get(path);
+            if (change != null && seen <= change.time + MAX_EVENT_LATENCY) {
+                return path != vfsPath || !Files.isRegularFile(file) || change.lastModified == file.toFile().lastModified();
+            }
+        }
+        return false;
+    }
+
+    private void index(Searcher searcher, Path vfsPath, boolean update) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            final VirtualFileImpl virtualFile = mountPoint.getVirtualFileUnchecked(vfsPath);
+            if (update) {
+                searcher.update(virtualFile);
+            } else {
+                searcher.add(virtualFile);
+            }
+        } catch (ServerException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private Searcher getSearcher() {
+        final SearcherProvider searcherProvider = mountPoint.getSearcherProvider();
+        if (searcherProvider == null) {
+            return null;
+        }
+        try {
+            return searcherProvider.getSearcher(mountPoint, true);
+        } catch (ServerException e) {
+            LOG.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private Path toVfsPath(java.nio.file.Path file) {
+        final java.nio.file.Path relative = ioRoot.relativize(file);
+        final String[] elements = new String[relative.getNameCount()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = relative.getName(i).toString();
+        }
+        return elements.length == 0 || elements[0].isEmpty() ? Path.ROOT : Path.ROOT.newPath(elements);
+    }
+
+    /** Content of .git directories isn't indexed. */
+    private boolean isGitFile(java.nio.file.Path file) {
+        return indexOf(file, GIT_DIR) >= 0;
+    }
+
+    /** Gets index of the first name element of {@code file} under mount point which is equal to {@code name}. */
+    private int indexOf(java.nio.file.Path file, String name) {
+        for (int i = ioRoot.getNameCount(), count = file.getNameCount(); i < count; i++) {
+            if (name.equals(file.getName(i).toString())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isUnder(java.nio.file.Path file, Set<java.nio.file.Path> dirs) {
+        for (java.nio.file.Path parent = file.getParent(); parent != null; parent = parent.getParent()) {
+            if (dirs.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class PendingChange {
+        /** First event about file is creation. */
+        final boolean created;
+        long lastSeen;
+
+        PendingChange(boolean created) {
+            this.created = created;
+        }
+    }
+
+    private static class OwnChange {
+        final long time;
+        final long lastModified;
+
+        OwnChange(long time, long lastModified) {
+            this.time = time;
+            this.lastModified = lastModified;
+        }
+    }
+}
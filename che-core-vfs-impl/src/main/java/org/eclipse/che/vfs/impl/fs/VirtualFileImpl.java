@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.util.ContentTypeGuesser;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.vfs.server.ContentStream;
 import org.eclipse.che.api.vfs.server.LazyIterator;
 import org.eclipse.che.api.vfs.server.Path;
@@ -239,7 +240,13 @@ public class VirtualFileImpl implements VirtualFile {
 
     @Override
     public void unzip(InputStream zipped, boolean overwrite, int stripNumber) throws ForbiddenException, ConflictException, ServerException {
-        mountPoint.unzip(this, zipped, overwrite, stripNumber);
+        mountPoint.unzip(this, zipped, overwrite, stripNumber, LineConsumer.DEV_NULL);
+    }
+
+    @Override
+    public void unzip(InputStream zipped, boolean overwrite, int stripNumber, LineConsumer progress)
+            throws ForbiddenException, ConflictException, ServerException {
+        mountPoint.unzip(this, zipped, overwrite, stripNumber, progress);
     }
 
     //
@@ -176,6 +176,45 @@ public class CopyTest extends LocalFileSystemTest {
         compareDirectories(folderPath, expectedPath, true);
     }
 
+    public void testCopyFolderContainsFileWithNameStartsWithNameOfProtectedFile() throws Exception {
+        String sourcePath = createDirectory(testRootPath, "CopyTest_PrefixFolder");
+        String protectedFilePath = createFile(sourcePath, "file", DEFAULT_CONTENT_BYTES);
+        String siblingFilePath = createFile(sourcePath, "file2", DEFAULT_CONTENT_BYTES);
+        Map<String, String[]> properties = new HashMap<>();
+        properties.put("test_property", new String[]{"test value"});
+        writeProperties(siblingFilePath, properties);
+        Map<Principal, Set<String>> permissions = new HashMap<>(1);
+        Principal principal = DtoFactory.getInstance().createDto(Principal.class).withName("andrew").withType(Principal.Type.USER);
+        permissions.put(principal, Sets.newHashSet(BasicPermissions.ALL.value()));
+        writePermissions(protectedFilePath, permissions);
+
+        String requestPath = SERVICE_URI + "copy/" + pathToId(sourcePath) + '?' + "parentId=" + destinationId;
+        ContainerResponse response = launcher.service(HttpMethod.POST, requestPath, BASE_URI, null, null, null);
+        assertEquals("Error: " + response.getEntity(), 200, response.getStatus());
+        String expectedPath = destinationPath + "/CopyTest_PrefixFolder";
+        assertFalse("Protected file must not be copied. ", exists(expectedPath + "/file"));
+        assertTrue("Not found file in destination location. ", exists(expectedPath + "/file2"));
+        Map<String, String[]> copiedProperties = readProperties(expectedPath + "/file2");
+        assertNotNull("Properties of file must be copied. ", copiedProperties);
+        assertTrue(Arrays.equals(properties.get("test_property"), copiedProperties.get("test_property")));
+    }
+
+    public void testCopyFolderContainsGitFile() throws Exception {
+        // Submodules and worktrees have .git file which points to the git directory.
+        String sourcePath = createDirectory(testRootPath, "CopyTest_Submodule");
+        byte[] gitFileContent = "gitdir: ../.git/modules/CopyTest_Submodule".getBytes();
+        createFile(sourcePath, ".git", gitFileContent);
+        createFile(sourcePath, "file", DEFAULT_CONTENT_BYTES);
+
+        String requestPath = SERVICE_URI + "copy/" + pathToId(sourcePath) + '?' + "parentId=" + destinationId;
+        ContainerResponse response = launcher.service(HttpMethod.POST, requestPath, BASE_URI, null, null, null);
+        assertEquals("Error: " + response.getEntity(), 200, response.getStatus());
+        String expectedPath = destinationPath + "/CopyTest_Submodule";
+        assertTrue("Not found file in destination location. ", exists(expectedPath + "/file"));
+        assertTrue(".git file must be copied. ", getIoFile(expectedPath + "/.git").isFile());
+        assertTrue(Arrays.equals(gitFileContent, readFile(expectedPath + "/.git")));
+    }
+
     public void testCopyFolderContainsFolderNoReadPermission() throws Exception {
         List<String> l = flattenDirectory(folderPath);
         Map<Principal, Set<String>> permissions = new HashMap<>(1);
@@ -221,6 +260,17 @@ public class CopyTest extends LocalFileSystemTest {
         compareDirectories(folderPath, expectedPath, true);
     }
 
+    public void testCopyFolderToItsChild() throws Exception {
+        String childPath = createDirectory(folderPath, "CopyTest_ChildFolder");
+        String requestPath = SERVICE_URI + "copy/" + folderId + '?' + "parentId=" + pathToId(childPath);
+        ContainerResponse response = launcher.service(HttpMethod.POST, requestPath, BASE_URI, null, null, null);
+        assertEquals("Error: " + response.getEntity(), 200, response.getStatus());
+        String expectedPath = childPath + '/' + folderName;
+        assertTrue("Not found folder in destination location. ", exists(expectedPath));
+        assertTrue("Child folder must be copied. ", exists(expectedPath + "/CopyTest_ChildFolder"));
+        assertFalse("Copy must not be copied again. ", exists(expectedPath + "/CopyTest_ChildFolder/" + folderName));
+    }
+
     public void testCopyFolderAlreadyExist() throws Exception {
         createDirectory(destinationPath, folderName);
         String requestPath = SERVICE_URI + "copy/" + folderId + '?' + "parentId=" + destinationId;
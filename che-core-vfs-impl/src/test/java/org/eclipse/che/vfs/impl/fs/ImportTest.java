@@ -11,15 +11,15 @@
 package org.eclipse.che.vfs.impl.fs;
 
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.vfs.server.VirtualFile;
-import org.eclipse.che.api.vfs.server.observation.CreateEvent;
-import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent;
+import org.eclipse.che.api.vfs.server.observation.ImportEvent;
 import org.everrest.core.impl.ContainerResponse;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -33,11 +33,11 @@ public class ImportTest extends LocalFileSystemTest {
     private String importTestRootId;
     private byte[] zipFolder;
 
-    private List<VirtualFileEvent> events;
+    private List<ImportEvent> events;
 
-    private EventSubscriber<CreateEvent> eventSubscriber = new EventSubscriber<CreateEvent>() {
+    private EventSubscriber<ImportEvent> eventSubscriber = new EventSubscriber<ImportEvent>() {
         @Override
-        public void onEvent(CreateEvent event) {
+        public void onEvent(ImportEvent event) {
             events.add(event);
         }
     };
@@ -96,24 +96,47 @@ public class ImportTest extends LocalFileSystemTest {
         assertNotNull(file3);
         assertTrue(Arrays.equals(DEFAULT_CONTENT_BYTES, readFile(file3.getPath())));
 
-        assertEquals(6, events.size());
-
-        List<VirtualFileEvent> _events = new ArrayList<>(events);
-
-        for (Iterator<VirtualFileEvent> iterator = _events.iterator(); iterator.hasNext(); ) {
-            VirtualFileEvent event = iterator.next();
-            if (event.getPath().equals(folder1.getPath())
-                || event.getPath().equals(folder2.getPath())
-                || event.getPath().equals(folder3.getPath())
-                || event.getPath().equals(file1.getPath())
-                || event.getPath().equals(file2.getPath())
-                || event.getPath().equals(file3.getPath())) {
-                iterator.remove();
-            } else {
-                fail("Unexpected event " + event.getType() + " : " + event.getPath());
-            }
+        assertEquals(1, events.size());
+        ImportEvent event = events.get(0);
+        assertEquals(parent.getPath(), event.getPath());
+        assertEquals(6, event.getCreated());
+        assertEquals(0, event.getUpdated());
+    }
+
+    public void testImportManyFiles() throws Exception {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        ZipOutputStream zipOut = new ZipOutputStream(bout);
+        for (int i = 0; i < 2500; i++) {
+            zipOut.putNextEntry(new ZipEntry("folder" + (i % 10) + "/file" + i + ".txt"));
+            zipOut.write(("file" + i).getBytes());
         }
+        // larger than limit of content which is written by separate writer
+        byte[] large = new byte[100 * 1024];
+        Arrays.fill(large, (byte)'a');
+        zipOut.putNextEntry(new ZipEntry("large.txt"));
+        zipOut.write(large);
+        zipOut.close();
 
-        assertEquals(0, _events.size());
+        final List<String> progress = new ArrayList<>();
+        VirtualFile parent = mountPoint.getVirtualFileById(importTestRootId);
+        parent.unzip(new ByteArrayInputStream(bout.toByteArray()), false, 0, new LineConsumer() {
+            @Override
+            public void writeLine(String line) {
+                progress.add(line);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        for (int i = 0; i < 2500; i++) {
+            String path = parent.getPath() + "/folder" + (i % 10) + "/file" + i + ".txt";
+            assertTrue(Arrays.equals(("file" + i).getBytes(), readFile(path)));
+        }
+        assertTrue(Arrays.equals(large, readFile(parent.getPath() + "/large.txt")));
+        assertEquals(1, events.size());
+        assertEquals(2501, events.get(0).getCreated());
+        assertEquals(3, progress.size());
     }
 }
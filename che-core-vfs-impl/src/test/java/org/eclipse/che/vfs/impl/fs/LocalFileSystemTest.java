@@ -93,6 +93,8 @@ public abstract class LocalFileSystemTest extends TestCase {
     static {
         // enable assertion to test state of some components.
         enableAssertion(FSMountPoint.class);
+        // Events from local filesystem watcher make checks of VFS events unpredictable, MountPointWatcherTest starts watcher itself.
+        MountPointWatcher.setEnabled(false);
         URLHandlerFactorySetup.setup(virtualFileSystemRegistry);
     }
 
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.vfs.impl.fs;
+
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent;
+import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent.ChangeType;
+import org.eclipse.che.commons.lang.IoUtil;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MountPointWatcherTest extends LocalFileSystemTest {
+    private static final long TIMEOUT = 10000;
+
+    private MountPointWatcher                 watcher;
+    private List<VirtualFileEvent>            events;
+    private EventSubscriber<VirtualFileEvent> subscriber;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        events = Collections.synchronizedList(new ArrayList<VirtualFileEvent>());
+        subscriber = new EventSubscriber<VirtualFileEvent>() {
+            @Override
+            public void onEvent(VirtualFileEvent event) {
+                events.add(event);
+            }
+        };
+        mountPoint.getEventService().subscribe(subscriber);
+        watcher = new MountPointWatcher(mountPoint);
+        watcher.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        watcher.stop();
+        mountPoint.getEventService().unsubscribe(subscriber);
+        super.tearDown();
+    }
+
+    public void testExternalChangesOfFile() throws Exception {
+        final String path = createFile(testRootPath, "file.txt", DEFAULT_CONTENT_BYTES);
+        waitForEvent(ChangeType.CREATED, path);
+
+        writeFile(path, "updated".getBytes());
+        waitForEvent(ChangeType.CONTENT_UPDATED, path);
+
+        assertTrue(getIoFile(path).delete());
+        waitForEvent(ChangeType.DELETED, path);
+    }
+
+    public void testContentOfNewDirectoryIsWatched() throws Exception {
+        final String folderPath = createDirectory(testRootPath, "folder");
+        createFile(folderPath, "file1.txt", DEFAULT_CONTENT_BYTES);
+        waitForEvent(ChangeType.CREATED, folderPath);
+        // Content of new directory is covered with event about directory.
+        assertNull(findEvent(ChangeType.CREATED, folderPath + "/file1.txt"));
+
+        final String path = createFile(folderPath, "file2.txt", DEFAULT_CONTENT_BYTES);
+        waitForEvent(ChangeType.CREATED, path);
+    }
+
+    public void testChangesThroughApiAreNotReportedAgain() throws Exception {
+        final String path = mountPoint.getVirtualFile(testRootPath)
+                                      .createFile("file.txt", MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES))
+                                      .getPath();
+        // Marker file changed bypassing API, its event comes after events about all previous changes.
+        final String marker = createFile(testRootPath, "marker.txt", DEFAULT_CONTENT_BYTES);
+        waitForEvent(ChangeType.CREATED, marker);
+        assertEquals(2, events.size());
+        assertEquals(path, events.get(0).getPath());
+    }
+
+    public void testDirectoryIsRescannedWhenEventsAreLost() throws Exception {
+        final String folderPath = createDirectory(testRootPath, "folder");
+        waitForEvent(ChangeType.CREATED, folderPath);
+        final int files = 600;
+        // Watcher can't take events while test holds its lock, queue of events of folder overflows.
+        synchronized (watcher) {
+            for (int i = 0; i < files; i++) {
+                createFile(folderPath, "file" + i + ".txt", DEFAULT_CONTENT_BYTES);
+            }
+        }
+        // Files which are found by rescan are reported as updated.
+        for (int i = 0; i < files; i++) {
+            waitForEvent(ChangeType.CONTENT_UPDATED, folderPath + "/file" + i + ".txt");
+        }
+        assertNull(findEvent(ChangeType.CREATED, folderPath + "/file0.txt"));
+        assertNull(findEvent(ChangeType.CREATED, folderPath + "/file" + (files - 1) + ".txt"));
+    }
+
+    public void testWatchersShareThread() throws Exception {
+        final java.io.File otherIoRoot = new java.io.File(testFsIoRoot.getParentFile(), "other-ws-" + getName());
+        assertTrue(otherIoRoot.mkdirs());
+        final FSMountPoint otherMountPoint = new FSMountPoint("other-ws", otherIoRoot, mountPoint.getEventService(), null);
+        final MountPointWatcher otherWatcher = new MountPointWatcher(otherMountPoint);
+        otherWatcher.start();
+        try {
+            assertTrue(new java.io.File(otherIoRoot, "other.txt").createNewFile());
+            final String path = createFile(testRootPath, "file.txt", DEFAULT_CONTENT_BYTES);
+            waitForEvent(ChangeType.CREATED, "/other.txt");
+            waitForEvent(ChangeType.CREATED, path);
+
+            int threads = 0;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if ("MountPointWatcher".equals(thread.getName())) {
+                    threads++;
+                }
+            }
+            assertEquals(1, threads);
+        } finally {
+            otherWatcher.stop();
+            IoUtil.deleteRecursive(otherIoRoot);
+        }
+        // Watcher of the first mount point still works after the other one is stopped.
+        final String path = createFile(testRootPath, "file2.txt", DEFAULT_CONTENT_BYTES);
+        waitForEvent(ChangeType.CREATED, path);
+    }
+
+    private void waitForEvent(ChangeType type, String path) throws Exception {
+        final long end = System.currentTimeMillis() + TIMEOUT;
+        while (findEvent(type, path) == null) {
+            if (System.currentTimeMillis() > end) {
+                fail(String.format("No %s event for %s, events: %s", type, path, events));
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private VirtualFileEvent findEvent(ChangeType type, String path) {
+        synchronized (events) {
+            for (VirtualFileEvent event : events) {
+                if (event.getType() == type && event.getPath().equals(path)) {
+                    return event;
+                }
+            }
+        }
+        return null;
+    }
+}
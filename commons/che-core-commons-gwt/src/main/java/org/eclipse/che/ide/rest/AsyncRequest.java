@@ -12,6 +12,11 @@ package org.eclipse.che.ide.rest;
 
 import org.eclipse.che.ide.commons.exception.JobNotFoundException;
 import org.eclipse.che.ide.commons.exception.ServerException;
+import org.eclipse.che.ide.websocket.MessageBus;
+import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.events.ConnectionClosedHandler;
+import org.eclipse.che.ide.websocket.events.MessageHandler;
+import org.eclipse.che.ide.websocket.events.WebSocketClosedEvent;
 import com.google.gwt.http.client.Request;
 import com.google.gwt.http.client.RequestBuilder;
 import com.google.gwt.http.client.RequestBuilder.Method;
@@ -22,8 +27,22 @@ import com.google.gwt.http.client.URL;
 import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.Window.Location;
 
-/** Wrapper under RequestBuilder to simplify the stuffs. */
+/**
+ * Wrapper under RequestBuilder to simplify the stuffs.
+ * <p/>
+ * In asynchronous mode server notifies about done job over websocket channel, status of job is requested when notification is received.
+ * If websocket connection isn't open status of job is polled with growing delay.
+ */
 public class AsyncRequest {
+    /** Prefix of name of websocket channel which is notified when asynchronous job is done. Id of job follows the prefix. */
+    private static final String JOB_DONE_CHANNEL_PREFIX = "async-job:";
+    /** Delay (in milliseconds) between status requests when notification about done job is expected. */
+    private static final int    NOTIFIED_DELAY          = 30 * 1000;
+    /** Max. delay (in milliseconds) between status requests when status is polled. */
+    private static final int    MAX_POLLING_DELAY       = 30 * 1000;
+    /** Delay (in milliseconds) of status request after notification, job may be not completed yet when notification is sent. */
+    private static final int    DONE_DELAY              = 100;
+
     protected RequestBuilder     builder;
     protected AsyncRequestLoader loader;
     protected boolean            async;
@@ -31,7 +50,34 @@ public class AsyncRequest {
     protected int delay = 5000;
     protected RequestStatusHandler    handler;
     protected String                  requestStatusUrl;
+    protected MessageBus              messageBus;
     private   AsyncRequestCallback<?> callback;
+    private   String                  jobChannel;
+    private   int                     pollingDelay;
+    private   boolean                 jobDone;
+    /** Status request is sent and its response isn't received yet. Next status request is scheduled when response is received. */
+    private   boolean                 statusRequestPending;
+    private MessageHandler jobDoneHandler = new MessageHandler() {
+        @Override
+        public void onMessage(String message) {
+            jobDone = true;
+            pollingDelay = DONE_DELAY;
+            if (!statusRequestPending) {
+                requestTimer.cancel();
+                requestStatus();
+            }
+        }
+    };
+    private ConnectionClosedHandler connectionClosedHandler = new ConnectionClosedHandler() {
+        @Override
+        public void onClose(WebSocketClosedEvent event) {
+            // notification may be lost, poll status of job
+            if (!statusRequestPending) {
+                requestTimer.cancel();
+                scheduleStatusRequest();
+            }
+        }
+    };
     private AsyncRequestCallback<String> initCallback = new AsyncRequestCallback<String>(new LocationUnmarshaller()) {
         {
             setSuccessCodes(new int[]{Response.SC_ACCEPTED});
@@ -44,7 +90,14 @@ public class AsyncRequest {
                 handler.requestInProgress(requestStatusUrl);
             }
 
-            requestTimer.schedule(delay);
+            pollingDelay = delay;
+            subscribeJobChannel();
+            if (jobChannel != null) {
+                // job may be done before subscription and its notification is lost, check status once right now
+                requestStatus();
+            } else {
+                scheduleStatusRequest();
+            }
         }
 
         @Override
@@ -58,48 +111,7 @@ public class AsyncRequest {
     private Timer requestTimer = new Timer() {
         @Override
         public void run() {
-            RequestBuilder request = new RequestBuilder(RequestBuilder.GET, requestStatusUrl);
-            request.setCallback(new RequestCallback() {
-
-                public void onResponseReceived(Request request, Response response) {
-                    if (Response.SC_NOT_FOUND == response.getStatusCode()) {
-                        callback.onError(request, new JobNotFoundException(response));
-                        if (handler != null) {
-                            handler.requestError(requestStatusUrl, new JobNotFoundException(response));
-                        }
-                    } else if (response.getStatusCode() != Response.SC_ACCEPTED) {
-                        callback.onResponseReceived(request, response);
-                        if (handler != null) {
-                            // check is response successful, for correct handling failed responses
-                            if (callback.isSuccessful(response))
-                                handler.requestFinished(requestStatusUrl);
-                            else
-                                handler.requestError(requestStatusUrl, new ServerException(response));
-                        }
-                    } else {
-                        if (handler != null)
-                            handler.requestInProgress(requestStatusUrl);
-
-                        requestTimer.schedule(delay);
-                    }
-                }
-
-                public void onError(Request request, Throwable exception) {
-                    if (handler != null)
-                        handler.requestError(requestStatusUrl, exception);
-
-                    callback.onError(request, exception);
-                }
-            });
-            try {
-                request.send();
-            } catch (RequestException e) {
-                e.printStackTrace();
-                if (handler != null) {
-                    handler.requestError(requestStatusUrl, e);
-                }
-                callback.onFailure(e);
-            }
+            requestStatus();
         }
     };
 
@@ -126,6 +138,37 @@ public class AsyncRequest {
         this.async = async;
     }
 
+    /**
+     * Create new {@link AsyncRequest} instance.
+     *
+     * @param method
+     *         request method
+     * @param url
+     *         request URL
+     * @param async
+     *         if <b>true</b> - request will be sent in asynchronous mode
+     * @param messageBus
+     *         message bus for receiving notification about done asynchronous job, may be {@code null}
+     */
+    protected AsyncRequest(Method method, String url, boolean async, MessageBus messageBus) {
+        this(method, url, async);
+        this.messageBus = messageBus;
+    }
+
+    /**
+     * Create new {@link AsyncRequest} instance for HTTP method which isn't provided by {@link RequestBuilder}, e.g. PATCH.
+     *
+     * @param method
+     *         name of request method
+     * @param url
+     *         request URL
+     */
+    protected AsyncRequest(String method, String url) {
+        this.builder = new RequestBuilder(method, getCheckedURL(url)) {
+        };
+        this.loader = new EmptyLoader();
+    }
+
     /** @deprecated use {@link AsyncRequestFactory} instead. */
     @Deprecated
     protected AsyncRequest(RequestBuilder builder) {
@@ -227,10 +270,10 @@ public class AsyncRequest {
 
     /**
      * Set delay between requests to async REST Service<br>
-     * (Default: 5000 ms).
+     * (Default: 5000 ms). Delay is doubled after each request while job is polled.
      *
      * @param delay
-     *         the amount of time to wait between request resending (in milliseconds)
+     *         the amount of time to wait before the first request resending (in milliseconds)
      * @return this {@code AsyncRequest}
      */
     public final AsyncRequest delay(int delay) {
@@ -249,7 +292,117 @@ public class AsyncRequest {
         return this;
     }
 
-    private void sendRequest(AsyncRequestCallback<?> callback) throws RequestException {
+    /** Subscribes to the channel which is notified when asynchronous job is done. Does nothing if websocket connection isn't open. */
+    private void subscribeJobChannel() {
+        if (messageBus == null || messageBus.getReadyState() != MessageBus.ReadyState.OPEN || requestStatusUrl == null) {
+            return;
+        }
+        String jobId = requestStatusUrl;
+        final int query = jobId.indexOf('?');
+        if (query >= 0) {
+            jobId = jobId.substring(0, query);
+        }
+        jobId = jobId.substring(jobId.lastIndexOf('/') + 1);
+        try {
+            messageBus.subscribe(JOB_DONE_CHANNEL_PREFIX + jobId, jobDoneHandler);
+            messageBus.addOnCloseHandler(connectionClosedHandler);
+            jobChannel = JOB_DONE_CHANNEL_PREFIX + jobId;
+        } catch (WebSocketException e) {
+            // poll status of job
+        }
+    }
+
+    private void unsubscribeJobChannel() {
+        requestTimer.cancel();
+        if (jobChannel == null) {
+            return;
+        }
+        messageBus.removeOnCloseHandler(connectionClosedHandler);
+        try {
+            messageBus.unsubscribe(jobChannel, jobDoneHandler);
+        } catch (WebSocketException e) {
+            // connection is closed, nothing to unsubscribe from
+        }
+        jobChannel = null;
+    }
+
+    /** Requests status of asynchronous job. Does nothing if previous status request isn't completed yet. */
+    void requestStatus() {
+        if (statusRequestPending) {
+            return;
+        }
+        statusRequestPending = true;
+        try {
+            sendStatusRequest(new RequestCallback() {
+
+                public void onResponseReceived(Request request, Response response) {
+                    statusRequestPending = false;
+                    if (response.getStatusCode() != Response.SC_ACCEPTED) {
+                        unsubscribeJobChannel();
+                    }
+                    if (Response.SC_NOT_FOUND == response.getStatusCode()) {
+                        callback.onError(request, new JobNotFoundException(response));
+                        if (handler != null) {
+                            handler.requestError(requestStatusUrl, new JobNotFoundException(response));
+                        }
+                    } else if (response.getStatusCode() != Response.SC_ACCEPTED) {
+                        callback.onResponseReceived(request, response);
+                        if (handler != null) {
+                            // check is response successful, for correct handling failed responses
+                            if (callback.isSuccessful(response))
+                                handler.requestFinished(requestStatusUrl);
+                            else
+                                handler.requestError(requestStatusUrl, new ServerException(response));
+                        }
+                    } else {
+                        if (handler != null)
+                            handler.requestInProgress(requestStatusUrl);
+
+                        scheduleStatusRequest();
+                    }
+                }
+
+                public void onError(Request request, Throwable exception) {
+                    statusRequestPending = false;
+                    unsubscribeJobChannel();
+                    if (handler != null)
+                        handler.requestError(requestStatusUrl, exception);
+
+                    callback.onError(request, exception);
+                }
+            });
+        } catch (RequestException e) {
+            e.printStackTrace();
+            statusRequestPending = false;
+            unsubscribeJobChannel();
+            if (handler != null) {
+                handler.requestError(requestStatusUrl, e);
+            }
+            callback.onFailure(e);
+        }
+    }
+
+    /** Sends GET request to the status URL of asynchronous job. */
+    void sendStatusRequest(RequestCallback statusCallback) throws RequestException {
+        RequestBuilder request = new RequestBuilder(RequestBuilder.GET, requestStatusUrl);
+        request.setCallback(statusCallback);
+        request.send();
+    }
+
+    /**
+     * Schedules request of status of asynchronous job. If notification about done job is expected status is requested rarely, just in case
+     * notification is lost, otherwise delay grows after each request.
+     */
+    private void scheduleStatusRequest() {
+        if (jobChannel != null && !jobDone && messageBus.getReadyState() == MessageBus.ReadyState.OPEN) {
+            requestTimer.schedule(NOTIFIED_DELAY);
+        } else {
+            requestTimer.schedule(pollingDelay);
+            pollingDelay = Math.min(pollingDelay * 2, Math.max(delay, MAX_POLLING_DELAY));
+        }
+    }
+
+    void sendRequest(AsyncRequestCallback<?> callback) throws RequestException {
         callback.setLoader(loader, loaderMessage);
         callback.setRequest(this);
         builder.setCallback(callback);
@@ -12,6 +12,7 @@ package org.eclipse.che.ide.rest;
 
 import org.eclipse.che.ide.MimeType;
 import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.websocket.MessageBus;
 import com.google.gwt.http.client.RequestBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -26,11 +27,14 @@ import java.util.List;
 @Singleton
 public class AsyncRequestFactory {
     private static final String DTO_CONTENT_TYPE = MimeType.APPLICATION_JSON;
+    private static final String PATCH            = "PATCH";
     private final DtoFactory dtoFactory;
+    private final MessageBus messageBus;
 
     @Inject
-    public AsyncRequestFactory(DtoFactory dtoFactory) {
+    public AsyncRequestFactory(DtoFactory dtoFactory, MessageBus messageBus) {
         this.dtoFactory = dtoFactory;
+        this.messageBus = messageBus;
     }
 
     /**
@@ -168,7 +172,24 @@ public class AsyncRequestFactory {
      * @return new {@link AsyncRequest} instance to send POST request
      */
     private AsyncRequest doCreateRequest(RequestBuilder.Method method, String url, Object dtoBody, boolean async) {
-        AsyncRequest asyncRequest = new AsyncRequest(method, url, async);
+        return withBody(new AsyncRequest(method, url, async, messageBus), dtoBody);
+    }
+
+    /**
+     * Creates new PATCH request to the specified {@code url}.
+     *
+     * @param url
+     *         request URL
+     * @param dtoBody
+     *         the DTO to send as body of the request. Must implement {@link org.eclipse.che.ide.dto.JsonSerializable} interface or contain
+     *         objects that implement it. May be {@code null}.
+     * @return new {@link AsyncRequest} instance to send PATCH request
+     */
+    public AsyncRequest createPatchRequest(String url, Object dtoBody) {
+        return withBody(new AsyncRequest(PATCH, url), dtoBody);
+    }
+
+    private AsyncRequest withBody(AsyncRequest asyncRequest, Object dtoBody) {
         if (dtoBody != null) {
             if (dtoBody instanceof List) {
                 asyncRequest.data(dtoFactory.toJson((List)dtoBody));
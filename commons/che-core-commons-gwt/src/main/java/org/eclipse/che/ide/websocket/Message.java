@@ -90,6 +90,26 @@ public class Message extends Jso {
         return getArrayField("headers").cast();
     }
 
+    /**
+     * Get value of HTTP header. Unlike {@link #getHeaders()} doesn't copy headers.
+     *
+     * @param name
+     *         name of header
+     * @return value of the first header with specified name or {@code null} if there is no such header
+     */
+    public final String getHeader(String name) {
+        final JsoArray<Pair> headers = getHeaders();
+        if (headers != null) {
+            for (int i = 0, size = headers.size(); i < size; i++) {
+                final Pair header = headers.get(i);
+                if (name.equals(header.getName())) {
+                    return header.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Set HTTP headers.
      *
@@ -20,7 +20,6 @@ import org.eclipse.che.ide.websocket.events.MessageHandler;
 import org.eclipse.che.ide.websocket.events.MessageReceivedEvent;
 import org.eclipse.che.ide.websocket.events.ReplyHandler;
 import org.eclipse.che.ide.websocket.events.WebSocketClosedEvent;
-import org.eclipse.che.ide.websocket.rest.Pair;
 import org.eclipse.che.ide.websocket.rest.RequestCallback;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import com.google.gwt.core.client.JavaScriptException;
@@ -55,6 +54,7 @@ public class MessageBusImpl implements MessageBus {
     /** Max. number of attempts to reconnect for every <code>SELDOM_RECONNECTION_PERIOD</code> ms. */
     private final static int    MAX_SELDOM_RECONNECTION_ATTEMPTS     = 5;
     private static final String MESSAGE_TYPE_HEADER_NAME             = "x-everrest-websocket-message-type";
+    private static final String CHANNEL_HEADER_NAME                  = "x-everrest-websocket-channel";
     /** Timer for sending heartbeat pings to prevent autoclosing an idle WebSocket connection. */
     private final        Timer  heartbeatTimer                       = new Timer() {
         @Override
@@ -153,7 +153,7 @@ public class MessageBusImpl implements MessageBus {
      * @return <code>true</code> if WebSocket is supported;
      * <code>false</code> if it's not
      */
-    private boolean isSupported() {
+    boolean isSupported() {
         return WebSocket.isSupported();
     }
 
@@ -192,18 +192,15 @@ public class MessageBusImpl implements MessageBus {
         }
 
         //TODO Should be revised to remove
-        List<Pair> headers = message.getHeaders().toList();
-        if (headers != null) {
-            for (Pair header : headers) {
-                if (HTTPHeader.LOCATION.equals(header.getName()) && header.getValue().contains("async/")) {
-                    return;
-                }
-            }
+        final String location = message.getHeader(HTTPHeader.LOCATION);
+        if (location != null && location.contains("async/")) {
+            return;
         }
 
-        if (getChannel(message) != null) {
+        final String channel = getChannel(message);
+        if (channel != null) {
             // this is a message received by subscription
-            processSubscriptionMessage(message);
+            processSubscriptionMessage(channel, message);
         } else {
             String uuid = message.getStringField(MessageBuilder.UUID_FIELD);
             ReplyHandler replyCallback = replyCallbackMap.remove(uuid);
@@ -221,11 +218,12 @@ public class MessageBusImpl implements MessageBus {
     /**
      * Process the {@link Message} that received by subscription.
      *
+     * @param channel
+     *         channel from which message was received
      * @param message
      *         {@link Message}
      */
-    private void processSubscriptionMessage(Message message) {
-        String channel = getChannel(message);
+    private void processSubscriptionMessage(String channel, Message message) {
         List<MessageHandler> subscribersSet = channelToSubscribersMap.get(channel);
         if (subscribersSet != null) {
             for (MessageHandler handler : subscribersSet) {
@@ -246,7 +244,7 @@ public class MessageBusImpl implements MessageBus {
      *         text message
      * @return {@link Message}
      */
-    private Message parseMessage(String message) {
+    Message parseMessage(String message) {
         return Message.deserialize(message);
     }
 
@@ -267,17 +265,7 @@ public class MessageBusImpl implements MessageBus {
      * @return channel identifier or <code>null</code> if message is invalid.
      */
     private String getChannel(Message message) {
-        List<Pair> headers = message.getHeaders().toList();
-
-        if (headers != null) {
-            for (Pair header : headers) {
-                if ("x-everrest-websocket-channel".equals(header.getName())) {
-                    return header.getValue();
-                }
-            }
-        }
-
-        return null;
+        return message.getHeader(CHANNEL_HEADER_NAME);
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.rest;
+
+import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.http.client.RequestCallback;
+import com.google.gwt.http.client.Response;
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.eclipse.che.ide.commons.exception.JobNotFoundException;
+import org.eclipse.che.ide.websocket.MessageBus;
+import org.eclipse.che.ide.websocket.events.ConnectionClosedHandler;
+import org.eclipse.che.ide.websocket.events.MessageHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests status requests of asynchronous job when notification about done job is expected over websocket.
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class AsyncRequestTest {
+    private static final String STATUS_URL  = "/api/async/my_ws/1";
+    private static final String JOB_CHANNEL = "async-job:1";
+
+    @Mock
+    private MessageBus messageBus;
+
+    private List<RequestCallback>   statusRequests;
+    private AsyncRequestCallback<?> initCallback;
+    private TestCallback            callback;
+    private AsyncRequest            asyncRequest;
+
+    @Before
+    public void setUp() throws Exception {
+        when(messageBus.getReadyState()).thenReturn(MessageBus.ReadyState.OPEN);
+        statusRequests = new ArrayList<>();
+        callback = new TestCallback();
+        asyncRequest = new AsyncRequest(RequestBuilder.POST, "/api/job", true, messageBus) {
+            @Override
+            void sendRequest(AsyncRequestCallback<?> callback) {
+                initCallback = callback;
+            }
+
+            @Override
+            void sendStatusRequest(RequestCallback statusCallback) {
+                statusRequests.add(statusCallback);
+            }
+        };
+        asyncRequest.send(callback);
+    }
+
+    @Test
+    public void shouldCheckStatusOfJobOnceSubscribedToJobChannel() throws Exception {
+        accepted();
+
+        assertEquals(1, statusRequests.size());
+    }
+
+    @Test
+    public void shouldNotSendSecondStatusRequestWhenJobDoneNotificationComesWhileRequestIsPending() throws Exception {
+        final MessageHandler jobDoneHandler = accepted();
+
+        jobDoneHandler.onMessage("{\"jobId\":1}");
+        assertEquals(1, statusRequests.size());
+
+        // job isn't completed yet when its status was requested, next request is sent by timer
+        respond(statusRequests.get(0), Response.SC_ACCEPTED);
+        assertEquals(1, statusRequests.size());
+        asyncRequest.requestStatus();
+        assertEquals(2, statusRequests.size());
+
+        respond(statusRequests.get(1), Response.SC_OK);
+        assertEquals(1, callback.successes);
+        assertTrue(callback.failures.isEmpty());
+        verify(messageBus).unsubscribe(JOB_CHANNEL, jobDoneHandler);
+    }
+
+    @Test
+    public void shouldRequestStatusWhenJobDoneNotificationComes() throws Exception {
+        final MessageHandler jobDoneHandler = accepted();
+        respond(statusRequests.get(0), Response.SC_ACCEPTED);
+
+        jobDoneHandler.onMessage("{\"jobId\":1}");
+        assertEquals(2, statusRequests.size());
+
+        respond(statusRequests.get(1), Response.SC_OK);
+        assertEquals(1, callback.successes);
+        assertTrue(callback.failures.isEmpty());
+    }
+
+    @Test
+    public void shouldNotSendSecondStatusRequestWhenConnectionIsClosedWhileRequestIsPending() throws Exception {
+        accepted();
+        final ArgumentCaptor<ConnectionClosedHandler> closedHandler = ArgumentCaptor.forClass(ConnectionClosedHandler.class);
+        verify(messageBus).addOnCloseHandler(closedHandler.capture());
+
+        when(messageBus.getReadyState()).thenReturn(MessageBus.ReadyState.CLOSED);
+        closedHandler.getValue().onClose(null);
+        assertEquals(1, statusRequests.size());
+
+        respond(statusRequests.get(0), Response.SC_OK);
+        assertEquals(1, callback.successes);
+        assertTrue(callback.failures.isEmpty());
+    }
+
+    @Test
+    public void shouldNotSendStatusRequestByTimerWhileRequestIsPending() throws Exception {
+        accepted();
+
+        asyncRequest.requestStatus();
+        assertEquals(1, statusRequests.size());
+
+        respond(statusRequests.get(0), Response.SC_NOT_FOUND);
+        assertEquals(0, callback.successes);
+        assertEquals(1, callback.failures.size());
+        assertTrue(callback.failures.get(0) instanceof JobNotFoundException);
+    }
+
+    /** Server accepts request and starts asynchronous job. */
+    private MessageHandler accepted() throws Exception {
+        final Response response = mock(Response.class);
+        when(response.getStatusCode()).thenReturn(Response.SC_ACCEPTED);
+        when(response.getHeader("Location")).thenReturn(STATUS_URL);
+        initCallback.onResponseReceived(null, response);
+
+        final ArgumentCaptor<MessageHandler> jobDoneHandler = ArgumentCaptor.forClass(MessageHandler.class);
+        verify(messageBus).subscribe(eq(JOB_CHANNEL), jobDoneHandler.capture());
+        return jobDoneHandler.getValue();
+    }
+
+    private void respond(RequestCallback statusRequest, int status) {
+        final Response response = mock(Response.class);
+        when(response.getStatusCode()).thenReturn(status);
+        when(response.getText()).thenReturn("");
+        statusRequest.onResponseReceived(null, response);
+    }
+
+    private static class TestCallback extends AsyncRequestCallback<Void> {
+        int             successes;
+        List<Throwable> failures = new ArrayList<>();
+
+        @Override
+        protected void onSuccess(Void result) {
+            successes++;
+        }
+
+        @Override
+        protected void onFailure(Throwable exception) {
+            failures.add(exception);
+        }
+    }
+}
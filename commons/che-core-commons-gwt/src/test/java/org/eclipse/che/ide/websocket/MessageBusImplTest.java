@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.websocket;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.eclipse.che.ide.rest.HTTPHeader;
+import org.eclipse.che.ide.websocket.events.MessageHandler;
+import org.eclipse.che.ide.websocket.events.MessageReceivedEvent;
+import org.eclipse.che.ide.websocket.rest.RequestCallback;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests dispatching of received messages to the channel subscribers and to the callbacks of requests.
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class MessageBusImplTest {
+    private static final String CHANNEL_HEADER = "x-everrest-websocket-channel";
+    private static final String CHANNEL        = "output";
+
+    /** Received messages mapped to the text of frames. */
+    private Map<String, Message> frames;
+    private MessageBusImpl       messageBus;
+    private MessageHandler       handler;
+
+    @Before
+    public void setUp() throws Exception {
+        frames = new HashMap<>();
+        messageBus = new MessageBusImpl("ws://localhost/ws") {
+            @Override
+            boolean isSupported() {
+                return true;
+            }
+
+            @Override
+            public ReadyState getReadyState() {
+                return ReadyState.OPEN;
+            }
+
+            @Override
+            Message parseMessage(String message) {
+                return frames.get(message);
+            }
+        };
+        handler = mock(MessageHandler.class);
+        messageBus.subscribe(CHANNEL, handler);
+    }
+
+    @Test
+    public void shouldDispatchMessageToSubscribersOfItsChannel() throws Exception {
+        final MessageHandler otherHandler = mock(MessageHandler.class);
+        messageBus.subscribe("other", otherHandler);
+
+        receive("frame", channelMessage(CHANNEL, "line"));
+
+        verify(handler).onMessage("line");
+        verify(otherHandler, never()).onMessage(anyString());
+    }
+
+    @Test
+    public void shouldPassWholeMessageToSubscriptionHandler() throws Exception {
+        final SubscriptionHandler<?> subscriptionHandler = mock(SubscriptionHandler.class);
+        messageBus.subscribe("build", subscriptionHandler);
+        final Message message = channelMessage("build", "{}");
+
+        receive("frame", message);
+
+        verify(subscriptionHandler).onMessage(message);
+        verify(subscriptionHandler, never()).onMessage(anyString());
+    }
+
+    @Test
+    public void shouldDispatchReplyToCallbackOfRequest() throws Exception {
+        final Message request = mock(Message.class);
+        when(request.getStringField(MessageBuilder.UUID_FIELD)).thenReturn("1");
+        final RequestCallback<?> callback = mock(RequestCallback.class, RETURNS_DEEP_STUBS);
+        messageBus.send(request, callback);
+        final Message reply = mock(Message.class);
+        when(reply.getStringField(MessageBuilder.UUID_FIELD)).thenReturn("1");
+
+        receive("reply", reply);
+        // reply is dispatched once
+        receive("reply", reply);
+
+        verify(callback).onReply(reply);
+        verify(handler, never()).onMessage(anyString());
+    }
+
+    @Test
+    public void shouldIgnoreAcceptedMessage() throws Exception {
+        final Message message = channelMessage(CHANNEL, "line");
+        when(message.getResponseCode()).thenReturn(202);
+
+        receive("frame", message);
+
+        verify(handler, never()).onMessage(anyString());
+    }
+
+    @Test
+    public void shouldIgnoreMessageWithLocationOfAsynchronousJob() throws Exception {
+        final Message message = channelMessage(CHANNEL, "line");
+        when(message.getHeader(HTTPHeader.LOCATION)).thenReturn("/api/async/my_ws/1");
+
+        receive("frame", message);
+
+        verify(handler, never()).onMessage(anyString());
+    }
+
+    @Test
+    public void shouldDispatchMessageWithOtherLocation() throws Exception {
+        final Message message = channelMessage(CHANNEL, "line");
+        when(message.getHeader(HTTPHeader.LOCATION)).thenReturn("/api/project/my_ws/my_project");
+
+        receive("frame", message);
+
+        verify(handler).onMessage("line");
+    }
+
+    private Message channelMessage(String channel, String body) {
+        final Message message = mock(Message.class);
+        when(message.getHeader(CHANNEL_HEADER)).thenReturn(channel);
+        when(message.getBody()).thenReturn(body);
+        return message;
+    }
+
+    private void receive(String frame, Message message) {
+        frames.put(frame, message);
+        messageBus.onMessageReceived(new MessageReceivedEvent(frame));
+    }
+}
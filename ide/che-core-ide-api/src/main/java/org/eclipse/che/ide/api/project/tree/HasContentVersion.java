@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.api.project.tree;
+
+import org.eclipse.che.api.project.shared.dto.TextChange;
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.commons.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Indicates that {@link VirtualFile} knows version of its content on server and may update content with text changes instead of
+ * sending whole content.
+ */
+public interface HasContentVersion {
+    /**
+     * Gets version of file content which was last saved by this file, e.g. ETag returned by server.
+     *
+     * @return version of content or {@code null} if it isn't known yet
+     */
+    @Nullable
+    String getContentVersion();
+
+    /**
+     * Update content of the file with text changes. Changes are applied one by one to content of version {@link #getContentVersion()},
+     * update fails if content on server has other version.
+     *
+     * @param changes
+     *         changes to apply
+     * @param length
+     *         length of content after changes
+     */
+    Promise<Void> updateContent(List<TextChange> changes, int length);
+}
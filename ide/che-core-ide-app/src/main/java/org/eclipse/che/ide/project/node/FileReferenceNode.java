@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.project.node;
 
+import com.google.gwt.http.client.Response;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
@@ -18,28 +19,37 @@ import com.google.web.bindery.event.shared.EventBus;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
+import org.eclipse.che.api.project.shared.dto.TextChange;
 import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.api.promises.client.callback.AsyncPromiseHelper;
 import org.eclipse.che.ide.api.event.FileEvent;
 import org.eclipse.che.ide.api.project.node.HasProjectDescriptor;
 import org.eclipse.che.ide.api.project.node.settings.NodeSettings;
+import org.eclipse.che.ide.api.project.tree.HasContentVersion;
 import org.eclipse.che.ide.api.project.tree.VirtualFile;
 import org.eclipse.che.ide.api.project.node.HasAction;
 import org.eclipse.che.ide.project.node.resource.ItemReferenceProcessor;
+import org.eclipse.che.ide.commons.exception.UnmarshallerException;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
+import org.eclipse.che.ide.rest.HTTPHeader;
 import org.eclipse.che.ide.rest.StringUnmarshaller;
+import org.eclipse.che.ide.rest.Unmarshallable;
 import org.eclipse.che.ide.ui.smartTree.presentation.NodePresentation;
 
 import javax.validation.constraints.NotNull;
 import org.eclipse.che.commons.annotation.Nullable;
 
+import java.util.List;
+
 /**
  * @author Vlad Zhukovskiy
  */
-public class FileReferenceNode extends ItemReferenceBasedNode implements VirtualFile, HasAction {
+public class FileReferenceNode extends ItemReferenceBasedNode implements VirtualFile, HasContentVersion, HasAction {
 
     public static final String GET_CONTENT_REL = "get content";
 
+    private String contentVersion;
+
     @Inject
     public FileReferenceNode(@Assisted ItemReference itemReference,
                              @Assisted ProjectDescriptor projectDescriptor,
@@ -96,21 +106,55 @@ public class FileReferenceNode extends ItemReferenceBasedNode implements Virtual
         return AsyncPromiseHelper.createFromAsyncRequest(new AsyncPromiseHelper.RequestCall<Void>() {
             @Override
             public void makeCall(final AsyncCallback<Void> callback) {
-                nodeManager.projectService.updateFile(getStorablePath(), content, getMediaType(), new AsyncRequestCallback<Void>() {
-                    @Override
-                    protected void onSuccess(Void result) {
-                        callback.onSuccess(result);
-                    }
-
-                    @Override
-                    protected void onFailure(Throwable exception) {
-                        callback.onFailure(exception);
-                    }
-                });
+                contentVersion = null;
+                nodeManager.projectService.updateFile(getStorablePath(), content, getMediaType(), newUpdateCallback(callback));
+            }
+        });
+    }
+
+    @Nullable
+    @Override
+    public String getContentVersion() {
+        return contentVersion;
+    }
+
+    @Override
+    public Promise<Void> updateContent(final List<TextChange> changes, final int length) {
+        return AsyncPromiseHelper.createFromAsyncRequest(new AsyncPromiseHelper.RequestCall<Void>() {
+            @Override
+            public void makeCall(final AsyncCallback<Void> callback) {
+                final String version = contentVersion;
+                contentVersion = null;
+                nodeManager.projectService.patchFile(getStorablePath(), version, changes, length, newUpdateCallback(callback));
             }
         });
     }
 
+    /** Creates callback which remembers version of content sent in response to the update request. */
+    private AsyncRequestCallback<Void> newUpdateCallback(final AsyncCallback<Void> callback) {
+        return new AsyncRequestCallback<Void>(new Unmarshallable<Void>() {
+            @Override
+            public void unmarshal(Response response) throws UnmarshallerException {
+                contentVersion = response.getHeader(HTTPHeader.ETAG);
+            }
+
+            @Override
+            public Void getPayload() {
+                return null;
+            }
+        }) {
+            @Override
+            protected void onSuccess(Void result) {
+                callback.onSuccess(result);
+            }
+
+            @Override
+            protected void onFailure(Throwable exception) {
+                callback.onFailure(exception);
+            }
+        };
+    }
+
     @Override
     public void actionPerformed() {
         eventBus.fireEvent(new FileEvent(this, FileEvent.FileOperation.OPEN));
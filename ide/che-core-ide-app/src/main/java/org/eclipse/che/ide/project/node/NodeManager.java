@@ -15,6 +15,7 @@ import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.project.gwt.client.ChildrenBatchLoader;
 import org.eclipse.che.api.project.gwt.client.ProjectServiceClient;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
@@ -57,6 +58,7 @@ import java.util.List;
 public class NodeManager {
     protected final NodeFactory            nodeFactory;
     protected final ProjectServiceClient   projectService;
+    protected final ChildrenBatchLoader    childrenLoader;
     protected final DtoUnmarshallerFactory dtoUnmarshaller;
     protected final NodesResources         nodesResources;
     protected final SettingsProvider       nodeSettingsProvider;
@@ -65,12 +67,14 @@ public class NodeManager {
     @Inject
     public NodeManager(NodeFactory nodeFactory,
                        ProjectServiceClient projectService,
+                       ChildrenBatchLoader childrenLoader,
                        DtoUnmarshallerFactory dtoUnmarshaller,
                        NodesResources nodesResources,
                        SettingsProvider nodeSettingsProvider,
                        DtoFactory dtoFactory) {
         this.nodeFactory = nodeFactory;
         this.projectService = projectService;
+        this.childrenLoader = childrenLoader;
         this.dtoUnmarshaller = dtoUnmarshaller;
         this.nodesResources = nodesResources;
         this.nodeSettingsProvider = nodeSettingsProvider;
@@ -118,7 +122,7 @@ public class NodeManager {
         return new RequestCall<List<ItemReference>>() {
             @Override
             public void makeCall(AsyncCallback<List<ItemReference>> callback) {
-                projectService.getChildren(path, _callback(callback, dtoUnmarshaller.newListUnmarshaller(ItemReference.class)));
+                childrenLoader.getChildren(path, callback);
             }
         };
     }
@@ -10,29 +10,51 @@
  *******************************************************************************/
 package org.eclipse.che.ide.jseditor.client.document;
 
+import org.eclipse.che.api.project.shared.dto.TextChange;
+import org.eclipse.che.api.promises.client.Function;
+import org.eclipse.che.api.promises.client.FunctionException;
 import org.eclipse.che.api.promises.client.Operation;
 import org.eclipse.che.api.promises.client.OperationException;
+import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.api.promises.client.PromiseError;
 import org.eclipse.che.ide.api.editor.EditorInput;
 import org.eclipse.che.ide.api.event.FileEvent;
+import org.eclipse.che.ide.api.project.tree.HasContentVersion;
 import org.eclipse.che.ide.api.project.tree.VirtualFile;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.jseditor.client.events.DocumentChangeEvent;
+import org.eclipse.che.ide.jseditor.client.events.DocumentChangeHandler;
+import org.eclipse.che.ide.jseditor.client.reconciler.DirtyRegion;
+import org.eclipse.che.ide.jseditor.client.reconciler.DirtyRegionQueue;
 import org.eclipse.che.ide.util.loging.Log;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.web.bindery.event.shared.EventBus;
+import com.google.web.bindery.event.shared.HandlerRegistration;
 
 import javax.validation.constraints.NotNull;
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of {@link DocumentStorage}.
  */
 public class DocumentStorageImpl implements DocumentStorage {
 
-    private final EventBus eventBus;
+    /** Max number of changes which are sent as patch, document with more changes is saved with whole content. */
+    private static final int MAX_CHANGES = 256;
+
+    private final EventBus                     eventBus;
+    private final DtoFactory                   dtoFactory;
+    private final Map<Document, ChangeTracker> changeTrackers;
 
     @Inject
-    public DocumentStorageImpl(final EventBus eventBus) {
+    public DocumentStorageImpl(final EventBus eventBus, final DtoFactory dtoFactory) {
         this.eventBus = eventBus;
+        this.dtoFactory = dtoFactory;
+        this.changeTrackers = new HashMap<>();
     }
 
     @Override
@@ -65,7 +87,34 @@ public class DocumentStorageImpl implements DocumentStorage {
                              final boolean overwrite, @NotNull final AsyncCallback<EditorInput> callback) {
         final VirtualFile file = editorInput.getFile();
 
-        file.updateContent(document.getContents()).then(new Operation<Void>() {
+        ChangeTracker tracker = changeTrackers.get(document);
+        if (tracker == null) {
+            tracker = new ChangeTracker();
+            tracker.registration = document.getDocumentHandle().getDocEventBus().addHandler(DocumentChangeEvent.TYPE, tracker);
+            changeTrackers.put(document, tracker);
+        }
+
+        final Promise<Void> update;
+        final List<TextChange> changes = tracker.removeChanges();
+        if (changes != null && !changes.isEmpty()
+            && file instanceof HasContentVersion && ((HasContentVersion)file).getContentVersion() != null) {
+            final ChangeTracker patchedTracker = tracker;
+            update = ((HasContentVersion)file).updateContent(changes, document.getContentsCharCount())
+                                               .catchErrorPromise(new Function<PromiseError, Promise<Void>>() {
+                                                   @Override
+                                                   public Promise<Void> apply(PromiseError arg) throws FunctionException {
+                                                       Log.debug(DocumentStorageImpl.class,
+                                                                 "Saving changes failed, save whole content (" + file.getPath() + ").");
+                                                       patchedTracker.purge();
+                                                       return file.updateContent(document.getContents());
+                                                   }
+                                               });
+        } else {
+            tracker.purge();
+            update = file.updateContent(document.getContents());
+        }
+
+        update.then(new Operation<Void>() {
             @Override
             public void apply(Void arg) throws OperationException {
                 Log.debug(DocumentStorageImpl.class, "Document saved (" + file.getPath() + ").");
@@ -91,6 +140,65 @@ public class DocumentStorageImpl implements DocumentStorage {
 
     @Override
     public void documentClosed(final Document document) {
+        final ChangeTracker tracker = changeTrackers.remove(document);
+        if (tracker != null) {
+            tracker.registration.removeHandler();
+        }
+    }
+
+    /**
+     * Collects changes of document made after last save. Successive typed or removed characters are merged in one change.
+     */
+    private class ChangeTracker implements DocumentChangeHandler {
+        private final DirtyRegionQueue    regions = new DirtyRegionQueue();
+        private       boolean             overflow;
+        private       HandlerRegistration registration;
+
+        @Override
+        public void onDocumentChange(final DocumentChangeEvent event) {
+            if (overflow) {
+                return;
+            }
+            if (event.getRemoveCharCount() > 0) {
+                regions.addDirtyRegion(new DirtyRegion(event.getOffset(), event.getRemoveCharCount(), DirtyRegion.REMOVE, null));
+            }
+            final String text = event.getText();
+            if (text != null && !text.isEmpty()) {
+                regions.addDirtyRegion(new DirtyRegion(event.getOffset(), text.length(), DirtyRegion.INSERT, text));
+            }
+            if (regions.getSize() > MAX_CHANGES) {
+                overflow = true;
+                regions.purgeQueue();
+            }
+        }
+
+        /**
+         * Removes collected changes.
+         *
+         * @return changes in order they were made or {@code null} if there are too many changes
+         */
+        List<TextChange> removeChanges() {
+            if (overflow) {
+                purge();
+                return null;
+            }
+            final List<TextChange> changes = new ArrayList<>(regions.getSize());
+            DirtyRegion region;
+            while ((region = regions.removeNextDirtyRegion()) != null) {
+                final boolean insert = DirtyRegion.INSERT.equals(region.getType());
+                changes.add(dtoFactory.createDto(TextChange.class)
+                                      .withOffset(region.getOffset())
+                                      .withLength(insert ? 0 : region.getLength())
+                                      .withText(insert ? region.getText() : ""));
+            }
+            return changes;
+        }
+
+        /** Forgets collected changes, e.g. when whole content of document is saved. */
+        void purge() {
+            overflow = false;
+            regions.purgeQueue();
+        }
     }
 
 }
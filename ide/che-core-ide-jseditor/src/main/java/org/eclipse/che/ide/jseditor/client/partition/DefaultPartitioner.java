@@ -27,6 +27,10 @@ import org.eclipse.che.ide.util.loging.Log;
 
 /**
  * Default implementation of the {@link DocumentPartitioner}.
+ * <p>
+ * The partitioning is updated incrementally: on document change the positions after the change are moved and only the text from the
+ * start of the damaged partition is rescanned, until the scanner finds a partition boundary which existed before the change. The text
+ * is read from the document by windows, so the whole content isn't requested on each keystroke.
  */
 public class DefaultPartitioner implements DocumentPartitioner {
 
@@ -43,6 +47,12 @@ public class DefaultPartitioner implements DocumentPartitioner {
     /** The position category this partitioner uses to store the document's partitioning information. */
     private final String positionCategory;
 
+    /** Initial size of the text window which is scanned after the change. */
+    private static final int SCAN_WINDOW = 4096;
+
+    /** The length of the content which the current positions describe, -1 if content was never scanned. */
+    private int partitionedLength = -1;
+
 
     public DefaultPartitioner(final PartitionScanner scanner,
                               final List<String> legalContentTypes,
@@ -85,10 +95,109 @@ public class DefaultPartitioner implements DocumentPartitioner {
         }
     }
 
+    /**
+     * Updates the positions after the change of the document. Only the damaged part of the content is rescanned.
+     *
+     * @return <code>true</code> if positions are updated, <code>false</code> if the whole content should be rescanned
+     */
+    private boolean updatePositions(final int offset, final int removedLength, final int insertedLength) {
+        final int contentLength = getContentLength();
+        try {
+            // positions starting from this index are moved by the change, the ones before it and after the change offset are damaged
+            final int firstMoved = this.documentPositionMap.computeIndexInCategory(this.positionCategory, offset + removedLength);
+
+            this.documentPositionMap.setContentLength(contentLength);
+            this.documentPositionMap.updatePositions(this.positionCategory, offset, removedLength, insertedLength);
+
+            // the scan restarts at the start of the partition which contains or touches the change, or at the end of the previous one
+            int firstDamaged = this.documentPositionMap.computeIndexInCategory(this.positionCategory, offset);
+            int scanStart = 0;
+            if (firstDamaged > 0) {
+                final TypedPosition previous = getPosition(firstDamaged - 1);
+                final int previousEnd = previous.getOffset() + previous.getLength();
+                if (previousEnd >= offset) {
+                    firstDamaged--;
+                    scanStart = previous.getOffset();
+                } else {
+                    scanStart = previousEnd;
+                }
+            }
+
+            final int changeEnd = offset + insertedLength;
+            final int count = getPositionCount();
+            final List<TypedPosition> created = new ArrayList<>();
+            // old positions starting from this index are kept
+            int firstKept = count;
+            int next = firstMoved;
+            int window = SCAN_WINDOW;
+            int windowStart = scanStart;
+            boolean done = false;
+            while (!done) {
+                final int windowEnd = Math.min(contentLength, Math.max(windowStart, changeEnd) + window);
+                this.scanner.setScannedString(getDocumentHandle().getDocument().getContentRange(windowStart, windowEnd - windowStart));
+                int boundary = windowStart;
+                Token token = scanner.nextToken();
+                while (!token.isEOF()) {
+                    final int tokenOffset = windowStart + scanner.getTokenOffset();
+                    final int tokenEnd = tokenOffset + scanner.getTokenLength();
+                    if (windowEnd < contentLength && tokenEnd >= windowEnd) {
+                        // the token may continue after the window
+                        break;
+                    }
+                    if (tokenOffset >= changeEnd) {
+                        while (next < count && getPosition(next).getOffset() < tokenOffset) {
+                            next++;
+                        }
+                        if (next < count && getPosition(next).getOffset() == tokenOffset) {
+                            // the old partitioning has a boundary here too, the rest of it is still valid
+                            firstKept = next;
+                            done = true;
+                            break;
+                        }
+                    }
+                    final String contentType = getTokenContentType(token);
+                    if (isSupportedContentType(contentType)) {
+                        created.add(new TypedPosition(tokenOffset, tokenEnd - tokenOffset, contentType));
+                    }
+                    boundary = tokenEnd;
+                    token = scanner.nextToken();
+                }
+                if (!done) {
+                    if (windowEnd == contentLength) {
+                        done = true;
+                    } else {
+                        windowStart = boundary;
+                        window *= 2;
+                    }
+                }
+            }
+
+            this.documentPositionMap.replacePositions(this.positionCategory, firstDamaged, firstKept, created);
+            return true;
+        } catch (final BadLocationException e) {
+            Log.warn(DefaultPartitioner.class, "Invalid change at " + offset + " (max:" + contentLength + "), rescan whole content.");
+        } catch (final BadPositionCategoryException e) {
+            Log.warn(DefaultPartitioner.class, "Invalid position category: " + this.positionCategory, e);
+        }
+        return false;
+    }
+
     @Override
     public void onDocumentChange(final DocumentChangeEvent event) {
-        this.scanner.setScannedString(event.getDocument().getDocument().getContents());
-        updatePositions();
+        final int contentLength = getContentLength();
+        final int offset = event.getOffset();
+        final int removedLength = event.getRemoveCharCount();
+        final int insertedLength = event.getText() != null ? event.getText().length() : 0;
+        if (this.partitionedLength < 0
+            || offset < 0
+            || removedLength < 0
+            || offset + removedLength > this.partitionedLength
+            || this.partitionedLength - removedLength + insertedLength != contentLength
+            || !updatePositions(offset, removedLength, insertedLength)) {
+            this.scanner.setScannedString(event.getDocument().getDocument().getContents());
+            updatePositions();
+        }
+        this.partitionedLength = contentLength;
     }
 
     @Override
@@ -121,18 +230,16 @@ public class DefaultPartitioner implements DocumentPartitioner {
 
             final int endOffset = offset + length;
 
-            final List<TypedPosition> category = getPositions();
-
             TypedPosition previous = null;
             TypedPosition current = null;
             int start, end, gapOffset;
             final Position gap = new Position(0);
 
-            final int startIndex = getFirstIndexEndingAfterOffset(category, offset);
-            final int endIndex = getFirstIndexStartingAfterOffset(category, endOffset);
+            final int startIndex = getFirstIndexEndingAfterOffset(offset);
+            final int endIndex = getFirstIndexStartingAfterOffset(Math.min(endOffset, contentLength));
             for (int i = startIndex; i < endIndex; i++) {
 
-                current = category.get(i);
+                current = getPosition(i);
 
                 gapOffset = (previous != null) ? previous.getOffset() + previous.getLength() : 0;
                 gap.setOffset(gapOffset);
@@ -171,6 +278,8 @@ public class DefaultPartitioner implements DocumentPartitioner {
 
         } catch (final BadPositionCategoryException ex) {
             Logger.getLogger(DefaultPartitioner.class.getName()).fine("Bad position in computePartitioning.");
+        } catch (final BadLocationException ex) {
+            Logger.getLogger(DefaultPartitioner.class.getName()).fine("Bad location in computePartitioning.");
         } catch (final RuntimeException ex) {
             Logger.getLogger(DefaultPartitioner.class.getName()).warning("computePartitioning failed.");
             throw ex;
@@ -183,21 +292,20 @@ public class DefaultPartitioner implements DocumentPartitioner {
     public TypedRegion getPartition(final int offset) {
         final int contentLength = getContentLength();
 
-        List<TypedPosition> category = null;
-        try {
-            category = getPositions();
-        } catch (final BadPositionCategoryException e) {
-            Log.warn(DefaultPartitioner.class, "Invalid position cateory... with default category! ", e);
-            return defaultRegion();
-        }
-
-        if (category == null || category.size() == 0) {
-            return defaultRegion();
-        }
-
-        Integer index = null;
+        TypedPosition next = null;
+        TypedPosition previous = null;
         try {
-            index = this.documentPositionMap.computeIndexInCategory(positionCategory, offset);
+            final int count = getPositionCount();
+            if (count == 0) {
+                return defaultRegion();
+            }
+            final int index = this.documentPositionMap.computeIndexInCategory(positionCategory, offset);
+            if (index < count) {
+                next = getPosition(index);
+            }
+            if (index > 0) {
+                previous = getPosition(index - 1);
+            }
         } catch (final BadLocationException e) {
             Log.warn(DefaultPartitioner.class, "Invalid location " + offset + " (max=" + contentLength + ").");
             return defaultRegion();
@@ -205,13 +313,7 @@ public class DefaultPartitioner implements DocumentPartitioner {
             Log.warn(DefaultPartitioner.class, "Invalid position cateory... with default category " + positionCategory + "!", e);
             return defaultRegion();
         }
-        if (index == null) {
-            return defaultRegion();
-        }
-
-        if (index < category.size()) {
-
-            final TypedPosition next = category.get(index);
+        if (next != null) {
 
             if (offset == next.offset) {
                 return new TypedRegionImpl(next.getOffset(),
@@ -219,11 +321,10 @@ public class DefaultPartitioner implements DocumentPartitioner {
                                            next.getType());
             }
 
-            if (index == 0) {
+            if (previous == null) {
                 return new TypedRegionImpl(0, next.offset, DEFAULT_CONTENT_TYPE);
             }
 
-            final TypedPosition previous = category.get(index - 1);
             if (previous.includes(offset)) {
                 return new TypedRegionImpl(previous.getOffset(),
                                            previous.getLength(),
@@ -236,7 +337,6 @@ public class DefaultPartitioner implements DocumentPartitioner {
                                        DEFAULT_CONTENT_TYPE);
         }
 
-        final TypedPosition previous = category.get(category.size() - 1);
         if (previous.includes(offset)) {
             return new TypedRegionImpl(previous.getOffset(),
                                        previous.getLength(),
@@ -269,45 +369,33 @@ public class DefaultPartitioner implements DocumentPartitioner {
     /**
      * Returns the index of the first position which ends after the given offset.
      *
-     * @param positions the positions in linear order
      * @param offset the offset
      * @return the index of the first position which ends after the offset
      */
-    private static int getFirstIndexEndingAfterOffset(final List<TypedPosition> positions, final int offset) {
-        int i = -1;
-        int j = positions.size();
-        while (j - i > 1) {
-            final int k = (i + j) >> 1;
-            final Position p = positions.get(k);
-            if (p.getOffset() + p.getLength() > offset) {
-                j = k;
-            } else {
-                i = k;
+    private int getFirstIndexEndingAfterOffset(final int offset) throws BadLocationException, BadPositionCategoryException {
+        int index = this.documentPositionMap.computeIndexInCategory(this.positionCategory, offset);
+        if (index > 0) {
+            final Position previous = getPosition(index - 1);
+            if (previous.getOffset() + previous.getLength() > offset) {
+                return index - 1;
             }
         }
-        return j;
+        final int count = getPositionCount();
+        // skip empty positions at the offset
+        while (index < count && getPosition(index).getLength() == 0 && getPosition(index).getOffset() == offset) {
+            index++;
+        }
+        return index;
     }
 
     /**
      * Returns the index of the first position which starts at or after the given offset.
      *
-     * @param positions the positions in linear order
      * @param offset the offset
      * @return the index of the first position which starts after the offset
      */
-    private static int getFirstIndexStartingAfterOffset(List<TypedPosition> positions, int offset) {
-        int i = -1;
-        int j = positions.size();
-        while (j - i > 1) {
-            final int k = (i + j) >> 1;
-            final Position p = positions.get(k);
-            if (p.getOffset() >= offset) {
-                j = k;
-            } else {
-                i = k;
-            }
-        }
-        return j;
+    private int getFirstIndexStartingAfterOffset(final int offset) throws BadLocationException, BadPositionCategoryException {
+        return this.documentPositionMap.computeIndexInCategory(this.positionCategory, offset);
     }
 
     /**
@@ -376,29 +464,28 @@ public class DefaultPartitioner implements DocumentPartitioner {
             return null;
         }
 
-        List<TypedPosition> category = null;
         try {
-            category = getPositions();
-        } catch (final BadPositionCategoryException e) {
-            Log.warn(DefaultPartitioner.class, "Bad position category: " + this.positionCategory);
-            return null;
-        }
+            final int count = getPositionCount();
+            if (count == 0) {
+                return null;
+            }
 
-        if (category == null || category.size() == 0) {
-            return null;
-        }
+            if (index < count) {
+                final TypedPosition position = getPosition(index);
+                if (offset == position.offset) {
+                    return position;
+                }
+            }
 
-        if (index < category.size()) {
-            if (offset == category.get(index).offset) {
-                return category.get(index);
+            if (index > 0) {
+                index--;
             }
-        }
 
-        if (index > 0) {
-            index--;
+            return getPosition(index);
+        } catch (final BadPositionCategoryException e) {
+            Log.warn(DefaultPartitioner.class, "Bad position category: " + this.positionCategory);
+            return null;
         }
-
-        return category.get(index);
     }
 
     /**
@@ -411,6 +498,14 @@ public class DefaultPartitioner implements DocumentPartitioner {
         return this.documentPositionMap.getPositions(this.positionCategory);
     }
 
+    private int getPositionCount() throws BadPositionCategoryException {
+        return this.documentPositionMap.getPositionCount(this.positionCategory);
+    }
+
+    private TypedPosition getPosition(final int index) throws BadPositionCategoryException {
+        return this.documentPositionMap.getPosition(this.positionCategory, index);
+    }
+
     private int getContentLength() {
         return getDocumentHandle().getDocument().getContentsCharCount();
     }
@@ -56,6 +56,47 @@ public interface DocumentPositionMap {
      */
     List<TypedPosition> getPositions(String category) throws BadPositionCategoryException;
 
+    /**
+     * Returns the number of positions in the given category.
+     * @param category the category
+     * @return the number of positions
+     * @throws BadPositionCategoryException if the category is invalid
+     */
+    int getPositionCount(String category) throws BadPositionCategoryException;
+
+    /**
+     * Returns the position at the given index of the category. Positions are ordered by their offsets.
+     * @param category the category
+     * @param index the index of the position
+     * @return the position
+     * @throws BadPositionCategoryException if the category is invalid
+     */
+    TypedPosition getPosition(String category, int index) throws BadPositionCategoryException;
+
+    /**
+     * Replaces the positions of the category with index in range [fromIndex, toIndex) by the given positions.
+     * @param category the category
+     * @param fromIndex the index of the first replaced position
+     * @param toIndex the index after the last replaced position
+     * @param replacement the new positions, ordered by their offsets
+     * @throws BadLocationException when one of the new positions is invalid
+     * @throws BadPositionCategoryException if the category is invalid
+     */
+    void replacePositions(String category, int fromIndex, int toIndex, List<TypedPosition> replacement) throws BadLocationException,
+                                                                                                              BadPositionCategoryException;
+
+    /**
+     * Updates the positions of the category after the document change. Positions which start at or after the end of the removed text
+     * are moved by the difference of inserted and removed lengths, the move is applied lazily when positions are read. Positions which
+     * overlap the removed text are not modified.
+     * @param category the category
+     * @param offset the offset of the change
+     * @param removedLength the number of removed characters
+     * @param insertedLength the number of inserted characters
+     * @throws BadPositionCategoryException if the category is invalid
+     */
+    void updatePositions(String category, int offset, int removedLength, int insertedLength) throws BadPositionCategoryException;
+
     int computeIndexInCategory(String category, int offset) throws BadLocationException, BadPositionCategoryException;
 
     /**
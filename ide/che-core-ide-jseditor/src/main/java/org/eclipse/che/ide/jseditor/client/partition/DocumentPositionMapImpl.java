@@ -11,6 +11,8 @@
 package org.eclipse.che.ide.jseditor.client.partition;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,15 +23,25 @@ import org.eclipse.che.ide.api.text.Position;
 import org.eclipse.che.ide.api.text.TypedPosition;
 import org.eclipse.che.ide.runtime.Assert;
 import org.eclipse.che.ide.util.loging.Log;
-/** Implementation for {@link DocumentPositionMap}. */
+/**
+ * Implementation for {@link DocumentPositionMap}.
+ * <p>
+ * Positions of a category are kept in a list ordered by their offsets. When the document changes, positions after the change are not
+ * moved immediately: the list remembers the index of the first moved position and the offset delta, the delta is added to the positions
+ * when they are read. Typing at the same place moves only the few positions between two changes.
+ */
 public class DocumentPositionMapImpl implements DocumentPositionMap {
 
+    /** Orders positions by their end offsets. */
+    private static final Comparator<Position> END_OFFSET_COMPARATOR = new Comparator<Position>() {
+        @Override
+        public int compare(final Position o1, final Position o2) {
+            return Integer.compare(getEndOffset(o1), getEndOffset(o2));
+        }
+    };
 
     /** All positions managed by the document ordered by their start positions. */
-    private final Map<String, List<TypedPosition>> positions = new HashMap<>();
-
-    /** All positions managed by the document ordered by there end positions. */
-    private final Map<String, List<TypedPosition>> endPositions = new HashMap<>();
+    private final Map<String, PositionList> positions = new HashMap<>();
 
     private int contentLength = 0;
 
@@ -40,8 +52,7 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
         }
 
         if (!containsPositionCategory(category)) {
-            this.positions.put(category, new ArrayList<TypedPosition>());
-            this.endPositions.put(category, new ArrayList<TypedPosition>());
+            this.positions.put(category, new PositionList());
         }
     }
 
@@ -51,7 +62,7 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
             return false;
         }
 
-        final List<TypedPosition> list = this.positions.get(category);
+        final PositionList list = this.positions.get(category);
         if (list == null) {
             return false;
         }
@@ -61,16 +72,12 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
             return false;
         }
 
-        int index = computeIndexInPositionList(list, offset, true);
-        if (index < size) {
-            Position p = list.get(index);
-            while (p != null && p.offset == offset) {
-                if (p.length == length) {
-                    return true;
-                }
-                ++index;
-                p = (index < size) ? (Position)list.get(index) : null;
+        int index = list.indexOfOffset(offset);
+        while (index < size && list.offsetAt(index) == offset) {
+            if (list.get(index).length == length) {
+                return true;
             }
+            ++index;
         }
 
         return false;
@@ -84,72 +91,53 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
         return false;
     }
 
+    /**
+     * Returns the index of the first position which key is not less than the given offset. The key is the start offset if positions
+     * are ordered by offset and the offset of the last character otherwise.
+     */
     protected int computeIndexInPositionList(final List<TypedPosition> positions, final int offset,
                                              final boolean orderedByOffset) {
-        if (positions.size() == 0) {
-            return 0;
-        }
-
         int left = 0;
-        int right = positions.size() - 1;
-        int mid = 0;
-        Position p = null;
-
+        int right = positions.size();
         while (left < right) {
-
-            mid = (left + right) / 2;
-
-            p = positions.get(mid);
-            final int pOffset = getOffset(orderedByOffset, p);
-            if (offset < pOffset) {
-                if (left == mid) {
-                    right = left;
-                } else {
-                    right = mid - 1;
-                }
-            } else if (offset > pOffset) {
-                if (right == mid) {
-                    left = right;
-                } else {
-                    left = mid + 1;
-                }
-            } else if (offset == pOffset) {
-                left = right = mid;
+            final int mid = (left + right) >>> 1;
+            if (getOffset(orderedByOffset, positions.get(mid)) < offset) {
+                left = mid + 1;
+            } else {
+                right = mid;
             }
-
         }
 
-        int pos = left;
-        p = positions.get(pos);
-        int pPosition = getOffset(orderedByOffset, p);
-        if (offset > pPosition) {
-            // append to the end
-            pos++;
-        } else {
-            // entry will become the first of all entries with the same offset
-            do {
-                --pos;
-                if (pos < 0) {
-                    break;
-                }
-                p = positions.get(pos);
-                pPosition = getOffset(orderedByOffset, p);
-            } while (offset == pPosition);
-            ++pos;
-        }
+        Assert.isTrue(0 <= left && left <= positions.size());
 
-        Assert.isTrue(0 <= pos && pos <= positions.size());
+        return left;
+    }
 
-        return pos;
+    private static int getOffset(boolean orderedByOffset, Position position) {
+        if (orderedByOffset) {
+            return position.getOffset();
+        }
+        return getEndOffset(position);
     }
 
-    private int getOffset(boolean orderedByOffset, Position position) {
-        if (orderedByOffset || position.getLength() == 0) {
+    private static int getEndOffset(Position position) {
+        if (position.getLength() == 0) {
             return position.getOffset();
         }
         return position.getOffset() + position.getLength() - 1;
     }
 
+    private PositionList getPositionList(final String category) throws BadPositionCategoryException {
+        if (category == null) {
+            throw new BadPositionCategoryException();
+        }
+        final PositionList list = this.positions.get(category);
+        if (list == null) {
+            throw new BadPositionCategoryException();
+        }
+        return list;
+    }
+
     @Override
     public int computeIndexInCategory(final String category, final int offset) throws BadLocationException,
                                                                               BadPositionCategoryException {
@@ -158,27 +146,28 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
             throw new BadLocationException();
         }
 
-        final List<TypedPosition> c = this.positions.get(category);
+        final PositionList c = this.positions.get(category);
         if (c == null) {
             throw new BadPositionCategoryException();
         }
 
-        return computeIndexInPositionList(c, offset, true);
+        return c.indexOfOffset(offset);
     }
 
     @Override
     public List<TypedPosition> getPositions(String category) throws BadPositionCategoryException {
+        final PositionList c = getPositionList(category);
+        return c.subList(0, c.size());
+    }
 
-        if (category == null) {
-            throw new BadPositionCategoryException();
-        }
-
-        final List<TypedPosition> c = this.positions.get(category);
-        if (c == null) {
-            throw new BadPositionCategoryException();
-        }
+    @Override
+    public int getPositionCount(final String category) throws BadPositionCategoryException {
+        return getPositionList(category).size();
+    }
 
-        return new ArrayList<>(c);
+    @Override
+    public TypedPosition getPosition(final String category, final int index) throws BadPositionCategoryException {
+        return getPositionList(category).get(index);
     }
 
     @Override
@@ -193,47 +182,13 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
             return;
         }
 
-        if (category == null) {
-            throw new BadPositionCategoryException();
-        }
-
-        final List<TypedPosition> c = this.positions.get(category);
-        if (c == null) {
-            throw new BadPositionCategoryException();
-        }
-        removeFromPositionsList(c, position, true);
-
-        final List<TypedPosition> endPositions = this.endPositions.get(category);
-        if (endPositions == null) {
-            throw new BadPositionCategoryException();
-        }
-        removeFromPositionsList(endPositions, position, false);
-    }
-
-    @Override
-    public void removePositionCategory(String category) throws BadPositionCategoryException {
-
-        if (category == null) {
-            return;
-        }
-
-        if (!containsPositionCategory(category)) {
-            throw new BadPositionCategoryException();
-        }
-
-        this.positions.remove(category);
-        this.endPositions.remove(category);
-    }
-
-    private void removeFromPositionsList(List<TypedPosition> positions, TypedPosition position, boolean orderedByOffset) {
-        final int size = positions.size();
+        final PositionList c = getPositionList(category);
 
         // Assume position is somewhere near it was before
-        final int index =
-                          computeIndexInPositionList(positions, orderedByOffset ? position.offset : position.offset + position.length
-                                                                                                    - 1, orderedByOffset);
-        if (index < size && positions.get(index) == position) {
-            positions.remove(index);
+        final int size = c.size();
+        final int index = c.indexOfOffset(position.offset);
+        if (index < size && c.get(index) == position) {
+            c.remove(index);
             return;
         }
 
@@ -241,16 +196,16 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
         int forth = index + 1;
         while (back >= 0 || forth < size) {
             if (back >= 0) {
-                if (position == positions.get(back)) {
-                    positions.remove(back);
+                if (position == c.get(back)) {
+                    c.remove(back);
                     return;
                 }
                 back--;
             }
 
             if (forth < size) {
-                if (position == positions.get(forth)) {
-                    positions.remove(forth);
+                if (position == c.get(forth)) {
+                    c.remove(forth);
                     return;
                 }
                 forth++;
@@ -258,35 +213,31 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
         }
     }
 
-    /*
-     * @see org.eclipse.jface.text.IDocument#addPosition(java.lang.String, org.eclipse.jface.text.Position)
-     */
     @Override
-    public void addPosition(String category, TypedPosition position) throws BadLocationException,
-                                                                    BadPositionCategoryException {
-
-        if ((0 > position.offset) || (0 > position.length) || (position.offset + position.length > this.contentLength)) {
-            throw new BadLocationException();
-        }
+    public void removePositionCategory(String category) throws BadPositionCategoryException {
 
         if (category == null) {
-            throw new BadPositionCategoryException();
+            return;
         }
 
-        final List<TypedPosition> list = this.positions.get(category);
-        if (list == null) {
+        if (!containsPositionCategory(category)) {
             throw new BadPositionCategoryException();
         }
-        list.add(computeIndexInPositionList(list, position.offset, true), position);
 
-        final List<TypedPosition> endPositions = this.endPositions.get(category);
-        if (endPositions == null) {
-            throw new BadPositionCategoryException();
-        }
-        endPositions.add(computeIndexInPositionList(endPositions,
-                                                    position.offset + position.length - 1,
-                                                    false),
-                         position);
+        this.positions.remove(category);
+    }
+
+    /*
+     * @see org.eclipse.jface.text.IDocument#addPosition(java.lang.String, org.eclipse.jface.text.Position)
+     */
+    @Override
+    public void addPosition(String category, TypedPosition position) throws BadLocationException,
+                                                                    BadPositionCategoryException {
+
+        checkPosition(position);
+
+        final PositionList list = getPositionList(category);
+        list.add(list.indexOfOffset(position.offset), position);
     }
 
     @Override
@@ -298,6 +249,32 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
         }
     }
 
+    @Override
+    public void replacePositions(final String category, final int fromIndex, final int toIndex,
+                                 final List<TypedPosition> replacement) throws BadLocationException, BadPositionCategoryException {
+        final PositionList list = getPositionList(category);
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > list.size()) {
+            throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex + ") of " + list.size() + " positions");
+        }
+        for (final TypedPosition position : replacement) {
+            checkPosition(position);
+        }
+        list.replace(fromIndex, toIndex, replacement);
+    }
+
+    @Override
+    public void updatePositions(final String category, final int offset, final int removedLength,
+                                final int insertedLength) throws BadPositionCategoryException {
+        final PositionList list = getPositionList(category);
+        list.shift(list.indexOfOffset(offset + removedLength), insertedLength - removedLength);
+    }
+
+    private void checkPosition(final TypedPosition position) throws BadLocationException {
+        if ((0 > position.offset) || (0 > position.length) || (position.offset + position.length > this.contentLength)) {
+            throw new BadLocationException();
+        }
+    }
+
     @Override
     public List<TypedPosition> getPositions(int offset, int length, boolean canStartBefore,
                                             boolean canEndAfter) throws BadPositionCategoryException {
@@ -343,26 +320,20 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
 
     private List<TypedPosition> getEndingPositions(String category, int offset, int length)
                                                                                            throws BadPositionCategoryException {
-        final List<TypedPosition> positions = endPositions.get(category);
-        if (positions == null) {
-            throw new BadPositionCategoryException();
-        }
+        final List<TypedPosition> positions = getPositionList(category).getEndPositions();
 
         final int indexStart = computeIndexInPositionList(positions, offset, false);
         final int indexEnd = computeIndexInPositionList(positions, offset + length, false);
 
-        return positions.subList(indexStart, indexEnd);
+        return new ArrayList<>(positions.subList(indexStart, indexEnd));
     }
 
     private List<TypedPosition> getStartingPositions(String category, int offset, int length)
                                                                                              throws BadPositionCategoryException {
-        final List<TypedPosition> categoryPositions = positions.get(category);
-        if (categoryPositions == null) {
-            throw new BadPositionCategoryException();
-        }
+        final PositionList categoryPositions = getPositionList(category);
 
-        final int indexStart = computeIndexInPositionList(categoryPositions, offset, true);
-        final int indexEnd = computeIndexInPositionList(categoryPositions, offset + length, true);
+        final int indexStart = categoryPositions.indexOfOffset(offset);
+        final int indexEnd = categoryPositions.indexOfOffset(offset + length);
 
         return categoryPositions.subList(indexStart, indexEnd);
     }
@@ -387,11 +358,140 @@ public class DocumentPositionMapImpl implements DocumentPositionMap {
 
     @Override
     public void resetPositions() {
-        for (final List<TypedPosition> list : positions.values()) {
+        for (final PositionList list : positions.values()) {
             list.clear();
         }
-        for (final List<TypedPosition> list : endPositions.values()) {
-            list.clear();
+    }
+
+    /**
+     * Positions of one category ordered by their offsets. Positions with index not less than {@link #shiftIndex} have to be moved by
+     * {@link #shiftDelta}, they are updated when they are read or when the next change is applied.
+     */
+    private static class PositionList {
+        private final List<TypedPosition> positions = new ArrayList<>();
+
+        /** The positions ordered by their end offsets, {@code null} when it has to be rebuilt. */
+        private List<TypedPosition> endPositions;
+
+        private int shiftIndex;
+        private int shiftDelta;
+
+        int size() {
+            return positions.size();
+        }
+
+        /** Returns the current offset of the position at the given index without updating it. */
+        int offsetAt(final int index) {
+            final int offset = positions.get(index).offset;
+            return index < shiftIndex ? offset : offset + shiftDelta;
+        }
+
+        /** Returns the index of the first position which offset is not less than the given offset. */
+        int indexOfOffset(final int offset) {
+            int left = 0;
+            int right = positions.size();
+            while (left < right) {
+                final int mid = (left + right) >>> 1;
+                if (offsetAt(mid) < offset) {
+                    left = mid + 1;
+                } else {
+                    right = mid;
+                }
+            }
+            return left;
+        }
+
+        TypedPosition get(final int index) {
+            flush(index + 1);
+            return positions.get(index);
+        }
+
+        List<TypedPosition> subList(final int fromIndex, final int toIndex) {
+            flush(toIndex);
+            return new ArrayList<>(positions.subList(fromIndex, toIndex));
+        }
+
+        List<TypedPosition> getEndPositions() {
+            if (endPositions == null) {
+                flush(positions.size());
+                endPositions = new ArrayList<>(positions);
+                Collections.sort(endPositions, END_OFFSET_COMPARATOR);
+            }
+            return endPositions;
+        }
+
+        void add(final int index, final TypedPosition position) {
+            flush(index);
+            positions.add(index, position);
+            if (shiftDelta != 0) {
+                shiftIndex++;
+            }
+            endPositions = null;
+        }
+
+        void remove(final int index) {
+            flush(index + 1);
+            positions.remove(index);
+            if (shiftDelta != 0) {
+                shiftIndex--;
+            }
+            endPositions = null;
+        }
+
+        void replace(final int fromIndex, final int toIndex, final List<TypedPosition> replacement) {
+            flush(toIndex);
+            final List<TypedPosition> replaced = positions.subList(fromIndex, toIndex);
+            replaced.clear();
+            replaced.addAll(replacement);
+            if (shiftDelta != 0) {
+                shiftIndex += replacement.size() - (toIndex - fromIndex);
+            }
+            endPositions = null;
+        }
+
+        /** Moves positions starting from the given index by delta. */
+        void shift(final int fromIndex, final int delta) {
+            if (delta == 0 || fromIndex >= positions.size()) {
+                return;
+            }
+            if (shiftDelta == 0) {
+                shiftIndex = fromIndex;
+            } else if (fromIndex < shiftIndex) {
+                for (int i = fromIndex; i < shiftIndex; i++) {
+                    positions.get(i).offset += delta;
+                }
+            } else {
+                flush(fromIndex);
+            }
+            shiftDelta += delta;
+            if (shiftDelta == 0) {
+                shiftIndex = positions.size();
+            }
+            endPositions = null;
+        }
+
+        /** Applies the pending delta to the positions with index less than the given one. */
+        private void flush(final int toIndex) {
+            if (shiftDelta == 0) {
+                return;
+            }
+            final int end = Math.min(toIndex, positions.size());
+            for (int i = shiftIndex; i < end; i++) {
+                positions.get(i).offset += shiftDelta;
+            }
+            if (end > shiftIndex) {
+                shiftIndex = end;
+            }
+            if (shiftIndex >= positions.size()) {
+                shiftDelta = 0;
+            }
+        }
+
+        void clear() {
+            positions.clear();
+            endPositions = null;
+            shiftIndex = 0;
+            shiftDelta = 0;
         }
     }
 }
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.jseditor.client.partition;
+
+import org.eclipse.che.ide.api.text.TypedPosition;
+import org.eclipse.che.ide.api.text.rules.Token;
+import org.eclipse.che.ide.api.text.rules.TokenImpl;
+import org.eclipse.che.ide.jseditor.client.document.DocumentHandle;
+import org.eclipse.che.ide.jseditor.client.document.EmbeddedDocument;
+import org.eclipse.che.ide.jseditor.client.events.DocumentChangeEvent;
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that incremental partitioning gives the same result as scanning of the whole content.
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class DefaultPartitionerTest {
+    private static final String COMMENT = "comment";
+    private static final String STRING  = "string";
+
+    private StringBuilder      content;
+    private CommentScanner     scanner;
+    private DefaultPartitioner partitioner;
+
+    @Before
+    public void setUp() throws Exception {
+        content = new StringBuilder();
+        scanner = new CommentScanner();
+        partitioner = createPartitioner(scanner);
+    }
+
+    @Test
+    public void testReplayTypingTrace() throws Exception {
+        replace(0, 0, "class A {\n    /* comment */\n    String s = \"text\";\n}\n");
+        final Random random = new Random(7);
+        final String[] typed = {"a", " ", "/", "*", "\"", "\n", "/*", "*/", "x = \"y\";"};
+        for (int i = 0; i < 2000; i++) {
+            final int offset = random.nextInt(content.length() + 1);
+            if (random.nextInt(4) == 0 && offset < content.length()) {
+                replace(offset, 1 + random.nextInt(Math.min(5, content.length() - offset)), "");
+            } else {
+                replace(offset, 0, typed[random.nextInt(typed.length)]);
+            }
+            assertEquals("after edit " + i + " of '" + content + "'", scanAll(), partitioner.getPositions());
+        }
+    }
+
+    @Test
+    public void testTypingRescansOnlyDamagedPart() throws Exception {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("int a").append(i).append(" = 0; /* comment ").append(i).append(" */\n");
+        }
+        replace(0, 0, text.toString());
+        final int offset = content.indexOf("/* comment 2500 */");
+
+        scanner.scanned = 0;
+        // type inside of comment and after it
+        replace(offset + 3, 0, "x");
+        replace(offset + 20, 0, "y");
+        assertTrue("scanned " + scanner.scanned + " characters", scanner.scanned < 200);
+        assertEquals(scanAll(), partitioner.getPositions());
+
+        // opening of new comment changes partitioning up to the end of the next comment only
+        scanner.scanned = 0;
+        replace(offset - 2, 0, "/*");
+        assertTrue("scanned " + scanner.scanned + " characters", scanner.scanned < 200);
+        assertEquals(scanAll(), partitioner.getPositions());
+
+        // unterminated string changes partitioning till the end of content
+        replace(offset - 2, 2, "\"");
+        assertEquals(scanAll(), partitioner.getPositions());
+        replace(offset - 2, 1, "");
+        assertEquals(scanAll(), partitioner.getPositions());
+    }
+
+    @Test
+    public void testPartitionsAfterChange() throws Exception {
+        replace(0, 0, "a /* b */ c \"d\" e");
+        replace(0, 2, "");
+        assertEquals(Arrays.asList(new TypedPosition(0, 7, COMMENT), new TypedPosition(10, 3, STRING)), partitioner.getPositions());
+        assertEquals(COMMENT, partitioner.getContentType(3));
+        assertEquals(DocumentPartitioner.DEFAULT_CONTENT_TYPE, partitioner.getContentType(8));
+        assertEquals(STRING, partitioner.getPartition(11).getType());
+        assertEquals(4, partitioner.computePartitioning(0, content.length()).size());
+    }
+
+    private void replace(int offset, int length, String text) {
+        content.replace(offset, offset + length, text);
+        partitioner.onDocumentChange(new DocumentChangeEvent(partitioner.getDocumentHandle(), offset, text.length(), text, length));
+    }
+
+    private List<TypedPosition> scanAll() throws Exception {
+        final DefaultPartitioner fullScan = createPartitioner(new CommentScanner());
+        fullScan.onDocumentChange(new DocumentChangeEvent(fullScan.getDocumentHandle(), 0, content.length(), content.toString(), 0));
+        return fullScan.getPositions();
+    }
+
+    private DefaultPartitioner createPartitioner(PartitionScanner scanner) {
+        final EmbeddedDocument document = mock(EmbeddedDocument.class);
+        when(document.getContents()).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(InvocationOnMock invocation) {
+                return content.toString();
+            }
+        });
+        when(document.getContentsCharCount()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+                return content.length();
+            }
+        });
+        when(document.getContentRange(anyInt(), anyInt())).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(InvocationOnMock invocation) {
+                final int offset = (Integer)invocation.getArguments()[0];
+                final int length = (Integer)invocation.getArguments()[1];
+                return content.substring(offset, offset + length);
+            }
+        });
+        final DocumentHandle handle = mock(DocumentHandle.class);
+        when(handle.getDocument()).thenReturn(document);
+
+        final DefaultPartitioner partitioner = new DefaultPartitioner(scanner, Arrays.asList(COMMENT, STRING), new DocumentPositionMapImpl());
+        partitioner.setDocumentHandle(handle);
+        partitioner.initialize();
+        return partitioner;
+    }
+
+    /** Finds block comments and strings, unterminated ones continue till the end of content. */
+    private static class CommentScanner implements PartitionScanner {
+        private String content;
+        private int    offset;
+        private int    tokenOffset;
+        private int    tokenLength;
+
+        int scanned;
+
+        @Override
+        public void setLegalLineDelimiters(List<String> delimiters) {
+        }
+
+        @Override
+        public void setScannedString(String content) {
+            this.content = content;
+            offset = 0;
+        }
+
+        @Override
+        public Token nextToken() {
+            tokenOffset = offset;
+            if (offset >= content.length()) {
+                tokenLength = 0;
+                return TokenImpl.EOF;
+            }
+            String type = null;
+            int end = offset + 1;
+            if (content.startsWith("/*", offset)) {
+                type = COMMENT;
+                end = content.indexOf("*/", offset + 2);
+                end = end < 0 ? content.length() : end + 2;
+            } else if (content.charAt(offset) == '"') {
+                type = STRING;
+                end = content.indexOf('"', offset + 1);
+                end = end < 0 ? content.length() : end + 1;
+            }
+            tokenLength = end - offset;
+            scanned += tokenLength;
+            offset = end;
+            return new TokenImpl(type);
+        }
+
+        @Override
+        public int getTokenOffset() {
+            return tokenOffset;
+        }
+
+        @Override
+        public int getTokenLength() {
+            return tokenLength;
+        }
+    }
+}
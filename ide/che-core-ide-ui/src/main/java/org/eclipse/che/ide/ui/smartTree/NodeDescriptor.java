@@ -18,7 +18,10 @@ import org.eclipse.che.ide.util.loging.Log;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Node descriptor. Uses internally in the tree.
@@ -32,6 +35,13 @@ public class NodeDescriptor {
     private List<NodeDescriptor> children = new ArrayList<>();
     private boolean root;
 
+    /** Children mapped to {@link #nameKey(Node)}, allows to find child without iterating over all children. */
+    private Map<String, NodeDescriptor>  childrenByName = new HashMap<>();
+    /** Positions of children, built on demand and dropped on any change of children. */
+    private Map<NodeDescriptor, Integer> childIndexes;
+    /** Number of all descendants which are kept in storage. */
+    private int                          descendantsCount;
+
     private String domId;
 
     private boolean childrenRendered;
@@ -59,6 +69,11 @@ public class NodeDescriptor {
         this.node = node;
     }
 
+    /** Key of node which identifies it among siblings, nodes of different types may have the same name. */
+    static String nameKey(Node node) {
+        return node.getClass().getName() + '/' + node.getName();
+    }
+
     protected void addChild(int index, NodeDescriptor child) {
         final int actualIndex;
 
@@ -70,29 +85,87 @@ public class NodeDescriptor {
         }
 
         children.add(actualIndex, child);
-        child.parent = this;
+        onChildAdded(child);
     }
 
     public void addChildren(int index, List<NodeDescriptor> children) {
         if (treeNodeStorage.isSorted()) {
-            getChildren().addAll(children);
-            Collections.sort(getChildren(), treeNodeStorage.buildFullComparator());
+            this.children.addAll(children);
+            Collections.sort(this.children, treeNodeStorage.buildFullComparator());
         } else {
-            int actualIndex = index == 0 ? 0 : (getChildren().indexOf(getChildren().get(index - 1)) + 1);
-            getChildren().addAll(actualIndex, children);
+            this.children.addAll(index, children);
         }
 
         for (NodeDescriptor child : children) {
-            child.parent = this;
+            onChildAdded(child);
+        }
+    }
+
+    private void onChildAdded(NodeDescriptor child) {
+        child.parent = this;
+        childrenByName.put(nameKey(child.getNode()), child);
+        childIndexes = null;
+        changeDescendantsCount(child.descendantsCount + 1);
+    }
+
+    private void changeDescendantsCount(int delta) {
+        for (NodeDescriptor descriptor = this; descriptor != null; descriptor = descriptor.parent) {
+            descriptor.descendantsCount += delta;
         }
     }
 
     public void clear() {
         children.clear();
+        childrenByName.clear();
+        childIndexes = null;
+        changeDescendantsCount(-descendantsCount);
     }
 
+    /** Returns children of this node. Returned list may not be modified, use methods of {@link TreeNodeStorage} to change children. */
     public List<NodeDescriptor> getChildren() {
-        return children;
+        return Collections.unmodifiableList(children);
+    }
+
+    /** Finds child which has the same type and name as the specified node. */
+    public NodeDescriptor findChild(Node like) {
+        String key = nameKey(like);
+        NodeDescriptor child = childrenByName.get(key);
+        if (child != null && !key.equals(nameKey(child.getNode()))) {
+            //child was renamed after it had been indexed
+            rebuildIndex();
+            child = childrenByName.get(key);
+        }
+        return child;
+    }
+
+    /** Indexes children by their current names, nodes may be renamed without notifying storage. */
+    void rebuildIndex() {
+        childrenByName.clear();
+        for (NodeDescriptor child : children) {
+            childrenByName.put(nameKey(child.getNode()), child);
+        }
+    }
+
+    /** Returns position of child or {@code -1} if node isn't child of this node. */
+    public int indexOf(NodeDescriptor child) {
+        if (childIndexes == null) {
+            childIndexes = new HashMap<>(children.size());
+            for (int i = 0, size = children.size(); i < size; i++) {
+                childIndexes.put(children.get(i), i);
+            }
+        }
+        Integer index = childIndexes.get(child);
+        return index == null ? -1 : index;
+    }
+
+    /** Returns number of all descendants of this node which are kept in storage. */
+    public int getDescendantsCount() {
+        return descendantsCount;
+    }
+
+    void sortChildren(Comparator<NodeDescriptor> comparator) {
+        Collections.sort(children, comparator);
+        childIndexes = null;
     }
 
     public Node getNode() {
@@ -116,7 +189,14 @@ public class NodeDescriptor {
     }
 
     public void remove(NodeDescriptor descriptor) {
-        children.remove(descriptor);
+        if (children.remove(descriptor)) {
+            String key = nameKey(descriptor.getNode());
+            if (childrenByName.get(key) == descriptor) {
+                childrenByName.remove(key);
+            }
+            childIndexes = null;
+            changeDescendantsCount(-(descriptor.descendantsCount + 1));
+        }
     }
 
     public void reset() {
@@ -11,6 +11,7 @@
 package org.eclipse.che.ide.ui.smartTree;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.DivElement;
 import com.google.gwt.dom.client.Document;
@@ -22,6 +23,7 @@ import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.uibinder.client.UiConstructor;
 import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.Window;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.gwt.user.client.ui.impl.FocusImpl;
 
@@ -67,8 +69,10 @@ import org.eclipse.che.commons.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  *
@@ -81,6 +85,16 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
 
     private Map<String, NodeDescriptor> nodesByDom = new HashMap<>();
 
+    /**
+     * Rows which content is rendered. Rows are added to the DOM as empty placeholders and their content is rendered only when they
+     * appear in the viewport, content of rows which are scrolled far away is removed.
+     */
+    private Set<NodeDescriptor> renderedRows = new HashSet<>();
+
+    /** Scroll listener of the scroll parent of the tree and the scroll parent itself, see {@link #listenScrollParent(Element)}. */
+    private JavaScriptObject scrollListener;
+    private JavaScriptObject scrollTarget;
+
     protected TreeNodeStorage nodeStorage;
 
     protected TreeNodeLoader nodeLoader;
@@ -403,7 +417,6 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
     }
 
     protected void renderChildren(Node parent) {
-        int depth = nodeStorage.getDepth(parent);
         List<Node> children = parent == null ? nodeStorage.getRootItems() : nodeStorage.getChildren(parent);
         if (children.size() == 0) {
             emptyText.paint();
@@ -413,7 +426,7 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
         Element container = getContainer(parent);
 
         for (Node child : children) {
-            Element element = renderChild(child, depth);
+            Element element = renderPlaceholder(child);
             container.appendChild(element);
         }
 
@@ -438,7 +451,8 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
         if (parent == null) {
             ensureFocusElement();
         }
-        update();
+        //render rows which are visible right now, others are rendered when scrolled into the viewport
+        doUpdate();
     }
 
     protected Element getContainer(Node node) {
@@ -520,6 +534,7 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
             NodeDescriptor nodeDescriptor = nodeStorage.getNodeMap().remove(getUniqueId(node));
             if (nodeDescriptor != null) {
                 nodesByDom.remove(nodeDescriptor.getDomId());
+                renderedRows.remove(nodeDescriptor);
                 nodeDescriptor.clearElements();
                 nodeStorage.getNodeMap().remove(nodeStorage.getKeyProvider().getKey(node));
             }
@@ -586,28 +601,50 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
     protected void doUpdate() {
         int count = getVisibleRowCount();
         if (count > 0) {
-            List<Node> rootItems = getRootNodes();
-            List<Node> visible = getAllChildNodes(rootItems, true);
-            int[] vr = getVisibleRows(visible, count);
-
-            for (int i = vr[0]; i <= vr[1]; i++) {
+            int goIntoDirDepth = goIntoMode.isActivated() ? nodeStorage.getDepth(goIntoMode.getLastNode()) : 0;
+            for (NodeDescriptor row : getVisibleRows(count, 0)) {
+                if (!isRowRendered(row)) {
+                    renderRow(row);
+                }
                 if (goIntoMode.isActivated()) {
                     //constraint node indention
-                    int goIntoDirDepth = nodeStorage.getDepth(goIntoMode.getLastNode());
-                    int currentNodeDepth = nodeStorage.getDepth(visible.get(i));
+                    int currentNodeDepth = nodeStorage.getDepth(row.getNode());
 
-                    view.onDepthUpdated(findNode(visible.get(i)), currentNodeDepth - goIntoDirDepth);
-                }
-                if (!isRowRendered(i, visible)) {
-                    Node parent = nodeStorage.getParent(visible.get(i));
-                    Element html = renderChild(visible.get(i), nodeStorage.getDepth(parent));
-                    view.getRootContainer(findNode(visible.get(i))).getFirstChildElement().setInnerHTML(html.getString());
+                    view.onDepthUpdated(row, currentNodeDepth - goIntoDirDepth);
                 }
             }
             clean();
         }
     }
 
+    /** Renders content of the row which was added as placeholder or cleaned before. */
+    protected void renderRow(NodeDescriptor row) {
+        Element rootContainer = view.getRootContainer(row);
+        if (rootContainer == null) {
+            return;
+        }
+        Element placeholder = rootContainer.getFirstChildElement();
+        Node parent = nodeStorage.getParent(row.getNode());
+        Element rendered = getNodePresentationRenderer().render(row.getNode(), row.getDomId(), getJoint(row.getNode()),
+                                                                nodeStorage.getDepth(parent));
+        Element nodeContainer = rendered.getFirstChildElement();
+        //keep state of row, e.g. selection, which is set with style names
+        nodeContainer.setClassName(placeholder.getClassName());
+        rootContainer.replaceChild(nodeContainer, placeholder);
+        row.clearElements();
+        renderedRows.add(row);
+    }
+
+    /** Creates row with empty node container and descendants container, content of row is rendered with {@link #renderRow}. */
+    protected Element renderPlaceholder(Node child) {
+        String domID = register(child);
+        Element rootContainer = getNodePresentationRenderer().getRootContainer(domID);
+        Element nodeContainer = getNodePresentationRenderer().getNodeContainer();
+        nodeContainer.getStyle().setHeight(view.getCalculatedRowHeight(), Style.Unit.PX);
+        rootContainer.appendChild(nodeContainer);
+        rootContainer.appendChild(getNodePresentationRenderer().getDescendantsContainer());
+        return rootContainer;
+    }
 
     public List<Node> getRootNodes() {
         return goIntoMode.isActivated() ? Collections.singletonList(goIntoMode.getLastNode()) : nodeStorage.getRootItems();
@@ -628,38 +665,27 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
     protected void doClean() {
         int count = getVisibleRowCount();
         if (count > 0) {
-            List<Node> rows = getAllChildNodes(getRootNodes(), true);
-            int[] vr = getVisibleRows(rows, count);
-            vr[0] -= view.getCacheSize();
-            vr[1] += view.getCacheSize();
-
-            int i = 0;
-
-            // if first is less than 0, all rows have been rendered
-            // so lets clean the end...
-            if (vr[0] <= 0) {
-                i = vr[1] + 1;
-            }
-            for (int len = rows.size(); i < len; i++) {
-                // if current row is outside of first and last and
-                // has content, update the innerHTML to nothing
-                if (i < vr[0] || i > vr[1]) {
-                    cleanNode(findNode(rows.get(i)));
+            Set<NodeDescriptor> keep = new HashSet<>(getVisibleRows(count, view.getCacheSize()));
+            for (NodeDescriptor row : new ArrayList<>(renderedRows)) {
+                if (!keep.contains(row)) {
+                    cleanNode(row);
                 }
             }
         }
     }
 
     protected void cleanNode(NodeDescriptor node) {
-        if (node != null && node.getRootContainer() != null) {
+        renderedRows.remove(node);
+        if (node != null && view.getRootContainer(node) != null) {
             node.clearElements();
             Element element = view.getRootContainer(node).getFirstChildElement();
             removeElementChildren(element);
+            element.getStyle().setHeight(view.getCalculatedRowHeight(), Style.Unit.PX);
         }
     }
 
-    protected boolean isRowRendered(int i, List<Node> visible) {
-        Element e = view.getRootContainer(findNode(visible.get(i)));
+    protected boolean isRowRendered(NodeDescriptor row) {
+        Element e = view.getRootContainer(row);
         return e != null && e.getFirstChild().hasChildNodes();
     }
 
@@ -669,36 +695,147 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
 
     protected int getVisibleRowCount() {
         int rh = view.getCalculatedRowHeight();
-        int visibleHeight = getElement().getOffsetHeight(); //TODO do we need to remove padding and margin from height?
+        int visibleHeight = getViewportHeight();
         return (int)((visibleHeight < 1) ? 0 : Math.ceil(visibleHeight / rh));
     }
 
+    /** Returns offset of the visible part of the tree from top of the tree in pixels. */
+    protected int getViewportTop() {
+        Element scrollParent = getScrollParent(getElement());
+        int top = scrollParent == null ? Window.getScrollTop() : scrollParent.getAbsoluteTop();
+        return Math.max(0, top - getElement().getAbsoluteTop());
+    }
+
+    /** Returns height of the visible part of the tree in pixels. Tree grows with its content, it is scrolled by one of its parents. */
+    protected int getViewportHeight() {
+        Element scrollParent = getScrollParent(getElement());
+        int height = scrollParent == null ? 0 : scrollParent.getClientHeight();
+        //parent may be not laid out yet, assume that tree may take the whole window
+        return height < 1 ? Window.getClientHeight() : height;
+    }
+
+    private native Element getScrollParent(Element element) /*-{
+        var parent = element.parentElement;
+        while (parent) {
+            var overflow = $wnd.getComputedStyle(parent).overflowY;
+            if (overflow === 'auto' || overflow === 'scroll') {
+                return parent;
+            }
+            parent = parent.parentElement;
+        }
+        return null;
+    }-*/;
+
+    /**
+     * Renders rows which are scrolled into the viewport when parent of the tree is scrolled, scroll events don't bubble. Listener is added
+     * when tree is attached and removed with {@link #unlistenScrollParent()} when tree is detached.
+     */
+    private native void listenScrollParent(Element element) /*-{
+        var instance = this;
+        var scrollParent = this.@org.eclipse.che.ide.ui.smartTree.Tree::getScrollParent(*)(element);
+        var target = scrollParent ? scrollParent : $wnd;
+        var listener = $entry(function () {
+            instance.@org.eclipse.che.ide.ui.smartTree.Tree::update()();
+        });
+        target.addEventListener('scroll', listener, false);
+        this.@org.eclipse.che.ide.ui.smartTree.Tree::scrollTarget = target;
+        this.@org.eclipse.che.ide.ui.smartTree.Tree::scrollListener = listener;
+    }-*/;
+
+    private native void unlistenScrollParent() /*-{
+        var target = this.@org.eclipse.che.ide.ui.smartTree.Tree::scrollTarget;
+        if (target) {
+            target.removeEventListener('scroll', this.@org.eclipse.che.ide.ui.smartTree.Tree::scrollListener, false);
+        }
+        this.@org.eclipse.che.ide.ui.smartTree.Tree::scrollTarget = null;
+        this.@org.eclipse.che.ide.ui.smartTree.Tree::scrollListener = null;
+    }-*/;
+
     public List<Node> getAllChildNodes(List<Node> parent, boolean onlyVisible) {
         List<Node> list = new ArrayList<>();
         for (Node node : parent) {
             list.add(node);
-            if (!onlyVisible || findNode(node).isExpanded()) {
-                findChildren(node, list, onlyVisible);
+            NodeDescriptor nodeDescriptor = findNode(node);
+            if (!onlyVisible || nodeDescriptor.isExpanded()) {
+                findChildren(nodeDescriptor, list, onlyVisible);
             }
         }
         return list;
     }
 
-    protected void findChildren(Node parent, List<Node> list, boolean onlyVisible) {
-        for (Node child : nodeStorage.getChildren(parent)) {
-            list.add(child);
-            if (!onlyVisible || findNode(child).isExpanded()) {
+    protected void findChildren(NodeDescriptor parent, List<Node> list, boolean onlyVisible) {
+        for (NodeDescriptor child : parent.getChildren()) {
+            list.add(child.getNode());
+            if (!onlyVisible || child.isExpanded()) {
                 findChildren(child, list, onlyVisible);
             }
         }
     }
 
-    protected int[] getVisibleRows(List<Node> visible, int count) {
-        int sc = getElement().getScrollTop();
-        int start = (int)(sc == 0 ? 0 : Math.floor(sc / view.getCalculatedRowHeight()) - 1);
-        int first = Math.max(start, 0);
-        int last = Math.min(start + count + 2, visible.size() - 1);
-        return new int[]{first, last};
+    /**
+     * Finds rows which are in the viewport. Tree is walked only until the last visible row, rows are not collected into intermediate
+     * lists.
+     *
+     * @param count
+     *         number of rows in the viewport
+     * @param extra
+     *         number of additional rows to include before and after the viewport
+     */
+    protected List<NodeDescriptor> getVisibleRows(int count, int extra) {
+        List<Node> rootNodes = getRootNodes();
+        List<NodeDescriptor> roots = new ArrayList<>(rootNodes.size());
+        for (Node root : rootNodes) {
+            roots.add(findNode(root));
+        }
+        return getVisibleRows(roots, getViewportTop(), view.getCalculatedRowHeight(), count, extra);
+    }
+
+    /**
+     * Finds rows which are in the viewport.
+     *
+     * @param roots
+     *         root rows of the tree
+     * @param scrollTop
+     *         offset of the viewport from top of the tree in pixels
+     * @param rowHeight
+     *         height of row in pixels
+     * @param count
+     *         number of rows in the viewport
+     * @param extra
+     *         number of additional rows to include before and after the viewport
+     */
+    static List<NodeDescriptor> getVisibleRows(List<NodeDescriptor> roots, int scrollTop, int rowHeight, int count, int extra) {
+        int start = (int)(scrollTop == 0 ? 0 : Math.floor(scrollTop / rowHeight) - 1);
+        int first = Math.max(start - extra, 0);
+        int last = start + count + 2 + extra;
+        List<NodeDescriptor> rows = new ArrayList<>(last - first + 1);
+        int index = 0;
+        for (NodeDescriptor root : roots) {
+            index = collectRows(root, index, first, last, rows);
+            if (index > last) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    private static int collectRows(NodeDescriptor row, int index, int first, int last, List<NodeDescriptor> rows) {
+        if (row == null) {
+            return index;
+        }
+        if (index >= first) {
+            rows.add(row);
+        }
+        index++;
+        if (row.isExpanded()) {
+            for (NodeDescriptor child : row.getChildren()) {
+                if (index > last) {
+                    break;
+                }
+                index = collectRows(child, index, first, last, rows);
+            }
+        }
+        return index;
     }
 
     protected Element renderChild(Node child, int depth) {
@@ -792,6 +929,7 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
             }
 
             nodesByDom.clear();
+            renderedRows.clear();
             if (isAttached()) {
                 moveFocus(getContainer(null));
             }
@@ -828,6 +966,18 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
         update();
     }
 
+    @Override
+    protected void onLoad() {
+        super.onLoad();
+        listenScrollParent(getElement());
+    }
+
+    @Override
+    protected void onUnload() {
+        unlistenScrollParent();
+        super.onUnload();
+    }
+
     /** {@inheritDoc} */
     @Override
     public void onBrowserEvent(Event event) {
@@ -1018,6 +1168,7 @@ public class Tree extends Widget implements HasBeforeExpandNodeHandlers, HasExpa
                     } else {
                         container.insertBefore(renderChild(child, parentDepth), container.getChild(index));
                     }
+                    renderedRows.add(findNode(child));
                 }
             } else {
                 redraw(parent);
@@ -12,7 +12,7 @@ package org.eclipse.che.ide.ui.smartTree;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.event.shared.EventHandler;
 import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.HandlerRegistration;
@@ -43,6 +43,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -82,6 +84,12 @@ public class TreeNodeLoader implements LoaderHandler.HasLoaderHandlers {
 
     private GroupingHandlerRegistration handlerRegistration;
 
+    /**
+     * Expanded descendants which should be reloaded. They are loaded together on the next animation frame, so children of all of them
+     * may be requested from server with one call.
+     */
+    private Set<Node> pendingReloads = new LinkedHashSet<>();
+
     private CTreeNodeLoaderHandler cTreeNodeLoaderHandler = new CTreeNodeLoaderHandler();
 
     /**
@@ -145,7 +153,7 @@ public class TreeNodeLoader implements LoaderHandler.HasLoaderHandlers {
                 });
 
                 for (Node node : filter) {
-                    loadChildren(node, event.isReloadExpandedChild());
+                    scheduleReload(node);
                 }
             }
 
@@ -207,50 +215,42 @@ public class TreeNodeLoader implements LoaderHandler.HasLoaderHandlers {
     }
 
     private List<Node> findNewNodes(NodeDescriptor parent, final List<Node> loadedChildren) {
-        final List<NodeDescriptor> existed = parent.getChildren();
-
-        if (existed == null || existed.isEmpty()) {
+        if (parent.getChildren().isEmpty()) {
             return loadedChildren;
         }
 
-        Iterable<Node> newItems = Iterables.filter(loadedChildren, new Predicate<Node>() {
-            @Override
-            public boolean apply(Node loadedChild) {
-                for (NodeDescriptor nodeDescriptor : existed) {
-                    if (nodeDescriptor.getNode().getName().equals(loadedChild.getName())
-                        && nodeDescriptor.getNode().getClass().equals(loadedChild.getClass())) {
-                        return false;
-                    }
-                }
-                return true;
+        //children may be renamed since they were indexed, it costs no more than the diff itself
+        parent.rebuildIndex();
+        List<Node> newItems = new ArrayList<>();
+        for (Node loadedChild : loadedChildren) {
+            if (parent.findChild(loadedChild) == null) {
+                newItems.add(loadedChild);
             }
-        });
+        }
 
-        return Lists.newArrayList(newItems);
+        return newItems;
     }
 
     private List<NodeDescriptor> findRemovedNodes(NodeDescriptor parent, final List<Node> loadedChildren) {
         List<NodeDescriptor> existed = parent.getChildren();
 
-        if (existed == null || existed.isEmpty()) {
+        if (existed.isEmpty()) {
             return Collections.emptyList();
         }
 
-        Iterable<NodeDescriptor> removedItems = Iterables.filter(existed, new Predicate<NodeDescriptor>() {
-            @Override
-            public boolean apply(NodeDescriptor existedChild) {
-                boolean found = false;
-                for (Node loadedChild : loadedChildren) {
-                    if (loadedChild.getName().equals(existedChild.getNode().getName())
-                        && loadedChild.getClass().equals(existedChild.getNode().getClass())) {
-                        found = true;
-                    }
-                }
-                return !found;
+        Set<String> loadedNames = new HashSet<>(loadedChildren.size());
+        for (Node loadedChild : loadedChildren) {
+            loadedNames.add(NodeDescriptor.nameKey(loadedChild));
+        }
+
+        List<NodeDescriptor> removedItems = new ArrayList<>();
+        for (NodeDescriptor existedChild : existed) {
+            if (!loadedNames.contains(NodeDescriptor.nameKey(existedChild.getNode()))) {
+                removedItems.add(existedChild);
             }
-        });
+        }
 
-        return Lists.newArrayList(removedItems);
+        return removedItems;
     }
 
     private SimpleEventBus eventBus;
@@ -323,6 +323,25 @@ public class TreeNodeLoader implements LoaderHandler.HasLoaderHandlers {
         return _load(parent);
     }
 
+    private void scheduleReload(Node node) {
+        if (pendingReloads.isEmpty()) {
+            AnimationScheduler.get().requestAnimationFrame(new AnimationScheduler.AnimationCallback() {
+                @Override
+                public void execute(double timestamp) {
+                    List<Node> nodes = new ArrayList<>(pendingReloads);
+                    pendingReloads.clear();
+                    for (Node reload : nodes) {
+                        //node may be removed from the tree while waiting
+                        if (tree.findNode(reload) != null) {
+                            loadChildren(reload, true);
+                        }
+                    }
+                }
+            });
+        }
+        pendingReloads.add(node);
+    }
+
     /**
      * Called when children haven't been successfully loaded.
      * Also fire {@link org.eclipse.che.ide.ui.smartTree.event.LoadExceptionEvent} event.
@@ -10,9 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ui.smartTree;
 
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.HandlerManager;
 import com.google.gwt.event.shared.HandlerRegistration;
@@ -32,7 +29,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -160,11 +156,7 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public List<Node> getAll() {
-        List<NodeDescriptor> allChildren = new LinkedList<>(roots.getChildren());
-        for (int i = 0; i < allChildren.size(); i++) {
-            allChildren.addAll(allChildren.get(i).getChildren());
-        }
-        return unwrap(allChildren);
+        return getDescendants(roots);
     }
 
     /**
@@ -175,11 +167,17 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public List<Node> getAllChildren(Node parent) {
-        List<NodeDescriptor> allChildren = new LinkedList<>(getWrapper(parent).getChildren());
-        for (int i = 0; i < allChildren.size(); i++) {
-            allChildren.addAll(allChildren.get(i).getChildren());
+        return getDescendants(getWrapper(parent));
+    }
+
+    /** Collects descendants level by level, size of result is known in advance so nothing is copied. */
+    private List<Node> getDescendants(NodeDescriptor parent) {
+        List<NodeDescriptor> descendants = new ArrayList<>(parent.getDescendantsCount());
+        descendants.addAll(parent.getChildren());
+        for (int i = 0; i < descendants.size(); i++) {
+            descendants.addAll(descendants.get(i).getChildren());
         }
-        return unwrap(allChildren);
+        return unwrap(descendants);
     }
 
     /**
@@ -188,12 +186,7 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public int getAllItemsCount() {
-        List<NodeDescriptor> allChildren = new LinkedList<>(roots.getChildren());
-        for (int i = 0; i < allChildren.size(); i++) {
-            allChildren.addAll(allChildren.get(i).getChildren());
-        }
-
-        return allChildren.size();
+        return roots.getDescendantsCount();
     }
 
     /**
@@ -203,7 +196,7 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public Node getChild(int index) {
-        return getRootItems().get(index);
+        return roots.getChildren().get(index).getNode();
     }
 
     /**
@@ -278,11 +271,11 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public Node getNextSibling(Node item) {
-        Node parent = getParent(item);
-        List<Node> children = parent == null ? getRootItems() : getChildren(parent);
-        int index = children.indexOf(item);
-        if (children.size() > (index + 1)) {
-            return children.get(index + 1);
+        NodeDescriptor nodeDescriptor = getWrapper(item);
+        List<NodeDescriptor> siblings = nodeDescriptor.getParent().getChildren();
+        int index = nodeDescriptor.getParent().indexOf(nodeDescriptor);
+        if (siblings.size() > (index + 1)) {
+            return siblings.get(index + 1).getNode();
         }
         return null;
     }
@@ -294,11 +287,10 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public Node getPreviousSibling(Node item) {
-        Node parent = getParent(item);
-        List<Node> children = parent == null ? getRootItems() : getChildren(parent);
-        int index = children.indexOf(item);
+        NodeDescriptor nodeDescriptor = getWrapper(item);
+        int index = nodeDescriptor.getParent().indexOf(nodeDescriptor);
         if (index > 0) {
-            return children.get(index - 1);
+            return nodeDescriptor.getParent().getChildren().get(index - 1).getNode();
         }
         return null;
     }
@@ -339,12 +331,11 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public int indexOf(Node item) {
-        Node parent = getParent(item);
-        if (parent == null) {
-            return getRootItems().indexOf(item);
-        } else {
-            return getChildren(parent).indexOf(item);
+        NodeDescriptor nodeDescriptor = getWrapper(item);
+        if (nodeDescriptor == null || nodeDescriptor.getParent() == null) {
+            return -1;
         }
+        return nodeDescriptor.getParent().indexOf(nodeDescriptor);
     }
 
     /**
@@ -455,12 +446,12 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
         if (nodeDescriptor != null) {
             Node parent = getParent(node);
             List<Node> children = getAllChildren(node);
-            int visibleIndex = nodeDescriptor.getParent().getChildren().indexOf(nodeDescriptor);
+            int visibleIndex = nodeDescriptor.getParent().indexOf(nodeDescriptor);
             nodeDescriptor.getParent().remove(nodeDescriptor);
             if (visibleIndex != -1) {
                 fireEvent(new StoreRemoveEvent(visibleIndex, node, parent, children));
             } else {
-                List<NodeDescriptor> descriptors = new LinkedList<>();
+                List<NodeDescriptor> descriptors = new ArrayList<>(nodeDescriptor.getDescendantsCount() + 1);
                 descriptors.add(nodeDescriptor);
                 for (int i = 0; i < descriptors.size(); i++) {
                     nodeDescriptor = descriptors.get(i);
@@ -480,7 +471,7 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
 
     private void removeChildren(NodeDescriptor parent) {
         if (parent.getChildren().size() != 0) {
-            List<NodeDescriptor> models = new LinkedList<>();
+            List<NodeDescriptor> models = new ArrayList<>(parent.getDescendantsCount());
             models.addAll(parent.getChildren());
             parent.clear();
             for (int i = 0; i < models.size(); i++) {
@@ -505,7 +496,7 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
             roots.addChildren(0, wrap(children));
         } else {
             NodeDescriptor parentNodeDescriptor = getWrapper(parent);
-            List<NodeDescriptor> models = new LinkedList<>();
+            List<NodeDescriptor> models = new ArrayList<>(parentNodeDescriptor.getDescendantsCount());
             models.addAll(parentNodeDescriptor.getChildren());
             for (int i = 0; i < models.size(); i++) {
                 NodeDescriptor wrapper = models.get(i);
@@ -521,45 +512,6 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
         fireEvent(new StoreDataChangeEvent(parent));
     }
 
-    private List<NodeDescriptor> findRemovedNodes(NodeDescriptor parent, final List<Node> loadedChildren) {
-        List<NodeDescriptor> existed = parent.getChildren();
-
-        if (existed == null || existed.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        Iterable<NodeDescriptor> removedItems = Iterables.filter(existed, new Predicate<NodeDescriptor>() {
-            @Override
-            public boolean apply(NodeDescriptor existedChild) {
-                return !loadedChildren.contains(existedChild.getNode());
-            }
-        });
-
-        return Lists.newArrayList(removedItems);
-    }
-
-    private List<Node> findNewNodes(NodeDescriptor parent, final List<Node> loadedChildren) {
-        final List<NodeDescriptor> existed = parent.getChildren();
-
-        if (existed == null || existed.isEmpty()) {
-            return loadedChildren;
-        }
-
-        Iterable<Node> newItems = Iterables.filter(loadedChildren, new Predicate<Node>() {
-            @Override
-            public boolean apply(Node loadedChild) {
-                for (NodeDescriptor nodeDescriptor : existed) {
-                    if (nodeDescriptor.getNode().equals(loadedChild)) {
-                        return false;
-                    }
-                }
-                return true;
-            }
-        });
-
-        return Lists.newArrayList(newItems);
-    }
-
     private List<NodeDescriptor> convertTreeNodesHelper(List<Node> children) {
         List<NodeDescriptor> nodeDescriptors = new ArrayList<>();
         if (children != null) {
@@ -732,10 +684,10 @@ public class TreeNodeStorage implements StoreHandlers.HasStoreHandlers {
 
     public void applySort(boolean suppressEvent) {
         Comparator<NodeDescriptor> comparator = buildFullComparator();
-        Collections.sort(roots.getChildren(), comparator);
+        roots.sortChildren(comparator);
 
         for (NodeDescriptor descriptor : idToNodeMap.values()) {
-            Collections.sort(descriptor.getChildren(), comparator);
+            descriptor.sortChildren(comparator);
         }
 
         if (!suppressEvent) {
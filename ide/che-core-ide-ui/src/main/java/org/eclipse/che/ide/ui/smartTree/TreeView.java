@@ -103,7 +103,7 @@ public class TreeView {
 
     public Element getJointContainer(NodeDescriptor node) {
         if (node.getJointContainerElement() == null) {
-            Element element = getNodeContainer(node).getChildNodes().getItem(0).cast();
+            Element element = getNodeContainerChild(node, 0);
             node.setJointContainerElement(element);
         }
         return node.getJointContainerElement();
@@ -111,7 +111,7 @@ public class TreeView {
 
     public Element getIconContainer(NodeDescriptor node) {
         if (node.getIconContainerElement() == null) {
-            Element element = getNodeContainer(node).getChildNodes().getItem(1).cast();
+            Element element = getNodeContainerChild(node, 1);
             node.setIconContainerElement(element);
         }
         return node.getIconContainerElement();
@@ -119,7 +119,7 @@ public class TreeView {
 
     public Element getUserElementContainer(NodeDescriptor node) {
         if (node.getUserElement() == null) {
-            Element element = getNodeContainer(node).getChildNodes().getItem(2).cast();
+            Element element = getNodeContainerChild(node, 2);
             node.setUserElement(element);
         }
         return node.getUserElement();
@@ -127,7 +127,7 @@ public class TreeView {
 
     public Element getPresentableTextContainer(NodeDescriptor node) {
         if (node.getPresentableTextContainer() == null) {
-            Element element = getNodeContainer(node).getChildNodes().getItem(3).cast();
+            Element element = getNodeContainerChild(node, 3);
             node.setPresentableTextContainer(element);
         }
         return node.getPresentableTextContainer();
@@ -135,12 +135,21 @@ public class TreeView {
 
     public Element getInfoTextContainer(NodeDescriptor node) {
         if (node.getPresentableTextContainer() == null) {
-            Element element = getNodeContainer(node).getChildNodes().getItem(4).cast();
+            Element element = getNodeContainerChild(node, 4);
             node.setInfoTextContainer(element);
         }
         return node.getInfoTextContainer();
     }
 
+    /** Returns child of node container or {@code null} if content of node isn't rendered, see {@link Tree#renderRow(NodeDescriptor)}. */
+    private Element getNodeContainerChild(NodeDescriptor node, int index) {
+        Element nodeContainer = getNodeContainer(node);
+        if (nodeContainer == null || nodeContainer.getChildCount() <= index) {
+            return null;
+        }
+        return nodeContainer.getChild(index).cast();
+    }
+
     public int getScrollDelay() {
         return scrollDelay;
     }
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ui.smartTree;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.eclipse.che.ide.api.project.node.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(GwtMockitoTestRunner.class)
+public class NodeDescriptorTest {
+    @Mock
+    private UniqueKeyProvider<Node> keyProvider;
+
+    private TreeNodeStorage storage;
+    private NodeDescriptor  parent;
+
+    @Before
+    public void setUp() {
+        storage = new TreeNodeStorage(keyProvider);
+        parent = new NodeDescriptor(storage, node("parent"));
+    }
+
+    @Test
+    public void childShouldBeFoundByName() {
+        NodeDescriptor a = addChild(parent, "a");
+        NodeDescriptor b = addChild(parent, "b");
+
+        assertSame(a, parent.findChild(node("a")));
+        assertSame(b, parent.findChild(node("b")));
+        assertNull(parent.findChild(node("c")));
+    }
+
+    @Test
+    public void removedChildShouldNotBeFound() {
+        NodeDescriptor a = addChild(parent, "a");
+        addChild(parent, "b");
+
+        parent.remove(a);
+
+        assertNull(parent.findChild(node("a")));
+        assertEquals(-1, parent.indexOf(a));
+    }
+
+    @Test
+    public void renamedChildShouldBeFoundByNewName() {
+        NodeDescriptor a = addChild(parent, "a");
+        addChild(parent, "b");
+
+        when(a.getNode().getName()).thenReturn("c");
+
+        assertNull(parent.findChild(node("a")));
+        assertSame(a, parent.findChild(node("c")));
+    }
+
+    @Test
+    public void renamedChildShouldBeFoundAfterIndexRebuilt() {
+        NodeDescriptor a = addChild(parent, "a");
+
+        when(a.getNode().getName()).thenReturn("c");
+        parent.rebuildIndex();
+
+        assertSame(a, parent.findChild(node("c")));
+        assertNull(parent.findChild(node("a")));
+    }
+
+    @Test
+    public void indexOfChildShouldFollowChanges() {
+        NodeDescriptor a = addChild(parent, "a");
+        NodeDescriptor b = addChild(parent, "b");
+        NodeDescriptor c = addChild(parent, "c");
+
+        assertEquals(1, parent.indexOf(b));
+
+        parent.remove(a);
+
+        assertEquals(0, parent.indexOf(b));
+        assertEquals(1, parent.indexOf(c));
+    }
+
+    @Test
+    public void descendantsShouldBeCounted() {
+        NodeDescriptor a = addChild(parent, "a");
+        addChild(a, "a1");
+        addChild(a, "a2");
+        NodeDescriptor b = addChild(parent, "b");
+
+        assertEquals(4, parent.getDescendantsCount());
+        assertEquals(2, a.getDescendantsCount());
+
+        parent.remove(a);
+        assertEquals(1, parent.getDescendantsCount());
+
+        b.clear();
+        assertEquals(1, parent.getDescendantsCount());
+    }
+
+    private NodeDescriptor addChild(NodeDescriptor parent, String name) {
+        NodeDescriptor child = new NodeDescriptor(storage, node(name));
+        parent.addChild(parent.getChildren().size(), child);
+        return child;
+    }
+
+    private static Node node(String name) {
+        Node node = mock(Node.class);
+        when(node.getName()).thenReturn(name);
+        return node;
+    }
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ui.smartTree;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.eclipse.che.ide.api.project.node.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(GwtMockitoTestRunner.class)
+public class TreeVisibleRowsTest {
+    private static final int ROW_HEIGHT = 20;
+
+    @Mock
+    private UniqueKeyProvider<Node> keyProvider;
+
+    private TreeNodeStorage      storage;
+    private List<NodeDescriptor> roots;
+
+    /**
+     * Rows of tree:
+     * <pre>
+     * 0 r0
+     * 1 r1 (expanded)
+     * 2   r1/c0
+     * 3   r1/c1
+     * 4   r1/c2
+     * 5 r2 (collapsed, has children)
+     * 6 r3
+     * ...
+     * 12 r9
+     * </pre>
+     */
+    @Before
+    public void setUp() {
+        storage = new TreeNodeStorage(keyProvider);
+        roots = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            roots.add(new NodeDescriptor(storage, node("r" + i)));
+        }
+        NodeDescriptor r1 = roots.get(1);
+        r1.setExpanded(true);
+        for (int i = 0; i < 3; i++) {
+            r1.addChild(i, new NodeDescriptor(storage, node("c" + i)));
+        }
+        roots.get(2).addChild(0, new NodeDescriptor(storage, node("hidden")));
+    }
+
+    @Test
+    public void rowsAtTopShouldBeVisible() {
+        List<NodeDescriptor> rows = Tree.getVisibleRows(roots, 0, ROW_HEIGHT, 3, 0);
+
+        assertEquals(Arrays.asList("r0", "r1", "c0", "c1", "c2", "r2"), names(rows));
+    }
+
+    @Test
+    public void rowsShouldBeFoundByScrollPosition() {
+        List<NodeDescriptor> rows = Tree.getVisibleRows(roots, 5 * ROW_HEIGHT, ROW_HEIGHT, 3, 0);
+
+        // one row before the viewport and two rows after it are included
+        assertEquals(Arrays.asList("c2", "r2", "r3", "r4", "r5", "r6"), names(rows));
+    }
+
+    @Test
+    public void extraRowsShouldBeIncludedAroundViewport() {
+        List<NodeDescriptor> rows = Tree.getVisibleRows(roots, 5 * ROW_HEIGHT, ROW_HEIGHT, 3, 2);
+
+        assertEquals(Arrays.asList("c0", "c1", "c2", "r2", "r3", "r4", "r5", "r6", "r7", "r8"), names(rows));
+    }
+
+    @Test
+    public void rowsShouldNotExceedEndOfTree() {
+        List<NodeDescriptor> rows = Tree.getVisibleRows(roots, 11 * ROW_HEIGHT, ROW_HEIGHT, 5, 0);
+
+        assertEquals(Arrays.asList("r7", "r8", "r9"), names(rows));
+    }
+
+    private static List<String> names(List<NodeDescriptor> rows) {
+        List<String> names = new ArrayList<>(rows.size());
+        for (NodeDescriptor row : rows) {
+            names.add(row.getNode().getName());
+        }
+        return names;
+    }
+
+    private static Node node(String name) {
+        Node node = mock(Node.class);
+        when(node.getName()).thenReturn(name);
+        return node;
+    }
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.gwt.client;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.project.shared.dto.ChildrenQuery;
+import org.eclipse.che.api.project.shared.dto.FolderChildren;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
+import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Coalesces requests for children of folders. All requests which are made during the same animation frame are sent to the server with
+ * one {@link ProjectServiceClient#getChildrenBatch(List, AsyncRequestCallback)} call, many requests for the same folder share one
+ * query. Last received listings are remembered together with their ETags, so children of folders which aren't changed are not sent
+ * by server again.
+ */
+@Singleton
+public class ChildrenBatchLoader {
+    /** Max number of folders in one batch, must not exceed limit of the server. */
+    private static final int MAX_BATCH_SIZE      = 200;
+    private static final int MAX_CACHED_LISTINGS = 1000;
+
+    private final ProjectServiceClient                                projectService;
+    private final DtoUnmarshallerFactory                              dtoUnmarshallerFactory;
+    private final DtoFactory                                          dtoFactory;
+    private final Map<String, List<AsyncCallback<List<ItemReference>>>> pending;
+    private final Map<String, Listing>                                listings;
+
+    private boolean flushScheduled;
+
+    @Inject
+    public ChildrenBatchLoader(ProjectServiceClient projectService, DtoUnmarshallerFactory dtoUnmarshallerFactory, DtoFactory dtoFactory) {
+        this.projectService = projectService;
+        this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
+        this.dtoFactory = dtoFactory;
+        pending = new LinkedHashMap<>();
+        listings = new LinkedHashMap<String, Listing>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Listing> eldest) {
+                return size() > MAX_CACHED_LISTINGS;
+            }
+        };
+    }
+
+    /**
+     * Requests children of folder. Request is sent with next batch.
+     *
+     * @param path
+     *         path of folder
+     * @param callback
+     *         callback which gets children of folder, list of children must not be modified
+     */
+    public void getChildren(String path, AsyncCallback<List<ItemReference>> callback) {
+        List<AsyncCallback<List<ItemReference>>> callbacks = pending.get(path);
+        if (callbacks == null) {
+            pending.put(path, callbacks = new ArrayList<>(1));
+        }
+        callbacks.add(callback);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            AnimationScheduler.get().requestAnimationFrame(new AnimationScheduler.AnimationCallback() {
+                @Override
+                public void execute(double timestamp) {
+                    flush();
+                }
+            });
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        final Map<String, List<AsyncCallback<List<ItemReference>>>> requests = new LinkedHashMap<>(pending);
+        pending.clear();
+        List<ChildrenQuery> queries = new ArrayList<>(Math.min(requests.size(), MAX_BATCH_SIZE));
+        for (String path : requests.keySet()) {
+            final Listing listing = listings.get(path);
+            queries.add(dtoFactory.createDto(ChildrenQuery.class).withPath(path).withEtag(listing == null ? null : listing.etag));
+            if (queries.size() == MAX_BATCH_SIZE) {
+                send(queries, requests);
+                queries = new ArrayList<>(Math.min(requests.size(), MAX_BATCH_SIZE));
+            }
+        }
+        if (!queries.isEmpty()) {
+            send(queries, requests);
+        }
+    }
+
+    private void send(final List<ChildrenQuery> queries, final Map<String, List<AsyncCallback<List<ItemReference>>>> requests) {
+        projectService.getChildrenBatch(queries, new AsyncRequestCallback<List<FolderChildren>>(
+                dtoUnmarshallerFactory.newListUnmarshaller(FolderChildren.class)) {
+            @Override
+            protected void onSuccess(List<FolderChildren> result) {
+                final Set<String> unanswered = new HashSet<>(queries.size());
+                for (ChildrenQuery query : queries) {
+                    unanswered.add(query.getPath());
+                }
+                for (FolderChildren folderChildren : result) {
+                    final String path = folderChildren.getPath();
+                    final List<AsyncCallback<List<ItemReference>>> callbacks = unanswered.remove(path) ? requests.get(path) : null;
+                    if (callbacks == null) {
+                        continue;
+                    }
+                    if (folderChildren.getError() != null) {
+                        listings.remove(path);
+                        fail(callbacks, new Exception(folderChildren.getError()));
+                        continue;
+                    }
+                    Listing listing = listings.get(path);
+                    if (!folderChildren.isNotModified()) {
+                        listing = new Listing(folderChildren.getEtag(), Collections.unmodifiableList(folderChildren.getChildren()));
+                        listings.put(path, listing);
+                    } else if (listing == null) {
+                        // Listing was evicted while request was in progress, request children without ETag.
+                        for (AsyncCallback<List<ItemReference>> callback : callbacks) {
+                            getChildren(path, callback);
+                        }
+                        continue;
+                    }
+                    for (AsyncCallback<List<ItemReference>> callback : callbacks) {
+                        callback.onSuccess(listing.children);
+                    }
+                }
+                for (String path : unanswered) {
+                    fail(requests.get(path), new Exception("Server didn't send children of folder " + path));
+                }
+            }
+
+            @Override
+            protected void onFailure(Throwable exception) {
+                for (ChildrenQuery query : queries) {
+                    fail(requests.get(query.getPath()), exception);
+                }
+            }
+        });
+    }
+
+    private static void fail(List<AsyncCallback<List<ItemReference>>> callbacks, Throwable exception) {
+        for (AsyncCallback<List<ItemReference>> callback : callbacks) {
+            callback.onFailure(exception);
+        }
+    }
+
+    private static class Listing {
+        final String              etag;
+        final List<ItemReference> children;
+
+        Listing(String etag, List<ItemReference> children) {
+            this.etag = etag;
+            this.children = children;
+        }
+    }
+}
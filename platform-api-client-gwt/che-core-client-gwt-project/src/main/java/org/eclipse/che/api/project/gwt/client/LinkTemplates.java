@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.gwt.client;
+
+import com.google.gwt.http.client.URL;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.ide.dto.DtoFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.eclipse.che.api.project.shared.Constants.LINK_SET_FILE;
+import static org.eclipse.che.api.project.shared.Constants.LINK_TEMPLATE_PATH;
+
+/**
+ * Expands link templates of compact listings, see {@link ProjectServiceClient#getChildrenCompact(String,
+ * org.eclipse.che.ide.rest.AsyncRequestCallback)}. Links are created only when they are requested for particular item.
+ */
+public class LinkTemplates {
+    private LinkTemplates() {
+    }
+
+    /**
+     * Gets links of item. If item doesn't have links yet they are created from templates and remembered in item, so templates are
+     * expanded at most once for each item.
+     *
+     * @param item
+     *         item of compact listing
+     * @param linkTemplates
+     *         link templates which were sent together with item
+     * @param dtoFactory
+     *         factory for creating links
+     * @return links of item or empty list if there is no templates for item
+     */
+    public static List<Link> getLinks(ItemReference item, Map<String, List<Link>> linkTemplates, DtoFactory dtoFactory) {
+        final List<Link> links = item.getLinks();
+        if (links != null && !links.isEmpty()) {
+            return links;
+        }
+        final List<Link> templates = item.getLinkSet() == null || linkTemplates == null ? null : linkTemplates.get(item.getLinkSet());
+        if (templates == null) {
+            return Collections.emptyList();
+        }
+        final String path = encodePath(item.getPath());
+        final boolean file = LINK_SET_FILE.equals(item.getLinkSet());
+        final List<Link> expanded = new ArrayList<>(templates.size());
+        for (Link template : templates) {
+            final Link link = dtoFactory.createDto(Link.class)
+                                        .withHref(template.getHref().replace(LINK_TEMPLATE_PATH, path))
+                                        .withRel(template.getRel())
+                                        .withMethod(template.getMethod())
+                                        .withConsumes(template.getConsumes())
+                                        .withProduces(template.getProduces())
+                                        .withParameters(template.getParameters())
+                                        .withRequestBody(template.getRequestBody());
+            if (file && link.getProduces() == null && "GET".equals(link.getMethod())) {
+                // Template of link for getting content of file doesn't know media type of particular file.
+                link.setProduces(item.getMediaType());
+            }
+            expanded.add(link);
+        }
+        item.setLinks(expanded);
+        return expanded;
+    }
+
+    /** Removes leading '/' and encodes each segment of path. */
+    private static String encodePath(String path) {
+        final StringBuilder result = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                if (result.length() > 0) {
+                    result.append('/');
+                }
+                result.append(URL.encodePathSegment(segment));
+            }
+        }
+        return result.toString();
+    }
+}
@@ -10,15 +10,19 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.gwt.client;
 
+import org.eclipse.che.api.project.shared.dto.ChildrenQuery;
+import org.eclipse.che.api.project.shared.dto.FolderChildren;
 import org.eclipse.che.api.project.shared.dto.ImportProject;
 import org.eclipse.che.api.project.shared.dto.ImportResponse;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.project.shared.dto.ItemReferenceList;
 import org.eclipse.che.api.project.shared.dto.NewProject;
 import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
 import org.eclipse.che.api.project.shared.dto.ProjectReference;
 import org.eclipse.che.api.project.shared.dto.ProjectUpdate;
 import org.eclipse.che.api.project.shared.dto.RunnerEnvironmentTree;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
+import org.eclipse.che.api.project.shared.dto.TextChange;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 
@@ -203,6 +207,23 @@ public interface ProjectServiceClient {
      */
     void updateFile(String path, String content, String contentType, AsyncRequestCallback<Void> callback);
 
+    /**
+     * Update file content with text changes instead of sending whole content. Server rejects changes with conflict if current content
+     * of file doesn't have the specified ETag. ETag of new content is sent in response header.
+     *
+     * @param path
+     *         path to file
+     * @param contentTag
+     *         ETag of content which changes are made against
+     * @param changes
+     *         changes to apply one by one
+     * @param length
+     *         length of content after changes, used by server to check that changes match content
+     * @param callback
+     *         the callback to use for the response
+     */
+    void patchFile(String path, String contentTag, List<TextChange> changes, int length, AsyncRequestCallback<Void> callback);
+
     /**
      * Create new folder in the specified folder.
      *
@@ -301,6 +322,42 @@ public interface ProjectServiceClient {
      */
     void getChildren(String path, AsyncRequestCallback<List<ItemReference>> callback);
 
+    /**
+     * Get children for the specified path in compact form. Items don't have links, use {@link LinkTemplates} to get them when needed.
+     *
+     * @param path
+     *         path to get its children
+     * @param callback
+     *         the callback to use for the response
+     */
+    void getChildrenCompact(String path, AsyncRequestCallback<ItemReferenceList> callback);
+
+    /**
+     * Get page of children for the specified path in compact form. Use {@link ItemReferenceList#isHasMoreItems()} to check whether next
+     * page should be requested and {@link ItemReferenceList#getNextCursor()} to request it.
+     *
+     * @param path
+     *         path to get its children
+     * @param after
+     *         cursor of the last child of previous page or {@code null} to get first page
+     * @param maxItems
+     *         max number of children in response
+     * @param callback
+     *         the callback to use for the response
+     */
+    void getChildrenCompact(String path, String after, int maxItems, AsyncRequestCallback<ItemReferenceList> callback);
+
+    /**
+     * Get children of many folders with one request. Children of folder aren't sent if its listing matches ETag in query. Use
+     * {@link ChildrenBatchLoader} to coalesce separate requests for children into batches.
+     *
+     * @param queries
+     *         paths of folders with ETags of listings which client already has
+     * @param callback
+     *         the callback to use for the response
+     */
+    void getChildrenBatch(List<ChildrenQuery> queries, AsyncRequestCallback<List<FolderChildren>> callback);
+
     /**
      * Get folders tree starts from the specified path.
      *
@@ -313,6 +370,19 @@ public interface ProjectServiceClient {
      */
     void getTree(String path, int depth, AsyncRequestCallback<TreeElement> callback);
 
+    /**
+     * Get folders tree starts from the specified path in compact form. Nodes don't have links, link templates are provided by root
+     * element, use {@link LinkTemplates} to get links of node when needed.
+     *
+     * @param path
+     *         path to get its folder tree
+     * @param depth
+     *         depth for discover children
+     * @param callback
+     *         the callback to use for the response
+     */
+    void getCompactTree(String path, int depth, AsyncRequestCallback<TreeElement> callback);
+
     /**
      * Search an item(s) by the specified criteria.
      *
@@ -10,13 +10,17 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.gwt.client;
 
+import com.google.gwt.http.client.URL;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import org.eclipse.che.api.project.shared.dto.ChildrenQuery;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
+import org.eclipse.che.api.project.shared.dto.FolderChildren;
 import org.eclipse.che.api.project.shared.dto.ImportProject;
 import org.eclipse.che.api.project.shared.dto.ImportResponse;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.project.shared.dto.ItemReferenceList;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
 import org.eclipse.che.api.project.shared.dto.NewProject;
 import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
@@ -24,6 +28,7 @@ import org.eclipse.che.api.project.shared.dto.ProjectReference;
 import org.eclipse.che.api.project.shared.dto.ProjectUpdate;
 import org.eclipse.che.api.project.shared.dto.RunnerEnvironmentTree;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
+import org.eclipse.che.api.project.shared.dto.TextChange;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.ide.MimeType;
 import org.eclipse.che.ide.dto.DtoFactory;
@@ -39,6 +44,7 @@ import static com.google.gwt.http.client.RequestBuilder.DELETE;
 import static com.google.gwt.http.client.RequestBuilder.PUT;
 import static org.eclipse.che.ide.rest.HTTPHeader.ACCEPT;
 import static org.eclipse.che.ide.rest.HTTPHeader.CONTENT_TYPE;
+import static org.eclipse.che.ide.rest.HTTPHeader.IF_MATCH;
 
 /**
  * Implementation of {@link ProjectServiceClient}.
@@ -59,6 +65,8 @@ public class ProjectServiceClientImpl implements ProjectServiceClient {
     private final String              RENAME;
     private final String              IMPORT_PROJECT;
     private final String              GET_CHILDREN;
+    private final String              GET_CHILDREN_COMPACT;
+    private final String              GET_CHILDREN_BATCH;
     private final String              GET_TREE;
     private final String              SEARCH;
     private final String              SWITCH_VISIBILITY;
@@ -91,6 +99,8 @@ public class ProjectServiceClientImpl implements ProjectServiceClient {
         RENAME = restContext + "/project/" + workspaceId + "/rename";
         IMPORT_PROJECT = restContext + "/project/" + workspaceId + "/import";
         GET_CHILDREN = restContext + "/project/" + workspaceId + "/children";
+        GET_CHILDREN_COMPACT = restContext + "/project/" + workspaceId + "/children-compact";
+        GET_CHILDREN_BATCH = restContext + "/project/" + workspaceId + "/children-batch";
         GET_TREE = restContext + "/project/" + workspaceId + "/tree";
         SEARCH = restContext + "/project/" + workspaceId + "/search";
         SWITCH_VISIBILITY = restContext + "/project/" + workspaceId + "/switch_visibility";
@@ -257,6 +267,14 @@ public class ProjectServiceClientImpl implements ProjectServiceClient {
                            .send(callback);
     }
 
+    @Override
+    public void patchFile(String path, String contentTag, List<TextChange> changes, int length, AsyncRequestCallback<Void> callback) {
+        final String requestUrl = FILE + normalizePath(path) + "?length=" + length;
+        asyncRequestFactory.createPatchRequest(requestUrl, changes)
+                           .header(IF_MATCH, contentTag)
+                           .send(callback);
+    }
+
     @Override
     public void createFolder(String path, AsyncRequestCallback<ItemReference> callback) {
         final String requestUrl = FOLDER + normalizePath(path);
@@ -339,6 +357,32 @@ public class ProjectServiceClientImpl implements ProjectServiceClient {
                 .send(callback);
     }
 
+    @Override
+    public void getChildrenCompact(String path, AsyncRequestCallback<ItemReferenceList> callback) {
+        final String requestUrl = GET_CHILDREN_COMPACT + normalizePath(path);
+        asyncRequestFactory.createGetRequest(requestUrl)
+                           .header(ACCEPT, MimeType.APPLICATION_JSON)
+                           .send(callback);
+    }
+
+    @Override
+    public void getChildrenCompact(String path, String after, int maxItems, AsyncRequestCallback<ItemReferenceList> callback) {
+        String requestUrl = GET_CHILDREN_COMPACT + normalizePath(path) + "?maxItems=" + maxItems;
+        if (after != null) {
+            requestUrl += "&after=" + URL.encodeQueryString(after);
+        }
+        asyncRequestFactory.createGetRequest(requestUrl)
+                           .header(ACCEPT, MimeType.APPLICATION_JSON)
+                           .send(callback);
+    }
+
+    @Override
+    public void getChildrenBatch(List<ChildrenQuery> queries, AsyncRequestCallback<List<FolderChildren>> callback) {
+        asyncRequestFactory.createPostRequest(GET_CHILDREN_BATCH, queries)
+                           .header(ACCEPT, MimeType.APPLICATION_JSON)
+                           .send(callback);
+    }
+
     @Override
     public void getTree(String path, int depth, AsyncRequestCallback<TreeElement> callback) {
         final String requestUrl = GET_TREE + normalizePath(path) + "?depth=" + depth;
@@ -347,6 +391,14 @@ public class ProjectServiceClientImpl implements ProjectServiceClient {
                            .send(callback);
     }
 
+    @Override
+    public void getCompactTree(String path, int depth, AsyncRequestCallback<TreeElement> callback) {
+        final String requestUrl = GET_TREE + normalizePath(path) + "?depth=" + depth + "&compact=true";
+        asyncRequestFactory.createGetRequest(requestUrl)
+                           .header(ACCEPT, MimeType.APPLICATION_JSON)
+                           .send(callback);
+    }
+
     @Override
     public void search(QueryExpression expression, AsyncRequestCallback<List<ItemReference>> callback) {
         final String requestUrl = SEARCH + normalizePath(expression.getPath());
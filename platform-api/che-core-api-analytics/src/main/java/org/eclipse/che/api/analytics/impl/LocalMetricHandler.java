@@ -0,0 +1,322 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.analytics.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+
+import org.eclipse.che.api.analytics.MetricHandler;
+import org.eclipse.che.api.analytics.logger.EventAggregator;
+import org.eclipse.che.api.analytics.logger.EventLogger;
+import org.eclipse.che.api.analytics.shared.dto.MetricInfoDTO;
+import org.eclipse.che.api.analytics.shared.dto.MetricInfoListDTO;
+import org.eclipse.che.api.analytics.shared.dto.MetricValueDTO;
+import org.eclipse.che.api.analytics.shared.dto.MetricValueListDTO;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.user.User;
+import org.eclipse.che.dto.server.DtoFactory;
+
+import javax.ws.rs.core.UriInfo;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves metrics which may be calculated from events emitted by this server, see {@link EventAggregator}, and delegates all other
+ * requests to {@link RemoteMetricHandler} if property {@code analytics.api.proxy_url} is set or to {@link DummyMetricHandler} otherwise.
+ * Values received from delegate are cached for short time, see property {@code analytics.api.cache_time}.
+ * <p/>
+ * Local metrics are configured with property {@code analytics.api.local_metrics} as comma separated list of
+ * {@code metric_name:event_name[:statistic]}, where statistic is one of {@code count}, {@code sum}, {@code min}, {@code max} or
+ * {@code avg}, {@code count} is used if statistic isn't set. Metric context may contain parameters {@code USER} or {@code WS} to get
+ * value for user or workspace and parameter {@code PERIOD} that sets period in minutes, by default value for last hour is returned.
+ * Names of default local metrics start with {@code local_}, values of them are counted by this server only and don't replace metrics
+ * with the same meaning calculated by analytics server.
+ */
+public class LocalMetricHandler implements MetricHandler {
+    private static final String PROXY_URL     = "analytics.api.proxy_url";
+    private static final String LOCAL_METRICS = "analytics.api.local_metrics";
+    private static final String CACHE_TIME    = "analytics.api.cache_time";
+
+    private static final String DEFAULT_LOCAL_METRICS = "local_ide_usage:ide-usage,"
+                                                        + "local_projects_opened:project-opened,"
+                                                        + "local_builds:build-started,"
+                                                        + "local_builds_finished:build-finished,"
+                                                        + "local_build_waiting_time:build-queue-waiting-finished:avg";
+    /** Default time of caching values received from delegate in seconds. */
+    private static final long   DEFAULT_CACHE_TIME    = 30;
+    private static final int    CACHE_MAX_SIZE        = 1000;
+
+    private static final String PERIOD_PARAM = "PERIOD";
+    private static final String LONG_TYPE    = "LONG";
+    private static final String DOUBLE_TYPE  = "DOUBLE";
+
+    private final MetricHandler            delegate;
+    private final Map<String, LocalMetric> localMetrics;
+    private final Cache<String, Object>    cache;
+
+    private EventAggregator eventAggregator;
+
+    public LocalMetricHandler(Properties properties) {
+        this(properties.getProperty(PROXY_URL) == null ? new DummyMetricHandler() : new RemoteMetricHandler(properties),
+             properties.getProperty(LOCAL_METRICS, DEFAULT_LOCAL_METRICS),
+             TimeUnit.SECONDS.toMillis(Long.parseLong(properties.getProperty(CACHE_TIME, Long.toString(DEFAULT_CACHE_TIME)))));
+    }
+
+    LocalMetricHandler(MetricHandler delegate, String localMetrics, long cacheTimeMillis) {
+        this.delegate = delegate;
+        this.localMetrics = parseLocalMetrics(localMetrics);
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumSize(CACHE_MAX_SIZE)
+                                 .expireAfterWrite(cacheTimeMillis, TimeUnit.MILLISECONDS)
+                                 .build();
+        this.eventAggregator = new EventAggregator();
+    }
+
+    /** Sets aggregator shared with {@link EventLogger}, this handler is bound as instance so aggregator can't be set in constructor. */
+    @Inject
+    public void setEventAggregator(EventAggregator eventAggregator) {
+        this.eventAggregator = eventAggregator;
+    }
+
+    @Override
+    public MetricValueDTO getValue(final String metricName,
+                                   final Map<String, String> metricContext,
+                                   final UriInfo uriInfo) throws Exception {
+        final LocalMetric localMetric = localMetrics.get(metricName);
+        if (localMetric != null && localMetric.supports(metricContext)) {
+            return localMetric.getValue(metricContext);
+        }
+        return cached("getValue", metricName, metricContext, new Callable<MetricValueDTO>() {
+            @Override
+            public MetricValueDTO call() throws Exception {
+                return delegate.getValue(metricName, metricContext, uriInfo);
+            }
+        });
+    }
+
+    @Override
+    public MetricValueListDTO getListValues(final String metricName,
+                                            final List<Map<String, String>> parameters,
+                                            final Map<String, String> context,
+                                            final UriInfo uriInfo) throws Exception {
+        return cached("getListValues" + parameters, metricName, context, new Callable<MetricValueListDTO>() {
+            @Override
+            public MetricValueListDTO call() throws Exception {
+                return delegate.getListValues(metricName, parameters, context, uriInfo);
+            }
+        });
+    }
+
+    @Override
+    public MetricValueDTO getValueByJson(final String metricName,
+                                         final Map<String, String> parameters,
+                                         final Map<String, String> metricContext,
+                                         final UriInfo uriInfo) throws Exception {
+        final Map<String, String> merged = new LinkedHashMap<>(metricContext);
+        if (parameters != null) {
+            merged.putAll(parameters);
+        }
+        final LocalMetric localMetric = localMetrics.get(metricName);
+        if (localMetric != null && localMetric.supports(merged)) {
+            return localMetric.getValue(merged);
+        }
+        return cached("getValueByJson" + parameters, metricName, metricContext, new Callable<MetricValueDTO>() {
+            @Override
+            public MetricValueDTO call() throws Exception {
+                return delegate.getValueByJson(metricName, parameters, metricContext, uriInfo);
+            }
+        });
+    }
+
+    @Override
+    public MetricValueDTO getPublicValue(final String metricName,
+                                         final Map<String, String> metricContext,
+                                         final UriInfo uriInfo) throws Exception {
+        return cached("getPublicValue", metricName, metricContext, new Callable<MetricValueDTO>() {
+            @Override
+            public MetricValueDTO call() throws Exception {
+                return delegate.getPublicValue(metricName, metricContext, uriInfo);
+            }
+        });
+    }
+
+    @Override
+    public MetricValueListDTO getUserValues(List<String> metricNames,
+                                            final Map<String, String> metricContext,
+                                            final UriInfo uriInfo) throws Exception {
+        final List<MetricValueDTO> values = new ArrayList<>(metricNames.size());
+        final List<String> remoteMetricNames = new ArrayList<>();
+        for (String metricName : metricNames) {
+            final LocalMetric localMetric = localMetrics.get(metricName);
+            if (localMetric != null && localMetric.supports(metricContext)) {
+                values.add(localMetric.getValue(metricContext));
+            } else {
+                remoteMetricNames.add(metricName);
+            }
+        }
+        if (!remoteMetricNames.isEmpty()) {
+            final MetricValueListDTO remote = cached("getUserValues", remoteMetricNames.toString(), metricContext,
+                                                     new Callable<MetricValueListDTO>() {
+                                                         @Override
+                                                         public MetricValueListDTO call() throws Exception {
+                                                             return delegate.getUserValues(remoteMetricNames, metricContext, uriInfo);
+                                                         }
+                                                     });
+            if (remote != null && remote.getMetrics() != null) {
+                values.addAll(remote.getMetrics());
+            }
+        }
+        final MetricValueListDTO result = DtoFactory.getInstance().createDto(MetricValueListDTO.class);
+        result.setMetrics(values);
+        return result;
+    }
+
+    @Override
+    public MetricInfoDTO getInfo(String metricName, UriInfo uriInfo) throws Exception {
+        final LocalMetric localMetric = localMetrics.get(metricName);
+        if (localMetric != null) {
+            return localMetric.getInfo();
+        }
+        return delegate.getInfo(metricName, uriInfo);
+    }
+
+    @Override
+    public MetricInfoListDTO getAllInfo(UriInfo uriInfo) throws Exception {
+        final MetricInfoListDTO infoList = delegate.getAllInfo(uriInfo);
+        final List<MetricInfoDTO> infos = new ArrayList<>();
+        if (infoList.getMetrics() != null) {
+            for (MetricInfoDTO info : infoList.getMetrics()) {
+                if (!localMetrics.containsKey(info.getName())) {
+                    infos.add(info);
+                }
+            }
+        }
+        for (LocalMetric localMetric : localMetrics.values()) {
+            infos.add(localMetric.getInfo());
+        }
+        infoList.setMetrics(infos);
+        return infoList;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String method, String metricName, Map<String, String> context, Callable<T> loader) throws Exception {
+        final User user = EnvironmentContext.getCurrent().getUser();
+        // Sort context to get the same key for the same set of parameters.
+        final String key = method + '#' + metricName + '#' + new TreeMap<>(context) + '#' + (user == null ? "" : user.getId());
+        final Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T)cached;
+        }
+        // Load outside of cache to pass exceptions of delegate as is, null values may not be cached.
+        final T value = loader.call();
+        if (value != null) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    private Map<String, LocalMetric> parseLocalMetrics(String config) {
+        final Map<String, LocalMetric> metrics = new LinkedHashMap<>();
+        for (String metric : config.split(",")) {
+            final String trimmed = metric.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            final String[] parts = trimmed.split(":");
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException(String.format("Invalid value of property %s: %s", LOCAL_METRICS, trimmed));
+            }
+            metrics.put(parts[0], new LocalMetric(parts[0], parts[1], parts.length == 3 ? parts[2] : "count"));
+        }
+        return metrics;
+    }
+
+    private class LocalMetric {
+        final String name;
+        final String event;
+        final String statistic;
+
+        LocalMetric(String name, String event, String statistic) {
+            switch (statistic) {
+                case "count":
+                case "sum":
+                case "min":
+                case "max":
+                case "avg":
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown statistic '%s' of metric '%s'", statistic, name));
+            }
+            this.name = name;
+            this.event = event;
+            this.statistic = statistic;
+        }
+
+        /** Local metrics may be filtered either by user or by workspace and may not be paginated. */
+        boolean supports(Map<String, String> context) {
+            for (String param : context.keySet()) {
+                if (!(EventLogger.USER_PARAM.equals(param) || EventLogger.WS_PARAM.equals(param) || PERIOD_PARAM.equals(param))) {
+                    return false;
+                }
+            }
+            return !(context.containsKey(EventLogger.USER_PARAM) && context.containsKey(EventLogger.WS_PARAM));
+        }
+
+        MetricValueDTO getValue(Map<String, String> context) {
+            final String period = context.get(PERIOD_PARAM);
+            final long periodMillis = period == null ? EventAggregator.WINDOWS * EventAggregator.WINDOW_MILLIS
+                                                     : TimeUnit.MINUTES.toMillis(Long.parseLong(period));
+            final EventAggregator.Statistics statistics = eventAggregator.getStatistics(event,
+                                                                                        context.get(EventLogger.USER_PARAM),
+                                                                                        context.get(EventLogger.WS_PARAM),
+                                                                                        periodMillis);
+            final MetricValueDTO value = DtoFactory.getInstance().createDto(MetricValueDTO.class);
+            value.setName(name);
+            value.setType(getType());
+            switch (statistic) {
+                case "sum":
+                    value.setValue(Long.toString(statistics.getSum()));
+                    break;
+                case "min":
+                    value.setValue(Long.toString(statistics.getMin()));
+                    break;
+                case "max":
+                    value.setValue(Long.toString(statistics.getMax()));
+                    break;
+                case "avg":
+                    value.setValue(Double.toString(statistics.getAverage()));
+                    break;
+                default:
+                    value.setValue(Long.toString(statistics.getCount()));
+            }
+            return value;
+        }
+
+        MetricInfoDTO getInfo() {
+            final MetricInfoDTO info = DtoFactory.getInstance().createDto(MetricInfoDTO.class);
+            info.setName(name);
+            info.setType(getType());
+            info.setDescription(String.format("%s of '%s' events emitted by this server", statistic, event));
+            return info;
+        }
+
+        String getType() {
+            return "avg".equals(statistic) ? DOUBLE_TYPE : LONG_TYPE;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.analytics.logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.notification.AnalyticsEvent;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps in-process rolling statistics of analytics events emitted by this server. Statistics are kept per event, per event and user
+ * and per event and workspace in one minute windows for the last hour. Each window holds number of events and count, sum, min and max
+ * of the values which are recorded with events, e.g. waiting time of build in queue. Besides events recorded directly, aggregator records
+ * {@link AnalyticsEvent}s which other components of this server, e.g. builder, publish with {@link EventService}.
+ */
+@Singleton
+public class EventAggregator {
+    /** Length of single window in milliseconds. */
+    public static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    /** Number of windows which are kept in memory. */
+    public static final int  WINDOWS       = 60;
+
+    private static final int CLEANUP_PERIOD = 1000;
+
+    private final ConcurrentMap<Key, Series>      series;
+    private final AtomicInteger                   recordCounter;
+    private final EventSubscriber<AnalyticsEvent> analyticsEventSubscriber;
+
+    private EventService eventService;
+
+    public EventAggregator() {
+        series = new ConcurrentHashMap<>();
+        recordCounter = new AtomicInteger();
+        analyticsEventSubscriber = new EventSubscriber<AnalyticsEvent>() {
+            @Override
+            public void onEvent(AnalyticsEvent event) {
+                record(event.getName(), event.getUser(), event.getWorkspace(), event.getValue());
+            }
+        };
+    }
+
+    /** Starts recording of {@link AnalyticsEvent}s published with {@code eventService}. */
+    @Inject
+    public void subscribe(EventService eventService) {
+        this.eventService = eventService;
+        eventService.subscribe(analyticsEventSubscriber);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (eventService != null) {
+            eventService.unsubscribe(analyticsEventSubscriber);
+        }
+    }
+
+    /**
+     * Records event without value.
+     *
+     * @see #record(String, String, String, long)
+     */
+    public void record(String event, String user, String workspace) {
+        record(event, user, workspace, 0);
+    }
+
+    /**
+     * Records event.
+     *
+     * @param event
+     *         name of event
+     * @param user
+     *         user which produced event, may be {@code null}
+     * @param workspace
+     *         workspace in which event is produced, may be {@code null}
+     * @param value
+     *         value that is recorded with event
+     */
+    public void record(String event, String user, String workspace, long value) {
+        final long time = System.currentTimeMillis();
+        getSeries(new Key(event, null, null)).add(time, value);
+        if (user != null) {
+            getSeries(new Key(event, user, null)).add(time, value);
+        }
+        if (workspace != null) {
+            getSeries(new Key(event, null, workspace)).add(time, value);
+        }
+        if (recordCounter.incrementAndGet() % CLEANUP_PERIOD == 0) {
+            cleanup(time);
+        }
+    }
+
+    /**
+     * Gets statistics of event for the given period. Filter by both user and workspace is not supported.
+     *
+     * @param event
+     *         name of event
+     * @param user
+     *         user to filter events, may be {@code null}
+     * @param workspace
+     *         workspace to filter events, may be {@code null}
+     * @param periodMillis
+     *         period in milliseconds, period longer than {@code WINDOWS * WINDOW_MILLIS} is truncated
+     * @return statistics of event, never {@code null}
+     * @throws IllegalArgumentException
+     *         if both {@code user} and {@code workspace} are not {@code null}
+     */
+    public Statistics getStatistics(String event, String user, String workspace, long periodMillis) {
+        if (user != null && workspace != null) {
+            throw new IllegalArgumentException("Statistics filtered by both user and workspace is not available");
+        }
+        final Series s = series.get(new Key(event, user, workspace));
+        return s == null ? new Statistics() : s.get(System.currentTimeMillis(), periodMillis);
+    }
+
+    private Series getSeries(Key key) {
+        Series s = series.get(key);
+        if (s == null) {
+            final Series newSeries = new Series();
+            s = series.putIfAbsent(key, newSeries);
+            if (s == null) {
+                s = newSeries;
+            }
+        }
+        return s;
+    }
+
+    private void cleanup(long time) {
+        for (Iterator<Series> i = series.values().iterator(); i.hasNext(); ) {
+            if (i.next().isExpired(time)) {
+                i.remove();
+            }
+        }
+    }
+
+    /** Statistics of event for some period. */
+    public static class Statistics {
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        /** @return min recorded value or {@code 0} if there is no any events */
+        public long getMin() {
+            return count == 0 ? 0 : min;
+        }
+
+        /** @return max recorded value or {@code 0} if there is no any events */
+        public long getMax() {
+            return count == 0 ? 0 : max;
+        }
+
+        /** @return average recorded value or {@code 0} if there is no any events */
+        public double getAverage() {
+            return count == 0 ? 0 : (double)sum / count;
+        }
+
+        void add(long value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        void merge(Statistics other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /** Ring of windows. Index of window is calculated from its start time. */
+    private static class Series {
+        final long[]       windowStarts = new long[WINDOWS];
+        final Statistics[] windows      = new Statistics[WINDOWS];
+
+        long lastUpdate;
+
+        synchronized void add(long time, long value) {
+            final long windowStart = time - time % WINDOW_MILLIS;
+            final int index = (int)((windowStart / WINDOW_MILLIS) % WINDOWS);
+            if (windows[index] == null || windowStarts[index] != windowStart) {
+                windows[index] = new Statistics();
+                windowStarts[index] = windowStart;
+            }
+            windows[index].add(value);
+            lastUpdate = time;
+        }
+
+        synchronized Statistics get(long time, long periodMillis) {
+            final long from = time - Math.min(periodMillis, WINDOWS * WINDOW_MILLIS);
+            final Statistics result = new Statistics();
+            for (int i = 0; i < WINDOWS; i++) {
+                if (windows[i] != null && windowStarts[i] + WINDOW_MILLIS > from) {
+                    result.merge(windows[i]);
+                }
+            }
+            return result;
+        }
+
+        synchronized boolean isExpired(long time) {
+            return lastUpdate + WINDOWS * WINDOW_MILLIS < time;
+        }
+    }
+
+    private static final class Key {
+        final String event;
+        final String user;
+        final String workspace;
+
+        Key(String event, String user, String workspace) {
+            this.event = event;
+            this.user = user;
+            this.workspace = workspace;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)o;
+            return Objects.equals(event, other.event)
+                   && Objects.equals(user, other.user)
+                   && Objects.equals(workspace, other.workspace);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(event, user, workspace);
+        }
+    }
+}
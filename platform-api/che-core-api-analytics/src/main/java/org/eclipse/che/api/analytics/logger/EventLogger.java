@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.analytics.logger;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.slf4j.Logger;
@@ -65,8 +66,9 @@ public class EventLogger {
         add(PROJECT_OPENED);
     }};
 
-    private final Thread        logThread;
-    private final Queue<String> queue;
+    private final Thread          logThread;
+    private final Queue<String>   queue;
+    private final EventAggregator eventAggregator;
 
     /**
      * Stores the number of ignored events due to maximum queue capacity
@@ -74,6 +76,12 @@ public class EventLogger {
     private long ignoredEvents;
 
     public EventLogger() {
+        this(new EventAggregator());
+    }
+
+    @Inject
+    public EventLogger(EventAggregator eventAggregator) {
+        this.eventAggregator = eventAggregator;
         this.queue = new LinkedBlockingQueue<>(QUEUE_MAX_CAPACITY);
         this.ignoredEvents = 0;
 
@@ -99,6 +107,9 @@ public class EventLogger {
 
             validate(parameters);
 
+            // Aggregate before message is queued, statistics stay accurate even if message is dropped due to queue capacity.
+            eventAggregator.record(event, parameters.get(USER_PARAM), parameters.get(WS_PARAM));
+
             String message = createMessage(event, parameters);
             if (!offerEvent(message)) {
                 if (ignoredEvents++ % 1000 == 0) {
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.analytics.impl;
+
+import org.eclipse.che.api.analytics.MetricHandler;
+import org.eclipse.che.api.analytics.logger.EventAggregator;
+import org.eclipse.che.api.analytics.logger.EventLogger;
+import org.eclipse.che.api.analytics.shared.dto.MetricValueDTO;
+import org.eclipse.che.api.core.notification.AnalyticsEvent;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+public class TestLocalMetricHandler {
+
+    private MetricHandler      delegate;
+    private EventLogger        eventLogger;
+    private LocalMetricHandler metricHandler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        EventAggregator eventAggregator = new EventAggregator();
+        eventLogger = new EventLogger(eventAggregator);
+        delegate = mock(MetricHandler.class);
+        metricHandler = new LocalMetricHandler(delegate, "local_ide_usage:ide-usage", 60000);
+        metricHandler.setEventAggregator(eventAggregator);
+    }
+
+    @Test
+    public void shouldCountLoggedEventsLocally() throws Exception {
+        eventLogger.log(EventLogger.IDE_USAGE, parameters("user1", "ws1"));
+        eventLogger.log(EventLogger.IDE_USAGE, parameters("user1", "ws2"));
+        eventLogger.log(EventLogger.IDE_USAGE, parameters("user2", "ws1"));
+
+        assertEquals(metricHandler.getValue("local_ide_usage", new HashMap<String, String>(), null).getValue(), "3");
+        assertEquals(metricHandler.getValue("local_ide_usage", Collections.singletonMap(EventLogger.USER_PARAM, "user1"), null).getValue(),
+                     "2");
+        assertEquals(metricHandler.getValue("local_ide_usage", Collections.singletonMap(EventLogger.WS_PARAM, "ws1"), null).getValue(),
+                     "2");
+        verify(delegate, times(0)).getValue(any(String.class), anyMapOf(String.class, String.class), any());
+    }
+
+    @Test
+    public void shouldCountAnalyticsEventsPublishedByOtherComponents() throws Exception {
+        EventService eventService = new EventService();
+        EventAggregator eventAggregator = new EventAggregator();
+        eventAggregator.subscribe(eventService);
+        metricHandler = new LocalMetricHandler(delegate, "local_build_waiting_time:build-queue-waiting-finished:avg", 60000);
+        metricHandler.setEventAggregator(eventAggregator);
+
+        eventService.publish(new AnalyticsEvent("build-queue-waiting-finished", "user1", "ws1", 100));
+        eventService.publish(new AnalyticsEvent("build-queue-waiting-finished", "user2", "ws1", 300));
+
+        assertEquals(metricHandler.getValue("local_build_waiting_time", new HashMap<String, String>(), null).getValue(), "200.0");
+
+        eventAggregator.unsubscribe();
+        eventService.publish(new AnalyticsEvent("build-queue-waiting-finished", "user1", "ws1", 500));
+        assertEquals(metricHandler.getValue("local_build_waiting_time", new HashMap<String, String>(), null).getValue(), "200.0");
+    }
+
+    @Test
+    public void shouldCacheValuesOfRemoteMetrics() throws Exception {
+        MetricValueDTO value = DtoFactory.getInstance().createDto(MetricValueDTO.class);
+        value.setName("factory_used");
+        value.setValue("10");
+        when(delegate.getValue(eq("factory_used"), anyMapOf(String.class, String.class), any())).thenReturn(value);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(metricHandler.getValue("factory_used", new HashMap<String, String>(), null).getValue(), "10");
+        }
+
+        verify(delegate, times(1)).getValue(eq("factory_used"), anyMapOf(String.class, String.class), any());
+    }
+
+    private Map<String, String> parameters(String user, String workspace) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(EventLogger.USER_PARAM, user);
+        parameters.put(EventLogger.WS_PARAM, workspace);
+        return parameters;
+    }
+}
@@ -21,6 +21,7 @@ import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.client.util.store.MemoryDataStoreFactory;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.auth.shared.dto.OAuthToken;
 import org.eclipse.che.commons.json.JsonHelper;
@@ -40,20 +41,49 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
-/** Authentication service which allow get access token from OAuth provider site. */
+/**
+ * Authentication service which allow get access token from OAuth provider site.
+ * <p/>
+ * Access tokens are cached in memory. Only one thread refreshes expired token of user at a time, other threads which need token of the
+ * same user wait for result of refresh. Token which expires in less than {@link #REFRESH_AHEAD_MILLIS} is refreshed in background
+ * while cached token is still returned to the callers. Failed background refresh is retried not earlier than in
+ * {@link #REFRESH_RETRY_DELAY_MILLIS}.
+ */
 public abstract class OAuthAuthenticator {
     private static final Logger LOG = LoggerFactory.getLogger(OAuthAuthenticator.class);
 
+    /** Tokens are refreshed in background when they expire in less than this period. */
+    static final long REFRESH_AHEAD_MILLIS       = TimeUnit.MINUTES.toMillis(1);
+    /** Background refresh which failed isn't retried for this period, cached token is used meanwhile. */
+    static final long REFRESH_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final ExecutorService REFRESHER = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                                                                                           .setNameFormat("OAuthTokenRefresher-%d")
+                                                                                           .setDaemon(true)
+                                                                                           .build());
+
     protected final AuthorizationCodeFlow flow;
 
-    private final Map<Pattern, String> redirectUrisMap;
+    private final Map<Pattern, String>               redirectUrisMap;
+    private final ConcurrentMap<String, CachedToken> tokens;
+    private final ConcurrentMap<String, TokenLoader> loaders;
 
     public OAuthAuthenticator(AuthorizationCodeFlow flow, List<String> redirectUris) {
         this.flow = flow;
+        this.tokens = new ConcurrentHashMap<>();
+        this.loaders = new ConcurrentHashMap<>();
         this.redirectUrisMap = new HashMap<>(redirectUris.size());
         for (String uri : redirectUris) {
             // Redirect URI may be in form urn:ietf:wg:oauth:2.0:oob os use java.net.URI instead of java.net.URL
@@ -173,6 +203,7 @@ public abstract class OAuthAuthenticator {
                 userId = getUser(newDto(OAuthToken.class).withToken(tokenResponse.getAccessToken())).getId();
             }
             flow.createAndStoreCredential(tokenResponse, userId);
+            evictToken(userId);
             return userId;
         } catch (IOException ioe) {
             throw new OAuthAuthenticationException(ioe.getMessage());
@@ -251,20 +282,14 @@ public abstract class OAuthAuthenticator {
      * @see org.eclipse.che.api.auth.oauth.OAuthTokenProvider#getToken(String, String)
      */
     public OAuthToken getToken(String userId) throws IOException {
-        Credential credential = flow.loadCredential(userId);
-        if (credential != null) {
-            Long expirationTime = credential.getExpiresInSeconds();
-            if (expirationTime != null && expirationTime < 0) {
-                if (credential.refreshToken()) {
-                    credential = flow.loadCredential(userId);
-                } else {
-                    return null;
-                }
-            }
-
-            return newDto(OAuthToken.class).withToken(credential.getAccessToken());
+        CachedToken token = tokens.get(userId);
+        if (token == null || token.isExpired()) {
+            token = loadToken(userId);
         }
-        return null;
+        if (token != null && token.expiresSoon() && token.canRetryRefresh()) {
+            refreshInBackground(userId);
+        }
+        return token == null ? null : newDto(OAuthToken.class).withToken(token.accessToken);
     }
 
     /**
@@ -279,8 +304,151 @@ public abstract class OAuthAuthenticator {
         Credential credential = flow.loadCredential(userId);
         if (credential != null) {
             flow.getCredentialDataStore().delete(userId);
+            evictToken(userId);
             return true;
         }
         return false;
     }
+
+    /** Loads token of user from credential store and refreshes it if need, concurrent loads of token of the same user are merged. */
+    private CachedToken loadToken(String userId) throws IOException {
+        final TokenLoader newLoader = new TokenLoader(userId, 0);
+        TokenLoader loader = loaders.putIfAbsent(userId, newLoader);
+        if (loader == null) {
+            loader = newLoader;
+            loader.run();
+        }
+        try {
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for OAuth token", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private void refreshInBackground(String userId) {
+        final TokenLoader newLoader = new TokenLoader(userId, REFRESH_AHEAD_MILLIS);
+        if (loaders.putIfAbsent(userId, newLoader) == null) {
+            try {
+                REFRESHER.execute(newLoader);
+            } catch (RejectedExecutionException e) {
+                loaders.remove(userId, newLoader);
+                LOG.warn("Unable refresh OAuth token of user {} in background. {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    private void evictToken(String userId) {
+        synchronized (tokens) {
+            loaders.remove(userId);
+            tokens.remove(userId);
+        }
+    }
+
+    /**
+     * Loads token of user from credential store.
+     *
+     * @param refreshAhead
+     *         token is refreshed if it expires in less than this number of milliseconds
+     */
+    private CachedToken doLoadToken(String userId, long refreshAhead) throws IOException {
+        final Credential credential = flow.loadCredential(userId);
+        if (credential == null) {
+            return null;
+        }
+        final Long expirationTime = credential.getExpirationTimeMilliseconds();
+        if (expirationTime != null && expirationTime - System.currentTimeMillis() < refreshAhead) {
+            // Credential notifies its refresh listeners, e.g. credential store, about new token.
+            if (!credential.refreshToken() && expirationTime < System.currentTimeMillis()) {
+                return null;
+            }
+        }
+        final String accessToken = credential.getAccessToken();
+        if (accessToken == null) {
+            return null;
+        }
+        return new CachedToken(accessToken, credential.getExpirationTimeMilliseconds());
+    }
+
+    private static final class CachedToken {
+        final String accessToken;
+        final Long   expirationTime;
+
+        /** Time after which background refresh of this token may be retried, it is set when refresh fails. */
+        volatile long refreshRetryTime;
+
+        CachedToken(String accessToken, Long expirationTime) {
+            this.accessToken = accessToken;
+            this.expirationTime = expirationTime;
+        }
+
+        boolean isExpired() {
+            return expirationTime != null && expirationTime < System.currentTimeMillis();
+        }
+
+        boolean expiresSoon() {
+            return expirationTime != null && expirationTime - System.currentTimeMillis() < REFRESH_AHEAD_MILLIS;
+        }
+
+        boolean canRetryRefresh() {
+            return refreshRetryTime <= System.currentTimeMillis();
+        }
+
+        void postponeRefresh() {
+            refreshRetryTime = System.currentTimeMillis() + REFRESH_RETRY_DELAY_MILLIS;
+        }
+    }
+
+    private final class TokenLoader extends FutureTask<CachedToken> {
+        final String  userId;
+        final boolean background;
+
+        TokenLoader(String userId, long refreshAhead) {
+            super(() -> doLoadToken(userId, refreshAhead));
+            this.userId = userId;
+            // Only refresh ahead of expiration is done in background, see refreshInBackground.
+            background = refreshAhead > 0;
+        }
+
+        @Override
+        protected void done() {
+            synchronized (tokens) {
+                // Result of loader which is removed by evictToken is outdated, don't cache it.
+                if (loaders.get(userId) != this) {
+                    return;
+                }
+                loaders.remove(userId, this);
+                final CachedToken token;
+                try {
+                    token = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    // Token which isn't expired yet is still usable if background refresh failed.
+                    LOG.warn("Unable load OAuth token of user {}. {}", userId, e.getMessage());
+                    final CachedToken cached = tokens.get(userId);
+                    if (background && cached != null) {
+                        cached.postponeRefresh();
+                    }
+                    return;
+                }
+                if (token == null) {
+                    tokens.remove(userId);
+                } else {
+                    if (background && token.expiresSoon()) {
+                        // Provider didn't refresh token, don't ask it again on each request.
+                        token.postponeRefresh();
+                    }
+                    tokens.put(userId, token);
+                }
+            }
+        }
+    }
 }
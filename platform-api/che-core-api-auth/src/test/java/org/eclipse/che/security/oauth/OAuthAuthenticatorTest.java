@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.security.oauth;
+
+import com.google.api.client.auth.oauth2.TokenResponse;
+import com.google.api.client.util.store.MemoryDataStoreFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.eclipse.che.api.auth.shared.dto.OAuthToken;
+import org.eclipse.che.security.oauth.shared.User;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class OAuthAuthenticatorTest {
+    private static final String USER = "user123";
+
+    private HttpServer         tokenServer;
+    private ExecutorService    tokenServerExecutor;
+    private AtomicInteger      refreshes;
+    private CountDownLatch     refreshed;
+    private volatile int       responseStatus;
+    private OAuthAuthenticator authenticator;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        refreshes = new AtomicInteger();
+        refreshed = new CountDownLatch(1);
+        responseStatus = 200;
+        tokenServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        tokenServer.createContext("/token", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                final int refresh = refreshes.incrementAndGet();
+                try {
+                    // Slow provider makes concurrent requests for token overlap.
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                final byte[] body = String.format("{\"access_token\":\"token%d\",\"token_type\":\"Bearer\",\"expires_in\":3600}", refresh)
+                                          .getBytes("UTF-8");
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+                exchange.sendResponseHeaders(responseStatus, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+                refreshed.countDown();
+            }
+        });
+        tokenServerExecutor = Executors.newCachedThreadPool();
+        tokenServer.setExecutor(tokenServerExecutor);
+        tokenServer.start();
+        authenticator = new TestAuthenticator("http://localhost:" + tokenServer.getAddress().getPort() + "/token");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        tokenServer.stop(0);
+        tokenServerExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRefreshExpiredTokenOnceForConcurrentRequests() throws Exception {
+        storeCredential(-10);
+        final int threads = 10;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<OAuthToken>> results = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(new Callable<OAuthToken>() {
+                    @Override
+                    public OAuthToken call() throws Exception {
+                        start.await();
+                        return authenticator.getToken(USER);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<OAuthToken> result : results) {
+                assertEquals(result.get().getToken(), "token1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(refreshes.get(), 1);
+        assertEquals(authenticator.getToken(USER).getToken(), "token1");
+        assertEquals(refreshes.get(), 1);
+    }
+
+    @Test
+    public void shouldRefreshTokenInBackgroundBeforeExpiration() throws Exception {
+        storeCredential(OAuthAuthenticator.REFRESH_AHEAD_MILLIS / 2000);
+        // Token is still valid and returned without waiting for refresh.
+        assertEquals(authenticator.getToken(USER).getToken(), "initial");
+        final long end = System.currentTimeMillis() + 10000;
+        while (!"token1".equals(authenticator.getToken(USER).getToken())) {
+            if (System.currentTimeMillis() > end) {
+                throw new AssertionError("Token isn't refreshed in background");
+            }
+            Thread.sleep(50);
+        }
+        assertEquals(refreshes.get(), 1);
+    }
+
+    @Test
+    public void shouldNotRetryFailedBackgroundRefreshImmediately() throws Exception {
+        responseStatus = 500;
+        storeCredential(OAuthAuthenticator.REFRESH_AHEAD_MILLIS / 2000);
+        assertEquals(authenticator.getToken(USER).getToken(), "initial");
+        assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(authenticator.getToken(USER).getToken(), "initial");
+        }
+        assertEquals(refreshes.get(), 1);
+    }
+
+    @Test
+    public void shouldNotReturnInvalidatedToken() throws Exception {
+        storeCredential(3600);
+        assertEquals(authenticator.getToken(USER).getToken(), "initial");
+        authenticator.invalidateToken(USER);
+        assertNull(authenticator.getToken(USER));
+        assertEquals(refreshes.get(), 0);
+    }
+
+    private void storeCredential(long expiresInSeconds) throws IOException {
+        authenticator.flow.createAndStoreCredential(new TokenResponse().setAccessToken("initial")
+                                                                       .setRefreshToken("refresh")
+                                                                       .setTokenType("Bearer")
+                                                                       .setExpiresInSeconds(expiresInSeconds), USER);
+    }
+
+    private static class TestAuthenticator extends OAuthAuthenticator {
+        TestAuthenticator(String tokenUri) throws IOException {
+            super("client", "secret", new String[]{"http://localhost/callback"}, "http://localhost/auth", tokenUri,
+                  new MemoryDataStoreFactory());
+        }
+
+        @Override
+        public User getUser(OAuthToken accessToken) throws OAuthAuthenticationException {
+            throw new OAuthAuthenticationException("Not supported");
+        }
+
+        @Override
+        public String getOAuthProvider() {
+            return "test";
+        }
+    }
+}
@@ -27,11 +27,14 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.notification.AnalyticsEvent;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.rest.HttpJsonHelper;
 import org.eclipse.che.api.core.rest.ServiceContext;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.PollingTask;
+import org.eclipse.che.api.core.util.QueueMetrics;
 import org.eclipse.che.api.project.server.ProjectService;
 import org.eclipse.che.api.project.shared.dto.BuilderConfiguration;
 import org.eclipse.che.api.project.shared.dto.BuildersDescriptor;
@@ -71,7 +74,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -96,6 +99,8 @@ public class BuildQueue {
     private static final Logger LOG = LoggerFactory.getLogger(BuildQueue.class);
 
     private static final long CHECK_AVAILABLE_BUILDER_DELAY = 2000;
+    /** Time in seconds for keeping workspace and project descriptors in {@link DescriptorCache}. */
+    private static final long DESCRIPTOR_CACHE_TIME         = 10;
 
     private static final AtomicLong sequence = new AtomicLong(1);
 
@@ -110,15 +115,26 @@ public class BuildQueue {
     private final Cache<BaseBuilderRequest, RemoteTask>      successfulBuilds;
     private final AtomicBoolean                              started;
     private final long                                       keepResultTimeMillis;
+    private final DescriptorCache                            descriptorCache;
+    private final QueueMetrics                               metrics;
 
     private ExecutorService          executor;
+    private ThreadPoolExecutor       dispatcher;
     private ScheduledExecutorService scheduler;
 
+    /** Delay in milliseconds between attempts to send request to the slave builder. */
+    private long checkAvailableBuilderDelay = CHECK_AVAILABLE_BUILDER_DELAY;
+
     /** Optional pre-configured slave builders. */
     @com.google.inject.Inject(optional = true)
     @Named(Constants.BUILDER_SLAVE_BUILDER_URLS)
     private String[] slaves = new String[0];
 
+    /** Optional number of threads which dispatch requests to the slave builders. */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.QUEUE_DISPATCHER_POOL_SIZE)
+    private int dispatcherPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+
     /**
      * @param waitingTime
      *         max time for request to be in queue in seconds. Configuration parameter that sets max time (in seconds) which request may be
@@ -142,6 +158,8 @@ public class BuildQueue {
         builderListMapping = new ConcurrentHashMap<>();
         successfulBuilds = new SynchronizedCache<>(new SLRUCache<BaseBuilderRequest, RemoteTask>(200, 400));
         builderServices = new ConcurrentHashMap<>();
+        descriptorCache = new DescriptorCache(DESCRIPTOR_CACHE_TIME, TimeUnit.SECONDS);
+        metrics = new QueueMetrics();
         started = new AtomicBoolean(false);
     }
 
@@ -171,6 +189,11 @@ public class BuildQueue {
         return count;
     }
 
+    /** Gets waiting and dispatch times of requests which were sent to the slave builders. */
+    public QueueMetrics getMetrics() {
+        return metrics;
+    }
+
     public List<RemoteBuilderServer> getRegisterBuilderServers() {
         return new ArrayList<>(builderServices.values());
     }
@@ -312,10 +335,6 @@ public class BuildQueue {
                 callable = new Callable<RemoteTask>() {
                     @Override
                     public RemoteTask call() throws Exception {
-                        try {
-                            Thread.sleep(1000);
-                        } catch (InterruptedException ignored) {
-                        }
                         return successfulTask;
                     }
                 };
@@ -333,15 +352,25 @@ public class BuildQueue {
         final BuildQueueTask task = new BuildQueueTask(id, request, waitingTimeMillis, future, eventService, serviceContext.getServiceUriBuilder());
         tasks.put(id, task);
         eventService.publish(BuilderEvent.queueStartedEvent(id, wsId, project));
-        executor.execute(future);
+        if (reuse) {
+            // Give client some time to get status of task before its completion.
+            scheduler.schedule(() -> dispatcher.execute(future), 1, TimeUnit.SECONDS);
+        } else {
+            dispatcher.execute(future);
+        }
         return task;
     }
 
+    /**
+     * Creates task for build request. Task must not wait for free builder, it returns {@code null} if there is no free builder and is
+     * invoked again later, see {@link PollingTask}.
+     */
     protected Callable<RemoteTask> createTaskFor(final BuildRequest request) {
         return new Callable<RemoteTask>() {
             @Override
             public RemoteTask call() throws BuilderException {
-                return getBuilder(request).perform(request);
+                final RemoteBuilder builder = getBuilder(request);
+                return builder == null ? null : builder.perform(request);
             }
         };
     }
@@ -389,15 +418,17 @@ public class BuildQueue {
         request.setId(id);
         final BuildQueueTask task = new BuildQueueTask(id, request, waitingTimeMillis, future, eventService, serviceContext.getServiceUriBuilder());
         tasks.put(id, task);
-        executor.execute(future);
+        dispatcher.execute(future);
         return task;
     }
 
+    /** Creates task for dependencies analyze request, see {@link #createTaskFor(BuildRequest)}. */
     protected Callable<RemoteTask> createTaskFor(final DependencyRequest request) {
         return new Callable<RemoteTask>() {
             @Override
             public RemoteTask call() throws BuilderException {
-                return getBuilder(request).perform(request);
+                final RemoteBuilder builder = getBuilder(request);
+                return builder == null ? null : builder.perform(request);
             }
         };
     }
@@ -447,12 +478,19 @@ public class BuildQueue {
     private ProjectDescriptor getProjectDescription(String workspace, String project, ServiceContext serviceContext)
             throws BuilderException {
         final UriBuilder baseProjectUriBuilder = serviceContext.getBaseUriBuilder();
+        final String baseUrl = baseProjectUriBuilder.build().toString();
+        final ProjectDescriptor cached = descriptorCache.getProject(baseUrl, workspace, project);
+        if (cached != null) {
+            return cached;
+        }
         final String projectUrl = baseProjectUriBuilder.path(ProjectService.class)
                                                        .path(ProjectService.class, "getProject")
                                                        .build(workspace, project.startsWith("/") ? project.substring(1) : project)
                                                        .toString();
         try {
-            return HttpJsonHelper.get(ProjectDescriptor.class, projectUrl);
+            final ProjectDescriptor descriptor = HttpJsonHelper.get(ProjectDescriptor.class, projectUrl);
+            descriptorCache.putProject(baseUrl, workspace, project, descriptor);
+            return descriptor;
         } catch (IOException e) {
             throw new BuilderException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -462,11 +500,18 @@ public class BuildQueue {
 
     private WorkspaceDescriptor getWorkspaceDescriptor(String workspace, ServiceContext serviceContext) throws BuilderException {
         final UriBuilder baseWorkspaceUriBuilder = serviceContext.getBaseUriBuilder();
+        final String baseUrl = baseWorkspaceUriBuilder.build().toString();
+        final WorkspaceDescriptor cached = descriptorCache.getWorkspace(baseUrl, workspace);
+        if (cached != null) {
+            return cached;
+        }
         final String workspaceUrl = baseWorkspaceUriBuilder.path(WorkspaceService.class)
                                                            .path(WorkspaceService.class, "getById")
                                                            .build(workspace).toString();
         try {
-            return HttpJsonHelper.get(WorkspaceDescriptor.class, workspaceUrl);
+            final WorkspaceDescriptor descriptor = HttpJsonHelper.get(WorkspaceDescriptor.class, workspaceUrl);
+            descriptorCache.putWorkspace(baseUrl, workspace, descriptor);
+            return descriptor;
         } catch (IOException e) {
             throw new BuilderException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -500,6 +545,13 @@ public class BuildQueue {
         return builderList;
     }
 
+    /**
+     * Gets builder which has free workers to process request. Doesn't wait for free builder.
+     *
+     * @return builder or {@code null} if all matched builders are busy
+     * @throws BuilderException
+     *         if there is no any builder to process request
+     */
     // Switched to default for test.
     // private
     RemoteBuilder getBuilder(BaseBuilderRequest request) throws BuilderException {
@@ -508,11 +560,13 @@ public class BuildQueue {
             // Cannot continue, typically should never happen. At least shared builders should be available for everyone.
             throw new BuilderException("There is no any builder to process this request. ");
         }
-        final RemoteBuilder builder = builderList.getBuilder(request);
-        if (builder == null) {
+        if (!builderList.hasBuilder(request.getBuilder())) {
             throw new BuilderException("There is no any builder available. ");
         }
-        LOG.info("Use builder '{}' at '{}'", builder.getName(), builder.getBaseUrl());
+        final RemoteBuilder builder = builderList.getBuilder(request);
+        if (builder != null) {
+            LOG.info("Use builder '{}' at '{}'", builder.getName(), builder.getBaseUrl());
+        }
         return builder;
     }
 
@@ -578,25 +632,15 @@ public class BuildQueue {
     public void start() {
         if (started.compareAndSet(false, true)) {
             executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
-                                              new ThreadFactoryBuilder().setNameFormat("BuildQueue-[%d]").setDaemon(true).build()) {
-                @Override
-                protected void afterExecute(Runnable runnable, Throwable error) {
-                    super.afterExecute(runnable, error);
-                    if (runnable instanceof InternalBuildTask) {
-                        final InternalBuildTask internalBuildTask = (InternalBuildTask)runnable;
-                        if (internalBuildTask.reused) {
-                            // Emulate event from remote builder. In fact we didn't send request to remote builder just reuse result from previous
-                            // build.
-                            eventService.publish(BuilderEvent.doneEvent(internalBuildTask.id,
-                                                                        internalBuildTask.workspace,
-                                                                        internalBuildTask.project,
-                                                                        true));
-                        }
-                    }
-                }
-            };
-            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("BuildQueueScheduler-%d")
-                                                                                             .setDaemon(true).build());
+                                              new ThreadFactoryBuilder().setNameFormat("BuildQueue-[%d]").setDaemon(true).build());
+            // Requests don't hold threads while wait for free builder, so fixed number of threads is enough for any size of queue.
+            dispatcher = new ThreadPoolExecutor(dispatcherPoolSize, dispatcherPoolSize, 60L, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<Runnable>(),
+                                                new ThreadFactoryBuilder().setNameFormat("BuildQueueDispatcher-[%d]").setDaemon(true).build());
+            dispatcher.allowCoreThreadTimeOut(true);
+            // One thread for cleaning up tasks and one for re-submitting tasks which are waiting for free builder.
+            scheduler = Executors.newScheduledThreadPool(2, new ThreadFactoryBuilder().setNameFormat("BuildQueueScheduler-%d")
+                                                                                      .setDaemon(true).build());
             scheduler.scheduleAtFixedRate(new Runnable() {
                 @Override
                 public void run() {
@@ -676,6 +720,8 @@ public class BuildQueue {
 
             eventService.subscribe(new BuildStatusMessenger());
 
+            descriptorCache.subscribe(eventService);
+
             //Log events for analytics
             eventService.subscribe(new AnalyticsMessenger());
 
@@ -753,6 +799,7 @@ public class BuildQueue {
                 interrupted = true;
             }
             executor.shutdown();
+            dispatcher.shutdown();
             try {
                 if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
                     executor.shutdownNow();
@@ -760,13 +807,21 @@ public class BuildQueue {
                         LOG.warn("Unable terminate main pool");
                     }
                 }
+                if (!dispatcher.awaitTermination(10, TimeUnit.SECONDS)) {
+                    dispatcher.shutdownNow();
+                    if (!dispatcher.awaitTermination(10, TimeUnit.SECONDS)) {
+                        LOG.warn("Unable terminate dispatcher pool");
+                    }
+                }
             } catch (InterruptedException e) {
                 interrupted |= true;
                 executor.shutdownNow();
+                dispatcher.shutdownNow();
             }
             tasks.clear();
             builderListMapping.clear();
             successfulBuilds.clear();
+            descriptorCache.unsubscribe(eventService);
             if (interrupted) {
                 Thread.currentThread().interrupt();
             }
@@ -779,19 +834,30 @@ public class BuildQueue {
         return eventService;
     }
 
-    private static class InternalBuildTask extends FutureTask<RemoteTask> {
+    private class InternalBuildTask extends PollingTask<RemoteTask> {
         final Long    id;
         final String  workspace;
         final String  project;
         final boolean reused;
 
         InternalBuildTask(Callable<RemoteTask> callable, Long id, String workspace, String project, boolean reused) {
-            super(callable);
+            super(callable, checkAvailableBuilderDelay, dispatcher, scheduler);
             this.id = id;
             this.workspace = workspace;
             this.project = project;
             this.reused = reused;
         }
+
+        @Override
+        protected void done() {
+            if (reused) {
+                // Emulate event from remote builder. In fact we didn't send request to remote builder just reuse result from previous
+                // build.
+                eventService.publish(BuilderEvent.doneEvent(id, workspace, project, true));
+            } else {
+                metrics.add(this);
+            }
+        }
     }
 
     private static class BuilderListKey {
@@ -873,11 +939,14 @@ public class BuildQueue {
             return builders.size();
         }
 
-        synchronized RemoteBuilder getBuilder(BaseBuilderRequest request) {
+        /** Finds builder which has free workers. States of builders are requested remotely, so the list isn't locked meanwhile. */
+        RemoteBuilder getBuilder(BaseBuilderRequest request) {
             final List<RemoteBuilder> matched = new ArrayList<>();
-            for (RemoteBuilder builder : builders) {
-                if (request.getBuilder().equals(builder.getName())) {
-                    matched.add(builder);
+            synchronized (this) {
+                for (RemoteBuilder builder : builders) {
+                    if (request.getBuilder().equals(builder.getName())) {
+                        matched.add(builder);
+                    }
                 }
             }
             final int size = matched.size();
@@ -885,37 +954,28 @@ public class BuildQueue {
                 return null;
             }
             final List<RemoteBuilder> available = new ArrayList<>(matched.size());
-            for (; ; ) {
-                for (RemoteBuilder builder : matched) {
-                    if (Thread.currentThread().isInterrupted()) {
-                        return null; // stop immediately
-                    }
-                    BuilderState builderState;
-                    try {
-                        builderState = builder.getBuilderState();
-                    } catch (Exception e) {
-                        LOG.error(e.getMessage(), e);
-                        continue;
-                    }
-                    if (builderState.getFreeWorkers() > 0) {
-                        available.add(builder);
-                    }
+            for (RemoteBuilder builder : matched) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return null; // stop immediately, expected to get here if task is canceled
                 }
-
-                if (available.isEmpty()) {
-                    try {
-                        wait(CHECK_AVAILABLE_BUILDER_DELAY); // wait and try again
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return null; // expected to get here if task is canceled
-                    }
-                } else {
-                    if (available.size() > 1) {
-                        return builderSelector.select(available);
-                    }
-                    return available.get(0);
+                BuilderState builderState;
+                try {
+                    builderState = builder.getBuilderState();
+                } catch (Exception e) {
+                    LOG.error(e.getMessage(), e);
+                    continue;
+                }
+                if (builderState.getFreeWorkers() > 0) {
+                    available.add(builder);
                 }
             }
+            if (available.isEmpty()) {
+                return null; // caller tries again later
+            }
+            if (available.size() > 1) {
+                return builderSelector.select(available);
+            }
+            return available.get(0);
         }
     }
 
@@ -947,6 +1007,8 @@ public class BuildQueue {
 
                         switch (event.getType()) {
                             case BEGIN:
+                                aggregate("build-queue-waiting-finished", user, workspace, waitingTime);
+                                aggregate("build-started", user, workspace, 0);
                                 LOG.info(
                                         "EVENT#build-queue-waiting-finished# TIME#{}# WS#{}# USER#{}# PROJECT#{}# TYPE#{}# ID#{}# WAITING-TIME#{}#",
                                         time,
@@ -967,6 +1029,7 @@ public class BuildQueue {
                                 break;
                             case DONE:
                                 if (event.isReused()) {
+                                    aggregate("build-queue-waiting-finished", user, workspace, 0);
                                     LOG.info(
                                             "EVENT#build-queue-waiting-finished# TIME#{}# WS#{}# USER#{}# PROJECT#{}# TYPE#{}# ID#{}# " +
                                             "WAITING-TIME#{}#",
@@ -978,6 +1041,7 @@ public class BuildQueue {
                                             analyticsID,
                                             0);
                                 } else {
+                                    aggregate("build-finished", user, workspace, 0);
                                     LOG.info(
                                             "EVENT#build-finished# TIME#{}# WS#{}# USER#{}# PROJECT#{}# TYPE#{}# ID#{}# TIMEOUT#{}#",
                                             time,
@@ -990,6 +1054,7 @@ public class BuildQueue {
                                 }
                                 break;
                             case BUILD_TASK_ADDED_IN_QUEUE:
+                                aggregate("build-queue-waiting-started", user, workspace, 0);
                                 LOG.info("EVENT#build-queue-waiting-started# TIME#{}# WS#{}# USER#{}# PROJECT#{}# TYPE#{}# ID#{}#",
                                          time,
                                          workspace,
@@ -999,6 +1064,7 @@ public class BuildQueue {
                                          analyticsID);
                                 break;
                             case BUILD_TASK_QUEUE_TIME_EXCEEDED:
+                                aggregate("build-queue-terminated", user, workspace, waitingTime);
                                 LOG.info(
                                         "EVENT#build-queue-terminated# TIME#{}# WS#{}# USER#{}# PROJECT#{}# TYPE#{}# ID#{}# WAITING-TIME#{}",
                                         time,
@@ -1017,6 +1083,10 @@ public class BuildQueue {
             }
         }
 
+        private void aggregate(String analyticsEvent, String user, String workspace, long value) {
+            eventService.publish(new AnalyticsEvent(analyticsEvent, user, workspace, value));
+        }
+
         private String extractProjectName(String path) {
             int beginIndex = path.startsWith("/") ? 1 : 0;
             int i = path.indexOf("/", beginIndex);
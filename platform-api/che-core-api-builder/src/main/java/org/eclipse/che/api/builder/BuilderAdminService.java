@@ -11,6 +11,7 @@
 package org.eclipse.che.api.builder;
 
 import org.eclipse.che.api.builder.dto.BuilderDescriptor;
+import org.eclipse.che.api.builder.dto.BuilderMetric;
 import org.eclipse.che.api.builder.dto.BuilderServer;
 import org.eclipse.che.api.builder.dto.BuilderServerLocation;
 import org.eclipse.che.api.builder.dto.BuilderServerRegistration;
@@ -20,6 +21,7 @@ import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.Description;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.QueueMetrics;
 import org.eclipse.che.dto.server.DtoFactory;
 import com.wordnik.swagger.annotations.*;
 
@@ -36,6 +38,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -150,4 +153,35 @@ public class BuilderAdminService extends Service {
 
         return result;
     }
+
+    @ApiOperation(value = "Get metrics of build queue",
+                  notes = "Get size of build queue, waiting and dispatch times of build requests. Times are in milliseconds",
+                  response = BuilderMetric.class,
+                  responseContainer = "List",
+                  position = 4)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 403, message = "User not authorized to call this method"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/queue/metrics")
+    public List<BuilderMetric> getQueueMetrics() {
+        final QueueMetrics metrics = buildQueue.getMetrics();
+        final List<BuilderMetric> result = new ArrayList<>(6);
+        result.add(createMetric(BuilderMetric.QUEUE_SIZE, buildQueue.getWaitingNum(), "Number of requests waiting for builder"));
+        result.add(createMetric(BuilderMetric.DISPATCHED_TASKS, metrics.getDispatched(), "Number of requests sent to builders"));
+        result.add(createMetric(BuilderMetric.AVERAGE_WAITING_TIME, metrics.getAverageWaitingTime(), "Average waiting time in queue"));
+        result.add(createMetric(BuilderMetric.MAX_WAITING_TIME, metrics.getMaxWaitingTime(), "Max waiting time in queue"));
+        result.add(createMetric(BuilderMetric.AVERAGE_DISPATCH_TIME, metrics.getAverageDispatchTime(), "Average time of sending request"));
+        result.add(createMetric(BuilderMetric.MAX_DISPATCH_TIME, metrics.getMaxDispatchTime(), "Max time of sending request"));
+        return result;
+    }
+
+    private BuilderMetric createMetric(String name, long value, String description) {
+        return DtoFactory.getInstance().createDto(BuilderMetric.class)
+                         .withName(name)
+                         .withValue(Long.toString(value))
+                         .withDescription(description);
+    }
 }
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.builder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.ProjectCreatedEvent;
+import org.eclipse.che.api.project.server.ProjectUpdatedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
+import org.eclipse.che.api.workspace.server.WorkspaceModifiedEvent;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDescriptor;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.user.User;
+import org.eclipse.che.dto.server.DtoFactory;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-living cache of workspace and project descriptors which are fetched from WorkspaceService and ProjectService for each request
+ * scheduled in BuildQueue or RunQueue. Descriptors are cached per user since content of descriptor (e.g. links) may depend on user who
+ * requests it. Cached project descriptors are dropped as soon as any item of project is modified, see {@link ProjectItemModifiedEvent},
+ * or project is updated, see {@link ProjectUpdatedEvent}. Cached workspace descriptors are dropped when workspace is updated or removed,
+ * see {@link WorkspaceModifiedEvent}. Descriptors are copied on put and get so callers are free to modify them.
+ */
+public class DescriptorCache {
+    private static final int MAX_SIZE = 1000;
+
+    private final Cache<Key, WorkspaceDescriptor>           workspaces;
+    private final Cache<Key, ProjectDescriptor>             projects;
+    private final EventSubscriber<ProjectItemModifiedEvent> projectItemModifiedSubscriber;
+    private final EventSubscriber<ProjectCreatedEvent>      projectCreatedSubscriber;
+    private final EventSubscriber<ProjectUpdatedEvent>      projectUpdatedSubscriber;
+    private final EventSubscriber<WorkspaceModifiedEvent>   workspaceModifiedSubscriber;
+
+    /**
+     * @param expireAfter
+     *         time after that cached descriptor is considered to be stale even if no modification events were received. Events are
+     *         published only for modifications which are done through ProjectService and WorkspaceService, so this time should be short
+     *         enough.
+     * @param unit
+     *         unit of {@code expireAfter}
+     */
+    public DescriptorCache(long expireAfter, TimeUnit unit) {
+        workspaces = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).expireAfterWrite(expireAfter, unit).build();
+        projects = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).expireAfterWrite(expireAfter, unit).build();
+        projectItemModifiedSubscriber = new EventSubscriber<ProjectItemModifiedEvent>() {
+            @Override
+            public void onEvent(ProjectItemModifiedEvent event) {
+                invalidateProject(event.getWorkspace(), event.getPath());
+            }
+        };
+        projectCreatedSubscriber = new EventSubscriber<ProjectCreatedEvent>() {
+            @Override
+            public void onEvent(ProjectCreatedEvent event) {
+                invalidateProject(event.getWorkspaceId(), event.getProjectPath());
+            }
+        };
+        projectUpdatedSubscriber = new EventSubscriber<ProjectUpdatedEvent>() {
+            @Override
+            public void onEvent(ProjectUpdatedEvent event) {
+                invalidateProject(event.getWorkspaceId(), event.getProjectPath());
+            }
+        };
+        workspaceModifiedSubscriber = new EventSubscriber<WorkspaceModifiedEvent>() {
+            @Override
+            public void onEvent(WorkspaceModifiedEvent event) {
+                invalidateWorkspace(event.getWorkspaceId());
+            }
+        };
+    }
+
+    /** Subscribes this cache to the events which invalidate cached descriptors. */
+    public void subscribe(EventService eventService) {
+        eventService.subscribe(projectItemModifiedSubscriber);
+        eventService.subscribe(projectCreatedSubscriber);
+        eventService.subscribe(projectUpdatedSubscriber);
+        eventService.subscribe(workspaceModifiedSubscriber);
+    }
+
+    /** Unsubscribes this cache from events and drops all cached descriptors. */
+    public void unsubscribe(EventService eventService) {
+        eventService.unsubscribe(projectItemModifiedSubscriber);
+        eventService.unsubscribe(projectCreatedSubscriber);
+        eventService.unsubscribe(projectUpdatedSubscriber);
+        eventService.unsubscribe(workspaceModifiedSubscriber);
+        clear();
+    }
+
+    /**
+     * Get cached descriptor of workspace.
+     *
+     * @param baseUrl
+     *         base URL of API which is used to get descriptor
+     * @param workspace
+     *         id of workspace
+     * @return copy of cached descriptor or {@code null} if there is no cached descriptor for current user
+     */
+    public WorkspaceDescriptor getWorkspace(String baseUrl, String workspace) {
+        final WorkspaceDescriptor descriptor = workspaces.getIfPresent(new Key(baseUrl, currentUserId(), workspace, null));
+        return descriptor == null ? null : DtoFactory.getInstance().clone(descriptor);
+    }
+
+    public void putWorkspace(String baseUrl, String workspace, WorkspaceDescriptor descriptor) {
+        workspaces.put(new Key(baseUrl, currentUserId(), workspace, null), DtoFactory.getInstance().clone(descriptor));
+    }
+
+    /**
+     * Get cached descriptor of project.
+     *
+     * @param baseUrl
+     *         base URL of API which is used to get descriptor
+     * @param workspace
+     *         id of workspace
+     * @param project
+     *         path of project
+     * @return copy of cached descriptor or {@code null} if there is no cached descriptor for current user
+     */
+    public ProjectDescriptor getProject(String baseUrl, String workspace, String project) {
+        final ProjectDescriptor descriptor = projects.getIfPresent(new Key(baseUrl, currentUserId(), workspace, relativePath(project)));
+        return descriptor == null ? null : DtoFactory.getInstance().clone(descriptor);
+    }
+
+    public void putProject(String baseUrl, String workspace, String project, ProjectDescriptor descriptor) {
+        projects.put(new Key(baseUrl, currentUserId(), workspace, relativePath(project)), DtoFactory.getInstance().clone(descriptor));
+    }
+
+    /** Drops cached descriptors of workspace for all users. */
+    public void invalidateWorkspace(String workspace) {
+        for (Iterator<Key> i = workspaces.asMap().keySet().iterator(); i.hasNext(); ) {
+            if (i.next().workspace.equals(workspace)) {
+                i.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops cached descriptors of project for all users.
+     *
+     * @param workspace
+     *         id of workspace
+     * @param path
+     *         path of project or path of any item inside the project. If path is {@code null} or empty descriptors of all projects of
+     *         workspace are dropped.
+     */
+    public void invalidateProject(String workspace, String path) {
+        final String project = projectName(path);
+        for (Iterator<Key> i = projects.asMap().keySet().iterator(); i.hasNext(); ) {
+            final Key key = i.next();
+            if (key.workspace.equals(workspace)
+                && (project.isEmpty() || project.equals(key.project) || key.project.startsWith(project + '/'))) {
+                i.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        workspaces.invalidateAll();
+        projects.invalidateAll();
+    }
+
+    /** Gets name of top level project from path of project or path of any item inside project. */
+    private String projectName(String path) {
+        final String relative = relativePath(path);
+        final int end = relative.indexOf('/');
+        return end == -1 ? relative : relative.substring(0, end);
+    }
+
+    private String relativePath(String path) {
+        if (path == null) {
+            return "";
+        }
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    private String currentUserId() {
+        final User user = EnvironmentContext.getCurrent().getUser();
+        return user == null ? "" : user.getId();
+    }
+
+    private static final class Key {
+        final String baseUrl;
+        final String user;
+        final String workspace;
+        final String project;
+
+        Key(String baseUrl, String user, String workspace, String project) {
+            this.baseUrl = baseUrl;
+            this.user = user;
+            this.workspace = workspace;
+            this.project = project;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)o;
+            return Objects.equals(baseUrl, other.baseUrl)
+                   && Objects.equals(user, other.user)
+                   && Objects.equals(workspace, other.workspace)
+                   && Objects.equals(project, other.project);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(baseUrl, user, workspace, project);
+        }
+    }
+}
@@ -36,6 +36,16 @@ public interface BuilderMetric {
 
     String MAX_QUEUE_SIZE = "maxQueueSize";
 
+    String DISPATCHED_TASKS = "dispatchedTasks";
+
+    String AVERAGE_WAITING_TIME = "averageWaitingTime";
+
+    String MAX_WAITING_TIME = "maxWaitingTime";
+
+    String AVERAGE_DISPATCH_TIME = "averageDispatchTime";
+
+    String MAX_DISPATCH_TIME = "maxDispatchTime";
+
 
     String getName();
 
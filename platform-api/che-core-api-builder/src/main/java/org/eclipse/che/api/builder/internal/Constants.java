@@ -54,6 +54,11 @@ public class Constants {
      * parameter.
      */
     public static final String QUEUE_SIZE                 = "builder.queue_size";
+    /**
+     * Name of configuration parameter that sets number of threads which dispatch requests from build queue to the slave builders. Threads
+     * are not held while request is waiting for free builder, so this number doesn't limit size of queue.
+     */
+    public static final String QUEUE_DISPATCHER_POOL_SIZE = "builder.queue_dispatcher_pool_size";
     /**
      * Max waiting time in seconds for starting build process. If process is not started after this time, it will be removed from the
      * queue.
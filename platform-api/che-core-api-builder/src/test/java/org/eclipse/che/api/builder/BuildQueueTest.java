@@ -10,8 +10,162 @@
  *******************************************************************************/
 package org.eclipse.che.api.builder;
 
+import org.eclipse.che.api.builder.dto.BuildRequest;
+import org.eclipse.che.api.builder.dto.BuilderDescriptor;
+import org.eclipse.che.api.builder.dto.BuilderState;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.rest.ServiceContext;
+import org.eclipse.che.api.project.shared.dto.BuildersDescriptor;
+import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDescriptor;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.UriBuilder;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+
 /**
  * @author andrew00x
  */
 public class BuildQueueTest {
+    private static final String BASE_URL  = "http://localhost:8080/api";
+    private static final String WORKSPACE = "my_ws";
+    private static final String PROJECT   = "/my_project";
+    private static final String BUILDER   = "java";
+
+    private final DtoFactory dtoFactory = DtoFactory.getInstance();
+
+    private BuildQueue     buildQueue;
+    private ServiceContext serviceContext;
+    /** Builders which accepted request, test thread plays role of remote builders and completes builds one by one. */
+    private BlockingQueue<StubBuilder> running;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        buildQueue = new BuildQueue(600, 600, 600, new RandomBuilderSelectionStrategy(), new EventService());
+        setField(buildQueue, "dispatcherPoolSize", 4);
+        setField(buildQueue, "checkAvailableBuilderDelay", 10L);
+        buildQueue.start();
+
+        final WorkspaceDescriptor workspace = dtoFactory.createDto(WorkspaceDescriptor.class).withId(WORKSPACE);
+        final ProjectDescriptor project = dtoFactory.createDto(ProjectDescriptor.class)
+                                                    .withName("my_project")
+                                                    .withPath(PROJECT)
+                                                    .withBuilders(dtoFactory.createDto(BuildersDescriptor.class).withDefault(BUILDER));
+        // Avoid requests to workspace and project services.
+        final DescriptorCache descriptorCache = (DescriptorCache)getField(buildQueue, "descriptorCache");
+        descriptorCache.putWorkspace(BASE_URL, WORKSPACE, workspace);
+        descriptorCache.putProject(BASE_URL, WORKSPACE, PROJECT, project);
+        serviceContext = new ServiceContext() {
+            @Override
+            public UriBuilder getServiceUriBuilder() {
+                return UriBuilder.fromUri(BASE_URL).path("builder").path(WORKSPACE);
+            }
+
+            @Override
+            public UriBuilder getBaseUriBuilder() {
+                return UriBuilder.fromUri(BASE_URL);
+            }
+        };
+        running = new LinkedBlockingQueue<>();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        if (buildQueue != null) {
+            buildQueue.stop();
+        }
+    }
+
+    /**
+     * Schedules 5000 build requests against 4 stub slave builders with 10 workers each. Requests must be served by small fixed pool of
+     * dispatcher threads.
+     */
+    @Test(timeOut = 120000)
+    public void testManyRequestsWithSmallPool() throws Exception {
+        final int requests = 5000;
+        for (int i = 0; i < 4; i++) {
+            final StubBuilder builder = new StubBuilder("http://localhost:8080/builder" + i, 10);
+            buildQueue.doRegisterBuilderServer(new RemoteBuilderServer(builder.getBaseUrl()) {
+                @Override
+                public List<RemoteBuilder> getRemoteBuilders() {
+                    return Collections.<RemoteBuilder>singletonList(builder);
+                }
+            });
+        }
+
+        final List<BuildQueueTask> tasks = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            tasks.add(buildQueue.scheduleBuild(WORKSPACE, PROJECT, serviceContext, null));
+        }
+        for (int i = 0; i < requests; i++) {
+            final StubBuilder builder = running.poll(30, TimeUnit.SECONDS);
+            assertNotNull(builder, "Not all requests are dispatched");
+            // Build is done, worker is free again.
+            builder.freeWorkers.incrementAndGet();
+        }
+
+        // Stop waits until dispatcher completes running tasks.
+        final BuildQueue stopped = buildQueue;
+        buildQueue = null;
+        stopped.stop();
+
+        for (BuildQueueTask task : tasks) {
+            assertFalse(task.isWaiting());
+            assertNotNull(task.getRemoteTask());
+        }
+        assertEquals(stopped.getMetrics().getDispatched(), requests);
+        assertEquals(running.size(), 0);
+    }
+
+    private static Object getField(Object target, String name) throws Exception {
+        final Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        final Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private class StubBuilder extends RemoteBuilder {
+        final AtomicInteger freeWorkers;
+        final AtomicLong    taskIds;
+
+        StubBuilder(String baseUrl, int workers) {
+            super(baseUrl, dtoFactory.createDto(BuilderDescriptor.class).withName(BUILDER), Collections.emptyList());
+            freeWorkers = new AtomicInteger(workers);
+            taskIds = new AtomicLong();
+        }
+
+        @Override
+        public BuilderState getBuilderState() {
+            return dtoFactory.createDto(BuilderState.class).withName(BUILDER).withFreeWorkers(Math.max(freeWorkers.get(), 0));
+        }
+
+        @Override
+        public RemoteTask perform(BuildRequest request) {
+            // Like real builder accepts request even if all workers became busy after its state was checked.
+            freeWorkers.decrementAndGet();
+            running.add(this);
+            return new RemoteTask(getBaseUrl(), BUILDER, taskIds.incrementAndGet());
+        }
+    }
 }
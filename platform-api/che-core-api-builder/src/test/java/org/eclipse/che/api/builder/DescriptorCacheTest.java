@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.builder;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.server.ProjectUpdatedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
+import org.eclipse.che.api.workspace.server.WorkspaceModifiedEvent;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDescriptor;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+public class DescriptorCacheTest {
+    private static final String BASE_URL = "http://localhost/api";
+
+    private EventService    eventService;
+    private DescriptorCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+        eventService = new EventService();
+        cache = new DescriptorCache(1, TimeUnit.MINUTES);
+        cache.subscribe(eventService);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cache.unsubscribe(eventService);
+    }
+
+    @Test
+    public void returnsCopyOfCachedDescriptor() {
+        final ProjectDescriptor descriptor = DtoFactory.getInstance().createDto(ProjectDescriptor.class).withName("my_project");
+        cache.putProject(BASE_URL, "my_ws", "/my_project", descriptor);
+
+        final ProjectDescriptor cached = cache.getProject(BASE_URL, "my_ws", "my_project");
+        assertNotNull(cached);
+        assertNotSame(cached, descriptor);
+        assertEquals(cached.getName(), "my_project");
+        assertNull(cache.getProject("http://other/api", "my_ws", "my_project"));
+    }
+
+    @Test
+    public void invalidatesProjectWhenItemOfProjectModified() {
+        cache.putProject(BASE_URL, "my_ws", "my_project", DtoFactory.getInstance().createDto(ProjectDescriptor.class));
+        cache.putProject(BASE_URL, "my_ws", "my_project/module", DtoFactory.getInstance().createDto(ProjectDescriptor.class));
+        cache.putProject(BASE_URL, "my_ws", "other_project", DtoFactory.getInstance().createDto(ProjectDescriptor.class));
+
+        eventService.publish(new ProjectItemModifiedEvent(ProjectItemModifiedEvent.EventType.UPDATED,
+                                                          "my_ws", "my_project", "/my_project/src/Main.java", false));
+
+        assertNull(cache.getProject(BASE_URL, "my_ws", "my_project"));
+        assertNull(cache.getProject(BASE_URL, "my_ws", "my_project/module"));
+        assertNotNull(cache.getProject(BASE_URL, "my_ws", "other_project"));
+    }
+
+    @Test
+    public void invalidatesProjectWhenProjectUpdated() {
+        cache.putProject(BASE_URL, "my_ws", "my_project", DtoFactory.getInstance().createDto(ProjectDescriptor.class));
+        cache.putProject(BASE_URL, "my_ws", "other_project", DtoFactory.getInstance().createDto(ProjectDescriptor.class));
+
+        eventService.publish(new ProjectUpdatedEvent("my_ws", "/my_project"));
+
+        assertNull(cache.getProject(BASE_URL, "my_ws", "my_project"));
+        assertNotNull(cache.getProject(BASE_URL, "my_ws", "other_project"));
+    }
+
+    @Test
+    public void invalidatesWorkspaceWhenWorkspaceModified() {
+        cache.putWorkspace(BASE_URL, "my_ws", DtoFactory.getInstance().createDto(WorkspaceDescriptor.class).withId("my_ws"));
+        cache.putWorkspace(BASE_URL, "other_ws", DtoFactory.getInstance().createDto(WorkspaceDescriptor.class).withId("other_ws"));
+
+        eventService.publish(new WorkspaceModifiedEvent("my_ws"));
+
+        assertNull(cache.getWorkspace(BASE_URL, "my_ws"));
+        assertNotNull(cache.getWorkspace(BASE_URL, "other_ws"));
+    }
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Analytics event emitted by component of this server, e.g. builder. Components publish these events with {@link EventService} and
+ * don't need to depend on analytics API which may aggregate them. Events aren't propagated to other servers and clients.
+ */
+public final class AnalyticsEvent {
+    private final String name;
+    private final String user;
+    private final String workspace;
+    private final long   value;
+
+    /**
+     * @param name
+     *         name of event, e.g. "build-started"
+     * @param user
+     *         user which produced event, may be {@code null}
+     * @param workspace
+     *         workspace in which event is produced, may be {@code null}
+     * @param value
+     *         value that is recorded with event, e.g. waiting time of build in queue
+     */
+    public AnalyticsEvent(String name, String user, String workspace, long value) {
+        this.name = name;
+        this.user = user;
+        this.workspace = workspace;
+        this.value = value;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getWorkspace() {
+        return workspace;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsEvent{" +
+               "name='" + name + '\'' +
+               ", user='" + user + '\'' +
+               ", workspace='" + workspace + '\'' +
+               ", value=" + value +
+               '}';
+    }
+}
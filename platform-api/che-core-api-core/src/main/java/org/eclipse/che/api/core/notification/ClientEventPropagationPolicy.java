@@ -20,4 +20,14 @@ import java.net.URI;
 @ImplementedBy(EventOriginClientPropagationPolicy.class)
 public interface ClientEventPropagationPolicy {
     boolean shouldPropagated(URI uri, Object event);
+
+    /**
+     * Gets key of event which describes state of some entity, e.g. status of process. If event which has the same key is waiting to be
+     * sent to remote event bus it is replaced with newer event, so remote side gets only the latest state.
+     *
+     * @return coalescing key or {@code null} if each event should be delivered
+     */
+    default Object getCoalescingKey(Object event) {
+        return null;
+    }
 }
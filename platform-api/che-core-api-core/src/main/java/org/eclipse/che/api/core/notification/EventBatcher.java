@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded buffer of events which should be sent to single remote event bus. Events are taken from buffer in batches, each batch gets
+ * sequence number and stays in buffer until it is acknowledged by remote side. Number of not acknowledged batches is limited, if limit is
+ * reached no more batches are taken and new events are collected in buffer. If buffer is full the oldest pending event is dropped.
+ * Pending event which has the same coalescing key as new event is removed from buffer and new event is added to the end of buffer, so
+ * only the latest state is sent and it isn't sent before events which were published before it.
+ */
+class EventBatcher {
+    private final int maxPending;
+    private final int maxInFlight;
+
+    private final ArrayDeque<Entry>  pending;
+    private final Map<Object, Entry> coalesced;
+    private final Map<Long, Batch>   inFlight;
+
+    private long nextSeq;
+    private long dropped;
+    /** Number of entries in {@link #pending} which are replaced with newer events and should be skipped. */
+    private int  superseded;
+
+    EventBatcher(int maxPending, int maxInFlight) {
+        this.maxPending = maxPending;
+        this.maxInFlight = maxInFlight;
+        pending = new ArrayDeque<>();
+        coalesced = new HashMap<>();
+        inFlight = new LinkedHashMap<>();
+        nextSeq = 1;
+    }
+
+    /**
+     * Adds event to the buffer.
+     *
+     * @param event
+     *         event
+     * @param coalescingKey
+     *         key of event, pending event with the same key is replaced with new one. May be {@code null} if event may not be coalesced.
+     */
+    synchronized void offer(Object event, Object coalescingKey) {
+        if (coalescingKey != null) {
+            final Entry existing = coalesced.get(coalescingKey);
+            if (existing != null) {
+                existing.superseded = true;
+                superseded++;
+            }
+        }
+        if (pending.size() >= maxPending && superseded > 0) {
+            pending.removeIf(entry -> entry.superseded);
+            superseded = 0;
+        }
+        if (pending.size() >= maxPending) {
+            release(pending.poll());
+            dropped++;
+        }
+        final Entry entry = new Entry(event, coalescingKey);
+        pending.add(entry);
+        if (coalescingKey != null) {
+            coalesced.put(coalescingKey, entry);
+        }
+    }
+
+    /**
+     * Takes next batch of pending events.
+     *
+     * @param maxSize
+     *         max number of events in batch
+     * @return next batch or {@code null} if there is no pending events or too many batches are not acknowledged yet
+     */
+    synchronized Batch poll(int maxSize) {
+        if (pendingSize() == 0 || inFlight.size() >= maxInFlight) {
+            return null;
+        }
+        final List<Object> events = new ArrayList<>(Math.min(maxSize, pending.size()));
+        while (events.size() < maxSize && !pending.isEmpty()) {
+            final Entry entry = pending.poll();
+            if (!entry.superseded) {
+                events.add(entry.event);
+            }
+            release(entry);
+        }
+        final Batch batch = new Batch(nextSeq++, events, System.currentTimeMillis());
+        inFlight.put(batch.seq, batch);
+        return batch;
+    }
+
+    /** Removes acknowledged batch. Returns {@code true} if batch was waiting for acknowledgement. */
+    synchronized boolean ack(long seq) {
+        return inFlight.remove(seq) != null;
+    }
+
+    /**
+     * Gets batches which were sent before the specified time but are not acknowledged yet. Send time of returned batches is updated, so
+     * caller is expected to resend them.
+     */
+    synchronized List<Batch> unacknowledged(long sentBefore) {
+        if (inFlight.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final long now = System.currentTimeMillis();
+        final List<Batch> result = new ArrayList<>();
+        for (Batch batch : inFlight.values()) {
+            if (batch.sent < sentBefore) {
+                batch.sent = now;
+                result.add(batch);
+            }
+        }
+        return result;
+    }
+
+    /** Gets the lowest sequence number of not acknowledged batch, all batches below it are acknowledged. */
+    synchronized long firstUnacknowledged() {
+        // Batches are kept in order of sequence numbers.
+        return inFlight.isEmpty() ? nextSeq : inFlight.keySet().iterator().next();
+    }
+
+    synchronized int pendingSize() {
+        return pending.size() - superseded;
+    }
+
+    synchronized int inFlightSize() {
+        return inFlight.size();
+    }
+
+    /** Gets and resets number of events which were dropped due to buffer overflow. */
+    synchronized long resetDropped() {
+        final long result = dropped;
+        dropped = 0;
+        return result;
+    }
+
+    private void release(Entry entry) {
+        if (entry.superseded) {
+            superseded--;
+        } else if (entry.coalescingKey != null && coalesced.get(entry.coalescingKey) == entry) {
+            coalesced.remove(entry.coalescingKey);
+        }
+    }
+
+    static class Batch {
+        final long         seq;
+        final List<Object> events;
+
+        long sent;
+
+        Batch(long seq, List<Object> events, long sent) {
+            this.seq = seq;
+            this.events = events;
+            this.sent = sent;
+        }
+    }
+
+    private static class Entry {
+        final Object event;
+        final Object coalescingKey;
+
+        boolean superseded;
+
+        Entry(Object event, Object coalescingKey) {
+            this.event = event;
+            this.coalescingKey = coalescingKey;
+        }
+    }
+}
@@ -25,6 +25,9 @@ import org.everrest.websockets.message.RestOutputMessage;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.MediaType;
@@ -33,6 +36,9 @@ import javax.ws.rs.core.MediaType;
  * @author andrew00x
  */
 class Messages {
+    /** Prefix of uuid of messages which carry batches of events. Sequence number of batch follows the prefix. */
+    static final String BATCH_UUID_PREFIX = "event-batch-";
+
     static RestInputMessage clientMessage(Object event) throws Exception {
         RestInputMessage message = new RestInputMessage();
         message.setBody(toJson(event));
@@ -44,6 +50,55 @@ class Messages {
         return message;
     }
 
+    /**
+     * Creates message which carries batch of events.
+     *
+     * @param source
+     *         id of client, sequence numbers of batches are unique for each client
+     * @param seq
+     *         sequence number of batch
+     * @param first
+     *         the lowest sequence number of batch which is not acknowledged yet, remote side shouldn't wait for batches below it
+     * @param events
+     *         events
+     */
+    static RestInputMessage clientBatchMessage(String source, long seq, long first, List<Object> events) throws Exception {
+        final StringBuilder body = new StringBuilder();
+        body.append("{\"source\":\"").append(source).append("\",\"seq\":").append(seq).append(",\"first\":").append(first)
+            .append(",\"events\":[");
+        for (int i = 0, size = events.size(); i < size; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(toJson(events.get(i)));
+        }
+        body.append("]}");
+        RestInputMessage message = new RestInputMessage();
+        message.setBody(body.toString());
+        message.setMethod(HttpMethod.POST);
+        message.setHeaders(new org.everrest.websockets.message.Pair[]{
+                new org.everrest.websockets.message.Pair("Content-type", MediaType.APPLICATION_JSON)});
+        message.setUuid(BATCH_UUID_PREFIX + seq);
+        message.setPath("/event-bus/batch");
+        return message;
+    }
+
+    /**
+     * Gets sequence number of batch from uuid of response message.
+     *
+     * @return sequence number or {@code -1} if message is not response to batch message
+     */
+    static long batchSequence(RestOutputMessage message) {
+        final String uuid = message.getUuid();
+        if (uuid != null && uuid.startsWith(BATCH_UUID_PREFIX)) {
+            try {
+                return Long.parseLong(uuid.substring(BATCH_UUID_PREFIX.length()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return -1;
+    }
+
     static InputMessage subscribeChannelMessage(String channel) throws Exception {
         return RestInputMessage.newSubscribeChannelMessage(NameGenerator.generate(null, 8), channel);
     }
@@ -66,6 +121,45 @@ class Messages {
         return null;
     }
 
+    static EventBatch restoreEventsFromClientBatchMessage(String message) throws Exception {
+        if (message == null || message.isEmpty()) {
+            return null;
+        }
+        final JsonParser parser = new JsonParser();
+        parser.parse(new StringReader(message));
+        final JsonValue node = parser.getJsonObject();
+        final JsonValue sourceNode = node.getElement("source");
+        final JsonValue seqNode = node.getElement("seq");
+        final JsonValue firstNode = node.getElement("first");
+        final JsonValue eventsNode = node.getElement("events");
+        if (sourceNode == null || seqNode == null || eventsNode == null) {
+            return null;
+        }
+        final List<Object> events = new ArrayList<>();
+        for (Iterator<JsonValue> i = eventsNode.getElements(); i.hasNext(); ) {
+            final Object event = fromJson(i.next());
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        final long seq = seqNode.getLongValue();
+        return new EventBatch(sourceNode.getStringValue(), seq, firstNode == null ? seq : firstNode.getLongValue(), events);
+    }
+
+    static class EventBatch {
+        final String       source;
+        final long         seq;
+        final long         first;
+        final List<Object> events;
+
+        EventBatch(String source, long seq, long first, List<Object> events) {
+            this.source = source;
+            this.seq = seq;
+            this.first = first;
+            this.events = events;
+        }
+    }
+
     private static String toJson(Object event) throws Exception {
         final String type = event.getClass().getName();
         final JsonValue json = JsonGenerator.createJsonObject(event);
@@ -81,7 +175,10 @@ class Messages {
         }
         final JsonParser parser = new JsonParser();
         parser.parse(new StringReader(json));
-        final JsonValue node = parser.getJsonObject();
+        return fromJson(parser.getJsonObject());
+    }
+
+    private static Object fromJson(JsonValue node) throws Exception {
         final JsonValue typeNode = node.getElement("$type");
         final String type;
         if (typeNode == null || (type = typeNode.getStringValue()) == null) {
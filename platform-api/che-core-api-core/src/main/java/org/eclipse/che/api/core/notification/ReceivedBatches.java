@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Batches which are received from single remote event bus. Batches may come out of order, e.g. when batch is resent after timeout, but
+ * their events are released in order of sequence numbers. Batch which comes before preceding batches waits for them. Batches below the
+ * lowest not acknowledged batch reported by client aren't waited, they were received before, e.g. by this server before restart.
+ * <p/>
+ * Instance isn't thread-safe, caller must serialize access and publish released events before next batch is added.
+ */
+class ReceivedBatches {
+    private final int                         maxOutOfOrder;
+    private final TreeMap<Long, List<Object>> waiting;
+
+    /** Sequence number of the last released batch, all batches below it are released or aren't waited. */
+    private long released;
+
+    /**
+     * @param maxOutOfOrder
+     *         max number of batches which may wait for preceding batches, if it is exceeded missed batches aren't waited anymore
+     */
+    ReceivedBatches(int maxOutOfOrder) {
+        this.maxOutOfOrder = maxOutOfOrder;
+        waiting = new TreeMap<>();
+    }
+
+    /** Checks whether batch with this sequence number was already received. */
+    boolean isReceived(long seq) {
+        return seq <= released || waiting.containsKey(seq);
+    }
+
+    /**
+     * Adds batch and gets events which may be published now.
+     *
+     * @param seq
+     *         sequence number of batch
+     * @param first
+     *         the lowest sequence number of batch which isn't acknowledged by this side yet, as it is known by client
+     * @param events
+     *         events of batch
+     * @return events in order they should be published, empty list if batch is duplicated or waits for preceding batches
+     */
+    List<Object> add(long seq, long first, List<Object> events) {
+        if (isReceived(seq) && first <= released + 1) {
+            return Collections.emptyList();
+        }
+        if (!isReceived(seq)) {
+            waiting.put(seq, events);
+        }
+        final List<Object> result = new ArrayList<>();
+        // Batches below the first one are acknowledged already, received ones are waiting here and others won't come again.
+        while (!waiting.isEmpty() && (waiting.firstKey() < first || waiting.size() > maxOutOfOrder)) {
+            release(waiting.pollFirstEntry(), result);
+        }
+        if (released < first - 1) {
+            released = first - 1;
+        }
+        while (!waiting.isEmpty() && waiting.firstKey() == released + 1) {
+            release(waiting.pollFirstEntry(), result);
+        }
+        return result;
+    }
+
+    private void release(Map.Entry<Long, List<Object>> batch, List<Object> result) {
+        released = batch.getKey();
+        result.addAll(batch.getValue());
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Pair;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -35,6 +36,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,10 +46,14 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Receives event over websocket and publish them to the local EventsService.
+ * Receives event over websocket and publish them to the local EventsService. Local events which should be propagated to remote
+ * EventsService are collected in bounded per connection buffer and are sent in batches. Each batch has sequence number and should be
+ * acknowledged by remote side, batches which are not acknowledged in time or before reconnection are resent.
  *
  * @author andrew00x
  */
@@ -57,14 +63,28 @@ public final class WSocketEventBusClient {
 
     private static final long WS_CONNECTION_TIMEOUT = 2;
 
+    /** Max number of events in one batch. */
+    private static final int  BATCH_SIZE    = 100;
+    /** Period of sending batches in milliseconds. */
+    private static final long FLUSH_PERIOD  = 50;
+    /** Time in milliseconds to wait for acknowledgement of batch before it is resent. */
+    private static final long ACK_TIMEOUT   = 10000;
+    /** Max number of events which are waiting to be sent to single remote bus. */
+    private static final int  MAX_PENDING   = 10000;
+    /** Max number of not acknowledged batches for single remote bus. */
+    private static final int  MAX_IN_FLIGHT = 16;
+
     private final EventService                         eventService;
     private final Pair<String, String>[]               eventSubscriptions;
     private final ClientEventPropagationPolicy         policy;
     private final JsonMessageConverter                 messageConverter;
     private final ConcurrentMap<URI, Future<WSClient>> connections;
+    private final ConcurrentMap<URI, EventBatcher>     batchers;
     private final AtomicBoolean                        start;
+    private final String                               source;
 
-    private ExecutorService executor;
+    private ExecutorService          executor;
+    private ScheduledExecutorService flusher;
 
     @Inject
     public WSocketEventBusClient(EventService eventService,
@@ -76,7 +96,9 @@ public final class WSocketEventBusClient {
 
         messageConverter = new JsonMessageConverter();
         connections = new ConcurrentHashMap<>();
+        batchers = new ConcurrentHashMap<>();
         start = new AtomicBoolean(false);
+        source = NameGenerator.generate(null, 16);
     }
 
     @PostConstruct
@@ -112,17 +134,20 @@ public final class WSocketEventBusClient {
                     for (Map.Entry<URI, Set<String>> entry : cfg.entrySet()) {
                         executor.execute(new ConnectTask(entry.getKey(), entry.getValue()));
                     }
+                    flusher = Executors.newSingleThreadScheduledExecutor(
+                            new ThreadFactoryBuilder().setNameFormat("WSocketEventBusClient-Flusher").setDaemon(true).build());
+                    flusher.scheduleWithFixedDelay(this::flush, FLUSH_PERIOD, FLUSH_PERIOD, TimeUnit.MILLISECONDS);
                 }
             }
         }
     }
 
     protected void propagate(Object event) {
-        connections.values().stream().filter(future -> future.isDone()).forEach(future -> {
+        connections.entrySet().stream().filter(entry -> entry.getValue().isDone()).forEach(entry -> {
             try {
-                final WSClient client = future.get();
+                final WSClient client = entry.getValue().get();
                 if (policy != null && policy.shouldPropagated(client.getServerUri(), event)) {
-                    client.send(messageConverter.toString(Messages.clientMessage(event)));
+                    getBatcher(entry.getKey()).offer(event, policy.getCoalescingKey(event));
                 }
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
@@ -130,13 +155,78 @@ public final class WSocketEventBusClient {
         });
     }
 
+    /** Sends pending events to all connected remote buses. */
+    void flush() {
+        for (Map.Entry<URI, EventBatcher> entry : batchers.entrySet()) {
+            final Future<WSClient> future = connections.get(entry.getKey());
+            if (future == null || !future.isDone()) {
+                continue;
+            }
+            final EventBatcher batcher = entry.getValue();
+            try {
+                final WSClient client = future.get();
+                send(client, batcher, batcher.unacknowledged(System.currentTimeMillis() - ACK_TIMEOUT));
+                EventBatcher.Batch batch;
+                while ((batch = batcher.poll(BATCH_SIZE)) != null) {
+                    send(client, batcher, batch);
+                }
+                final long dropped = batcher.resetDropped();
+                if (dropped > 0) {
+                    LOG.warn("{} events for {} are dropped, {} batches are waiting for acknowledgement",
+                             dropped, entry.getKey(), batcher.inFlightSize());
+                }
+            } catch (Exception e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
     @PreDestroy
     void stop() {
         if (start.compareAndSet(true, false) && executor != null) {
             executor.shutdownNow();
+            flusher.shutdownNow();
         }
     }
 
+    /** Acknowledges batch if remote side accepted it. Rejected batch stays unacknowledged and is resent after timeout. */
+    // Switched to default for test.
+    // private
+    void onBatchResponse(URI wsUri, long seq, int responseCode) {
+        if (responseCode >= 400) {
+            LOG.warn("Batch {} of events is rejected by {} with status {}, it will be resent", seq, wsUri, responseCode);
+            return;
+        }
+        final EventBatcher batcher = batchers.get(wsUri);
+        if (batcher != null) {
+            batcher.ack(seq);
+        }
+    }
+
+    // Switched to default for test.
+    // private
+    EventBatcher getBatcher(URI wsUri) {
+        EventBatcher batcher = batchers.get(wsUri);
+        if (batcher == null) {
+            final EventBatcher newBatcher = new EventBatcher(MAX_PENDING, MAX_IN_FLIGHT);
+            batcher = batchers.putIfAbsent(wsUri, newBatcher);
+            if (batcher == null) {
+                batcher = newBatcher;
+            }
+        }
+        return batcher;
+    }
+
+    private void send(WSClient client, EventBatcher batcher, List<EventBatcher.Batch> batches) throws Exception {
+        for (EventBatcher.Batch batch : batches) {
+            send(client, batcher, batch);
+        }
+    }
+
+    private void send(WSClient client, EventBatcher batcher, EventBatcher.Batch batch) throws Exception {
+        client.send(messageConverter.toString(Messages.clientBatchMessage(source, batch.seq, batcher.firstUnacknowledged(), batch.events)));
+    }
+
     private void connect(final URI wsUri, final Collection<String> channels) throws IOException, DeploymentException {
         Future<WSClient> clientFuture = connections.get(wsUri);
         if (clientFuture == null) {
@@ -200,7 +290,15 @@ public final class WSocketEventBusClient {
         public void onMessage(String data) {
             try {
                 final RestOutputMessage message = messageConverter.fromString(data, RestOutputMessage.class);
-                if (message != null && message.getHeaders() != null) {
+                if (message == null) {
+                    return;
+                }
+                final long seq = Messages.batchSequence(message);
+                if (seq >= 0) {
+                    onBatchResponse(wsUri, seq, message.getResponseCode());
+                    return;
+                }
+                if (message.getHeaders() != null) {
                     for (org.everrest.websockets.message.Pair header : message.getHeaders()) {
                         if ("x-everrest-websocket-channel".equals(header.getName())) {
                             final String channel = header.getValue();
@@ -228,6 +326,15 @@ public final class WSocketEventBusClient {
                     LOG.error(e.getMessage(), e);
                 }
             }
+            final EventBatcher batcher = batchers.get(wsUri);
+            if (batcher != null) {
+                // Remote side skips batches which it has already received.
+                try {
+                    send(client, batcher, batcher.unacknowledged(Long.MAX_VALUE));
+                } catch (Exception e) {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
         }
     }
 
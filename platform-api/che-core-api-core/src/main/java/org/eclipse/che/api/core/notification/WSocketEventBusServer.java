@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ServerException;
 import org.everrest.websockets.WSConnectionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +27,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.core.MediaType;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -32,9 +38,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public final class WSocketEventBusServer {
     private static final Logger LOG = LoggerFactory.getLogger(WSocketEventBusServer.class);
 
-    private final EventService                 eventService;
-    private final ServerEventPropagationPolicy policy;
-    private final AtomicBoolean                start;
+    /** Max number of batches which may be received out of order from one client. */
+    private static final int MAX_OUT_OF_ORDER_BATCHES = 1024;
+
+    private final EventService                   eventService;
+    private final ServerEventPropagationPolicy   policy;
+    private final AtomicBoolean                  start;
+    /** Received batches for each client. Helps to skip batches which are resent by client and to keep order of batches. */
+    private final Cache<String, ReceivedBatches> receivedBatches;
 
     @Inject
     public WSocketEventBusServer(EventService eventService, @Nullable ServerEventPropagationPolicy policy) {
@@ -42,6 +53,7 @@ public final class WSocketEventBusServer {
         this.policy = policy;
 
         start = new AtomicBoolean(false);
+        receivedBatches = CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).build();
     }
 
     @POST
@@ -57,6 +69,48 @@ public final class WSocketEventBusServer {
         }
     }
 
+    /**
+     * Receives batch of events from {@link WSocketEventBusClient}. Events of batches from the same client are published in order of
+     * sequence numbers of batches, batch which comes before preceding one waits for it. Batch which was already received, e.g. resent by
+     * client after reconnection, is ignored. Successful response is treated by client as acknowledgement of batch, client resends batch
+     * if response has error status.
+     */
+    @POST
+    @Path("batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public void batch(String message) throws BadRequestException, ServerException {
+        final Messages.EventBatch batch;
+        try {
+            batch = Messages.restoreEventsFromClientBatchMessage(message);
+        } catch (Exception e) {
+            LOG.error(e.getMessage(), e);
+            throw new BadRequestException("Unable restore events from batch message. " + e.getMessage());
+        }
+        if (batch == null) {
+            throw new BadRequestException("Batch message must contain source, sequence number and events.");
+        }
+        final ReceivedBatches received;
+        try {
+            received = receivedBatches.get(batch.source, () -> new ReceivedBatches(MAX_OUT_OF_ORDER_BATCHES));
+        } catch (Exception e) {
+            LOG.error(e.getMessage(), e);
+            throw new ServerException("Unable process batch of events. " + e.getMessage());
+        }
+        synchronized (received) {
+            if (received.isReceived(batch.seq)) {
+                LOG.debug("Skip duplicated batch {} from {}", batch.seq, batch.source);
+            }
+            // Publish under lock, so events of the next batch from the same client aren't published before these ones.
+            for (Object event : received.add(batch.seq, batch.first, batch.events)) {
+                try {
+                    eventService.publish(event);
+                } catch (Exception e) {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+        }
+    }
+
     @PostConstruct
     void start() {
         if (start.compareAndSet(false, true)) {
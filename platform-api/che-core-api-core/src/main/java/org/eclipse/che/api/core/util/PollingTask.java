@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Task which result is got with repeatable attempts. Each attempt is a call of {@link Callable} provided in constructor. If callable
+ * returns {@code null} result isn't ready yet, e.g. there is no free remote builder, and next attempt is scheduled after delay. Thread
+ * isn't held between attempts, so many of such tasks may be served by small pool of threads. Callable should not block for long time
+ * waiting for result. Short blocking calls, e.g. request of state of remote builder, are made in the thread of attempt, so size of pool
+ * limits number of such calls which are made at the same time.
+ * <p/>
+ * First attempt is made when method {@link #run()} is called, typically when task is passed to the executor. Task is cancelled if next
+ * attempt may not be scheduled because executor or scheduler is shut down.
+ */
+public class PollingTask<T> implements RunnableFuture<T> {
+    private final Callable<T>              callable;
+    private final long                     retryDelay;
+    private final Executor                 executor;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<T>     result;
+    private final long                     creationTime;
+
+    private Thread runner;
+
+    private volatile int  attempts;
+    private volatile long dispatchTime;
+    private volatile long completionTime;
+
+    /**
+     * @param callable
+     *         makes one attempt to get result, returns {@code null} if result isn't ready yet
+     * @param retryDelay
+     *         delay in milliseconds between attempts
+     * @param executor
+     *         executor for attempts
+     * @param scheduler
+     *         scheduler for delaying next attempt
+     */
+    public PollingTask(Callable<T> callable, long retryDelay, Executor executor, ScheduledExecutorService scheduler) {
+        this.callable = callable;
+        this.retryDelay = retryDelay;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        result = new CompletableFuture<>();
+        creationTime = System.currentTimeMillis();
+        dispatchTime = -1;
+    }
+
+    @Override
+    public void run() {
+        if (result.isDone()) {
+            return;
+        }
+        synchronized (this) {
+            runner = Thread.currentThread();
+        }
+        final long start = System.currentTimeMillis();
+        T value = null;
+        Throwable error = null;
+        try {
+            attempts++;
+            value = callable.call();
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            synchronized (this) {
+                runner = null;
+            }
+            if (result.isCancelled()) {
+                // Clear interruption status which may be set by method cancel.
+                Thread.interrupted();
+            }
+        }
+        if (error != null) {
+            complete(null, error, -1);
+        } else if (value != null) {
+            complete(value, null, System.currentTimeMillis() - start);
+        } else if (!result.isDone()) {
+            try {
+                scheduler.schedule(this::resubmit, getRetryDelay(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Scheduler is shut down.
+                cancel(false);
+            }
+        }
+    }
+
+    private void resubmit() {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            // Executor is shut down.
+            cancel(false);
+        }
+    }
+
+    private void complete(T value, Throwable error, long dispatchTime) {
+        final boolean completed = error == null ? result.complete(value) : result.completeExceptionally(error);
+        if (completed) {
+            // completionTime must be set before dispatchTime, see getWaitingTime.
+            this.completionTime = System.currentTimeMillis();
+            this.dispatchTime = dispatchTime;
+            done();
+        }
+    }
+
+    /**
+     * Gets delay in milliseconds before next attempt. Default implementation returns delay provided in constructor, subclasses may
+     * change delay depending on what result is waited for.
+     */
+    protected long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /** Invoked when task is completed successfully or with error. Default implementation does nothing. */
+    protected void done() {
+    }
+
+    /** Invoked when task is cancelled. Default implementation does nothing. */
+    protected void cancelled() {
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final boolean cancelled = result.cancel(false);
+        if (cancelled) {
+            completionTime = System.currentTimeMillis();
+            if (mayInterruptIfRunning) {
+                synchronized (this) {
+                    if (runner != null) {
+                        runner.interrupt();
+                    }
+                }
+            }
+            cancelled();
+        }
+        return cancelled;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        return result.get();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return result.get(timeout, unit);
+    }
+
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    /** Gets number of attempts which were made to get result. */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Gets duration in milliseconds of successful attempt, e.g. time of sending request to the remote builder.
+     *
+     * @return duration of successful attempt or {@code -1} if task isn't completed successfully yet
+     */
+    public long getDispatchTime() {
+        return dispatchTime;
+    }
+
+    /**
+     * Gets time in milliseconds from creation of task until start of successful attempt.
+     *
+     * @return waiting time or {@code -1} if task isn't completed successfully yet
+     */
+    public long getWaitingTime() {
+        final long dispatch = dispatchTime;
+        return dispatch < 0 ? -1 : completionTime - creationTime - dispatch;
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+/**
+ * Collects waiting and dispatch times of tasks which are processed by queue, e.g. build or run queue.
+ *
+ * @see PollingTask#getWaitingTime()
+ * @see PollingTask#getDispatchTime()
+ */
+public class QueueMetrics {
+    private long dispatched;
+    private long waitingTimeSum;
+    private long maxWaitingTime;
+    private long dispatchTimeSum;
+    private long maxDispatchTime;
+
+    /** Records times of dispatched task. Task which isn't completed successfully is ignored. */
+    public void add(PollingTask<?> task) {
+        final long dispatchTime = task.getDispatchTime();
+        if (dispatchTime >= 0) {
+            add(task.getWaitingTime(), dispatchTime);
+        }
+    }
+
+    public synchronized void add(long waitingTime, long dispatchTime) {
+        dispatched++;
+        waitingTimeSum += waitingTime;
+        maxWaitingTime = Math.max(maxWaitingTime, waitingTime);
+        dispatchTimeSum += dispatchTime;
+        maxDispatchTime = Math.max(maxDispatchTime, dispatchTime);
+    }
+
+    /** Gets number of dispatched tasks. */
+    public synchronized long getDispatched() {
+        return dispatched;
+    }
+
+    /** Gets average time in milliseconds which task spent in queue before it is dispatched. */
+    public synchronized long getAverageWaitingTime() {
+        return dispatched == 0 ? 0 : waitingTimeSum / dispatched;
+    }
+
+    public synchronized long getMaxWaitingTime() {
+        return maxWaitingTime;
+    }
+
+    /** Gets average time in milliseconds of dispatching task, e.g. sending request to the remote builder. */
+    public synchronized long getAverageDispatchTime() {
+        return dispatched == 0 ? 0 : dispatchTimeSum / dispatched;
+    }
+
+    public synchronized long getMaxDispatchTime() {
+        return maxDispatchTime;
+    }
+}
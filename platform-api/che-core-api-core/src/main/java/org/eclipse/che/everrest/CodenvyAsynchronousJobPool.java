@@ -16,6 +16,12 @@ import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.everrest.core.impl.EverrestConfiguration;
 import org.everrest.core.impl.async.AsynchronousJob;
 import org.everrest.core.impl.async.AsynchronousJobPool;
+import org.everrest.core.impl.async.AsynchronousJobRejectedException;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -26,18 +32,48 @@ import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
 
 
-/** @author Vitaly Parfonov */
+/**
+ * Pool of asynchronous jobs. When job is done message is sent to the websocket channel {@link #JOB_DONE_CHANNEL_PREFIX} + id of job, so
+ * clients don't need to poll status of job until it is done.
+ *
+ * @author Vitaly Parfonov
+ */
 @Singleton
 @Provider
 public class CodenvyAsynchronousJobPool extends AsynchronousJobPool implements ContextResolver<AsynchronousJobPool> {
+    private static final Logger LOG = LoggerFactory.getLogger(CodenvyAsynchronousJobPool.class);
+
+    /** Prefix of name of websocket channel which is notified when job is done. Id of job follows the prefix. */
+    public static final String JOB_DONE_CHANNEL_PREFIX = "async-job:";
+
+    /**
+     * Notifier of job which is being added in current thread, it gets id of job when URI of job is built. It is cleared when job is added
+     * even if job is rejected or its URI isn't built, otherwise it is bound to another job added or listed later in the same thread.
+     */
+    private final ThreadLocal<JobDoneNotifier> addedJobNotifier = new ThreadLocal<>();
 
     @Inject
     public CodenvyAsynchronousJobPool(EverrestConfiguration everrestConfiguration) {
         super(everrestConfiguration);
     }
 
+    @Override
+    public AsynchronousJob addJob(Object resource, ResourceMethodDescriptor resourceMethod, Object[] params)
+            throws AsynchronousJobRejectedException {
+        try {
+            return super.addJob(resource, resourceMethod, params);
+        } finally {
+            addedJobNotifier.remove();
+        }
+    }
+
     @Override
     protected UriBuilder getAsynchronousJobUriBuilder(AsynchronousJob job) {
+        final JobDoneNotifier notifier = addedJobNotifier.get();
+        if (notifier != null) {
+            addedJobNotifier.remove();
+            notifier.setJobId(job.getJobId());
+        }
         final String wsId = EnvironmentContext.getCurrent().getWorkspaceId();
         if (wsId == null) {
             return super.getAsynchronousJobUriBuilder(job);
@@ -47,6 +83,50 @@ public class CodenvyAsynchronousJobPool extends AsynchronousJobPool implements C
 
     @Override
     protected Callable<Object> newCallable(Object resource, Method method, Object[] params) {
-        return ThreadLocalPropagateContext.wrap((super.newCallable(resource, method, params)));
+        final Callable<Object> callable = super.newCallable(resource, method, params);
+        final JobDoneNotifier notifier = new JobDoneNotifier();
+        addedJobNotifier.set(notifier);
+        return ThreadLocalPropagateContext.wrap(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                try {
+                    return callable.call();
+                } finally {
+                    notifier.setDone();
+                }
+            }
+        });
+    }
+
+    /** Sends message to the websocket channel of done job. */
+    void notifyJobDone(long jobId) {
+        final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+        message.setChannel(JOB_DONE_CHANNEL_PREFIX + jobId);
+        message.setBody(String.format("{\"jobId\":%d}", jobId));
+        try {
+            WSConnectionContext.sendMessage(message);
+        } catch (Exception e) {
+            LOG.warn(String.format("Unable to send notification about done job %d. %s", jobId, e.getMessage()));
+        }
+    }
+
+    /** Sends message to the channel of job once job is done and its id is known, job may be done before URI of job is built. */
+    private class JobDoneNotifier {
+        private Long    jobId;
+        private boolean done;
+
+        synchronized void setJobId(long jobId) {
+            this.jobId = jobId;
+            if (done) {
+                notifyJobDone(jobId);
+            }
+        }
+
+        synchronized void setDone() {
+            done = true;
+            if (jobId != null) {
+                notifyJobDone(jobId);
+            }
+        }
     }
 }
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class EventBatcherTest {
+    @Test
+    public void testBatches() {
+        EventBatcher batcher = new EventBatcher(100, 10);
+        for (int i = 0; i < 5; i++) {
+            batcher.offer("event" + i, null);
+        }
+        EventBatcher.Batch first = batcher.poll(3);
+        EventBatcher.Batch second = batcher.poll(3);
+        Assert.assertEquals(first.seq, 1);
+        Assert.assertEquals(first.events, Arrays.asList("event0", "event1", "event2"));
+        Assert.assertEquals(second.seq, 2);
+        Assert.assertEquals(second.events, Arrays.asList("event3", "event4"));
+        Assert.assertNull(batcher.poll(3));
+        Assert.assertEquals(batcher.inFlightSize(), 2);
+        Assert.assertTrue(batcher.ack(1));
+        Assert.assertFalse(batcher.ack(1));
+        Assert.assertEquals(batcher.inFlightSize(), 1);
+    }
+
+    @Test
+    public void testCoalescing() {
+        EventBatcher batcher = new EventBatcher(100, 10);
+        batcher.offer("process1:NEW", "process1");
+        batcher.offer("process2:NEW", "process2");
+        batcher.offer("process1:RUNNING", "process1");
+        batcher.offer("log", null);
+        batcher.offer("process1:STOPPED", "process1");
+        Assert.assertEquals(batcher.pendingSize(), 3);
+        // the latest state isn't sent before events which were published before it
+        Assert.assertEquals(batcher.poll(10).events, Arrays.asList("process2:NEW", "log", "process1:STOPPED"));
+        // key is released once event is taken from buffer
+        batcher.offer("process1:NEW", "process1");
+        Assert.assertEquals(batcher.poll(10).events, Collections.singletonList("process1:NEW"));
+    }
+
+    @Test
+    public void testCoalescedEventsAreCompactedWhenFull() {
+        EventBatcher batcher = new EventBatcher(3, 10);
+        batcher.offer("process1:NEW", "process1");
+        batcher.offer("process1:RUNNING", "process1");
+        batcher.offer("log", null);
+        batcher.offer("process1:STOPPED", "process1");
+        Assert.assertEquals(batcher.resetDropped(), 0);
+        Assert.assertEquals(batcher.poll(10).events, Arrays.asList("log", "process1:STOPPED"));
+    }
+
+    @Test
+    public void testDropOldestWhenFull() {
+        EventBatcher batcher = new EventBatcher(3, 10);
+        batcher.offer("event0", "key0");
+        for (int i = 1; i < 5; i++) {
+            batcher.offer("event" + i, null);
+        }
+        Assert.assertEquals(batcher.pendingSize(), 3);
+        Assert.assertEquals(batcher.resetDropped(), 2);
+        Assert.assertEquals(batcher.resetDropped(), 0);
+        // key of dropped event must not be reused
+        batcher.offer("event5", "key0");
+        Assert.assertEquals(batcher.poll(10).events, Arrays.asList("event3", "event4", "event5"));
+    }
+
+    @Test
+    public void testLimitOfInFlightBatches() {
+        EventBatcher batcher = new EventBatcher(100, 2);
+        for (int i = 0; i < 5; i++) {
+            batcher.offer("event" + i, null);
+        }
+        Assert.assertNotNull(batcher.poll(1));
+        Assert.assertNotNull(batcher.poll(1));
+        Assert.assertNull(batcher.poll(1));
+        Assert.assertEquals(batcher.pendingSize(), 3);
+        batcher.ack(1);
+        Assert.assertEquals(batcher.poll(1).seq, 3);
+    }
+
+    @Test
+    public void testUnacknowledged() {
+        EventBatcher batcher = new EventBatcher(100, 10);
+        batcher.offer("event0", null);
+        batcher.offer("event1", null);
+        batcher.poll(1);
+        batcher.poll(1);
+        batcher.ack(1);
+        Assert.assertTrue(batcher.unacknowledged(0).isEmpty());
+        Assert.assertEquals(batcher.firstUnacknowledged(), 2);
+        List<EventBatcher.Batch> unacknowledged = batcher.unacknowledged(Long.MAX_VALUE);
+        Assert.assertEquals(unacknowledged.size(), 1);
+        Assert.assertEquals(unacknowledged.get(0).seq, 2);
+        Assert.assertEquals(unacknowledged.get(0).events, Collections.singletonList("event1"));
+    }
+}
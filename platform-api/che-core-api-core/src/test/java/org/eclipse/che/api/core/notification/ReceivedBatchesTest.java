@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ReceivedBatchesTest {
+    @Test
+    public void testOutOfOrderBatchesAreReleasedInOrder() {
+        ReceivedBatches batches = new ReceivedBatches(100);
+        Assert.assertEquals(batches.add(1, 1, events("a")), events("a"));
+        Assert.assertEquals(batches.add(3, 2, events("c")), Collections.emptyList());
+        Assert.assertEquals(batches.add(4, 2, events("d")), Collections.emptyList());
+        Assert.assertEquals(batches.add(2, 2, events("b")), events("b", "c", "d"));
+        Assert.assertEquals(batches.add(5, 5, events("e")), events("e"));
+    }
+
+    @Test
+    public void testDuplicatedBatchesAreSkipped() {
+        ReceivedBatches batches = new ReceivedBatches(100);
+        Assert.assertEquals(batches.add(1, 1, events("a")), events("a"));
+        Assert.assertEquals(batches.add(3, 2, events("c")), Collections.emptyList());
+        Assert.assertTrue(batches.isReceived(1));
+        Assert.assertTrue(batches.isReceived(3));
+        Assert.assertFalse(batches.isReceived(2));
+        Assert.assertEquals(batches.add(1, 1, events("a")), Collections.emptyList());
+        Assert.assertEquals(batches.add(3, 2, events("c")), Collections.emptyList());
+        Assert.assertEquals(batches.add(2, 2, events("b")), events("b", "c"));
+        Assert.assertEquals(batches.add(2, 2, events("b")), Collections.emptyList());
+    }
+
+    @Test
+    public void testAcknowledgedBatchesAreNotWaited() {
+        // e.g. batches 1..9 were received by server before restart
+        ReceivedBatches batches = new ReceivedBatches(100);
+        Assert.assertEquals(batches.add(11, 10, events("k")), Collections.emptyList());
+        Assert.assertEquals(batches.add(10, 10, events("j")), events("j", "k"));
+        Assert.assertTrue(batches.isReceived(5));
+    }
+
+    @Test
+    public void testWaitingBatchesAreReleasedWhenClientSkipsThem() {
+        ReceivedBatches batches = new ReceivedBatches(100);
+        Assert.assertEquals(batches.add(3, 1, events("c")), Collections.emptyList());
+        // client got acknowledgement of batch 3 and knows that batches 1 and 2 are acknowledged too
+        Assert.assertEquals(batches.add(5, 4, events("e")), events("c"));
+        Assert.assertEquals(batches.add(4, 4, events("d")), events("d", "e"));
+    }
+
+    @Test
+    public void testMissedBatchesAreNotWaitedForever() {
+        ReceivedBatches batches = new ReceivedBatches(2);
+        Assert.assertEquals(batches.add(2, 1, events("b")), Collections.emptyList());
+        Assert.assertEquals(batches.add(3, 1, events("c")), Collections.emptyList());
+        // batch 1 isn't waited anymore
+        Assert.assertEquals(batches.add(5, 1, events("e")), events("b", "c"));
+        Assert.assertEquals(batches.add(4, 1, events("d")), events("d", "e"));
+        Assert.assertTrue(batches.isReceived(1));
+    }
+
+    private static List<Object> events(Object... events) {
+        return Arrays.asList(events);
+    }
+}
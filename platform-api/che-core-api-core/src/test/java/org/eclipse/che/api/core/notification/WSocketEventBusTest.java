@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests delivery of batches of events between {@link WSocketEventBusClient} and {@link WSocketEventBusServer} without websocket
+ * connection.
+ */
+public class WSocketEventBusTest {
+    private EventService          eventService;
+    private WSocketEventBusServer server;
+    private List<String>          published;
+
+    @BeforeMethod
+    public void setUp() {
+        eventService = new EventService();
+        server = new WSocketEventBusServer(eventService, null);
+        published = new ArrayList<>();
+        eventService.subscribe(new EventSubscriber<TestEvent>() {
+            @Override
+            public void onEvent(TestEvent event) {
+                published.add(event.getName());
+            }
+        });
+    }
+
+    @Test
+    public void testBatchesArePublishedInOrder() throws Exception {
+        server.batch(batch("client1", 2, 1, "b1", "b2"));
+        Assert.assertEquals(published, Collections.emptyList());
+        server.batch(batch("client1", 1, 1, "a1"));
+        Assert.assertEquals(published, Arrays.asList("a1", "b1", "b2"));
+        // resent batch
+        server.batch(batch("client1", 2, 1, "b1", "b2"));
+        Assert.assertEquals(published, Arrays.asList("a1", "b1", "b2"));
+    }
+
+    @Test
+    public void testSequencesOfClientsAreIndependent() throws Exception {
+        server.batch(batch("client1", 1, 1, "a"));
+        server.batch(batch("client2", 1, 1, "b"));
+        Assert.assertEquals(published, Arrays.asList("a", "b"));
+    }
+
+    @Test(expectedExceptions = BadRequestException.class)
+    public void testMalformedBatchIsRejected() throws Exception {
+        server.batch("{\"source\":\"client1\",\"seq\":1,\"events\":[");
+    }
+
+    @Test(expectedExceptions = BadRequestException.class)
+    public void testIncompleteBatchIsRejected() throws Exception {
+        server.batch("{\"source\":\"client1\",\"events\":[]}");
+    }
+
+    @Test
+    public void testClientAcknowledgesOnlyAcceptedBatches() throws Exception {
+        final WSocketEventBusClient client = new WSocketEventBusClient(eventService, null, null);
+        final URI uri = new URI("ws://localhost:8080/api/ws");
+        final EventBatcher batcher = client.getBatcher(uri);
+        batcher.offer("event", null);
+        final EventBatcher.Batch batch = batcher.poll(10);
+
+        client.onBatchResponse(uri, batch.seq, 500);
+        Assert.assertEquals(batcher.inFlightSize(), 1);
+        client.onBatchResponse(uri, batch.seq, 400);
+        Assert.assertEquals(batcher.inFlightSize(), 1);
+        client.onBatchResponse(uri, batch.seq, 204);
+        Assert.assertEquals(batcher.inFlightSize(), 0);
+    }
+
+    private static String batch(String source, long seq, long first, String... names) throws Exception {
+        final List<Object> events = new ArrayList<>(names.length);
+        for (String name : names) {
+            events.add(new TestEvent(name));
+        }
+        return Messages.clientBatchMessage(source, seq, first, events).getBody();
+    }
+
+    public static class TestEvent {
+        private String name;
+
+        public TestEvent() {
+        }
+
+        TestEvent(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
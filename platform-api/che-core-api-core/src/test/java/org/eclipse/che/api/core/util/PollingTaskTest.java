@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PollingTaskTest {
+    private static final int POOL_SIZE = 8;
+
+    private ThreadPoolExecutor       executor;
+    private ScheduledExecutorService scheduler;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+        scheduler = Executors.newScheduledThreadPool(1);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testRetryUntilResultIsReady() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        PollingTask<String> task = new PollingTask<>(() -> attempts.incrementAndGet() < 3 ? null : "done", 10, executor, scheduler);
+        executor.execute(task);
+        Assert.assertEquals(task.get(5, TimeUnit.SECONDS), "done");
+        Assert.assertEquals(task.getAttempts(), 3);
+        Assert.assertTrue(task.getDispatchTime() >= 0);
+        Assert.assertTrue(task.getWaitingTime() >= 20);
+    }
+
+    @Test
+    public void testError() throws Exception {
+        PollingTask<String> task = new PollingTask<>(() -> {
+            throw new IllegalStateException("failed");
+        }, 10, executor, scheduler);
+        executor.execute(task);
+        try {
+            task.get(5, TimeUnit.SECONDS);
+            Assert.fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        Assert.assertEquals(task.getDispatchTime(), -1);
+    }
+
+    @Test
+    public void testCancelBetweenAttempts() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch secondAttempt = new CountDownLatch(2);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        // All attempts except the first one are made in the single thread of scheduler.
+        final Executor direct = Runnable::run;
+        PollingTask<String> task = new PollingTask<String>(() -> {
+            attempts.incrementAndGet();
+            secondAttempt.countDown();
+            return null;
+        }, 10, direct, scheduler) {
+            @Override
+            protected void cancelled() {
+                cancelled.countDown();
+            }
+        };
+        direct.execute(task);
+        Assert.assertTrue(secondAttempt.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(task.cancel(true));
+        Assert.assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+        Assert.assertTrue(task.isCancelled());
+        // Wait until attempt which might be in progress is over.
+        scheduler.submit(() -> null).get();
+        final int attemptsAfterCancel = attempts.get();
+        // Next attempt, if any, was scheduled before this command.
+        scheduler.schedule(() -> null, 10, TimeUnit.MILLISECONDS).get();
+        Assert.assertEquals(attempts.get(), attemptsAfterCancel);
+        try {
+            task.get();
+            Assert.fail("CancellationException expected");
+        } catch (CancellationException expected) {
+        }
+    }
+
+    @Test
+    public void testCancelledWhenExecutorIsShutDown() throws Exception {
+        final CountDownLatch firstAttempt = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        PollingTask<String> task = new PollingTask<String>(() -> {
+            firstAttempt.countDown();
+            return null;
+        }, 10, executor, scheduler) {
+            @Override
+            protected void cancelled() {
+                cancelled.countDown();
+            }
+        };
+        executor.execute(task);
+        Assert.assertTrue(firstAttempt.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(task.isCancelled());
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.everrest.core.impl.ApplicationContextImpl;
+import org.everrest.core.impl.ApplicationProviderBinder;
+import org.everrest.core.impl.ContainerRequest;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.tools.ResourceLauncher;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests notifications about done asynchronous jobs.
+ */
+public class CodenvyAsynchronousJobPoolTest {
+    private static final String BASE_URI     = "http://localhost/service";
+    private static final String SERVICE_PATH = BASE_URI + "/job";
+
+    @Path("/job")
+    public static class JobService {
+        @GET
+        @Produces(TEXT_PLAIN)
+        public String run() {
+            return "done";
+        }
+    }
+
+    private ResourceLauncher           resourceLauncher;
+    private CodenvyAsynchronousJobPool pool;
+    /** Ids of jobs which notifications are sent for. */
+    private BlockingQueue<Long>        notified;
+    private volatile boolean           failNextJob;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        notified = new LinkedBlockingQueue<>();
+        pool = new CodenvyAsynchronousJobPool(new EverrestConfiguration()) {
+            @Override
+            void notifyJobDone(long jobId) {
+                notified.add(jobId);
+            }
+
+            @Override
+            protected Callable<Object> newCallable(Object resource, Method method, Object[] params) {
+                final Callable<Object> callable = super.newCallable(resource, method, params);
+                if (failNextJob) {
+                    failNextJob = false;
+                    // job isn't added after its notifier is created
+                    throw new IllegalStateException("Job is rejected");
+                }
+                return callable;
+            }
+        };
+
+        final ResourceBinderImpl resources = new ResourceBinderImpl();
+        resources.addResource(JobService.class, null);
+        final DependencySupplierImpl dependencies = new DependencySupplierImpl();
+        final ApplicationProviderBinder binder = new ApplicationProviderBinder();
+        binder.addContextResolver(pool);
+        final URI uri = new URI(BASE_URI);
+        final ContainerRequest req = new ContainerRequest(null, uri, uri, null, null, null);
+        final ApplicationContextImpl contextImpl = new ApplicationContextImpl(req, null, binder);
+        contextImpl.setDependencySupplier(dependencies);
+        ApplicationContextImpl.setCurrent(contextImpl);
+        final EverrestProcessor processor = new EverrestProcessor(resources,
+                                                                  binder,
+                                                                  dependencies,
+                                                                  new EverrestConfiguration(),
+                                                                  null);
+        resourceLauncher = new ResourceLauncher(processor);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        pool.stop();
+    }
+
+    @Test
+    public void shouldNotifyWhenJobIsDone() throws Exception {
+        final long jobId = startJob();
+
+        assertEquals(notified.poll(10, TimeUnit.SECONDS), Long.valueOf(jobId));
+        assertNull(notified.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotBindNotifierOfFailedJobToNextJob() throws Exception {
+        failNextJob = true;
+        try {
+            final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "?async=true", BASE_URI, null,
+                                                                        null, null);
+            assertNotEquals(response.getStatus(), 202);
+        } catch (Exception e) {
+            // job is not added
+        }
+
+        final long jobId = startJob();
+
+        assertEquals(notified.poll(10, TimeUnit.SECONDS), Long.valueOf(jobId));
+        assertNull(notified.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    /** Starts asynchronous job and gets its id from its URI. */
+    private long startJob() throws Exception {
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "?async=true", BASE_URI, null, null,
+                                                                    null);
+        assertEquals(response.getStatus(), 202);
+        final String jobUri = response.getHttpHeaders().getFirst("Location").toString();
+        return Long.parseLong(jobUri.substring(jobUri.lastIndexOf('/') + 1));
+    }
+}
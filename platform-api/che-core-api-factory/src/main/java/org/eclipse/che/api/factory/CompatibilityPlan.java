@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.factory;
+
+import com.google.common.base.CaseFormat;
+
+import org.eclipse.che.api.core.factory.FactoryParameter;
+import org.eclipse.che.api.project.shared.dto.ImportSourceDescriptor;
+import org.eclipse.che.dto.shared.DTO;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Result of introspection of factory parameters of DTO interface which is used by {@link FactoryBuilder} for validation of
+ * compatibility of factory. Plan is built once for each pair of DTO interface and interface which provides methods allowed in the
+ * particular version of factory, getters are invoked through {@link MethodHandle}s.
+ */
+final class CompatibilityPlan {
+    private static final ConcurrentMap<Key, CompatibilityPlan> PLANS = new ConcurrentHashMap<>();
+
+    /**
+     * Gets plan for validation of factory parameters.
+     *
+     * @param methodsProvider
+     *         class that provides methods with {@link FactoryParameter} annotations
+     * @param allowedMethodsProvider
+     *         class that provides allowed methods
+     */
+    static CompatibilityPlan of(Class<?> methodsProvider, Class<?> allowedMethodsProvider) {
+        final Key key = new Key(methodsProvider, allowedMethodsProvider);
+        CompatibilityPlan plan = PLANS.get(key);
+        if (plan == null) {
+            final CompatibilityPlan newPlan = new CompatibilityPlan(methodsProvider, allowedMethodsProvider);
+            plan = PLANS.putIfAbsent(key, newPlan);
+            if (plan == null) {
+                plan = newPlan;
+                // Build plans for nested DTOs in advance so they aren't built while validating factory.
+                for (Parameter parameter : newPlan.parameters) {
+                    if (parameter.nestedDto != null) {
+                        of(parameter.nestedDto, parameter.nestedDto);
+                    }
+                }
+            }
+        }
+        return plan;
+    }
+
+    /** Kind of value of factory parameter that defines how value is validated after checking the parameter itself. */
+    enum ValueKind {
+        /** Value doesn't need further validation. */
+        PLAIN,
+        /** Value is DTO object, its parameters are validated. */
+        DTO,
+        /** Value is map of DTO objects, parameters of each value of map are validated. */
+        MAP_OF_DTO,
+        /** Value is map of strings which contains parameters of source project, validated with {@link SourceProjectParametersValidator}. */
+        SOURCE_PARAMETERS,
+        /** Value has type which isn't supported by factory. */
+        UNSUPPORTED
+    }
+
+    static final class Parameter {
+        final String           name;
+        final FactoryParameter annotation;
+        final boolean          allowed;
+        final ValueKind        valueKind;
+        final Class<?>         nestedDto;
+        final MethodHandle     getter;
+
+        private Parameter(String name,
+                          FactoryParameter annotation,
+                          boolean allowed,
+                          ValueKind valueKind,
+                          Class<?> nestedDto,
+                          MethodHandle getter) {
+            this.name = name;
+            this.annotation = annotation;
+            this.allowed = allowed;
+            this.valueKind = valueKind;
+            this.nestedDto = nestedDto;
+            this.getter = getter;
+        }
+
+        /** Gets value of parameter from the {@code object}. */
+        Object getValue(Object object) throws Throwable {
+            return getter.invokeExact(object);
+        }
+    }
+
+    final List<Parameter> parameters;
+
+    private CompatibilityPlan(Class<?> methodsProvider, Class<?> allowedMethodsProvider) {
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        final MethodType getterType = MethodType.methodType(Object.class, Object.class);
+        final List<Parameter> parameters = new ArrayList<>();
+        for (Method method : methodsProvider.getMethods()) {
+            final FactoryParameter annotation = method.getAnnotation(FactoryParameter.class);
+            if (annotation == null) {
+                continue;
+            }
+            final String name = CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_CAMEL, method.getName().substring(3).toLowerCase());
+            final MethodHandle getter;
+            try {
+                getter = lookup.unreflect(method).asType(getterType);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            ValueKind valueKind = ValueKind.PLAIN;
+            Class<?> nestedDto = null;
+            final Class<?> returnType = method.getReturnType();
+            if (returnType.isAnnotationPresent(DTO.class)) {
+                valueKind = ValueKind.DTO;
+                nestedDto = returnType;
+            } else if (Map.class.isAssignableFrom(returnType)) {
+                final Type tp = ((ParameterizedType)method.getGenericReturnType()).getActualTypeArguments()[1];
+                final Class<?> mapValueClass = (Class<?>)(tp instanceof ParameterizedType ? ((ParameterizedType)tp).getRawType() : tp);
+                if (String.class.equals(mapValueClass)) {
+                    if (ImportSourceDescriptor.class.equals(methodsProvider)) {
+                        valueKind = ValueKind.SOURCE_PARAMETERS;
+                    }
+                } else if (mapValueClass.isAnnotationPresent(DTO.class)) {
+                    valueKind = ValueKind.MAP_OF_DTO;
+                    nestedDto = mapValueClass;
+                } else if (!List.class.equals(mapValueClass)) {
+                    valueKind = ValueKind.UNSUPPORTED;
+                }
+            }
+            parameters.add(new Parameter(name,
+                                         annotation,
+                                         method.getDeclaringClass().isAssignableFrom(allowedMethodsProvider),
+                                         valueKind,
+                                         nestedDto,
+                                         getter));
+        }
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    private static final class Key {
+        final Class<?> methodsProvider;
+        final Class<?> allowedMethodsProvider;
+
+        Key(Class<?> methodsProvider, Class<?> allowedMethodsProvider) {
+            this.methodsProvider = methodsProvider;
+            this.allowedMethodsProvider = allowedMethodsProvider;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)o;
+            return methodsProvider == other.methodsProvider && allowedMethodsProvider == other.allowedMethodsProvider;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * methodsProvider.hashCode() + allowedMethodsProvider.hashCode();
+        }
+    }
+}
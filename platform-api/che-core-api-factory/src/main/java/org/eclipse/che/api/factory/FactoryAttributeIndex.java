@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.factory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.eclipse.che.api.factory.dto.Factory;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.dto.server.DtoFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of attributes of factories which maps pair of attribute name and value to the sorted set of ids of factories that have
+ * such attribute. Name of attribute is path of property in JSON representation of factory in lower case, e.g. {@code creator.accountid}.
+ * <p/>
+ * Index is kept up to date by implementation of {@link FactoryStore}, it may be used as storage of attributes of factories by in-memory
+ * store or as cache layer in front of store which uses external database.
+ */
+public class FactoryAttributeIndex {
+    private static final Comparator<NavigableSet<String>> BY_SIZE = new Comparator<NavigableSet<String>>() {
+        @Override
+        public int compare(NavigableSet<String> o1, NavigableSet<String> o2) {
+            return Integer.compare(o1.size(), o2.size());
+        }
+    };
+
+    /** Pair of name and value of attribute to sorted set of ids of factories. */
+    private final Map<String, NavigableSet<String>> postings;
+    /** Id of factory to pairs of names and values of its attributes. */
+    private final Map<String, Set<String>>          factoryAttributes;
+    private final ReentrantReadWriteLock            lock;
+
+    public FactoryAttributeIndex() {
+        postings = new HashMap<>();
+        factoryAttributes = new HashMap<>();
+        lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Adds factory to the index. If factory with the same id is already indexed its attributes are replaced.
+     *
+     * @param factoryId
+     *         id of factory
+     * @param factory
+     *         factory
+     */
+    public void put(String factoryId, Factory factory) {
+        final Set<String> attributes = new HashSet<>();
+        collectAttributes("", DtoFactory.getInstance().toJsonElement(factory), attributes);
+        lock.writeLock().lock();
+        try {
+            removeFactory(factoryId);
+            for (String attribute : attributes) {
+                NavigableSet<String> ids = postings.get(attribute);
+                if (ids == null) {
+                    postings.put(attribute, ids = new TreeSet<>());
+                }
+                ids.add(factoryId);
+            }
+            factoryAttributes.put(factoryId, attributes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes factory from the index.
+     *
+     * @param factoryId
+     *         id of factory
+     */
+    public void remove(String factoryId) {
+        lock.writeLock().lock();
+        try {
+            removeFactory(factoryId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Removes all factories from the index. */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            factoryAttributes.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds ids of factories which have all specified attributes. Pairs with {@code null} name or value are ignored. Ids are returned in
+     * natural order, that makes pages stable while the set of factories isn't changed.
+     *
+     * @param maxItems
+     *         max number of items in the result, negative value means no limit
+     * @param skipCount
+     *         number of items to skip
+     * @param attributes
+     *         pairs of names and values of attributes
+     * @return ids of factories, empty list if there is no factory with all specified attributes or if no attribute is specified
+     */
+    @SafeVarargs
+    public final List<String> find(int maxItems, int skipCount, Pair<String, String>... attributes) {
+        if (maxItems == 0) {
+            return Collections.emptyList();
+        }
+        int skip = Math.max(skipCount, 0);
+        lock.readLock().lock();
+        try {
+            final List<NavigableSet<String>> lists = new ArrayList<>(attributes.length);
+            for (Pair<String, String> attribute : attributes) {
+                if (attribute.first == null || attribute.second == null) {
+                    continue;
+                }
+                final NavigableSet<String> ids = postings.get(toKey(attribute.first.toLowerCase(), attribute.second));
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(ids);
+            }
+            if (lists.isEmpty()) {
+                return Collections.emptyList();
+            }
+            // Walk through the shortest list and leap over ids which are missed in other lists.
+            Collections.sort(lists, BY_SIZE);
+            final NavigableSet<String> shortest = lists.get(0);
+            final List<String> result = new ArrayList<>();
+            String candidate = shortest.isEmpty() ? null : shortest.first();
+            while (candidate != null) {
+                String next = null;
+                for (int i = 1; i < lists.size() && next == null; i++) {
+                    final String ceiling = lists.get(i).ceiling(candidate);
+                    if (ceiling == null) {
+                        return result;
+                    }
+                    if (!ceiling.equals(candidate)) {
+                        next = ceiling;
+                    }
+                }
+                if (next != null) {
+                    candidate = shortest.ceiling(next);
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    result.add(candidate);
+                    if (maxItems > 0 && result.size() == maxItems) {
+                        return result;
+                    }
+                }
+                candidate = shortest.higher(candidate);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeFactory(String factoryId) {
+        final Set<String> attributes = factoryAttributes.remove(factoryId);
+        if (attributes == null) {
+            return;
+        }
+        for (String attribute : attributes) {
+            final NavigableSet<String> ids = postings.get(attribute);
+            if (ids != null) {
+                ids.remove(factoryId);
+                if (ids.isEmpty()) {
+                    postings.remove(attribute);
+                }
+            }
+        }
+    }
+
+    private void collectAttributes(String path, JsonElement element, Set<String> attributes) {
+        if (element == null || element.isJsonNull()) {
+            return;
+        }
+        if (element.isJsonPrimitive()) {
+            attributes.add(toKey(path, element.getAsString()));
+        } else if (element.isJsonArray()) {
+            for (JsonElement item : element.getAsJsonArray()) {
+                collectAttributes(path, item, attributes);
+            }
+        } else {
+            final JsonObject object = element.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                final String name = entry.getKey().toLowerCase();
+                collectAttributes(path.isEmpty() ? name : path + '.' + name, entry.getValue(), attributes);
+            }
+        }
+    }
+
+    private static String toKey(String name, String value) {
+        return name + '=' + value;
+    }
+}
@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.factory;
 
-import com.google.common.base.CaseFormat;
-
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.factory.FactoryParameter;
@@ -22,7 +20,6 @@ import org.eclipse.che.api.factory.dto.FactoryV2_0;
 import org.eclipse.che.api.factory.dto.FactoryV2_1;
 import org.eclipse.che.api.project.shared.dto.ImportSourceDescriptor;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.eclipse.che.dto.shared.DTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,10 +28,6 @@ import javax.inject.Singleton;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -61,6 +54,9 @@ public class FactoryBuilder {
         List<LegacyConverter> l = new ArrayList<>(1);
         l.add(new ActionsConverter());
         LEGACY_CONVERTERS = Collections.unmodifiableList(l);
+        // Introspect factory parameters once, validation of factories doesn't use reflection.
+        CompatibilityPlan.of(Factory.class, FactoryV2_0.class);
+        CompatibilityPlan.of(Factory.class, FactoryV2_1.class);
     }
 
     private final SourceProjectParametersValidator sourceProjectParametersValidator;
@@ -165,7 +161,8 @@ public class FactoryBuilder {
 
 
     /**
-     * Validate compatibility of factory parameters.
+     * Validate compatibility of factory parameters. Factory parameters of DTO interfaces are introspected once, see
+     * {@link CompatibilityPlan}.
      *
      * @param object
      *         - object to validate factory parameters
@@ -185,78 +182,61 @@ public class FactoryBuilder {
                                Class allowedMethodsProvider,
                                Version version,
                                String parentName) throws ApiException {
-        // get all methods recursively
-        for (Method method : methodsProvider.getMethods()) {
-            FactoryParameter factoryParameter = method.getAnnotation(FactoryParameter.class);
-            // is it factory parameter
-            if (factoryParameter != null) {
-                String fullName = (parentName.isEmpty() ? "" : (parentName + ".")) + CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_CAMEL,
-                                                                                                              method.getName().substring(3)
-                                                                                                                     .toLowerCase());
-                // check that field is set
-                Object parameterValue;
-                try {
-                    parameterValue = method.invoke(object);
-                } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException e) {
-                    // should never happen
-                    LOG.error(e.getLocalizedMessage(), e);
-                    throw new ConflictException(FactoryConstants.INVALID_PARAMETER_MESSAGE);
-                }
+        for (CompatibilityPlan.Parameter parameter : CompatibilityPlan.of(methodsProvider, allowedMethodsProvider).parameters) {
+            String fullName = (parentName.isEmpty() ? "" : (parentName + ".")) + parameter.name;
+            FactoryParameter factoryParameter = parameter.annotation;
+            // check that field is set
+            Object parameterValue;
+            try {
+                parameterValue = parameter.getValue(object);
+            } catch (Throwable e) {
+                // should never happen
+                LOG.error(e.getLocalizedMessage(), e);
+                throw new ConflictException(FactoryConstants.INVALID_PARAMETER_MESSAGE);
+            }
 
-                // if value is null or empty collection or default value for primitives
-                if (ValueHelper.isEmpty(parameterValue)) {
-                    // field must not be a mandatory, unless it's ignored or deprecated or doesn't suit to the version
-                    if (Obligation.MANDATORY.equals(factoryParameter.obligation()) &&
-                        factoryParameter.deprecatedSince().compareTo(version) > 0 &&
-                        factoryParameter.ignoredSince().compareTo(version) > 0 &&
-                        method.getDeclaringClass().isAssignableFrom(allowedMethodsProvider)) {
-                        throw new ConflictException(FactoryConstants.MISSING_MANDATORY_MESSAGE);
-                    }
-                } else if (!method.getDeclaringClass().isAssignableFrom(allowedMethodsProvider)) {
-                    throw new ConflictException(String.format(FactoryConstants.PARAMETRIZED_INVALID_PARAMETER_MESSAGE, fullName, version));
-                } else {
-                    // is parameter deprecated
-                    if (factoryParameter.deprecatedSince().compareTo(version) <= 0) {
-                        throw new ConflictException(
-                                String.format(FactoryConstants.PARAMETRIZED_INVALID_PARAMETER_MESSAGE, fullName, version));
-                    }
+            // if value is null or empty collection or default value for primitives
+            if (ValueHelper.isEmpty(parameterValue)) {
+                // field must not be a mandatory, unless it's ignored or deprecated or doesn't suit to the version
+                if (Obligation.MANDATORY.equals(factoryParameter.obligation()) &&
+                    factoryParameter.deprecatedSince().compareTo(version) > 0 &&
+                    factoryParameter.ignoredSince().compareTo(version) > 0 &&
+                    parameter.allowed) {
+                    throw new ConflictException(FactoryConstants.MISSING_MANDATORY_MESSAGE);
+                }
+            } else if (!parameter.allowed) {
+                throw new ConflictException(String.format(FactoryConstants.PARAMETRIZED_INVALID_PARAMETER_MESSAGE, fullName, version));
+            } else {
+                // is parameter deprecated
+                if (factoryParameter.deprecatedSince().compareTo(version) <= 0) {
+                    throw new ConflictException(
+                            String.format(FactoryConstants.PARAMETRIZED_INVALID_PARAMETER_MESSAGE, fullName, version));
+                }
 
-                    if (factoryParameter.setByServer()) {
-                        throw new ConflictException(
-                                String.format(FactoryConstants.PARAMETRIZED_INVALID_PARAMETER_MESSAGE, fullName, version));
-                    }
+                if (factoryParameter.setByServer()) {
+                    throw new ConflictException(
+                            String.format(FactoryConstants.PARAMETRIZED_INVALID_PARAMETER_MESSAGE, fullName, version));
+                }
 
-                    // use recursion if parameter is DTO object
-                    if (method.getReturnType().isAnnotationPresent(DTO.class)) {
+                switch (parameter.valueKind) {
+                    case DTO:
                         // validate inner objects such Git ot ProjectAttributes
-                        validateCompatibility(parameterValue, method.getReturnType(), method.getReturnType(), version, fullName);
-                    } else if (Map.class.isAssignableFrom(method.getReturnType())) {
-                        Type tp = ((ParameterizedType)method.getGenericReturnType()).getActualTypeArguments()[1];
-
-                        Class secMapParamClass;
-                        if (tp instanceof ParameterizedType) {
-                            secMapParamClass = (Class)((ParameterizedType)tp).getRawType();
-                        } else {
-                            secMapParamClass = (Class)tp;
-                        }
-                        if (String.class.equals(secMapParamClass)) {
-                            if (ImportSourceDescriptor.class.equals(methodsProvider)) {
-                                sourceProjectParametersValidator.validate((ImportSourceDescriptor)object, version);
-                            }
-                        } else if (List.class.equals(secMapParamClass)) {
-                            // do nothing
-                        } else {
-                            if (secMapParamClass.isAnnotationPresent(DTO.class)) {
-                                Map<Object, Object> map = (Map)parameterValue;
-                                for (Map.Entry<Object, Object> entry : map.entrySet()) {
-                                    validateCompatibility(entry.getValue(), secMapParamClass, secMapParamClass, version,
-                                                          fullName + "." + entry.getKey());
-                                }
-                            } else {
-                                throw new RuntimeException("This type of fields is not supported by factory.");
-                            }
+                        validateCompatibility(parameterValue, parameter.nestedDto, parameter.nestedDto, version, fullName);
+                        break;
+                    case MAP_OF_DTO:
+                        Map<Object, Object> map = (Map)parameterValue;
+                        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                            validateCompatibility(entry.getValue(), parameter.nestedDto, parameter.nestedDto, version,
+                                                  fullName + "." + entry.getKey());
                         }
-                    }
+                        break;
+                    case SOURCE_PARAMETERS:
+                        sourceProjectParametersValidator.validate((ImportSourceDescriptor)object, version);
+                        break;
+                    case UNSUPPORTED:
+                        throw new RuntimeException("This type of fields is not supported by factory.");
+                    default:
+                        // nothing to validate
                 }
             }
         }
@@ -394,6 +394,10 @@ public class FactoryService extends Service {
     /**
      * Get list of factory links which conform specified attributes.
      *
+     * @param maxItems
+     *         - max number of items in the response, negative value means no limit
+     * @param skipCount
+     *         - number of items to skip
      * @param uriInfo
      *         - url context
      * @return - stored data, if id is correct.
@@ -405,9 +409,15 @@ public class FactoryService extends Service {
     @Path("/find")
     @Produces({MediaType.APPLICATION_JSON})
     @SuppressWarnings("unchecked")
-    public List<Link> getFactoryByAttribute(@Context UriInfo uriInfo) throws ApiException {
+    public List<Link> getFactoryByAttribute(@DefaultValue("-1") @QueryParam("maxItems") int maxItems,
+                                            @QueryParam("skipCount") int skipCount,
+                                            @Context UriInfo uriInfo) throws ApiException {
         List<Link> result = new ArrayList<>();
-        URI uri = UriBuilder.fromUri(uriInfo.getRequestUri()).replaceQueryParam("token").build();
+        URI uri = UriBuilder.fromUri(uriInfo.getRequestUri())
+                            .replaceQueryParam("token")
+                            .replaceQueryParam("maxItems")
+                            .replaceQueryParam("skipCount")
+                            .build();
         Map<String, Set<String>> queryParams = URLEncodedUtils.parse(uri, "UTF-8");
         if (queryParams.isEmpty()) {
             throw new IllegalArgumentException("Query must contain at least one attribute.");
@@ -417,7 +427,7 @@ public class FactoryService extends Service {
             if (!entry.getValue().isEmpty())
                 pairs.add(Pair.of(entry.getKey(), entry.getValue().iterator().next()));
         }
-        List<Factory> factories = factoryStore.findByAttribute(pairs.toArray(new Pair[pairs.size()]));
+        List<Factory> factories = factoryStore.findByAttribute(maxItems, skipCount, pairs.toArray(new Pair[pairs.size()]));
         for (Factory factory : factories) {
             result.add(DtoFactory.getInstance().createDto(Link.class)
                                  .withMethod(HttpMethod.GET)
@@ -61,6 +61,27 @@ public interface FactoryStore {
      */
     public List<Factory> findByAttribute(Pair<String, String>... attributes) throws ApiException;
 
+    /**
+     * Retrieve page of factories by given attribute names and values. Default implementation gets all matched factories with
+     * {@link #findByAttribute(Pair[])} and returns requested page of them, implementations should override it if they are able to
+     * retrieve single page, e.g. with {@link FactoryAttributeIndex}.
+     *
+     * @param maxItems
+     *         - max number of items in the result, negative value means no limit
+     * @param skipCount
+     *         - number of items to skip
+     * @param attributes
+     *         - attribute pairs to search for
+     * @return - List {@code AdvancedFactoryUrl} if factory(s) exist and found, empty list otherwise
+     * @throws org.eclipse.che.api.core.ApiException
+     */
+    default List<Factory> findByAttribute(int maxItems, int skipCount, Pair<String, String>... attributes) throws ApiException {
+        final List<Factory> factories = findByAttribute(attributes);
+        final int from = Math.min(Math.max(skipCount, 0), factories.size());
+        final int to = maxItems < 0 ? factories.size() : Math.min(from + maxItems, factories.size());
+        return factories.subList(from, to);
+    }
+
     /**
      * Retrieve factory images by factory id
      *
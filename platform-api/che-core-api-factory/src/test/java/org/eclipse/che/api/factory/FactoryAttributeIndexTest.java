@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.factory;
+
+import org.eclipse.che.api.factory.dto.Author;
+import org.eclipse.che.api.factory.dto.Factory;
+import org.eclipse.che.api.project.shared.dto.ImportSourceDescriptor;
+import org.eclipse.che.api.project.shared.dto.Source;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+
+public class FactoryAttributeIndexTest {
+    private FactoryAttributeIndex index;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        index = new FactoryAttributeIndex();
+        index.put("f1", newFactory("org1", "http://host/repo1.git", "master"));
+        index.put("f2", newFactory("org1", "http://host/repo2.git", "master"));
+        index.put("f3", newFactory("org2", "http://host/repo1.git", "master"));
+        index.put("f4", newFactory("org1", "http://host/repo1.git", "dev"));
+    }
+
+    @Test
+    public void shouldFindBySingleAttribute() throws Exception {
+        assertEquals(index.find(-1, 0, Pair.of("creator.accountId", "org1")), asList("f1", "f2", "f4"));
+    }
+
+    @Test
+    public void shouldFindByAllAttributes() throws Exception {
+        assertEquals(index.find(-1, 0,
+                                Pair.of("creator.accountid", "org1"),
+                                Pair.of("source.project.location", "http://host/repo1.git"),
+                                Pair.of("source.project.parameters.branch", "master")),
+                     asList("f1"));
+        assertEquals(index.find(-1, 0, Pair.of("creator.accountid", "org2"), Pair.of("source.project.parameters.branch", "dev")),
+                     emptyList());
+        assertEquals(index.find(-1, 0, Pair.of("creator.accountid", "org3")), emptyList());
+    }
+
+    @Test
+    public void shouldReturnPageOfResult() throws Exception {
+        assertEquals(index.find(2, 0, Pair.of("source.project.location", "http://host/repo1.git")), asList("f1", "f3"));
+        assertEquals(index.find(2, 2, Pair.of("source.project.location", "http://host/repo1.git")), asList("f4"));
+        assertEquals(index.find(2, 4, Pair.of("source.project.location", "http://host/repo1.git")), emptyList());
+    }
+
+    @Test
+    public void shouldReplaceAttributesOfUpdatedFactory() throws Exception {
+        index.put("f1", newFactory("org2", "http://host/repo1.git", "master"));
+        assertEquals(index.find(-1, 0, Pair.of("creator.accountid", "org1")), asList("f2", "f4"));
+        assertEquals(index.find(-1, 0, Pair.of("creator.accountid", "org2")), asList("f1", "f3"));
+    }
+
+    @Test
+    public void shouldNotFindRemovedFactory() throws Exception {
+        index.remove("f2");
+        assertEquals(index.find(-1, 0, Pair.of("creator.accountid", "org1")), asList("f1", "f4"));
+        assertEquals(index.find(-1, 0, Pair.of("source.project.location", "http://host/repo2.git")), emptyList());
+    }
+
+    private Factory newFactory(String accountId, String location, String branch) {
+        final DtoFactory dto = DtoFactory.getInstance();
+        return dto.createDto(Factory.class)
+                  .withV("2.0")
+                  .withCreator(dto.createDto(Author.class).withAccountId(accountId))
+                  .withSource(dto.createDto(Source.class)
+                                 .withProject(dto.createDto(ImportSourceDescriptor.class)
+                                                 .withType("git")
+                                                 .withLocation(location)
+                                                 .withParameters(singletonMap("branch", branch))));
+    }
+}
@@ -1053,7 +1053,7 @@ public class FactoryServiceTest {
                                       .withCreator(dto.createDto(Author.class).withAccountId("testorg"));
 
 
-        when(factoryStore.findByAttribute(Pair.of("creator.accountid", "testorg"))).thenReturn(
+        when(factoryStore.findByAttribute(-1, 0, Pair.of("creator.accountid", "testorg"))).thenReturn(
                 Arrays.asList(factory, factory));
 
         // when
@@ -54,14 +54,17 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 @Singleton
 public class GitProjectImporter implements ProjectImporter {
 
-    private final GitConnectionFactory gitConnectionFactory;
-    private final LocalPathResolver    localPathResolver;
+    private final GitConnectionFactory  gitConnectionFactory;
+    private final LocalPathResolver     localPathResolver;
+    private final GitRepositoryDetector repositoryDetector;
     private static final Logger LOG = LoggerFactory.getLogger(GitProjectImporter.class);
 
     @Inject
-    public GitProjectImporter(GitConnectionFactory gitConnectionFactory, LocalPathResolver localPathResolver) {
+    public GitProjectImporter(GitConnectionFactory gitConnectionFactory, LocalPathResolver localPathResolver,
+                              GitRepositoryDetector repositoryDetector) {
         this.gitConnectionFactory = gitConnectionFactory;
         this.localPathResolver = localPathResolver;
+        this.repositoryDetector = repositoryDetector;
     }
 
     @Override
@@ -195,6 +198,8 @@ public class GitProjectImporter implements ProjectImporter {
             if (git != null) {
                 git.close();
             }
+            // .git is created or removed by git itself, VFS doesn't notify about it.
+            repositoryDetector.invalidate(baseFolder.getWorkspace(), baseFolder.getPath());
         }
     }
 
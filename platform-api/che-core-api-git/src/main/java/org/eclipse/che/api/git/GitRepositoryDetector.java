@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.server.VirtualFile;
+import org.eclipse.che.api.vfs.server.observation.MoveEvent;
+import org.eclipse.che.api.vfs.server.observation.RenameEvent;
+import org.eclipse.che.api.vfs.server.observation.VirtualFileEvent;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Detects whether folder is in git repository. Folder is in git repository if it or any of its ancestors up to the root of workspace has
+ * child {@code .git}, either directory or file which points to the git directory, e.g. in submodules. Detection doesn't run git, so it is
+ * cheap enough to be used when list of projects is built.
+ * <p/>
+ * Presence of {@code .git} is cached per folder. Cached result is dropped when {@code .git} or any of its ancestors is created, deleted,
+ * moved or renamed through the virtual file system. Components which create or remove {@code .git} directly in local file system, e.g.
+ * with {@code git init} or {@code git clone}, must call {@link #invalidate(String, String)} when they are done. Folders which content
+ * current user isn't allowed to see aren't cached since other users may see them.
+ */
+@Singleton
+public class GitRepositoryDetector {
+    static final String GIT_DIR = ".git";
+
+    private final EventService                      eventService;
+    private final EventSubscriber<VirtualFileEvent> vfsSubscriber;
+    /** Presence of {@code .git} in folders, per workspace. Folders are sorted by path, so descendants of folder follow it. */
+    private final ConcurrentMap<String, ConcurrentNavigableMap<String, Boolean>> gitDirs;
+
+    @Inject
+    public GitRepositoryDetector(EventService eventService) {
+        this.eventService = eventService;
+        gitDirs = new ConcurrentHashMap<>();
+        vfsSubscriber = new EventSubscriber<VirtualFileEvent>() {
+            @Override
+            public void onEvent(VirtualFileEvent event) {
+                switch (event.getType()) {
+                    case CREATED:
+                    case IMPORTED:
+                    case DELETED:
+                        invalidateByEvent(event.getWorkspaceId(), event.getPath());
+                        break;
+                    case MOVED:
+                        invalidateByEvent(event.getWorkspaceId(), event.getPath());
+                        invalidateByEvent(event.getWorkspaceId(), ((MoveEvent)event).getOldPath());
+                        break;
+                    case RENAMED:
+                        invalidateByEvent(event.getWorkspaceId(), event.getPath());
+                        invalidateByEvent(event.getWorkspaceId(), ((RenameEvent)event).getOldPath());
+                        break;
+                }
+            }
+        };
+    }
+
+    @PostConstruct
+    void start() {
+        eventService.subscribe(vfsSubscriber);
+    }
+
+    @PreDestroy
+    void stop() {
+        eventService.unsubscribe(vfsSubscriber);
+        gitDirs.clear();
+    }
+
+    /**
+     * Checks whether {@code folder} is in git repository.
+     *
+     * @throws ServerException
+     *         if an error occurs while checking child {@code .git}
+     */
+    public boolean isGitRepository(FolderEntry folder) throws ServerException {
+        for (VirtualFile current = folder.getVirtualFile(); current != null && !current.isRoot(); current = current.getParent()) {
+            if (hasGitDir(folder.getWorkspace(), current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Drops cached results for folder {@code path} and all its descendants in {@code workspace}. */
+    public void invalidate(String workspace, String path) {
+        if (workspace == null || path == null) {
+            return;
+        }
+        final ConcurrentNavigableMap<String, Boolean> folders = gitDirs.get(workspace);
+        if (folders == null) {
+            return;
+        }
+        // Paths of descendants start with path of folder and '/', '0' follows '/' so it bounds descendants.
+        final String upperBound = (path.endsWith("/") ? path.substring(0, path.length() - 1) : path) + '0';
+        for (Iterator<String> i = folders.subMap(path, true, upperBound, false).keySet().iterator(); i.hasNext(); ) {
+            if (isSameOrDescendant(i.next(), path)) {
+                i.remove();
+            }
+        }
+    }
+
+    private boolean hasGitDir(String workspace, VirtualFile folder) throws ServerException {
+        ConcurrentNavigableMap<String, Boolean> folders = gitDirs.get(workspace);
+        if (folders == null) {
+            final ConcurrentNavigableMap<String, Boolean> newFolders = new ConcurrentSkipListMap<>();
+            folders = gitDirs.putIfAbsent(workspace, newFolders);
+            if (folders == null) {
+                folders = newFolders;
+            }
+        }
+        final Boolean cached = folders.get(folder.getPath());
+        if (cached != null) {
+            return cached;
+        }
+        final boolean gitDir;
+        try {
+            gitDir = folder.getChild(GIT_DIR) != null;
+        } catch (ForbiddenException e) {
+            // Not allowed to see content of folder, nothing to report about vcs. Other users may be allowed, don't cache it.
+            return false;
+        }
+        folders.put(folder.getPath(), gitDir);
+        return gitDir;
+    }
+
+    private void invalidateByEvent(String workspace, String path) {
+        if (path == null) {
+            return;
+        }
+        final int gitDirIndex = gitDirIndex(path);
+        if (gitDirIndex > 0) {
+            // Change inside of .git, only folder that contains it is affected.
+            final ConcurrentNavigableMap<String, Boolean> folders = gitDirs.get(workspace);
+            if (folders != null) {
+                folders.remove(path.substring(0, gitDirIndex));
+            }
+        } else if (gitDirIndex < 0) {
+            // Folder that contains cached projects may be created, removed or moved.
+            invalidate(workspace, path);
+        }
+    }
+
+    /** Gets position of segment {@code /.git} in {@code path} or {@code -1} if there is no such segment. */
+    private static int gitDirIndex(String path) {
+        final String segment = '/' + GIT_DIR;
+        int index = path.indexOf(segment);
+        while (index >= 0) {
+            final int end = index + segment.length();
+            if (end == path.length() || path.charAt(end) == '/') {
+                return index;
+            }
+            index = path.indexOf(segment, end);
+        }
+        return -1;
+    }
+
+    private static boolean isSameOrDescendant(String path, String parent) {
+        return path.startsWith(parent) && (path.length() == parent.length() || parent.endsWith("/") || path.charAt(parent.length()) == '/');
+    }
+}
@@ -98,6 +98,8 @@ public class GitService {
     private GitConnectionFactory      gitConnectionFactory;
     @Inject
     private DefaultProjectManager     projectManager;
+    @Inject
+    private GitRepositoryDetector     repositoryDetector;
 
     @PathParam("ws-id")
     private String vfsId;
@@ -168,11 +170,13 @@ public class GitService {
     public RepoInfo clone(final CloneRequest request) throws URISyntaxException, ApiException {
         long start = System.currentTimeMillis();
         // On-the-fly resolving of repository's working directory.
-        request.setWorkingDir(resolveLocalPathByPath(request.getWorkingDir()));
+        final String workingDirPath = request.getWorkingDir();
+        request.setWorkingDir(resolveLocalPathByPath(workingDirPath));
         LOG.info("Repository clone from '" + request.getRemoteUri() + "' to '" + request.getWorkingDir() + "' started");
         GitConnection gitConnection = getGitConnection();
         try {
             gitConnection.clone(request);
+            repositoryDetector.invalidate(vfsId, workingDirPath);
             return DtoFactory.getInstance().createDto(RepoInfo.class).withRemoteUri(request.getRemoteUri());
         } finally {
             long end = System.currentTimeMillis();
@@ -232,6 +236,7 @@ public class GitService {
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.init(request);
         }
+        repositoryDetector.invalidate(vfsId, projectPath);
     }
 
     @Path("log")
@@ -12,27 +12,17 @@ package org.eclipse.che.api.git;
 
 import com.google.inject.Inject;
 
-import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.InvalidValueException;
 import org.eclipse.che.api.project.server.ValueProvider;
 import org.eclipse.che.api.project.server.ValueProviderFactory;
 import org.eclipse.che.api.project.server.ValueStorageException;
-import org.eclipse.che.api.vfs.server.MountPoint;
-import org.eclipse.che.api.vfs.server.VirtualFile;
-import org.eclipse.che.api.vfs.server.VirtualFileSystem;
-import org.eclipse.che.api.vfs.server.VirtualFileSystemRegistry;
-import org.eclipse.che.api.vfs.shared.PropertyFilter;
-import org.eclipse.che.api.vfs.shared.dto.Item;
-import org.eclipse.che.vfs.impl.fs.LocalPathResolver;
-import org.eclipse.che.vfs.impl.fs.VirtualFileImpl;
 
 import javax.inject.Singleton;
 import java.util.Arrays;
 import java.util.List;
 
-import static org.eclipse.che.api.git.shared.StatusFormat.LONG;
-
 /**
  * @author Roman Nikitenko
  */
@@ -40,27 +30,22 @@ import static org.eclipse.che.api.git.shared.StatusFormat.LONG;
 public class GitValueProviderFactory implements ValueProviderFactory {
 
     @Inject
-    private GitConnectionFactory      gitConnectionFactory;
-    @Inject
-    private VirtualFileSystemRegistry vfsRegistry;
-    @Inject
-    private LocalPathResolver         localPathResolver;
-
+    private GitRepositoryDetector repositoryDetector;
 
     @Override
     public ValueProvider newInstance(final FolderEntry folder) {
         return new ValueProvider() {
             @Override
             public List<String> getValues(String attributeName) throws ValueStorageException {
-                try (GitConnection gitConnection =
-                             gitConnectionFactory.getConnection(resolveLocalPathByPath(folder.getPath(), folder.getWorkspace()))) {
-
-                    //check whether the project git repository by performing git status(throw Exception if the project is not git repository)
-                    gitConnection.status(LONG);
-                    return Arrays.asList("git");
-                } catch (ApiException e) {
+                try {
+                    // Project list asks this value for each project, so don't run git here, check presence of .git only.
+                    if (repositoryDetector.isGitRepository(folder)) {
+                        return Arrays.asList("git");
+                    }
+                } catch (ServerException e) {
                     throw new ValueStorageException(e.getMessage());
                 }
+                throw new ValueStorageException(String.format("Project %s is not git repository", folder.getPath()));
             }
 
             @Override
@@ -71,12 +56,4 @@ public class GitValueProviderFactory implements ValueProviderFactory {
             }
         };
     }
-
-    private String resolveLocalPathByPath(String folderPath, String wsId) throws ApiException {
-        VirtualFileSystem vfs = vfsRegistry.getProvider(wsId).newInstance(null);
-        Item gitProject = vfs.getItemByPath(folderPath, null, false, PropertyFilter.ALL_FILTER);
-        final MountPoint mountPoint = vfs.getMountPoint();
-        final VirtualFile virtualFile = mountPoint.getVirtualFile(gitProject.getPath());
-        return localPathResolver.resolve((VirtualFileImpl)virtualFile);
-    }
 }
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.server.VirtualFile;
+import org.eclipse.che.api.vfs.server.observation.CreateEvent;
+import org.eclipse.che.api.vfs.server.observation.DeleteEvent;
+import org.eclipse.che.api.vfs.server.observation.MoveEvent;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GitRepositoryDetectorTest {
+    private static final String WORKSPACE = "my_ws";
+
+    private EventService          eventService;
+    private GitRepositoryDetector detector;
+    private VirtualFile           virtualFile;
+    private FolderEntry           folder;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        eventService = new EventService();
+        detector = new GitRepositoryDetector(eventService);
+        detector.start();
+        virtualFile = mock(VirtualFile.class);
+        folder = mock(FolderEntry.class);
+        when(folder.getWorkspace()).thenReturn(WORKSPACE);
+        when(folder.getPath()).thenReturn("/my_project");
+        when(folder.getVirtualFile()).thenReturn(virtualFile);
+        when(virtualFile.getPath()).thenReturn("/my_project");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        detector.stop();
+    }
+
+    @Test
+    public void testDetectionIsCached() throws Exception {
+        when(virtualFile.getChild(".git")).thenReturn(mock(VirtualFile.class));
+        Assert.assertTrue(detector.isGitRepository(folder));
+        Assert.assertTrue(detector.isGitRepository(folder));
+        verify(virtualFile, times(1)).getChild(".git");
+    }
+
+    @Test
+    public void testCreateGitDirInvalidatesCache() throws Exception {
+        Assert.assertFalse(detector.isGitRepository(folder));
+        when(virtualFile.getChild(".git")).thenReturn(mock(VirtualFile.class));
+        eventService.publish(new CreateEvent(WORKSPACE, "/my_project/.git", true));
+        Assert.assertTrue(detector.isGitRepository(folder));
+    }
+
+    @Test
+    public void testDeleteGitDirInvalidatesCache() throws Exception {
+        when(virtualFile.getChild(".git")).thenReturn(mock(VirtualFile.class));
+        Assert.assertTrue(detector.isGitRepository(folder));
+        when(virtualFile.getChild(".git")).thenReturn(null);
+        eventService.publish(new DeleteEvent(WORKSPACE, "/my_project/.git", true));
+        Assert.assertFalse(detector.isGitRepository(folder));
+    }
+
+    @Test
+    public void testMoveProjectInvalidatesCache() throws Exception {
+        Assert.assertFalse(detector.isGitRepository(folder));
+        when(virtualFile.getChild(".git")).thenReturn(mock(VirtualFile.class));
+        eventService.publish(new MoveEvent(WORKSPACE, "/other/my_project", "/my_project", true));
+        Assert.assertTrue(detector.isGitRepository(folder));
+    }
+
+    @Test
+    public void testUnrelatedChangesDoNotInvalidateCache() throws Exception {
+        Assert.assertFalse(detector.isGitRepository(folder));
+        eventService.publish(new CreateEvent(WORKSPACE, "/my_project/src/.github", true));
+        eventService.publish(new CreateEvent(WORKSPACE, "/my_project_2/.git", true));
+        eventService.publish(new CreateEvent("other_ws", "/my_project/.git", true));
+        Assert.assertFalse(detector.isGitRepository(folder));
+        verify(virtualFile, times(1)).getChild(".git");
+    }
+
+    @Test
+    public void testExplicitInvalidate() throws Exception {
+        Assert.assertFalse(detector.isGitRepository(folder));
+        when(virtualFile.getChild(".git")).thenReturn(mock(VirtualFile.class));
+        detector.invalidate(WORKSPACE, "/my_project");
+        Assert.assertTrue(detector.isGitRepository(folder));
+    }
+
+    @Test
+    public void testInvalidateRoot() throws Exception {
+        Assert.assertFalse(detector.isGitRepository(folder));
+        when(virtualFile.getChild(".git")).thenReturn(mock(VirtualFile.class));
+        detector.invalidate(WORKSPACE, "/");
+        Assert.assertTrue(detector.isGitRepository(folder));
+    }
+
+    @Test
+    public void testFolderInRepositoryIsDetected() throws Exception {
+        when(virtualFile.getChild(".git")).thenReturn(mock(VirtualFile.class));
+        final VirtualFile moduleFile = mock(VirtualFile.class);
+        when(moduleFile.getPath()).thenReturn("/my_project/my_module");
+        when(moduleFile.getParent()).thenReturn(virtualFile);
+        final FolderEntry module = mock(FolderEntry.class);
+        when(module.getWorkspace()).thenReturn(WORKSPACE);
+        when(module.getPath()).thenReturn("/my_project/my_module");
+        when(module.getVirtualFile()).thenReturn(moduleFile);
+
+        Assert.assertTrue(detector.isGitRepository(module));
+        Assert.assertTrue(detector.isGitRepository(folder));
+        verify(virtualFile, times(1)).getChild(".git");
+
+        when(virtualFile.getChild(".git")).thenReturn(null);
+        eventService.publish(new DeleteEvent(WORKSPACE, "/my_project/.git", true));
+        Assert.assertFalse(detector.isGitRepository(module));
+    }
+
+    @Test
+    public void testForbiddenFolderIsNotCached() throws Exception {
+        when(virtualFile.getChild(".git")).thenThrow(new ForbiddenException("Access denied"))
+                                          .thenReturn(mock(VirtualFile.class));
+        Assert.assertFalse(detector.isGitRepository(folder));
+        // Another user is allowed to see content of folder.
+        Assert.assertTrue(detector.isGitRepository(folder));
+        verify(virtualFile, times(2)).getChild(".git");
+    }
+}
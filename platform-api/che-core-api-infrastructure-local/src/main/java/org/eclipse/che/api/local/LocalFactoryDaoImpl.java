@@ -15,6 +15,7 @@ import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.factory.FactoryAttributeIndex;
 import org.eclipse.che.api.factory.FactoryImage;
 import org.eclipse.che.api.factory.FactoryStore;
 import org.eclipse.che.api.factory.dto.Factory;
@@ -48,6 +49,7 @@ public class LocalFactoryDaoImpl implements FactoryStore {
 
     private final Map<String, Set<FactoryImage>> images;
     private final Map<String, Factory>           factories;
+    private final FactoryAttributeIndex          attributeIndex;
     private final ReentrantReadWriteLock         lock;
     private final LocalStorage                   imageStorage;
     private final LocalStorage                   factoryStorage;
@@ -56,6 +58,7 @@ public class LocalFactoryDaoImpl implements FactoryStore {
     public LocalFactoryDaoImpl(LocalStorageFactory localStorageFactory) throws IOException {
         images = new HashMap<>();
         factories = new HashMap<>();
+        attributeIndex = new FactoryAttributeIndex();
         lock = new ReentrantReadWriteLock();
         imageStorage = localStorageFactory.create("images.json");
         factoryStorage = localStorageFactory.create("factories.json");
@@ -65,6 +68,9 @@ public class LocalFactoryDaoImpl implements FactoryStore {
     public void start() {
         images.putAll(imageStorage.loadMap(new TypeToken<Map<String, Set<FactoryImage>>>() {}));
         factories.putAll(factoryStorage.loadMap(new TypeToken<Map<String, Factory>>() {}));
+        for (Map.Entry<String, Factory> entry : factories.entrySet()) {
+            attributeIndex.put(entry.getKey(), entry.getValue());
+        }
     }
 
     @PreDestroy
@@ -86,6 +92,7 @@ public class LocalFactoryDaoImpl implements FactoryStore {
             }
 
             factories.put(newFactoryUrl.getId(), newFactoryUrl);
+            attributeIndex.put(newFactoryUrl.getId(), newFactoryUrl);
             this.images.put(newFactoryUrl.getId(), newImages);
 
             return newFactoryUrl.getId();
@@ -101,6 +108,7 @@ public class LocalFactoryDaoImpl implements FactoryStore {
         lock.writeLock().lock();
         try {
             factories.remove(id);
+            attributeIndex.remove(id);
         } finally {
             lock.writeLock().unlock();
         }
@@ -118,15 +126,16 @@ public class LocalFactoryDaoImpl implements FactoryStore {
 
     @Override
     public List<Factory> findByAttribute(Pair<String, String>... attributes) throws ApiException {
+        return findByAttribute(-1, 0, attributes);
+    }
+
+    @Override
+    public List<Factory> findByAttribute(int maxItems, int skipCount, Pair<String, String>... attributes) throws ApiException {
         final List<Factory> result = new LinkedList<>();
         lock.readLock().lock();
         try {
-            for (Pair<String, String> attribute : attributes) {
-                final String name = attribute.first;
-                final String value = attribute.second;
-                if (name == null || value == null) {
-                    continue;
-                }
+            for (String id : attributeIndex.find(maxItems, skipCount, attributes)) {
+                result.add(factories.get(id));
             }
         } finally {
             lock.readLock().unlock();
@@ -177,6 +186,7 @@ public class LocalFactoryDaoImpl implements FactoryStore {
         try {
             final Factory clonedFactory = DtoFactory.getInstance().clone(factory);
             factories.put(factoryId, clonedFactory);
+            attributeIndex.put(factoryId, clonedFactory);
             return clonedFactory.getId();
         } finally {
             lock.writeLock().unlock();
@@ -26,6 +26,9 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -144,6 +147,26 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
         throw new NotFoundException(String.format("Workspace not found %s", id));
     }
 
+    @Override
+    public List<Workspace> getByIds(Collection<String> ids) {
+        final Set<String> idSet = new HashSet<>(ids);
+        final List<Workspace> result = new ArrayList<>(idSet.size());
+        lock.readLock().lock();
+        try {
+            for (Workspace workspace : workspaces) {
+                if (idSet.contains(workspace.getId())) {
+                    result.add(new Workspace().withId(workspace.getId()).withName(workspace.getName())
+                                              .withAccountId(workspace.getAccountId())
+                                              .withAttributes(new LinkedHashMap<>(workspace.getAttributes()))
+                                              .withTemporary(workspace.isTemporary()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
     @Override
     public Workspace getByName(String name) throws NotFoundException {
         lock.readLock().lock();
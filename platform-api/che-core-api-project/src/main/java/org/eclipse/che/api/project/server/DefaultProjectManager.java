@@ -134,6 +134,7 @@ public final class DefaultProjectManager implements ProjectManager {
                 switch (event.getType()) {
                     case CONTENT_UPDATED:
                     case CREATED:
+                    case IMPORTED:
                     case DELETED:
                     case MOVED:
                     case RENAMED: {
@@ -61,6 +61,9 @@ import java.util.Set;
 
 import static javax.ws.rs.HttpMethod.GET;
 import static org.eclipse.che.api.core.util.LinksHelper.createLink;
+import static org.eclipse.che.api.project.shared.Constants.LINK_SET_FILE;
+import static org.eclipse.che.api.project.shared.Constants.LINK_SET_FOLDER;
+import static org.eclipse.che.api.project.shared.Constants.LINK_TEMPLATE_PATH;
 
 /**
  * Helper methods for convert server essentials to DTO and back.
@@ -68,6 +71,8 @@ import static org.eclipse.che.api.core.util.LinksHelper.createLink;
  * @author andrew00x
  */
 public class DtoConverter {
+    /** Stands for path of item when link templates are built, replaced with {@code {path}} placeholder after that. */
+    private static final String TEMPLATE_PATH_MARKER = "__item_path__";
 
     /*================================ Method for conversion from DTO. ===============================*/
 
@@ -307,6 +312,59 @@ public class DtoConverter {
     }
 
     public static ItemReference toItemReferenceDto(FileEntry file, UriBuilder uriBuilder) throws ServerException {
+        return toItemReferenceDtoNoLinks(file).withLinks(generateFileLinks(file, uriBuilder));
+    }
+
+    public static ItemReference toItemReferenceDto(FolderEntry folder, UriBuilder uriBuilder) throws ServerException {
+        return toItemReferenceDtoNoLinks(folder).withLinks(generateFolderLinks(folder, uriBuilder));
+    }
+
+    /**
+     * Converts file to item of compact listing. Item doesn't have links but refers to the set of link templates.
+     *
+     * @see #createLinkTemplates(String, UriBuilder)
+     */
+    public static ItemReference toCompactItemReferenceDto(FileEntry file) throws ServerException {
+        return toItemReferenceDtoNoLinks(file).withLinkSet(LINK_SET_FILE);
+    }
+
+    /**
+     * Converts folder to item of compact listing. Item doesn't have links but refers to the set of link templates.
+     *
+     * @see #createLinkTemplates(String, UriBuilder)
+     */
+    public static ItemReference toCompactItemReferenceDto(FolderEntry folder) throws ServerException {
+        return toItemReferenceDtoNoLinks(folder).withLinkSet(LINK_SET_FOLDER);
+    }
+
+    /**
+     * Creates link templates for items of compact listing. Templates are the same as links of file or folder but path of item in href
+     * is replaced with {@code {path}} placeholder. Template of link for getting content of file doesn't have 'produces', media type of
+     * file should be used instead.
+     *
+     * @param workspace
+     *         id of workspace
+     * @param uriBuilder
+     *         builder of base URI of project service
+     * @return link templates mapped to id of link set
+     */
+    public static Map<String, List<Link>> createLinkTemplates(String workspace, UriBuilder uriBuilder) {
+        final Map<String, List<Link>> templates = new HashMap<>(4);
+        templates.put(LINK_SET_FILE, toTemplates(generateFileLinks(workspace, TEMPLATE_PATH_MARKER, null, uriBuilder)));
+        templates.put(LINK_SET_FOLDER, toTemplates(generateFolderLinks(workspace, TEMPLATE_PATH_MARKER, uriBuilder)));
+        return templates;
+    }
+
+    private static List<Link> toTemplates(List<Link> links) {
+        for (Link link : links) {
+            final String href = link.getHref();
+            final int i = href.lastIndexOf(TEMPLATE_PATH_MARKER);
+            link.setHref(href.substring(0, i) + LINK_TEMPLATE_PATH + href.substring(i + TEMPLATE_PATH_MARKER.length()));
+        }
+        return links;
+    }
+
+    private static ItemReference toItemReferenceDtoNoLinks(FileEntry file) throws ServerException {
         return DtoFactory.getInstance().createDto(ItemReference.class)
                          .withName(file.getName())
                          .withPath(file.getPath())
@@ -315,11 +373,10 @@ public class DtoConverter {
                          .withAttributes(file.getAttributes())
                          .withCreated(file.getCreated())
                          .withModified(file.getModified())
-                         .withContentLength(file.getVirtualFile().getLength())
-                         .withLinks(generateFileLinks(file, uriBuilder));
+                         .withContentLength(file.getVirtualFile().getLength());
     }
 
-    public static ItemReference toItemReferenceDto(FolderEntry folder, UriBuilder uriBuilder) throws ServerException {
+    private static ItemReference toItemReferenceDtoNoLinks(FolderEntry folder) throws ServerException {
         return DtoFactory.getInstance().createDto(ItemReference.class)
                          .withName(folder.getName())
                          .withPath(folder.getPath())
@@ -327,8 +384,7 @@ public class DtoConverter {
                          .withMediaType("text/directory")
                          .withAttributes(folder.getAttributes())
                          .withCreated(folder.getCreated())
-                         .withModified(folder.getModified())
-                         .withLinks(generateFolderLinks(folder, uriBuilder));
+                         .withModified(folder.getModified());
     }
 
     public static ProjectDescriptor toDescriptorDto2(Project project,
@@ -511,9 +567,11 @@ public class DtoConverter {
     }
 
     private static List<Link> generateFolderLinks(FolderEntry folder, UriBuilder uriBuilder) {
+        return generateFolderLinks(folder.getWorkspace(), folder.getPath().substring(1), uriBuilder);
+    }
+
+    private static List<Link> generateFolderLinks(String workspace, String relPath, UriBuilder uriBuilder) {
         final List<Link> links = new LinkedList<>();
-        final String workspace = folder.getWorkspace();
-        final String relPath = folder.getPath().substring(1);
         //String method, String href, String produces, String rel
         links.add(createLink(GET,
                              uriBuilder.clone().path(ProjectService.class, "exportZip").build(workspace, relPath).toString(),
@@ -535,13 +593,15 @@ public class DtoConverter {
     }
 
     private static List<Link> generateFileLinks(FileEntry file, UriBuilder uriBuilder) throws ServerException {
+        return generateFileLinks(file.getWorkspace(), file.getPath().substring(1), file.getMediaType(), uriBuilder);
+    }
+
+    private static List<Link> generateFileLinks(String workspace, String relPath, String mediaType, UriBuilder uriBuilder) {
         final List<Link> links = new LinkedList<>();
-        final String workspace = file.getWorkspace();
-        final String relPath = file.getPath().substring(1);
         links.add(
                 createLink(GET,
                            uriBuilder.clone().path(ProjectService.class, "getFile").build(workspace, relPath).toString(),
-                           null, file.getMediaType(), Constants.LINK_REL_GET_CONTENT));
+                           null, mediaType, Constants.LINK_REL_GET_CONTENT));
         links.add(createLink(HttpMethod.PUT,
                              uriBuilder.clone().path(ProjectService.class, "updateFile").build(workspace, relPath).toString(),
                              MediaType.WILDCARD, null, Constants.LINK_REL_UPDATE_CONTENT));
@@ -30,7 +30,10 @@ import java.util.List;
  * @author andrew00x
  */
 public class FolderEntry extends VirtualFileEntry {
-    private static final VirtualFileFilter FOLDER_FILTER = new VirtualFileFilter() {
+    private static final String FOLDER_CURSOR_PREFIX = "folder:";
+    private static final String FILE_CURSOR_PREFIX   = "file:";
+
+    static final VirtualFileFilter FOLDER_FILTER = new VirtualFileFilter() {
         @Override
         public boolean accept(VirtualFile file) {
             return file.isFolder();
@@ -44,7 +47,7 @@ public class FolderEntry extends VirtualFileEntry {
         }
     };
 
-    private static final VirtualFileFilter FILE_FOLDER_FILTER = new VirtualFileFilter() {
+    static final VirtualFileFilter FILE_FOLDER_FILTER = new VirtualFileFilter() {
         @Override
         public boolean accept(VirtualFile file) {
             return (file.isFile() || file.isFolder());
@@ -140,19 +143,100 @@ public class FolderEntry extends VirtualFileEntry {
     }
 
     List<VirtualFileEntry> getChildren(VirtualFileFilter filter) throws ServerException {
-        final LazyIterator<VirtualFile> vfChildren = getVirtualFile().getChildren(filter);
+        final LazyIterator<VirtualFileEntry> entries = iterateChildren(filter);
         final List<VirtualFileEntry> children = new ArrayList<>();
-        while (vfChildren.hasNext()) {
-            final VirtualFile vf = vfChildren.next();
-            if (vf.isFile()) {
-                children.add(new FileEntry(getWorkspace(), vf));
+        while (entries.hasNext()) {
+            children.add(entries.next());
+        }
+        return children;
+    }
+
+    /**
+     * Gets page of children of this folder. Children are listed in the same order as with {@link #getChildren()}: folders first, then
+     * files, both sorted by name. Page starts after the child pointed by {@code after}, so pages don't shift when children are added or
+     * removed while client goes through them. If current user doesn't have read access to some child they aren't added in result list.
+     *
+     * @param after
+     *         cursor of the last child of previous page, see {@link #getChildCursor(VirtualFileEntry)}, or {@code null} to get first page.
+     *         Child pointed by cursor doesn't need to exist anymore
+     * @param maxItems
+     *         max number of children in result list, negative value means no limit
+     * @return page of children, empty list if there are no children after cursor
+     * @throws ConflictException
+     *         if {@code after} isn't valid cursor
+     * @throws ServerException
+     *         if an error occurs
+     */
+    public List<VirtualFileEntry> getChildren(String after, int maxItems) throws ConflictException, ServerException {
+        boolean afterFolder = false;
+        String afterName = null;
+        if (after != null) {
+            if (after.startsWith(FOLDER_CURSOR_PREFIX)) {
+                afterFolder = true;
+                afterName = after.substring(FOLDER_CURSOR_PREFIX.length());
+            } else if (after.startsWith(FILE_CURSOR_PREFIX)) {
+                afterName = after.substring(FILE_CURSOR_PREFIX.length());
             } else {
-                children.add(new FolderEntry(getWorkspace(), vf));
+                throw new ConflictException(String.format("Invalid cursor '%s'. ", after));
+            }
+        }
+        final LazyIterator<VirtualFileEntry> entries = iterateChildren(VirtualFileFilter.ALL);
+        final List<VirtualFileEntry> children = new ArrayList<>();
+        while (entries.hasNext() && (maxItems < 0 || children.size() < maxItems)) {
+            final VirtualFileEntry child = entries.next();
+            if (afterName == null || isAfter(child, afterFolder, afterName)) {
+                children.add(child);
             }
         }
         return children;
     }
 
+    /** Gets cursor which points to {@code child} in listing of children of its parent, see {@link #getChildren(String, int)}. */
+    public static String getChildCursor(VirtualFileEntry child) {
+        return (child.isFolder() ? FOLDER_CURSOR_PREFIX : FILE_CURSOR_PREFIX) + child.getName();
+    }
+
+    /** Checks whether {@code child} follows item with specified type and name in listing of children, folders go before files. */
+    private static boolean isAfter(VirtualFileEntry child, boolean afterFolder, String afterName) {
+        if (child.isFolder() != afterFolder) {
+            return afterFolder;
+        }
+        return child.getName().compareTo(afterName) > 0;
+    }
+
+    /**
+     * Gets iterator over children of this folder which are accepted by {@code filter}. Unlike to {@link #getChildren()} entries are
+     * created when they are requested from iterator, so callers which go through children once, e.g. page by page or when children are
+     * written directly to the response, don't need to keep all entries in memory.
+     *
+     * @throws ServerException
+     *         if an error occurs
+     */
+    public LazyIterator<VirtualFileEntry> iterateChildren(VirtualFileFilter filter) throws ServerException {
+        final LazyIterator<VirtualFile> vfChildren = getVirtualFile().getChildren(filter);
+        final String workspace = getWorkspace();
+        return new LazyIterator<VirtualFileEntry>() {
+            {
+                fetchNext();
+            }
+
+            @Override
+            protected void fetchNext() {
+                if (vfChildren.hasNext()) {
+                    final VirtualFile vf = vfChildren.next();
+                    next = vf.isFile() ? new FileEntry(workspace, vf) : new FolderEntry(workspace, vf);
+                } else {
+                    next = null;
+                }
+            }
+
+            @Override
+            public int size() {
+                return vfChildren.size();
+            }
+        };
+    }
+
     /**
      * Creates new file in this folder.
      *
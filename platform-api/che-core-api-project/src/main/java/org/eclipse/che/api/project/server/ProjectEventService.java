@@ -105,6 +105,11 @@ public final class ProjectEventService {
                                                           eventPath.substring(projectPath.length()), event.isFolder()));
                     }
                 }
+                if (eventType == VirtualFileEvent.ChangeType.IMPORTED && (eventPath + '/').startsWith(projectPath)) {
+                    // content of archive is imported to the project folder or to one of its sub-folders
+                    final String importPath = eventPath.length() < projectPath.length() ? "" : eventPath.substring(projectPath.length());
+                    listener.onEvent(new ProjectEvent(ProjectEvent.EventType.CREATED, workspace, project, importPath, true));
+                }
                 String eventOldPath = null;
                 // rename and move are treated as create and delete
                 if (eventType == VirtualFileEvent.ChangeType.MOVED) {
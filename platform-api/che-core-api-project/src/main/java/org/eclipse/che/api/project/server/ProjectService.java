@@ -11,15 +11,26 @@
 package org.eclipse.che.api.project.server;
 
 import com.google.common.base.Strings;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Striped;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.wordnik.swagger.annotations.Api;
 import com.wordnik.swagger.annotations.ApiOperation;
 import com.wordnik.swagger.annotations.ApiParam;
 import com.wordnik.swagger.annotations.ApiResponse;
 import com.wordnik.swagger.annotations.ApiResponses;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -30,6 +41,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
 import java.util.regex.Pattern;
 import static java.util.stream.Collectors.toMap;
 import javax.annotation.PreDestroy;
@@ -48,8 +60,10 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import org.apache.commons.fileupload.FileItem;
 import org.eclipse.che.api.core.BadRequestException;
@@ -62,7 +76,9 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.Description;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
+import org.eclipse.che.api.core.rest.annotations.PATCH;
 import org.eclipse.che.api.core.rest.annotations.Required;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.project.server.handlers.PostImportProjectHandler;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
@@ -70,12 +86,15 @@ import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
 import org.eclipse.che.api.project.server.type.AttributeValue;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
 import org.eclipse.che.api.project.shared.EnvironmentId;
+import org.eclipse.che.api.project.shared.dto.ChildrenQuery;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
+import org.eclipse.che.api.project.shared.dto.FolderChildren;
 import org.eclipse.che.api.project.shared.dto.GeneratorDescription;
 import org.eclipse.che.api.project.shared.dto.ImportProject;
 import org.eclipse.che.api.project.shared.dto.ImportResponse;
 import org.eclipse.che.api.project.shared.dto.ImportSourceDescriptor;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.project.shared.dto.ItemReferenceList;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
 import org.eclipse.che.api.project.shared.dto.NewProject;
 import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
@@ -86,15 +105,23 @@ import org.eclipse.che.api.project.shared.dto.ProjectUpdate;
 import org.eclipse.che.api.project.shared.dto.RunnerEnvironment;
 import org.eclipse.che.api.project.shared.dto.RunnerEnvironmentLeaf;
 import org.eclipse.che.api.project.shared.dto.RunnerEnvironmentTree;
+import org.eclipse.che.api.project.shared.dto.SearchResultItem;
+import org.eclipse.che.api.project.shared.dto.SearchResultPage;
+import org.eclipse.che.api.project.shared.dto.SearchSnippet;
 import org.eclipse.che.api.project.shared.dto.RunnerSource;
 import org.eclipse.che.api.project.shared.dto.RunnersDescriptor;
 import org.eclipse.che.api.project.shared.dto.Source;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
+import org.eclipse.che.api.project.shared.dto.TextChange;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.server.ContentStream;
+import org.eclipse.che.api.vfs.server.LazyIterator;
 import org.eclipse.che.api.vfs.server.VirtualFile;
+import org.eclipse.che.api.vfs.server.VirtualFileFilter;
 import org.eclipse.che.api.vfs.server.VirtualFileSystemImpl;
 import org.eclipse.che.api.vfs.server.search.QueryExpression;
+import org.eclipse.che.api.vfs.server.search.SearchHit;
+import org.eclipse.che.api.vfs.server.search.SearchHits;
 import org.eclipse.che.api.vfs.server.search.SearcherProvider;
 import org.eclipse.che.api.vfs.shared.dto.AccessControlEntry;
 import org.eclipse.che.api.vfs.shared.dto.Principal;
@@ -117,6 +144,13 @@ import org.slf4j.LoggerFactory;
 public class ProjectService extends Service {
     private static final Logger  LOG                   = LoggerFactory.getLogger(ProjectService.class);
     private static final Pattern RUNNER_NAME_VALIDATOR = Pattern.compile("[\\w-]+((:/)?[^/\\\\]+)?");
+    /** Newline delimited JSON, each line of response is separate JSON object. */
+    private static final String  APPLICATION_NDJSON    = "application/x-ndjson";
+    /** Max number of folders which may be listed with one batch request. */
+    private static final int     MAX_BATCH_FOLDERS     = 200;
+
+    /** Locks content of file while it is updated, so content can't be changed between checking of its ETag and applying of changes. */
+    private static final Striped<Lock> fileUpdateLocks = Striped.lazyWeakLock(1000);
 
     @Inject
     private ProjectManager              projectManager;
@@ -397,6 +431,7 @@ public class ProjectService extends Service {
         ProjectConfig newConfig = DtoConverter.fromDto2(update, projectManager.getProjectTypeRegistry());
         String newVisibility = update.getVisibility();
         Project project = projectManager.updateProject(workspace, path, newConfig, newVisibility);
+        eventService.publish(new ProjectUpdatedEvent(workspace, project.getPath()));
         return DtoConverter.toDescriptorDto2(project,
                                              getServiceContext().getServiceUriBuilder(),
                                              getServiceContext().getBaseUriBuilder(),
@@ -580,7 +615,7 @@ public class ProjectService extends Service {
     }
 
     @ApiOperation(value = "Update file",
-                  notes = "Update an existing file with new content")
+                  notes = "Update an existing file with new content. ETag of new content is sent in response header")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = ""),
             @ApiResponse(code = 403, message = "User not authorized to call this operation"),
@@ -597,19 +632,113 @@ public class ProjectService extends Service {
                                @HeaderParam("content-type") MediaType contentType,
                                InputStream content) throws NotFoundException, ForbiddenException, ServerException {
         final FileEntry file = asFile(workspace, path);
+        final MessageDigest digest = contentDigest();
+        content = new DigestInputStream(content, digest);
         // Have issue with client side. Always have Content-type header is set even if client doesn't set it.
         // In this case have Content-type is set with "text/plain; charset=UTF-8" which isn't acceptable.
         // Have agreement with client to send Content-type header with "application/unknown" value if client doesn't want to specify media
         // type of new file. In this case server takes care about resolving media type of file.
-        if (contentType == null || ("application".equals(contentType.getType()) && "unknown".equals(contentType.getSubtype()))) {
-            file.updateContent(content);
-        } else {
-            file.updateContent(content, contentType.getType() + '/' + contentType.getSubtype());
+        final Lock lock = fileUpdateLocks.get(workspace + file.getPath());
+        lock.lock();
+        try {
+            if (contentType == null || ("application".equals(contentType.getType()) && "unknown".equals(contentType.getSubtype()))) {
+                file.updateContent(content);
+            } else {
+                file.updateContent(content, contentType.getType() + '/' + contentType.getSubtype());
+            }
+        } finally {
+            lock.unlock();
         }
 
         eventService.publish(new ProjectItemModifiedEvent(ProjectItemModifiedEvent.EventType.UPDATED,
                                                           workspace, projectPath(file.getPath()), file.getPath(), false));
-        return Response.ok().build();
+        return Response.ok().tag(HashCode.fromBytes(digest.digest()).toString()).build();
+    }
+
+    @ApiOperation(value = "Apply changes to file",
+                  notes = "Apply list of text changes to content of file. Changes are applied one by one, offsets of each change are " +
+                          "relative to the content after previous changes. Content is changed only if its ETag matches the If-Match " +
+                          "header. ETag of new content is sent in response header")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = ""),
+            @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 409, message = "Content of file was modified or changes don't match it"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @PATCH
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Path("/file/{path:.*}")
+    public Response patchFile(@ApiParam(value = "Workspace ID", required = true)
+                              @PathParam("ws-id") String workspace,
+                              @ApiParam(value = "Full path to a file", required = true)
+                              @PathParam("path") String path,
+                              @ApiParam(value = "ETag of content which changes are made against", required = true)
+                              @HeaderParam(HttpHeaders.IF_MATCH) String contentTag,
+                              @ApiParam(value = "Expected length of content after changes")
+                              @QueryParam("length") Integer expectedLength,
+                              @ApiParam(value = "Changes to apply", required = true)
+                              List<TextChange> changes)
+            throws NotFoundException, ForbiddenException, ConflictException, ServerException {
+        final FileEntry file = asFile(workspace, path);
+        final byte[] updated;
+        final Lock lock = fileUpdateLocks.get(workspace + file.getPath());
+        lock.lock();
+        try {
+            final byte[] current;
+            try {
+                current = file.contentAsBytes();
+            } catch (IOException e) {
+                throw new ServerException(e.getMessage(), e);
+            }
+            if (contentTag == null || !contentTag(current).equals(entityTagValue(contentTag))) {
+                throw new ConflictException(String.format("Content of file '%s' was modified.", path));
+            }
+            final StringBuilder content = new StringBuilder(new String(current, StandardCharsets.UTF_8));
+            for (TextChange change : changes) {
+                final int offset = change.getOffset();
+                final int end = offset + change.getLength();
+                if (offset < 0 || change.getLength() < 0 || end > content.length()) {
+                    throw new ConflictException(String.format("Change [%d, %d) is out of content of file '%s'.", offset, end, path));
+                }
+                content.replace(offset, end, change.getText() == null ? "" : change.getText());
+            }
+            if (expectedLength != null && expectedLength != content.length()) {
+                throw new ConflictException(String.format("Changes don't match content of file '%s'.", path));
+            }
+            updated = content.toString().getBytes(StandardCharsets.UTF_8);
+            file.updateContent(updated);
+        } finally {
+            lock.unlock();
+        }
+
+        eventService.publish(new ProjectItemModifiedEvent(ProjectItemModifiedEvent.EventType.UPDATED,
+                                                          workspace, projectPath(file.getPath()), file.getPath(), false));
+        return Response.ok().tag(contentTag(updated)).build();
+    }
+
+    /** ETag of file content. */
+    private static String contentTag(byte[] content) {
+        return Hashing.md5().hashBytes(content).toString();
+    }
+
+    private static MessageDigest contentDigest() throws ServerException {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /** Gets value of entity tag from header, e.g. {@code abc} from {@code "abc"} or {@code W/"abc"}. */
+    private static String entityTagValue(String header) {
+        String value = header.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
     }
 
     @ApiOperation(value = "Delete a resource",
@@ -972,8 +1101,9 @@ public class ProjectService extends Service {
         if (contentItem == null) {
             throw new ServerException("Cannot find zip file for upload.");
         }
-        try (InputStream zip = contentItem.getInputStream()) {
-            baseProjectFolder.getVirtualFile().unzip(zip, true, stripNumber);
+        try (InputStream zip = contentItem.getInputStream();
+             LineConsumer output = new ProjectImportOutputWSLineConsumer(path, workspace, 300)) {
+            baseProjectFolder.getVirtualFile().unzip(zip, true, stripNumber, output);
         }
 
         final DtoFactory dtoFactory = DtoFactory.getInstance();
@@ -1184,10 +1314,15 @@ public class ProjectService extends Service {
     public List<ItemReference> getChildren(@ApiParam(value = "Workspace ID", required = true)
                                            @PathParam("ws-id") String workspace,
                                            @ApiParam(value = "Path to a project", required = true)
-                                           @PathParam("parent") String path)
-            throws NotFoundException, ForbiddenException, ServerException {
+                                           @PathParam("parent") String path,
+                                           @ApiParam(value = "Maximum items to return. If this parameter is dropped, there are no limits")
+                                           @DefaultValue("-1") @QueryParam("maxItems") int maxItems,
+                                           @ApiParam(value = "Cursor of the last item of previous page. If this parameter is dropped, " +
+                                                             "first page is returned")
+                                           @QueryParam("after") String after)
+            throws NotFoundException, ForbiddenException, ConflictException, ServerException {
         final FolderEntry folder = asFolder(workspace, path);
-        final List<VirtualFileEntry> children = folder.getChildren();
+        final List<VirtualFileEntry> children = folder.getChildren(after, maxItems);
         final ArrayList<ItemReference> result = new ArrayList<>(children.size());
         final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
         for (VirtualFileEntry child : children) {
@@ -1201,6 +1336,108 @@ public class ProjectService extends Service {
         return result;
     }
 
+    @ApiOperation(value = "Get project children items in compact form",
+                  notes = "Request children items for a project, such as files and folders. Items don't have links, link templates are " +
+                          "sent once for all items. Children may be requested page by page with maxItems and after query parameters",
+                  response = ItemReferenceList.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @GET
+    @Path("/children-compact/{parent:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public ItemReferenceList getChildrenCompact(@ApiParam(value = "Workspace ID", required = true)
+                                                @PathParam("ws-id") String workspace,
+                                                @ApiParam(value = "Path to a project", required = true)
+                                                @PathParam("parent") String path,
+                                                @ApiParam(value = "Maximum items to return. If this parameter is dropped, there are no limits")
+                                                @DefaultValue("-1") @QueryParam("maxItems") int maxItems,
+                                                @ApiParam(value = "Cursor of the last item of previous page, see nextCursor of response. " +
+                                                                  "If this parameter is dropped, first page is returned")
+                                                @QueryParam("after") String after)
+            throws NotFoundException, ForbiddenException, ConflictException, ServerException {
+        final FolderEntry folder = asFolder(workspace, path);
+        // One extra item tells whether there is next page.
+        final List<VirtualFileEntry> children = folder.getChildren(after, maxItems < 0 ? -1 : maxItems + 1);
+        final boolean hasMoreItems = maxItems >= 0 && children.size() > maxItems;
+        final List<VirtualFileEntry> page = hasMoreItems ? children.subList(0, maxItems) : children;
+        final ArrayList<ItemReference> items = new ArrayList<>(page.size());
+        for (VirtualFileEntry child : page) {
+            items.add(toItemReference(child, null));
+        }
+        return DtoFactory.getInstance().createDto(ItemReferenceList.class)
+                         .withItems(items)
+                         .withHasMoreItems(hasMoreItems)
+                         .withNextCursor(hasMoreItems ? FolderEntry.getChildCursor(page.get(page.size() - 1)) : null)
+                         .withLinkTemplates(DtoConverter.createLinkTemplates(workspace, getServiceContext().getServiceUriBuilder()));
+    }
+
+    @ApiOperation(value = "Get children items of many folders",
+                  notes = "Request children items of many folders with one call. If ETag of folder listing sent by client matches current " +
+                          "listing, children of this folder aren't sent. Folder which may not be listed gets error message instead of " +
+                          "children, whole request isn't failed",
+                  response = FolderChildren.class,
+                  responseContainer = "List")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 409, message = "Too many folders requested"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @POST
+    @Path("/children-batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<FolderChildren> getChildrenBatch(@ApiParam(value = "Workspace ID", required = true)
+                                                 @PathParam("ws-id") String workspace,
+                                                 @ApiParam(value = "Folders to list with ETags of listings which client already has",
+                                                           required = true)
+                                                 List<ChildrenQuery> queries) throws ConflictException, ServerException {
+        if (queries.size() > MAX_BATCH_FOLDERS) {
+            throw new ConflictException(String.format("Unable list more than %d folders with one request. ", MAX_BATCH_FOLDERS));
+        }
+        final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        final List<FolderChildren> result = new ArrayList<>(queries.size());
+        for (ChildrenQuery query : queries) {
+            final FolderChildren folderChildren = dtoFactory.createDto(FolderChildren.class).withPath(query.getPath());
+            final List<VirtualFileEntry> children;
+            try {
+                children = asFolder(workspace, query.getPath()).getChildren();
+            } catch (NotFoundException | ForbiddenException e) {
+                result.add(folderChildren.withError(e.getMessage()));
+                continue;
+            }
+            final String etag = listingEtag(children);
+            folderChildren.setEtag(etag);
+            if (etag.equals(query.getEtag())) {
+                folderChildren.setNotModified(true);
+            } else {
+                final List<ItemReference> items = new ArrayList<>(children.size());
+                for (VirtualFileEntry child : children) {
+                    items.add(toItemReference(child, uriBuilder));
+                }
+                folderChildren.setChildren(items);
+            }
+            result.add(folderChildren);
+        }
+        return result;
+    }
+
+    /** ETag of folder listing, it is changed when any child is added, removed, renamed or modified, or size of any file is changed. */
+    private static String listingEtag(List<VirtualFileEntry> children) throws ServerException {
+        final Hasher hasher = Hashing.md5().newHasher();
+        for (VirtualFileEntry child : children) {
+            hasher.putString(child.getName(), StandardCharsets.UTF_8)
+                  .putBoolean(child.isFile())
+                  .putLong(child.getModified());
+            if (child.isFile()) {
+                hasher.putLong(child.getVirtualFile().getLength());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
     @ApiOperation(value = "Get project tree",
                   notes = "Get project tree. Depth is specified in a query parameter",
                   response = TreeElement.class)
@@ -1219,11 +1456,19 @@ public class ProjectService extends Service {
                                @ApiParam(value = "Tree depth. This parameter can be dropped. If not specified ?depth=1 is used by default")
                                @DefaultValue("1") @QueryParam("depth") int depth,
                                @ApiParam(value = "include children files (in addition to children folders). This parameter can be dropped. If not specified ?includeFiles=false is used by default")
-    						   @DefaultValue("false") @QueryParam("includeFiles") boolean includeFiles)
+    						   @DefaultValue("false") @QueryParam("includeFiles") boolean includeFiles,
+                               @ApiParam(value = "Send nodes without links, link templates are added to the root element. This parameter can be dropped. If not specified ?compact=false is used by default")
+                               @DefaultValue("false") @QueryParam("compact") boolean compact)
             throws NotFoundException, ForbiddenException, ServerException {
         final FolderEntry folder = asFolder(workspace, path);
         final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
         final DtoFactory dtoFactory = DtoFactory.getInstance();
+        if (compact) {
+            return dtoFactory.createDto(TreeElement.class)
+                             .withNode(DtoConverter.toCompactItemReferenceDto(folder))
+                             .withChildren(getTree(folder, depth, includeFiles, null, dtoFactory))
+                             .withLinkTemplates(DtoConverter.createLinkTemplates(workspace, uriBuilder));
+        }
         return dtoFactory.createDto(TreeElement.class)
                          .withNode(DtoConverter.toItemReferenceDto(folder, uriBuilder.clone()))
                          .withChildren(getTree(folder, depth, includeFiles, uriBuilder, dtoFactory));
@@ -1261,6 +1506,7 @@ public class ProjectService extends Service {
         return item;
     }
 
+    /** Builds tree of items with links or compact tree if {@code uriBuilder} is {@code null}. */
     private List<TreeElement> getTree(FolderEntry folder, int depth, boolean includeFiles, UriBuilder uriBuilder, DtoFactory dtoFactory) throws ServerException {
         if (depth == 0) {
             return null;
@@ -1276,14 +1522,93 @@ public class ProjectService extends Service {
         final List<TreeElement> nodes = new ArrayList<>(children.size());
         for (VirtualFileEntry child : children) {
         	if (child.isFolder()) {
-        		nodes.add(dtoFactory.createDto(TreeElement.class).withNode(DtoConverter.toItemReferenceDto((FolderEntry)child, uriBuilder.clone())).withChildren(getTree((FolderEntry)child, depth - 1, includeFiles, uriBuilder, dtoFactory)));
+        		nodes.add(dtoFactory.createDto(TreeElement.class).withNode(toItemReference(child, uriBuilder)).withChildren(getTree((FolderEntry)child, depth - 1, includeFiles, uriBuilder, dtoFactory)));
         	} else { // child.isFile()
-        		nodes.add(dtoFactory.createDto(TreeElement.class).withNode(DtoConverter.toItemReferenceDto((FileEntry)child, uriBuilder.clone())));
+        		nodes.add(dtoFactory.createDto(TreeElement.class).withNode(toItemReference(child, uriBuilder)));
         	}
         }
         return nodes;
     }
 
+    @ApiOperation(value = "Get project tree as stream",
+                  notes = "Get project tree as newline delimited JSON. Each line is item of tree, items are written in depth-first order " +
+                          "while tree is traversed, the first item is the folder itself. Depth is specified in a query parameter. " +
+                          "In compact mode the first line contains link templates and items don't have links",
+                  response = ItemReference.class,
+                  responseContainer = "List")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @GET
+    @Path("/tree-stream/{parent:.*}")
+    @Produces(APPLICATION_NDJSON)
+    public Response getTreeStream(@ApiParam(value = "Workspace ID", required = true)
+                                  @PathParam("ws-id") String workspace,
+                                  @ApiParam(value = "Path to resource. Can be project or its folders", required = true)
+                                  @PathParam("parent") String path,
+                                  @ApiParam(value = "Tree depth. This parameter can be dropped. If not specified ?depth=1 is used by default")
+                                  @DefaultValue("1") @QueryParam("depth") int depth,
+                                  @ApiParam(value = "include children files (in addition to children folders). This parameter can be dropped. If not specified ?includeFiles=false is used by default")
+                                  @DefaultValue("false") @QueryParam("includeFiles") boolean includeFiles,
+                                  @ApiParam(value = "Send items without links, link templates are sent in the first line. This parameter can be dropped. If not specified ?compact=false is used by default")
+                                  @DefaultValue("false") @QueryParam("compact") boolean compact)
+            throws NotFoundException, ForbiddenException, ServerException {
+        final FolderEntry folder = asFolder(workspace, path);
+        final UriBuilder serviceUriBuilder = getServiceContext().getServiceUriBuilder();
+        final UriBuilder uriBuilder = compact ? null : serviceUriBuilder;
+        final ItemReferenceList header = compact ? DtoFactory.getInstance().createDto(ItemReferenceList.class)
+                                                             .withLinkTemplates(DtoConverter.createLinkTemplates(workspace, serviceUriBuilder))
+                                                 : null;
+        final StreamingOutput output = out -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                if (header != null) {
+                    writeLine(writer, DtoFactory.getInstance().toJson(header));
+                }
+                writeLine(writer, DtoFactory.getInstance().toJson(toItemReference(folder, uriBuilder)));
+                writeTree(writer, folder, depth, includeFiles, uriBuilder);
+            } catch (ServerException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            writer.flush();
+        };
+        return Response.ok(output, APPLICATION_NDJSON).build();
+    }
+
+    /** Writes tree to the writer while walking it, only iterators over children of folders on current path are kept in memory. */
+    private void writeTree(Writer writer, FolderEntry folder, int depth, boolean includeFiles, UriBuilder uriBuilder)
+            throws ServerException, IOException {
+        if (depth == 0) {
+            return;
+        }
+        final LazyIterator<VirtualFileEntry> children =
+                folder.iterateChildren(includeFiles ? FolderEntry.FILE_FOLDER_FILTER : FolderEntry.FOLDER_FILTER);
+        while (children.hasNext()) {
+            final VirtualFileEntry child = children.next();
+            writeLine(writer, DtoFactory.getInstance().toJson(toItemReference(child, uriBuilder)));
+            if (child.isFolder()) {
+                writeTree(writer, (FolderEntry)child, depth - 1, includeFiles, uriBuilder);
+            }
+        }
+    }
+
+    private static void writeLine(Writer writer, String json) throws IOException {
+        writer.write(json);
+        writer.write('\n');
+    }
+
+    /** Converts entry to item with links or to compact item if {@code uriBuilder} is {@code null}. */
+    private static ItemReference toItemReference(VirtualFileEntry entry, UriBuilder uriBuilder) throws ServerException {
+        if (entry.isFile()) {
+            return uriBuilder == null ? DtoConverter.toCompactItemReferenceDto((FileEntry)entry)
+                                      : DtoConverter.toItemReferenceDto((FileEntry)entry, uriBuilder.clone());
+        }
+        return uriBuilder == null ? DtoConverter.toCompactItemReferenceDto((FolderEntry)entry)
+                                  : DtoConverter.toItemReferenceDto((FolderEntry)entry, uriBuilder.clone());
+    }
+
     @ApiOperation(value = "Search for resources",
                   notes = "Search for resources applying a number of search filters as query parameters",
                   response = ItemReference.class,
@@ -1311,7 +1636,7 @@ public class ProjectService extends Service {
                                       @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
                                       @ApiParam(value = "Skip count")
                                       @QueryParam("skipCount") int skipCount)
-            throws NotFoundException, ForbiddenException, ConflictException, ServerException {
+            throws NotFoundException, ForbiddenException, ConflictException, BadRequestException, ServerException {
 
         // to search from workspace root path should end with "/" i.e /{ws}/search/?<query>
         final FolderEntry folder = path.isEmpty() ? projectManager.getProjectsRoot(workspace) : asFolder(workspace, path);
@@ -1320,34 +1645,24 @@ public class ProjectService extends Service {
             if (skipCount < 0) {
                 throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
             }
-            final QueryExpression expr = new QueryExpression()
-                    .setPath(path.startsWith("/") ? path : ('/' + path))
-                    .setName(name)
-                    .setMediaType(mediatype)
-                    .setText(text)
-                    .setMaxItems(maxItems);
-
-            final String[] result = searcherProvider.getSearcher(folder.getVirtualFile().getMountPoint(), true).search(expr);
+            final QueryExpression expr = createQueryExpression(path, name, mediatype, text).setMaxItems(maxItems)
+                                                                                           .setSkipCount(skipCount)
+                                                                                           .setSnippets(false);
+            final SearchHits result = searcherProvider.getSearcher(folder.getVirtualFile().getMountPoint(), true).searchHits(expr);
             if (skipCount > 0) {
-                if (skipCount > result.length) {
+                if (skipCount > result.getTotalHits()) {
                     throw new ConflictException(
                             String.format("'skipCount' parameter: %d is greater then total number of items in result: %d.",
-                                          skipCount, result.length));
+                                          skipCount, result.getTotalHits()));
                 }
             }
-            final int length = maxItems > 0 ? Math.min(result.length, maxItems) : result.length;
-            final List<ItemReference> items = new ArrayList<>(length);
+            final List<ItemReference> items = new ArrayList<>(result.getHits().size());
             final FolderEntry root = projectManager.getProjectsRoot(workspace);
             final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
-            for (int i = skipCount; i < length; i++) {
-                VirtualFileEntry child = null;
-                try {
-                    child = root.getChild(result[i]);
-                } catch (ForbiddenException ignored) {
-                    // Ignore item that user can't access
-                }
-                if (child != null && child.isFile()) {
-                    items.add(DtoConverter.toItemReferenceDto((FileEntry)child, uriBuilder.clone()));
+            for (SearchHit hit : result.getHits()) {
+                final FileEntry file = getFoundFile(root, hit.getPath());
+                if (file != null) {
+                    items.add(DtoConverter.toItemReferenceDto(file, uriBuilder.clone()));
                 }
             }
             return items;
@@ -1355,6 +1670,94 @@ public class ProjectService extends Service {
         return Collections.emptyList();
     }
 
+    @ApiOperation(value = "Search for resources page by page",
+                  notes = "Search for resources applying a number of search filters as query parameters. Only requested page of the best " +
+                          "matches is collected. Result contains relevance of found items, lines of files which match text query and " +
+                          "cursor of the next page",
+                  response = SearchResultPage.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 400, message = "Invalid cursor"),
+            @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 409, message = "Conflict error"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @GET
+    @Path("/search-page/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public SearchResultPage searchPage(@ApiParam(value = "Workspace ID", required = true)
+                                       @PathParam("ws-id") String workspace,
+                                       @ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                                       @PathParam("path") String path,
+                                       @ApiParam(value = "Resource name")
+                                       @QueryParam("name") String name,
+                                       @ApiParam(value = "Media type")
+                                       @QueryParam("mediatype") String mediatype,
+                                       @ApiParam(value = "Search keywords")
+                                       @QueryParam("text") String text,
+                                       @ApiParam(value = "Maximum items to display. If this parameter is dropped, 20 items are displayed")
+                                       @QueryParam("maxItems") @DefaultValue("20") int maxItems,
+                                       @ApiParam(value = "Skip count. Ignored if cursor is set")
+                                       @QueryParam("skipCount") int skipCount,
+                                       @ApiParam(value = "Cursor of the next page from previous response")
+                                       @QueryParam("after") String after)
+            throws NotFoundException, ForbiddenException, ConflictException, BadRequestException, ServerException {
+        final FolderEntry folder = path.isEmpty() ? projectManager.getProjectsRoot(workspace) : asFolder(workspace, path);
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        if (searcherProvider == null) {
+            return dtoFactory.createDto(SearchResultPage.class);
+        }
+        if (skipCount < 0) {
+            throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
+        }
+        final QueryExpression expr = createQueryExpression(path, name, mediatype, text).setMaxItems(maxItems)
+                                                                                       .setSkipCount(skipCount)
+                                                                                       .setAfter(after);
+        final SearchHits result = searcherProvider.getSearcher(folder.getVirtualFile().getMountPoint(), true).searchHits(expr);
+        final List<SearchResultItem> items = new ArrayList<>(result.getHits().size());
+        final FolderEntry root = projectManager.getProjectsRoot(workspace);
+        final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
+        for (SearchHit hit : result.getHits()) {
+            final FileEntry file = getFoundFile(root, hit.getPath());
+            if (file != null) {
+                final List<SearchSnippet> snippets = new ArrayList<>(hit.getSnippets().size());
+                for (SearchHit.Snippet snippet : hit.getSnippets()) {
+                    snippets.add(dtoFactory.createDto(SearchSnippet.class)
+                                           .withLineNumber(snippet.getLineNumber())
+                                           .withLine(snippet.getLine())
+                                           .withStart(snippet.getStart())
+                                           .withEnd(snippet.getEnd()));
+                }
+                items.add(dtoFactory.createDto(SearchResultItem.class)
+                                    .withItem(DtoConverter.toItemReferenceDto(file, uriBuilder.clone()))
+                                    .withScore(hit.getScore())
+                                    .withSnippets(snippets));
+            }
+        }
+        return dtoFactory.createDto(SearchResultPage.class)
+                         .withItems(items)
+                         .withTotalHits(result.getTotalHits())
+                         .withNextCursor(result.getNextCursor());
+    }
+
+    private QueryExpression createQueryExpression(String path, String name, String mediatype, String text) {
+        return new QueryExpression().setPath(path.startsWith("/") ? path : ('/' + path))
+                                    .setName(name)
+                                    .setMediaType(mediatype)
+                                    .setText(text);
+    }
+
+    /** Gets found file. Returns {@code null} if file doesn't exist any more or user can't access it. */
+    private FileEntry getFoundFile(FolderEntry root, String path) throws ServerException {
+        VirtualFileEntry child = null;
+        try {
+            child = root.getChild(path);
+        } catch (ForbiddenException ignored) {
+            // Ignore item that user can't access
+        }
+        return child != null && child.isFile() ? (FileEntry)child : null;
+    }
+
     @ApiOperation(value = "Get user permissions in a project",
                   notes = "Get permissions for a user in a specified project, such as read, write, build, " +
                           "run etc. ID of a user is set in a query parameter of a request URL. Roles allowed: workspace/admin",
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Publish when configuration of project is updated, e.g. its type, attributes or runners.
+ */
+@EventOrigin("project")
+public class ProjectUpdatedEvent {
+    private final String workspaceId;
+    private final String projectPath;
+
+    public ProjectUpdatedEvent(String workspaceId, String projectPath) {
+        this.workspaceId = workspaceId;
+        this.projectPath = projectPath;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public String getProjectPath() {
+        return projectPath;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectUpdatedEvent{" +
+               "workspaceId='" + workspaceId + '\'' +
+               ", projectPath='" + projectPath + '\'' +
+               '}';
+    }
+}
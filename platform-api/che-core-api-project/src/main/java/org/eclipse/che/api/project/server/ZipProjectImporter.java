@@ -13,6 +13,7 @@ package org.eclipse.che.api.project.server;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 
 import javax.inject.Singleton;
@@ -71,12 +72,13 @@ public class ZipProjectImporter implements ProjectImporter {
             throw new IOException(String.format("Can't find %s", location));
         }
 
-        try (InputStream zip = url.openStream()) {
+        try (InputStream zip = url.openStream();
+             LineConsumer output = importOutputConsumerFactory.newLineConsumer()) {
             int stripNumber = 0;
             if (parameters != null && parameters.containsKey("skipFirstLevel")) {
                 stripNumber = Boolean.parseBoolean(parameters.get("skipFirstLevel")) ? 1 : 0;
             }
-            baseFolder.getVirtualFile().unzip(zip, true, stripNumber);
+            baseFolder.getVirtualFile().unzip(zip, true, stripNumber, output);
         }
     }
 
@@ -22,6 +22,11 @@ public class Constants {
     public static final String VCS_PROVIDER_NAME         = "vcs.provider.name";
     public static final String ZIP_IMPORTER_ID           = "zip";
 
+    // ids of link sets and placeholder of item path in link templates, see ItemReferenceList
+    public static final String LINK_SET_FILE      = "file";
+    public static final String LINK_SET_FOLDER    = "folder";
+    public static final String LINK_TEMPLATE_PATH = "{path}";
+
     private Constants() {
     }
 }
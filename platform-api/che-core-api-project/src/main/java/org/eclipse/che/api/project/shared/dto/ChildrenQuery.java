@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Request for children of single folder in batch listing.
+ *
+ * @see FolderChildren
+ */
+@DTO
+public interface ChildrenQuery {
+    /** Path of folder. */
+    String getPath();
+
+    void setPath(String path);
+
+    ChildrenQuery withPath(String path);
+
+    /** ETag of listing which client already has, children aren't sent back if listing isn't changed. May be {@code null}. */
+    String getEtag();
+
+    void setEtag(String etag);
+
+    ChildrenQuery withEtag(String etag);
+}
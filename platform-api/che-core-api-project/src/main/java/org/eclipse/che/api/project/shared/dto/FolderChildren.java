@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Children of single folder in batch listing.
+ *
+ * @see ChildrenQuery
+ */
+@DTO
+public interface FolderChildren {
+    /** Path of folder. */
+    String getPath();
+
+    void setPath(String path);
+
+    FolderChildren withPath(String path);
+
+    /** ETag of current listing of folder. */
+    String getEtag();
+
+    void setEtag(String etag);
+
+    FolderChildren withEtag(String etag);
+
+    /** Returns {@code true} if listing matches ETag sent by client. In this case list of children is empty. */
+    boolean isNotModified();
+
+    void setNotModified(boolean notModified);
+
+    FolderChildren withNotModified(boolean notModified);
+
+    List<ItemReference> getChildren();
+
+    void setChildren(List<ItemReference> children);
+
+    FolderChildren withChildren(List<ItemReference> children);
+
+    /** Error message if children of folder may not be got, e.g. folder doesn't exist anymore, or {@code null}. */
+    String getError();
+
+    void setError(String error);
+
+    FolderChildren withError(String error);
+}
@@ -89,4 +89,15 @@ public interface ItemReference extends Hyperlinks {
 
     ItemReference withContentLength(long length);
 
+    /**
+     * Id of set of link templates which should be used for this item, e.g. "file" or "folder". Set only for items which are sent without
+     * links in compact listings.
+     *
+     * @see ItemReferenceList#getLinkTemplates()
+     */
+    String getLinkSet();
+
+    void setLinkSet(String linkSet);
+
+    ItemReference withLinkSet(String linkSet);
 }
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact listing of items. Items don't have own links, instead each item refers to one of link templates by
+ * {@link ItemReference#getLinkSet()}. Links of item are got by replacing placeholder {@code {path}} in href of templates with path of item
+ * without leading '/'. Template of link for getting content of file doesn't have 'produces', media type of file should be used.
+ */
+@DTO
+public interface ItemReferenceList {
+    List<ItemReference> getItems();
+
+    void setItems(List<ItemReference> items);
+
+    ItemReferenceList withItems(List<ItemReference> items);
+
+    /** Link templates mapped to id of link set, e.g. "file" or "folder". */
+    Map<String, List<Link>> getLinkTemplates();
+
+    void setLinkTemplates(Map<String, List<Link>> linkTemplates);
+
+    ItemReferenceList withLinkTemplates(Map<String, List<Link>> linkTemplates);
+
+    /** Returns {@code true} if there are more items which aren't included in this list because of paging. */
+    boolean isHasMoreItems();
+
+    void setHasMoreItems(boolean hasMoreItems);
+
+    ItemReferenceList withHasMoreItems(boolean hasMoreItems);
+
+    /** Cursor of the last item of this list which should be sent to get next page, {@code null} if there are no more items. */
+    String getNextCursor();
+
+    void setNextCursor(String nextCursor);
+
+    ItemReferenceList withNextCursor(String nextCursor);
+}
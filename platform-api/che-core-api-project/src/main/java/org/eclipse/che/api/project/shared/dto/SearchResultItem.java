@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Item found by search together with its relevance and snippets.
+ */
+@DTO
+public interface SearchResultItem {
+    ItemReference getItem();
+
+    void setItem(ItemReference item);
+
+    SearchResultItem withItem(ItemReference item);
+
+    /** Relevance of item, greater value means better match. */
+    float getScore();
+
+    void setScore(float score);
+
+    SearchResultItem withScore(float score);
+
+    /** Lines of file which contain words from text query. */
+    List<SearchSnippet> getSnippets();
+
+    void setSnippets(List<SearchSnippet> snippets);
+
+    SearchResultItem withSnippets(List<SearchSnippet> snippets);
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Page of search results.
+ */
+@DTO
+public interface SearchResultPage {
+    /** Found items, the best matches go first. */
+    List<SearchResultItem> getItems();
+
+    void setItems(List<SearchResultItem> items);
+
+    SearchResultPage withItems(List<SearchResultItem> items);
+
+    /** Total number of items which match query. */
+    int getTotalHits();
+
+    void setTotalHits(int totalHits);
+
+    SearchResultPage withTotalHits(int totalHits);
+
+    /** Cursor for getting next page, {@code null} if there is no more items. */
+    String getNextCursor();
+
+    void setNextCursor(String nextCursor);
+
+    SearchResultPage withNextCursor(String nextCursor);
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Line of found file which contains word from search query.
+ */
+@DTO
+public interface SearchSnippet {
+    /** Number of line, starting from 1. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchSnippet withLineNumber(int lineNumber);
+
+    /** Text of line, long lines are truncated around highlighted word. */
+    String getLine();
+
+    void setLine(String line);
+
+    SearchSnippet withLine(String line);
+
+    /** Start offset of highlighted word in line. */
+    int getStart();
+
+    void setStart(int start);
+
+    SearchSnippet withStart(int start);
+
+    /** End offset (exclusive) of highlighted word in line. */
+    int getEnd();
+
+    void setEnd(int end);
+
+    SearchSnippet withEnd(int end);
+}
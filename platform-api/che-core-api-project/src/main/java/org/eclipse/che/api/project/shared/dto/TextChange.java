@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Change of text file content: {@code length} characters starting from {@code offset} are replaced with {@code text}. Offsets of the
+ * change are relative to the content after all previous changes of the same request are applied.
+ */
+@DTO
+public interface TextChange {
+    /** Offset of the first replaced character. */
+    int getOffset();
+
+    void setOffset(int offset);
+
+    TextChange withOffset(int offset);
+
+    /** Number of replaced characters, {@code 0} for insertion. */
+    int getLength();
+
+    void setLength(int length);
+
+    TextChange withLength(int length);
+
+    /** Inserted text, may be {@code null} or empty for removal. */
+    String getText();
+
+    void setText(String text);
+
+    TextChange withText(String text);
+}
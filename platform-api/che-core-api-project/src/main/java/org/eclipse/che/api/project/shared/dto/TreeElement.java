@@ -10,9 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.shared.dto;
 
+import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.dto.shared.DTO;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author andrew00x
@@ -30,4 +32,15 @@ public interface TreeElement {
     void setChildren(List<TreeElement> children);
 
     TreeElement withChildren(List<TreeElement> children);
+
+    /**
+     * Link templates for nodes of compact tree. Set only for root element of compact tree, nodes of such tree don't have links.
+     *
+     * @see ItemReferenceList#getLinkTemplates()
+     */
+    Map<String, List<Link>> getLinkTemplates();
+
+    void setLinkTemplates(Map<String, List<Link>> linkTemplates);
+
+    TreeElement withLinkTemplates(Map<String, List<Link>> linkTemplates);
 }
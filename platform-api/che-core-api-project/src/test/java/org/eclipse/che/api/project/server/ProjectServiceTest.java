@@ -11,6 +11,7 @@
 package org.eclipse.che.api.project.server;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -32,12 +33,15 @@ import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
 import org.eclipse.che.api.project.server.type.AttributeValue;
 import org.eclipse.che.api.project.server.type.ProjectType;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.shared.dto.ChildrenQuery;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
+import org.eclipse.che.api.project.shared.dto.FolderChildren;
 import org.eclipse.che.api.project.shared.dto.GeneratorDescription;
 import org.eclipse.che.api.project.shared.dto.ImportProject;
 import org.eclipse.che.api.project.shared.dto.ImportResponse;
 import org.eclipse.che.api.project.shared.dto.ImportSourceDescriptor;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.project.shared.dto.ItemReferenceList;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
 import org.eclipse.che.api.project.shared.dto.NewProject;
 import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
@@ -47,8 +51,12 @@ import org.eclipse.che.api.project.shared.dto.RunnerConfiguration;
 import org.eclipse.che.api.project.shared.dto.RunnerEnvironmentLeaf;
 import org.eclipse.che.api.project.shared.dto.RunnerEnvironmentTree;
 import org.eclipse.che.api.project.shared.dto.RunnersDescriptor;
+import org.eclipse.che.api.project.shared.dto.SearchResultItem;
+import org.eclipse.che.api.project.shared.dto.SearchResultPage;
+import org.eclipse.che.api.project.shared.dto.SearchSnippet;
 import org.eclipse.che.api.project.shared.dto.Source;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
+import org.eclipse.che.api.project.shared.dto.TextChange;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.user.server.dao.UserDao;
 import org.eclipse.che.api.vfs.server.ContentStream;
@@ -98,6 +106,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -117,6 +127,7 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -1051,6 +1062,62 @@ public class ProjectServiceTest {
         FileEntry _file = (FileEntry)file;
         assertEquals(_file.getMediaType(), "text/xml");
         assertEquals(new String(_file.contentAsBytes()), myContent);
+        assertEquals(response.getHttpHeaders().getFirst(HttpHeaders.ETAG).toString(), "\"" + md5(myContent) + "\"");
+    }
+
+    @Test
+    public void testPatchFile() throws Exception {
+        String content = "to be or not to be";
+        pm.getProject(workspace, "my_project").getBaseFolder().createFile("test", content.getBytes(), MediaType.TEXT_PLAIN);
+        // "to be or not to be" -> "to see or not to be" -> "to see, or not to be!"
+        ContainerResponse response = patchFile("\"" + md5(content) + "\"", 21,
+                                               DtoFactory.getInstance().createDto(TextChange.class).withOffset(3).withLength(1).withText("s"),
+                                               DtoFactory.getInstance().createDto(TextChange.class).withOffset(4).withText("e"),
+                                               DtoFactory.getInstance().createDto(TextChange.class).withOffset(6).withText(","),
+                                               DtoFactory.getInstance().createDto(TextChange.class).withOffset(20).withText("!"));
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        String expected = "to see, or not to be!";
+        FileEntry file = (FileEntry)pm.getProject(workspace, "my_project").getBaseFolder().getChild("test");
+        assertEquals(new String(file.contentAsBytes()), expected);
+        assertEquals(response.getHttpHeaders().getFirst(HttpHeaders.ETAG).toString(), "\"" + md5(expected) + "\"");
+    }
+
+    @Test
+    public void testPatchFileConflict() throws Exception {
+        String content = "to be or not to be";
+        pm.getProject(workspace, "my_project").getBaseFolder().createFile("test", content.getBytes(), MediaType.TEXT_PLAIN);
+        TextChange change = DtoFactory.getInstance().createDto(TextChange.class).withOffset(0).withLength(2).withText("To");
+        // content was modified
+        assertEquals(patchFile("\"" + md5("to be") + "\"", null, change).getStatus(), 409);
+        // change is out of content
+        assertEquals(patchFile("\"" + md5(content) + "\"", null, change.withOffset(17)).getStatus(), 409);
+        // unexpected length of result
+        assertEquals(patchFile("\"" + md5(content) + "\"", 19, change.withOffset(0)).getStatus(), 409);
+        FileEntry file = (FileEntry)pm.getProject(workspace, "my_project").getBaseFolder().getChild("test");
+        assertEquals(new String(file.contentAsBytes()), content);
+    }
+
+    private ContainerResponse patchFile(String contentTag, Integer length, TextChange... changes) throws Exception {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.CONTENT_TYPE, Arrays.asList(MediaType.APPLICATION_JSON));
+        headers.put(HttpHeaders.IF_MATCH, Arrays.asList(contentTag));
+        StringBuilder json = new StringBuilder("[");
+        for (TextChange change : changes) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(DtoFactory.getInstance().toJson(change));
+        }
+        json.append(']');
+        String url = String.format("http://localhost:8080/api/project/%s/file/my_project/test", workspace);
+        if (length != null) {
+            url += "?length=" + length;
+        }
+        return launcher.service("PATCH", url, "http://localhost:8080/api", headers, json.toString().getBytes(), null);
+    }
+
+    private static String md5(String content) {
+        return Hashing.md5().hashString(content, StandardCharsets.UTF_8).toString();
     }
 
     @Test
@@ -2278,6 +2345,262 @@ public class ProjectServiceTest {
         Assert.assertTrue(names.contains("test.txt"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetChildrenCompact() throws Exception {
+        Project myProject = pm.getProject(workspace, "my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("b");
+        a.createFile("test.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        ContainerResponse response = launcher.service(HttpMethod.GET,
+                                                      String.format("http://localhost:8080/api/project/%s/children/my_project/a",
+                                                                    workspace),
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        Map<String, ItemReference> expected = new HashMap<>(2);
+        for (ItemReference itemReference : (List<ItemReference>)response.getEntity()) {
+            expected.put(itemReference.getPath(), itemReference);
+        }
+
+        response = launcher.service(HttpMethod.GET,
+                                    String.format("http://localhost:8080/api/project/%s/children-compact/my_project/a", workspace),
+                                    "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        ItemReferenceList result = (ItemReferenceList)response.getEntity();
+        assertEquals(result.getItems().size(), 2);
+        assertEquals(result.getLinkTemplates().keySet(), new HashSet<>(Arrays.asList("file", "folder")));
+        for (ItemReference item : result.getItems()) {
+            assertTrue(item.getLinks().isEmpty());
+            ItemReference full = expected.get(item.getPath());
+            assertNotNull(full);
+            assertEquals(item.getLinkSet(), "folder".equals(full.getType()) ? "folder" : "file");
+            List<Link> templates = result.getLinkTemplates().get(item.getLinkSet());
+            assertEquals(templates.size(), full.getLinks().size());
+            for (int i = 0; i < templates.size(); i++) {
+                Link template = templates.get(i);
+                Link link = full.getLinks().get(i);
+                assertEquals(template.getRel(), link.getRel());
+                assertEquals(template.getHref().replace("{path}", item.getPath().substring(1)), link.getHref());
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCompactListingOfLargeFolderIsSmaller() throws Exception {
+        Project myProject = pm.getProject(workspace, "my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        for (int i = 0; i < 2000; i++) {
+            a.createFile("file" + i + ".txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        }
+        ContainerResponse response = launcher.service(HttpMethod.GET,
+                                                      String.format("http://localhost:8080/api/project/%s/children/my_project/a",
+                                                                    workspace),
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        int fullSize = DtoFactory.getInstance().toJson((List<ItemReference>)response.getEntity()).length();
+
+        response = launcher.service(HttpMethod.GET,
+                                    String.format("http://localhost:8080/api/project/%s/children-compact/my_project/a", workspace),
+                                    "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        ItemReferenceList compact = (ItemReferenceList)response.getEntity();
+        assertEquals(compact.getItems().size(), 2000);
+        int compactSize = DtoFactory.getInstance().toJson(compact).length();
+        Assert.assertTrue(compactSize * 2 < fullSize, String.format("compact: %d, full: %d", compactSize, fullSize));
+    }
+
+    @Test
+    public void testGetCompactTree() throws Exception {
+        Project myProject = pm.getProject(workspace, "my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("b").createFile("test.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        ContainerResponse response = launcher.service(HttpMethod.GET,
+                                                      String.format("http://localhost:8080/api/project/%s/tree/my_project/a?depth=2&includeFiles=true&compact=true",
+                                                                    workspace),
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        TreeElement tree = (TreeElement)response.getEntity();
+        assertNotNull(tree.getLinkTemplates());
+        assertEquals(tree.getNode().getLinkSet(), "folder");
+        assertTrue(tree.getNode().getLinks().isEmpty());
+        TreeElement b = tree.getChildren().get(0);
+        assertEquals(b.getNode().getLinkSet(), "folder");
+        assertTrue(b.getLinkTemplates().isEmpty());
+        ItemReference file = b.getChildren().get(0).getNode();
+        assertEquals(file.getName(), "test.txt");
+        assertEquals(file.getLinkSet(), "file");
+        assertTrue(file.getLinks().isEmpty());
+    }
+
+    @Test
+    public void testGetChildrenBatch() throws Exception {
+        Project myProject = pm.getProject(workspace, "my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFile("a.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        FolderEntry b = myProject.getBaseFolder().createFolder("b");
+        b.createFile("b1.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        b.createFile("b2.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+
+        List<FolderChildren> listings = getChildrenBatch(DtoFactory.getInstance().createDto(ChildrenQuery.class)
+                                                                   .withPath("my_project/a"),
+                                                         DtoFactory.getInstance().createDto(ChildrenQuery.class)
+                                                                   .withPath("my_project/b"),
+                                                         DtoFactory.getInstance().createDto(ChildrenQuery.class)
+                                                                   .withPath("my_project/c"));
+        assertEquals(listings.size(), 3);
+        FolderChildren listingA = listings.get(0);
+        assertEquals(listingA.getPath(), "my_project/a");
+        assertFalse(listingA.isNotModified());
+        assertNotNull(listingA.getEtag());
+        assertEquals(listingA.getChildren().size(), 1);
+        assertEquals(listingA.getChildren().get(0).getName(), "a.txt");
+        assertNotNull(listingA.getChildren().get(0).getLink("get content"));
+        FolderChildren listingB = listings.get(1);
+        assertEquals(listingB.getChildren().size(), 2);
+        assertNotNull(listings.get(2).getError());
+
+        b.createFile("b3.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        listings = getChildrenBatch(DtoFactory.getInstance().createDto(ChildrenQuery.class)
+                                              .withPath("my_project/a").withEtag(listingA.getEtag()),
+                                    DtoFactory.getInstance().createDto(ChildrenQuery.class)
+                                              .withPath("my_project/b").withEtag(listingB.getEtag()));
+        assertTrue(listings.get(0).isNotModified());
+        assertEquals(listings.get(0).getEtag(), listingA.getEtag());
+        assertTrue(listings.get(0).getChildren().isEmpty());
+        assertFalse(listings.get(1).isNotModified());
+        assertFalse(listings.get(1).getEtag().equals(listingB.getEtag()));
+        assertEquals(listings.get(1).getChildren().size(), 3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FolderChildren> getChildrenBatch(ChildrenQuery... queries) throws Exception {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.CONTENT_TYPE, Arrays.asList(MediaType.APPLICATION_JSON));
+        StringBuilder json = new StringBuilder("[");
+        for (ChildrenQuery query : queries) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(DtoFactory.getInstance().toJson(query));
+        }
+        json.append(']');
+        ContainerResponse response = launcher.service(HttpMethod.POST,
+                                                      String.format("http://localhost:8080/api/project/%s/children-batch", workspace),
+                                                      "http://localhost:8080/api", headers, json.toString().getBytes(), null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        return (List<FolderChildren>)response.getEntity();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetChildrenWithPaging() throws Exception {
+        Project myProject = pm.getProject(workspace, "my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("sub");
+        for (int i = 0; i < 5; i++) {
+            a.createFile("file" + i + ".txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        }
+        List<String> names = new ArrayList<>();
+        String after = null;
+        List<ItemReference> page;
+        do {
+            ContainerResponse response = launcher.service(HttpMethod.GET,
+                                                          String.format("http://localhost:8080/api/project/%s/children/my_project/a?maxItems=2%s",
+                                                                        workspace, after == null ? "" : "&after=" + after),
+                                                          "http://localhost:8080/api", null, null, null);
+            assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+            page = (List<ItemReference>)response.getEntity();
+            for (ItemReference itemReference : page) {
+                names.add(itemReference.getName());
+            }
+            if (!page.isEmpty()) {
+                ItemReference last = page.get(page.size() - 1);
+                after = ("file".equals(last.getType()) ? "file:" : "folder:") + last.getName();
+            }
+            if (names.size() == 3) {
+                // Item which is removed between pages doesn't shift next pages.
+                a.getChild("file1.txt").remove();
+            }
+        } while (!page.isEmpty());
+        assertEquals(names, Arrays.asList("sub", "file0.txt", "file2.txt", "file3.txt", "file4.txt"));
+
+        ContainerResponse response = launcher.service(HttpMethod.GET,
+                                                      String.format("http://localhost:8080/api/project/%s/children-compact/my_project/a?maxItems=3",
+                                                                    workspace),
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        ItemReferenceList compact = (ItemReferenceList)response.getEntity();
+        assertEquals(compact.getItems().size(), 3);
+        assertTrue(compact.isHasMoreItems());
+        assertEquals(compact.getNextCursor(), "file:file2.txt");
+
+        // Cursor stays valid when item it points to is removed.
+        a.getChild("file2.txt").remove();
+        response = launcher.service(HttpMethod.GET,
+                                    String.format("http://localhost:8080/api/project/%s/children-compact/my_project/a?maxItems=3&after=%s",
+                                                  workspace, compact.getNextCursor()),
+                                    "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        compact = (ItemReferenceList)response.getEntity();
+        assertEquals(compact.getItems().size(), 2);
+        assertEquals(compact.getItems().get(0).getName(), "file3.txt");
+        assertEquals(compact.getItems().get(1).getName(), "file4.txt");
+        assertFalse(compact.isHasMoreItems());
+        assertNull(compact.getNextCursor());
+
+        response = launcher.service(HttpMethod.GET,
+                                    String.format("http://localhost:8080/api/project/%s/children/my_project/a?after=file2.txt", workspace),
+                                    "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 409);
+    }
+
+    @Test
+    public void testGetTreeStream() throws Exception {
+        Project myProject = pm.getProject(workspace, "my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        FolderEntry b = a.createFolder("b");
+        b.createFolder("c").createFile("deep.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        b.createFile("test.txt", "test".getBytes(), MediaType.TEXT_PLAIN);
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(HttpMethod.GET,
+                                                      String.format("http://localhost:8080/api/project/%s/tree-stream/my_project/a?depth=2&includeFiles=true",
+                                                                    workspace),
+                                                      "http://localhost:8080/api", null, null, writer, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        assertEquals(response.getContentType().toString(), "application/x-ndjson");
+        String[] lines = new String(writer.getBody()).split("\n");
+        List<String> paths = new ArrayList<>(lines.length);
+        for (String line : lines) {
+            ItemReference item = DtoFactory.getInstance().createDtoFromJson(line, ItemReference.class);
+            assertFalse(item.getLinks().isEmpty());
+            paths.add(item.getPath());
+        }
+        // depth-first order, parent always goes before its children
+        assertEquals(paths.get(0), "/my_project/a");
+        assertEquals(paths.get(1), "/my_project/a/b");
+        assertEquals(new HashSet<>(paths.subList(2, paths.size())),
+                     new HashSet<>(Arrays.asList("/my_project/a/b/c", "/my_project/a/b/test.txt")));
+
+        writer = new ByteArrayContainerResponseWriter();
+        response = launcher.service(HttpMethod.GET,
+                                    String.format("http://localhost:8080/api/project/%s/tree-stream/my_project/a?depth=-1&compact=true",
+                                                  workspace),
+                                    "http://localhost:8080/api", null, null, writer, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        lines = new String(writer.getBody()).split("\n");
+        ItemReferenceList header = DtoFactory.getInstance().createDtoFromJson(lines[0], ItemReferenceList.class);
+        assertFalse(header.getLinkTemplates().isEmpty());
+        paths = new ArrayList<>(lines.length);
+        for (int i = 1; i < lines.length; i++) {
+            ItemReference item = DtoFactory.getInstance().createDtoFromJson(lines[i], ItemReference.class);
+            assertTrue(item.getLinks().isEmpty());
+            assertEquals(item.getLinkSet(), "folder");
+            paths.add(item.getPath());
+        }
+        assertEquals(paths, Arrays.asList("/my_project/a", "/my_project/a/b", "/my_project/a/b/c"));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testGetItem() throws Exception {
@@ -2599,6 +2922,45 @@ public class ProjectServiceTest {
         Assert.assertTrue(paths.contains("/my_project/c/_test"));
     }
 
+    @Test
+    public void testSearchPage() throws Exception {
+        Project myProject = pm.getProject(workspace, "my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(a.createFile("test" + i + ".txt", "first line\nfoo searchhit bar\n".getBytes(), MediaType.TEXT_PLAIN).getPath());
+        }
+        a.createFile("other.txt", "hello".getBytes(), MediaType.TEXT_PLAIN);
+
+        Set<String> paths = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String url = String.format("http://localhost:8080/api/project/%s/search-page/my_project?text=searchhit&maxItems=2", workspace);
+            if (cursor != null) {
+                url += "&after=" + cursor;
+            }
+            ContainerResponse response = launcher.service(HttpMethod.GET, url, "http://localhost:8080/api", null, null, null);
+            assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+            SearchResultPage page = (SearchResultPage)response.getEntity();
+            assertEquals(page.getTotalHits(), 5);
+            assertTrue(page.getItems().size() <= 2);
+            for (SearchResultItem item : page.getItems()) {
+                assertTrue(paths.add(item.getItem().getPath()));
+                assertTrue(item.getScore() > 0);
+                assertEquals(item.getSnippets().size(), 1);
+                SearchSnippet snippet = item.getSnippets().get(0);
+                assertEquals(snippet.getLineNumber(), 2);
+                assertEquals(snippet.getLine(), "foo searchhit bar");
+                assertEquals(snippet.getLine().substring(snippet.getStart(), snippet.getEnd()), "searchhit");
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(pages, 3);
+        assertEquals(paths, expected);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchByMediaType() throws Exception {
@@ -16,6 +16,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.builder.BuildStatus;
 import org.eclipse.che.api.builder.BuilderService;
+import org.eclipse.che.api.builder.DescriptorCache;
 import org.eclipse.che.api.builder.dto.BuildOptions;
 import org.eclipse.che.api.builder.dto.BuildTaskDescriptor;
 import org.eclipse.che.api.core.ConflictException;
@@ -29,6 +30,9 @@ import org.eclipse.che.api.core.rest.HttpJsonHelper;
 import org.eclipse.che.api.core.rest.RemoteServiceDescriptor;
 import org.eclipse.che.api.core.rest.ServiceContext;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.Cancellable;
+import org.eclipse.che.api.core.util.PollingTask;
+import org.eclipse.che.api.core.util.QueueMetrics;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.project.server.ProjectService;
 import org.eclipse.che.api.project.shared.EnvironmentId;
@@ -84,14 +88,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -117,6 +120,9 @@ public class RunQueue {
 
     private static final int DEFAULT_MAX_MEMORY_SIZE = 1000;
 
+    /** Time in seconds for keeping workspace and project descriptors in {@link DescriptorCache}. */
+    private static final long DESCRIPTOR_CACHE_TIME = 10;
+
     private static final int APPLICATION_CHECK_URL_TIMEOUT = 2000;
     private static final int APPLICATION_CHECK_URL_COUNT   = 30;
 
@@ -135,8 +141,11 @@ public class RunQueue {
     // Helps to reduce lock contentions when check available resources.
     private final Lock[]                                          resourceCheckerLocks;
     private final int                                             resourceCheckerMask;
+    private final DescriptorCache                                 descriptorCache;
+    private final QueueMetrics                                    metrics;
 
     private ExecutorService          executor;
+    private ThreadPoolExecutor       dispatcher;
     private ScheduledExecutorService cleanScheduler;
 
     /** Optional pre-configured slave runners. */
@@ -158,6 +167,11 @@ public class RunQueue {
     @Named(Constants.RUNNER_WS_MAX_MEMORY_SIZE)
     private int defMaxMemorySize = DEFAULT_MAX_MEMORY_SIZE;
 
+    /** Optional number of threads which dispatch requests to the slave runners. */
+    @com.google.inject.Inject(optional = true)
+    @Named(Constants.QUEUE_DISPATCHER_POOL_SIZE)
+    private int dispatcherPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+
     // Switched to default for test.
     // private
     long cleanerPeriod              = PROCESS_CLEANER_PERIOD;
@@ -194,6 +208,8 @@ public class RunQueue {
         runnerServers = new ConcurrentHashMap<>();
         tasks = new ConcurrentHashMap<>();
         runnerListMapping = new ConcurrentHashMap<>();
+        descriptorCache = new DescriptorCache(DESCRIPTOR_CACHE_TIME, TimeUnit.SECONDS);
+        metrics = new QueueMetrics();
         started = new AtomicBoolean(false);
         final int partitions = 1 << 4;
         resourceCheckerMask = partitions - 1;
@@ -216,59 +232,35 @@ public class RunQueue {
         return new ArrayList<>(tasks.values());
     }
 
+    /** Gets number of tasks which are waiting for build or free runner. */
+    public int getWaitingNum() {
+        int count = 0;
+        for (RunQueueTask task : tasks.values()) {
+            if (task.isWaiting()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Gets waiting and dispatch times of requests which were sent to the slave runners. */
+    public QueueMetrics getMetrics() {
+        return metrics;
+    }
+
     @PostConstruct
     public void start() {
         if (started.compareAndSet(false, true)) {
             executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
-                                              new ThreadFactoryBuilder().setNameFormat("RunQueue-[%d]").setDaemon(true).build()) {
-                @Override
-                protected void afterExecute(Runnable runnable, Throwable error) {
-                    boolean isInterrupted = Thread.interrupted();
-                    try {
-                        super.afterExecute(runnable, error);
-                        if (runnable instanceof InternalRunTask) {
-                            final InternalRunTask internalRunTask = (InternalRunTask)runnable;
-                            if (error == null) {
-                                try {
-                                    internalRunTask.get();
-                                } catch (CancellationException e) {
-                                    LOG.warn("Task {}, workspace '{}', project '{}' was cancelled",
-                                             internalRunTask.id, internalRunTask.workspace, internalRunTask.project);
-                                    error = e;
-                                } catch (ExecutionException e) {
-                                    error = e.getCause();
-                                    logError(internalRunTask, error == null ? e : error);
-                                } catch (InterruptedException e) {
-                                    Thread.currentThread().interrupt();
-                                }
-                            } else {
-                                logError(internalRunTask, error);
-                            }
-                            if (error != null) {
-                                eventService.publish(RunnerEvent.errorEvent(internalRunTask.id, internalRunTask.workspace,
-                                                                            internalRunTask.project, error.getMessage()));
-                            }
-                        }
-                    } finally {
-                        if (isInterrupted) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }
-                }
-
-                private void logError(InternalRunTask runTask, Throwable t) {
-                    String errorMessage = t.getMessage();
-                    if (errorMessage != null) {
-                        LOG.warn("Execution error, task {}, workspace '{}', project '{}', message '{}'",
-                                 runTask.id, runTask.workspace, runTask.project, errorMessage);
-                    } else {
-                        LOG.warn(String.format("Execution error, task %d, workspace '%s', project '%s', message '%s'",
-                                               runTask.id, runTask.workspace, runTask.project, ""), t);
-                    }
-                }
-            };
-            cleanScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("RunQueueScheduler-%d")
-                                                                                                  .setDaemon(true).build());
+                                              new ThreadFactoryBuilder().setNameFormat("RunQueue-[%d]").setDaemon(true).build());
+            // Requests don't hold threads while wait for build or free runner, so fixed number of threads is enough for any size of queue.
+            dispatcher = new ThreadPoolExecutor(dispatcherPoolSize, dispatcherPoolSize, 60L, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<Runnable>(),
+                                                new ThreadFactoryBuilder().setNameFormat("RunQueueDispatcher-[%d]").setDaemon(true).build());
+            dispatcher.allowCoreThreadTimeOut(true);
+            // One thread for cleaning up tasks and one for re-submitting tasks which are waiting for build or free runner.
+            cleanScheduler = Executors.newScheduledThreadPool(2, new ThreadFactoryBuilder().setNameFormat("RunQueueScheduler-%d")
+                                                                                           .setDaemon(true).build());
             cleanScheduler.scheduleAtFixedRate(new Runnable() {
                 @Override
                 public void run() {
@@ -336,6 +328,8 @@ public class RunQueue {
             //Log events for analytics
             eventService.subscribe(new AnalyticsMessenger());
 
+            descriptorCache.subscribe(eventService);
+
             if (slaves.length > 0) {
                 executor.execute(ThreadLocalPropagateContext.wrap(new RegisterSlaveRunnerTask(slaves, null)));
             }
@@ -369,6 +363,7 @@ public class RunQueue {
                 interrupted = true;
             }
             executor.shutdown();
+            dispatcher.shutdown();
             try {
                 if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
                     executor.shutdownNow();
@@ -376,12 +371,20 @@ public class RunQueue {
                         LOG.warn("Unable terminate main pool");
                     }
                 }
+                if (!dispatcher.awaitTermination(10, TimeUnit.SECONDS)) {
+                    dispatcher.shutdownNow();
+                    if (!dispatcher.awaitTermination(10, TimeUnit.SECONDS)) {
+                        LOG.warn("Unable terminate dispatcher pool");
+                    }
+                }
             } catch (InterruptedException e) {
                 interrupted |= true;
                 executor.shutdownNow();
+                dispatcher.shutdownNow();
             }
             tasks.clear();
             runnerListMapping.clear();
+            descriptorCache.unsubscribe(eventService);
             if (interrupted) {
                 Thread.currentThread().interrupt();
             }
@@ -527,7 +530,7 @@ public class RunQueue {
         }
         final Callable<RemoteRunnerProcess> callable = createTaskFor(matchedRunners, request, buildTaskHolder);
         final Long id = sequence.getAndIncrement();
-        final InternalRunTask future = new InternalRunTask(ThreadLocalPropagateContext.wrap(callable), id, workspace, project);
+        final InternalRunTask future = new InternalRunTask(callable, id, workspace, project);
         request.setId(id); // for getting callback events from remote runner
         final RunQueueTask task = new RunQueueTask(id,
                                                    request,
@@ -539,7 +542,7 @@ public class RunQueue {
                                                    serviceContext.getServiceUriBuilder());
         tasks.put(id, task);
         eventService.publish(RunnerEvent.queueStartedEvent(id, workspace, project));
-        executor.execute(future);
+        dispatcher.execute(future);
         return task;
     }
 
@@ -579,11 +582,18 @@ public class RunQueue {
     // private
     WorkspaceDescriptor getWorkspaceDescriptor(String workspace, ServiceContext serviceContext) throws RunnerException {
         final UriBuilder baseWorkspaceUriBuilder = serviceContext.getBaseUriBuilder();
+        final String baseUrl = baseWorkspaceUriBuilder.build().toString();
+        final WorkspaceDescriptor cached = descriptorCache.getWorkspace(baseUrl, workspace);
+        if (cached != null) {
+            return cached;
+        }
         final String workspaceUrl = baseWorkspaceUriBuilder.path(WorkspaceService.class)
                                                            .path(WorkspaceService.class, "getById")
                                                            .build(workspace).toString();
         try {
-            return HttpJsonHelper.get(WorkspaceDescriptor.class, workspaceUrl);
+            final WorkspaceDescriptor descriptor = HttpJsonHelper.get(WorkspaceDescriptor.class, workspaceUrl);
+            descriptorCache.putWorkspace(baseUrl, workspace, descriptor);
+            return descriptor;
         } catch (IOException e) {
             throw new RunnerException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -595,12 +605,19 @@ public class RunQueue {
     // private
     ProjectDescriptor getProjectDescriptor(String workspace, String project, ServiceContext serviceContext) throws RunnerException {
         final UriBuilder baseProjectUriBuilder = serviceContext.getBaseUriBuilder();
+        final String baseUrl = baseProjectUriBuilder.build().toString();
+        final ProjectDescriptor cached = descriptorCache.getProject(baseUrl, workspace, project);
+        if (cached != null) {
+            return cached;
+        }
         final String projectUrl = baseProjectUriBuilder.path(ProjectService.class)
                                                        .path(ProjectService.class, "getProject")
                                                        .build(workspace, project.startsWith("/") ? project.substring(1) : project)
                                                        .toString();
         try {
-            return HttpJsonHelper.get(ProjectDescriptor.class, projectUrl);
+            final ProjectDescriptor descriptor = HttpJsonHelper.get(ProjectDescriptor.class, projectUrl);
+            descriptorCache.putProject(baseUrl, workspace, project, descriptor);
+            return descriptor;
         } catch (IOException e) {
             throw new RunnerException(e);
         } catch (ServerException | UnauthorizedException | ForbiddenException | NotFoundException | ConflictException e) {
@@ -768,6 +785,11 @@ public class RunQueue {
         return buildDescriptor;
     }
 
+    /**
+     * Creates task for run request. Task must not wait for build or for free runner, it returns {@code null} if request can't be sent to
+     * the runner yet and is invoked again later, see {@link PollingTask}. If task implements {@link Cancellable} it is notified when
+     * request is cancelled.
+     */
     protected Callable<RemoteRunnerProcess> createTaskFor(final List<RemoteRunner> matched,
                                                           final RunRequest request,
                                                           final ValueHolder<BuildTaskDescriptor> buildTaskHolder) {
@@ -993,7 +1015,7 @@ public class RunQueue {
     }
 
 
-    private class RemoteRunnerProcessCallable implements Callable<RemoteRunnerProcess> {
+    private class RemoteRunnerProcessCallable implements Callable<RemoteRunnerProcess>, Cancellable {
         private final ValueHolder<BuildTaskDescriptor> buildTaskHolder;
         private final RunRequest                       request;
         private final List<RemoteRunner>               matchedRunners;
@@ -1011,86 +1033,90 @@ public class RunQueue {
 
         @Override
         public RemoteRunnerProcess call() throws Exception {
-            BuildTaskDescriptor buildDescriptor = buildTaskHolder.get();
-            if (buildDescriptor != null) {
-                final Link buildStatusLink = buildDescriptor.getLink(org.eclipse.che.api.builder.internal.Constants.LINK_REL_GET_STATUS);
-                if (buildStatusLink == null) {
-                    throw new RunnerException("Invalid response from builder service. Unable get URL for checking build status");
-                }
-                for (; ; ) {
-                    if (Thread.currentThread().isInterrupted()) {
-                        // Expected to get here if task is canceled. Try to cancel related runner process.
-                        tryCancelBuild(buildDescriptor);
-                        return null;
-                    }
-                    synchronized (this) {
-                        try {
-                            wait(checkBuildResultPeriod);
-                        } catch (InterruptedException e) {
-                            // Expected to get here if task is canceled. Try to cancel related build process.
-                            tryCancelBuild(buildDescriptor);
-                            return null;
-                        }
-                    }
-                    buildDescriptor = HttpJsonHelper.request(BuildTaskDescriptor.class, DtoFactory.getInstance().clone(buildStatusLink));
-                    // to be able show current state of build process with RunQueueTask.
-                    buildTaskHolder.set(buildDescriptor);
-                    final BuildStatus buildStatus = buildDescriptor.getStatus();
-                    if (buildStatus == BuildStatus.SUCCESSFUL) {
-                        request.withBuildTaskDescriptor(buildDescriptor);
-                        break; // get out from loop
-                    } else if (buildStatus == BuildStatus.CANCELLED || buildStatus == BuildStatus.FAILED) {
-                        String msg = "Unable start application. Build of application is failed or cancelled.";
-                        final Link logLink = buildDescriptor.getLink(org.eclipse.che.api.builder.internal.Constants.LINK_REL_VIEW_LOG);
-                        if (logLink != null) {
-                            msg += (" Build logs: " + logLink.getHref());
-                        }
-                        throw new RunnerException(msg);
-                    } else if (buildStatus == BuildStatus.IN_PROGRESS || buildStatus == BuildStatus.IN_QUEUE) {
-                        // wait
-                        LOG.debug("Build in of project '{}' from workspace '{}' is progress", request.getProject(), request.getWorkspace());
-                    }
-                }
+            if (!isBuildCompleted()) {
+                return null;
             }
-
             // List of runners that have enough resources for launch application.
             final List<RemoteRunner> available = new LinkedList<>();
-            for (; ; ) {
-                for (RemoteRunner runner : matchedRunners) {
-                    if (Thread.currentThread().isInterrupted()) {
-                        // Expected to get here if task is canceled. Stop immediately.
-                        return null;
-                    }
-                    RunnerState runnerState;
-                    try {
-                        runnerState = runner.getRemoteRunnerState();
-                    } catch (Exception e) {
-                        LOG.error(e.getMessage(), e);
-                        continue;
-                    }
-                    if (runnerState.getServerState().getFreeMemory() >= request.getMemorySize()
-                        && hasEnoughSpaceOnDisk(runner.getName(), runner.getBaseUrl(), runnerState)) {
+            for (RemoteRunner runner : matchedRunners) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // Expected to get here if task is canceled. Stop immediately.
+                    return null;
+                }
+                RunnerState runnerState;
+                try {
+                    runnerState = runner.getRemoteRunnerState();
+                } catch (Exception e) {
+                    LOG.error(e.getMessage(), e);
+                    continue;
+                }
+                if (runnerState.getServerState().getFreeMemory() >= request.getMemorySize()
+                    && hasEnoughSpaceOnDisk(runner.getName(), runner.getBaseUrl(), runnerState)) {
 
-                        available.add(runner);
-                    }
+                    available.add(runner);
                 }
-                if (available.isEmpty()) {
-                    synchronized (this) {
-                        try {
-                            // Wait and try again.
-                            wait(checkAvailableRunnerPeriod);
-                        } catch (InterruptedException e) {
-                            // Expected to get here if task is canceled.
-                            Thread.currentThread().interrupt();
-                            return null;
-                        }
-                    }
-                } else {
-                    final RemoteRunner runner = available.size() > 1 ? runnerSelector.select(available) : available.get(0);
-                    LOG.info("Use runner '{}' at '{}'", runner.getName(), runner.getBaseUrl());
-                    return runner.run(request);
+            }
+            if (available.isEmpty()) {
+                // Try again later.
+                return null;
+            }
+            final RemoteRunner runner = available.size() > 1 ? runnerSelector.select(available) : available.get(0);
+            LOG.info("Use runner '{}' at '{}'", runner.getName(), runner.getBaseUrl());
+            return runner.run(request);
+        }
+
+        @Override
+        public void cancel() {
+            final BuildTaskDescriptor buildDescriptor = buildTaskHolder.get();
+            if (buildDescriptor != null && request.getBuildTaskDescriptor() == null) {
+                // Task is canceled while waiting for build. Try to cancel related build process.
+                tryCancelBuild(buildDescriptor);
+            }
+        }
+
+        /** Checks whether application is built before run and build isn't completed successfully yet. */
+        boolean isWaitingForBuild() {
+            return buildTaskHolder.get() != null && request.getBuildTaskDescriptor() == null;
+        }
+
+        /**
+         * Checks status of build once.
+         *
+         * @return {@code true} if application doesn't need build or build is successful and {@code false} if build is in progress
+         * @throws RunnerException
+         *         if build is failed or cancelled
+         */
+        private boolean isBuildCompleted() throws Exception {
+            final BuildTaskDescriptor buildDescriptor = buildTaskHolder.get();
+            if (buildDescriptor == null || request.getBuildTaskDescriptor() != null) {
+                return true;
+            }
+            final Link buildStatusLink = buildDescriptor.getLink(org.eclipse.che.api.builder.internal.Constants.LINK_REL_GET_STATUS);
+            if (buildStatusLink == null) {
+                throw new RunnerException("Invalid response from builder service. Unable get URL for checking build status");
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                // Expected to get here if task is canceled.
+                return false;
+            }
+            final BuildTaskDescriptor current =
+                    HttpJsonHelper.request(BuildTaskDescriptor.class, DtoFactory.getInstance().clone(buildStatusLink));
+            // to be able show current state of build process with RunQueueTask.
+            buildTaskHolder.set(current);
+            final BuildStatus buildStatus = current.getStatus();
+            if (buildStatus == BuildStatus.SUCCESSFUL) {
+                request.withBuildTaskDescriptor(current);
+                return true;
+            } else if (buildStatus == BuildStatus.CANCELLED || buildStatus == BuildStatus.FAILED) {
+                String msg = "Unable start application. Build of application is failed or cancelled.";
+                final Link logLink = current.getLink(org.eclipse.che.api.builder.internal.Constants.LINK_REL_VIEW_LOG);
+                if (logLink != null) {
+                    msg += (" Build logs: " + logLink.getHref());
                 }
+                throw new RunnerException(msg);
             }
+            LOG.debug("Build in of project '{}' from workspace '{}' is progress", request.getProject(), request.getWorkspace());
+            return false;
         }
 
         private boolean hasEnoughSpaceOnDisk(String name, String baseUrl, RunnerState runnerState) {
@@ -1140,18 +1166,74 @@ public class RunQueue {
         }
     }
 
-    // for store workspace, project and id of process with FutureTask
-    private static class InternalRunTask extends FutureTask<RemoteRunnerProcess> {
-        final Long   id;
-        final String workspace;
-        final String project;
+    // for store workspace, project and id of process with PollingTask
+    private class InternalRunTask extends PollingTask<RemoteRunnerProcess> {
+        final Callable<RemoteRunnerProcess> callable;
+        final Long                          id;
+        final String                        workspace;
+        final String                        project;
 
         InternalRunTask(Callable<RemoteRunnerProcess> callable, Long id, String workspace, String project) {
-            super(callable);
+            super(ThreadLocalPropagateContext.wrap(callable), checkAvailableRunnerPeriod, dispatcher, cleanScheduler);
+            this.callable = callable;
             this.id = id;
             this.workspace = workspace;
             this.project = project;
         }
+
+        /** Status of build and free runners are checked with their own configured periods. */
+        @Override
+        protected long getRetryDelay() {
+            if (callable instanceof RemoteRunnerProcessCallable && ((RemoteRunnerProcessCallable)callable).isWaitingForBuild()) {
+                return checkBuildResultPeriod;
+            }
+            return checkAvailableRunnerPeriod;
+        }
+
+        @Override
+        protected void done() {
+            try {
+                get();
+                metrics.add(this);
+            } catch (ExecutionException e) {
+                final Throwable error = e.getCause() == null ? e : e.getCause();
+                logError(error);
+                eventService.publish(RunnerEvent.errorEvent(id, workspace, project, error.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        protected void cancelled() {
+            LOG.warn("Task {}, workspace '{}', project '{}' was cancelled", id, workspace, project);
+            if (!started.get()) {
+                // Queue is stopped.
+                return;
+            }
+            if (callable instanceof Cancellable) {
+                executor.execute(ThreadLocalPropagateContext.wrap(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            ((Cancellable)callable).cancel();
+                        } catch (Exception e) {
+                            LOG.error(e.getMessage(), e);
+                        }
+                    }
+                }));
+            }
+            eventService.publish(RunnerEvent.errorEvent(id, workspace, project, null));
+        }
+
+        private void logError(Throwable t) {
+            String errorMessage = t.getMessage();
+            if (errorMessage != null) {
+                LOG.warn("Execution error, task {}, workspace '{}', project '{}', message '{}'", id, workspace, project, errorMessage);
+            } else {
+                LOG.warn(String.format("Execution error, task %d, workspace '%s', project '%s', message '%s'", id, workspace, project, ""), t);
+            }
+        }
     }
 
     // >>>>>>>>>>>>>>>>>>>>> Groups runners by infra + workspace + project.
@@ -15,8 +15,10 @@ import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.Description;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.QueueMetrics;
 import org.eclipse.che.api.runner.dto.ApplicationProcessDescriptor;
 import org.eclipse.che.api.runner.dto.RunnerDescriptor;
+import org.eclipse.che.api.runner.dto.RunnerMetric;
 import org.eclipse.che.api.runner.dto.RunnerServer;
 import org.eclipse.che.api.runner.dto.RunnerServerLocation;
 import org.eclipse.che.api.runner.dto.RunnerServerRegistration;
@@ -41,6 +43,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -180,4 +183,35 @@ public class RunnerAdminService extends Service {
         }
         return result;
     }
+
+    @ApiOperation(value = "Get metrics of runner queue",
+                  notes = "Get size of runner queue, waiting and dispatch times of run requests. Times are in milliseconds",
+                  response = RunnerMetric.class,
+                  responseContainer = "List",
+                  position = 5)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 403, message = "User not authorized to call this method"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/queue/metrics")
+    public List<RunnerMetric> getQueueMetrics() {
+        final QueueMetrics metrics = runner.getMetrics();
+        final List<RunnerMetric> result = new ArrayList<>(6);
+        result.add(createMetric(RunnerMetric.QUEUE_SIZE, runner.getWaitingNum(), "Number of requests waiting for build or runner"));
+        result.add(createMetric(RunnerMetric.DISPATCHED_TASKS, metrics.getDispatched(), "Number of requests sent to runners"));
+        result.add(createMetric(RunnerMetric.AVERAGE_WAITING_TIME, metrics.getAverageWaitingTime(), "Average waiting time in queue"));
+        result.add(createMetric(RunnerMetric.MAX_WAITING_TIME, metrics.getMaxWaitingTime(), "Max waiting time in queue"));
+        result.add(createMetric(RunnerMetric.AVERAGE_DISPATCH_TIME, metrics.getAverageDispatchTime(), "Average time of sending request"));
+        result.add(createMetric(RunnerMetric.MAX_DISPATCH_TIME, metrics.getMaxDispatchTime(), "Max time of sending request"));
+        return result;
+    }
+
+    private RunnerMetric createMetric(String name, long value, String description) {
+        return DtoFactory.getInstance().createDto(RunnerMetric.class)
+                         .withName(name)
+                         .withValue(Long.toString(value))
+                         .withDescription(description);
+    }
 }
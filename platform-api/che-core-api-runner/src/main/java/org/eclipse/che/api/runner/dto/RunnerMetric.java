@@ -46,6 +46,18 @@ public interface RunnerMetric {
 
     String DISK_SPACE_USED = "diskSpaceUsed";
 
+    String QUEUE_SIZE = "queueSize";
+
+    String DISPATCHED_TASKS = "dispatchedTasks";
+
+    String AVERAGE_WAITING_TIME = "averageWaitingTime";
+
+    String MAX_WAITING_TIME = "maxWaitingTime";
+
+    String AVERAGE_DISPATCH_TIME = "averageDispatchTime";
+
+    String MAX_DISPATCH_TIME = "maxDispatchTime";
+
     String getName();
 
     RunnerMetric withName(String name);
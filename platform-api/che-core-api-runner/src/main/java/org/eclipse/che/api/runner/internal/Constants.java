@@ -64,6 +64,11 @@ public class Constants {
     public static final String APP_LIFETIME                       = "runner.app_lifetime";
     /** Name of configuration parameter that sets amount of memory (in megabytes) for running applications. */
     public static final String TOTAL_APPS_MEM_SIZE                = "runner.total_apps_mem_size_mb";
+    /**
+     * Number of threads which dispatch requests from run queue to the slave runners. Threads are not held while request is waiting for
+     * build or free runner, so this number doesn't limit size of queue.
+     */
+    public static final String QUEUE_DISPATCHER_POOL_SIZE         = "runner.queue_dispatcher_pool_size";
 
     public static final String RUNNER_ASSIGNED_TO_WORKSPACE = "runner.assigned_to_workspace";
     public static final String RUNNER_ASSIGNED_TO_PROJECT   = "runner.assigned_to_project";
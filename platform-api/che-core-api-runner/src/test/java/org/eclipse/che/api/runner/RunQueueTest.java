@@ -632,7 +632,7 @@ public class RunQueueTest {
         doReturn(new Callable<RemoteRunnerProcess>() {
             @Override
             public RemoteRunnerProcess call() throws Exception {
-                Thread.sleep(5000); // need to have first task in waiting status
+                // Runner isn't available, need to have first task in waiting status.
                 return null;
             }
         }).when(runQueue).createTaskFor(anyListOf(RemoteRunner.class), any(RunRequest.class), any(ValueHolder.class));
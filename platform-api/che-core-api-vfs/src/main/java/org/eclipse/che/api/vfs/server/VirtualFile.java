@@ -16,6 +16,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.vfs.shared.PropertyFilter;
 import org.eclipse.che.api.vfs.shared.dto.AccessControlEntry;
 import org.eclipse.che.api.vfs.shared.dto.Principal;
@@ -400,6 +401,33 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     void unzip(InputStream zipped, boolean overwrite, int stripNumber) throws ForbiddenException, ConflictException, ServerException;
 
+    /**
+     * Imports ZIP content to the folder denoted by this VirtualFile and reports progress of import.
+     *
+     * @param zipped
+     *         ZIP content
+     * @param overwrite
+     *         overwrite or not existing files
+     * @param stripNumber
+     *         strip number leading components from file names on extraction.
+     * @param progress
+     *         consumer of messages about number of extracted items
+     * @throws ForbiddenException
+     *         if any of following conditions are met:
+     *         <ul>
+     *         <li>if this item doesn't denote a folder</li>
+     *         <li>user which perform operation doesn't have write permissions (include children)</li>
+     *         <li>this folder contains at least one locked child</li>
+     *         </ul>
+     * @throws ConflictException
+     *         if {@code overwrite} is {@code false} and any item in zipped content causes name conflict
+     * @throws ServerException
+     *         if other error occurs
+     * @see #unzip(InputStream, boolean, int)
+     */
+    void unzip(InputStream zipped, boolean overwrite, int stripNumber, LineConsumer progress)
+            throws ForbiddenException, ConflictException, ServerException;
+
     /**
      * Locks this VirtualFile.
      *
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.server.impl.memory;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+/**
+ * Content addressed storage of content of files of in-memory virtual filesystems. Files with the same content share single {@link Blob}
+ * even if they are in different virtual filesystems, e.g. in temporary workspaces created from the same template.
+ * <p/>
+ * Blobs are reference counted. Blob is removed from store when the last file which refers to it is removed or updated, content of
+ * removed blob is available while blob is referenced from java code, e.g. from opened stream. Content larger than
+ * {@code vfs.memory.off_heap_threshold} bytes is kept out of java heap, off-heap storage is disabled by default.
+ */
+public class MemoryBlobStore {
+    private static final MemoryBlobStore INSTANCE = new MemoryBlobStore(Integer.getInteger("vfs.memory.off_heap_threshold", -1));
+
+    /** Store which is shared by all in-memory virtual filesystems. */
+    public static MemoryBlobStore getInstance() {
+        return INSTANCE;
+    }
+
+    private final ConcurrentMap<HashCode, Blob> blobs;
+    private final HashFunction                  hashFunction;
+    private final int                           offHeapThreshold;
+
+    /**
+     * @param offHeapThreshold
+     *         content larger than this number of bytes is stored out of java heap, negative value disables off-heap storage
+     */
+    MemoryBlobStore(int offHeapThreshold) {
+        this.offHeapThreshold = offHeapThreshold;
+        blobs = new ConcurrentHashMap<>();
+        hashFunction = Hashing.sha256();
+    }
+
+    /**
+     * Gets blob with the content of the stream and increments its reference counter. If the stream is opened with {@link Blob#openStream()}
+     * and nothing is read from it yet the same blob is used without reading the stream.
+     */
+    public Blob put(InputStream content) throws IOException {
+        if (content instanceof BlobInputStream && ((BlobInputStream)content).isUnread()) {
+            return retain(((BlobInputStream)content).blob);
+        }
+        return put(content == null ? new byte[0] : ByteStreams.toByteArray(content));
+    }
+
+    /** Gets blob with the specified content and increments its reference counter. */
+    public Blob put(byte[] content) {
+        final HashCode hash = hashFunction.hashBytes(content);
+        return blobs.compute(hash, new BiFunction<HashCode, Blob, Blob>() {
+            @Override
+            public Blob apply(HashCode hash, Blob existing) {
+                final Blob blob = existing == null ? newBlob(hash, content) : existing;
+                blob.references++;
+                return blob;
+            }
+        });
+    }
+
+    /**
+     * Increments reference counter of blob, e.g. when file is copied.
+     *
+     * @return blob which must be used by caller, it may differ from {@code blob} if {@code blob} is already released by all its users
+     * and new blob with the same content is added after that
+     */
+    public Blob retain(final Blob blob) {
+        return blobs.compute(blob.hash, new BiFunction<HashCode, Blob, Blob>() {
+            @Override
+            public Blob apply(HashCode hash, Blob existing) {
+                final Blob retained = existing == null ? blob : existing;
+                retained.references++;
+                return retained;
+            }
+        });
+    }
+
+    /** Decrements reference counter of blob and removes blob from store if it isn't referenced anymore. */
+    public void release(final Blob blob) {
+        blobs.computeIfPresent(blob.hash, new BiFunction<HashCode, Blob, Blob>() {
+            @Override
+            public Blob apply(HashCode hash, Blob existing) {
+                if (existing != blob) {
+                    return existing;
+                }
+                return --blob.references > 0 ? blob : null;
+            }
+        });
+    }
+
+    /** Gets number of blobs in the store. */
+    public int size() {
+        return blobs.size();
+    }
+
+    private Blob newBlob(HashCode hash, byte[] content) {
+        if (offHeapThreshold >= 0 && content.length > offHeapThreshold) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+            buffer.put(content).flip();
+            return new Blob(hash, content.length, null, buffer.asReadOnlyBuffer());
+        }
+        return new Blob(hash, content.length, content, null);
+    }
+
+    /** Immutable content of file. */
+    public static final class Blob {
+        private final HashCode   hash;
+        private final int        length;
+        private final byte[]     heapContent;
+        private final ByteBuffer offHeapContent;
+        // Guarded by MemoryBlobStore#blobs
+        private int references;
+
+        private Blob(HashCode hash, int length, byte[] heapContent, ByteBuffer offHeapContent) {
+            this.hash = hash;
+            this.length = length;
+            this.heapContent = heapContent;
+            this.offHeapContent = offHeapContent;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public InputStream openStream() {
+            return new BlobInputStream(this);
+        }
+    }
+
+    private static class BlobInputStream extends InputStream {
+        final Blob        blob;
+        final InputStream delegate;
+        boolean unread = true;
+
+        BlobInputStream(Blob blob) {
+            this.blob = blob;
+            delegate = blob.heapContent != null
+                       ? new ByteArrayInputStream(blob.heapContent) : new ByteBufferInputStream(blob.offHeapContent.duplicate());
+        }
+
+        boolean isUnread() {
+            return unread;
+        }
+
+        @Override
+        public int read() throws IOException {
+            unread = false;
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            unread = false;
+            return delegate.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            unread = false;
+            return delegate.skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return delegate.available();
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int skipped = (int)Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -28,11 +28,13 @@ import org.eclipse.che.api.vfs.shared.dto.VirtualFileSystemInfo;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * In-memory implementation of MountPoint.
  * <p/>
- * NOTE: This implementation is not thread safe.
+ * Items may be accessed from different threads, see {@link MemoryVirtualFile}. Content of files is kept in {@link MemoryBlobStore}
+ * which is shared by all in-memory mount points.
  *
  * @author andrew00x
  */
@@ -41,16 +43,23 @@ public class MemoryMountPoint implements MountPoint {
     private final EventService                 eventService;
     private final SearcherProvider             searcherProvider;
     private final VirtualFileSystemUserContext userContext;
+    private final MemoryBlobStore              blobStore;
     private final Map<String, VirtualFile>     entries;
     private final VirtualFile                  root;
 
     public MemoryMountPoint(String workspaceId, EventService eventService, SearcherProvider searcherProvider,
                             VirtualFileSystemUserContext userContext) {
+        this(workspaceId, eventService, searcherProvider, userContext, MemoryBlobStore.getInstance());
+    }
+
+    public MemoryMountPoint(String workspaceId, EventService eventService, SearcherProvider searcherProvider,
+                            VirtualFileSystemUserContext userContext, MemoryBlobStore blobStore) {
         this.workspaceId = workspaceId;
         this.eventService = eventService;
         this.searcherProvider = searcherProvider;
         this.userContext = userContext;
-        entries = new HashMap<>();
+        this.blobStore = blobStore;
+        entries = new ConcurrentHashMap<>();
         root = new MemoryVirtualFile(this);
     }
 
@@ -108,6 +117,9 @@ public class MemoryMountPoint implements MountPoint {
 
     @Override
     public void reset() {
+        for (VirtualFile virtualFile : entries.values()) {
+            ((MemoryVirtualFile)virtualFile).releaseContent();
+        }
         entries.clear();
     }
 
@@ -158,4 +170,8 @@ public class MemoryMountPoint implements MountPoint {
     VirtualFileSystemUserContext getUserContext() {
         return userContext;
     }
+
+    MemoryBlobStore getBlobStore() {
+        return blobStore;
+    }
 }
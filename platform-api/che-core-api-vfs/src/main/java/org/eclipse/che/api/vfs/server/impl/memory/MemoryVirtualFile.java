@@ -14,6 +14,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.util.ContentTypeGuesser;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.vfs.server.ContentStream;
 import org.eclipse.che.api.vfs.server.LazyIterator;
@@ -71,6 +72,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -78,7 +80,9 @@ import java.util.zip.ZipOutputStream;
 /**
  * In-memory implementation of VirtualFile.
  * <p/>
- * NOTE: This implementation is not thread safe.
+ * Children and properties are kept in concurrent maps and structural changes are done with atomic operations of these maps, so items
+ * may be read and updated from different threads. Content of files is kept in {@link MemoryBlobStore}, files with the same content share
+ * single blob and copy of file doesn't copy its content.
  *
  * @author andrew00x
  */
@@ -89,11 +93,14 @@ public class MemoryVirtualFile implements VirtualFile {
 
     private static MemoryVirtualFile newFile(MemoryVirtualFile parent, String name, InputStream content, String mediaType)
             throws IOException {
-        return new MemoryVirtualFile(parent, ObjectIdGenerator.generateId(), name, content, mediaType);
+        final MemoryBlobStore.Blob blob = parent.mountPoint.getBlobStore().put(content);
+        return new MemoryVirtualFile(parent, ObjectIdGenerator.generateId(), name, blob, mediaType);
     }
 
-    private static MemoryVirtualFile newFile(MemoryVirtualFile parent, String name, byte[] content, String mediaType) {
-        return new MemoryVirtualFile(parent, ObjectIdGenerator.generateId(), name, content, mediaType);
+    /** Creates file which shares content with other file. */
+    private static MemoryVirtualFile newFile(MemoryVirtualFile parent, String name, MemoryBlobStore.Blob content, String mediaType) {
+        final MemoryBlobStore.Blob blob = parent.mountPoint.getBlobStore().retain(content);
+        return new MemoryVirtualFile(parent, ObjectIdGenerator.generateId(), name, blob, mediaType);
     }
 
     private static MemoryVirtualFile newFolder(MemoryVirtualFile parent, String name) {
@@ -109,31 +116,28 @@ public class MemoryVirtualFile implements VirtualFile {
     private final Map<String, VirtualFile>  children;
     private final MemoryMountPoint          mountPoint;
 
-    private String                      name;
-    private MemoryVirtualFile           parent;
-    private Path                        path;
-    private byte[]                      content;
-    private long                        lastModificationDate;
-    private LockHolder                  lock;
-    private Map<Principal, Set<String>> permissionsMap;
-    private boolean exists = true;
+    private volatile String                      name;
+    private volatile MemoryVirtualFile           parent;
+    private volatile Path                        path;
+    private volatile MemoryBlobStore.Blob        content;
+    private volatile long                        lastModificationDate;
+    private volatile LockHolder                  lock;
+    private volatile Map<Principal, Set<String>> permissionsMap;
+    private volatile boolean exists = true;
+    // Guarded by this
+    private boolean contentReleased;
 
     // --- File ---
-    private MemoryVirtualFile(MemoryVirtualFile parent, String id, String name, InputStream content, String mediaType)
-            throws IOException {
-        this(parent, id, name, content == null ? null : ByteStreams.toByteArray(content), mediaType);
-    }
-
-    private MemoryVirtualFile(MemoryVirtualFile parent, String id, String name, byte[] content, String mediaType) {
+    private MemoryVirtualFile(MemoryVirtualFile parent, String id, String name, MemoryBlobStore.Blob content, String mediaType) {
         this.mountPoint = (MemoryMountPoint)parent.getMountPoint();
         this.parent = parent;
         this.type = FILE;
         this.id = id;
         this.name = name;
         this.permissionsMap = new HashMap<>();
-        this.properties = new HashMap<>();
+        this.properties = new ConcurrentHashMap<>();
         this.creationDate = this.lastModificationDate = System.currentTimeMillis();
-        this.content = content == null ? new byte[0] : content;
+        this.content = content;
         if (mediaType != null) {
             setMediaType(mediaType);
         }
@@ -148,9 +152,9 @@ public class MemoryVirtualFile implements VirtualFile {
         this.id = id;
         this.name = name;
         this.permissionsMap = new HashMap<>();
-        this.properties = new HashMap<>();
+        this.properties = new ConcurrentHashMap<>();
         this.creationDate = this.lastModificationDate = System.currentTimeMillis();
-        children = new HashMap<>();
+        children = new ConcurrentHashMap<>();
     }
 
     /* root folder */ MemoryVirtualFile(MountPoint mountPoint) {
@@ -171,9 +175,9 @@ public class MemoryVirtualFile implements VirtualFile {
         final Set<String> anyPermissions = new HashSet<>(4);
         anyPermissions.add(BasicPermissions.READ.value());
         this.permissionsMap.put(anyPrincipal, anyPermissions);
-        this.properties = new HashMap<>();
+        this.properties = new ConcurrentHashMap<>();
         this.creationDate = this.lastModificationDate = System.currentTimeMillis();
-        children = new HashMap<>();
+        children = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -506,12 +510,7 @@ public class MemoryVirtualFile implements VirtualFile {
 
     private boolean addChild(VirtualFile child) {
         checkExist();
-        final String childName = child.getName();
-        if (children.get(childName) == null) {
-            children.put(childName, child);
-            return true;
-        }
-        return false;
+        return children.putIfAbsent(child.getName(), child) == null;
     }
 
     @Override
@@ -520,10 +519,8 @@ public class MemoryVirtualFile implements VirtualFile {
         if (!isFile()) {
             throw new ForbiddenException(String.format("We were unable to retrieve the content. Item '%s' is not a file. ", getPath()));
         }
-        if (content == null) {
-            content = new byte[0];
-        }
-        return new ContentStream(getName(), new ByteArrayInputStream(content), getMediaType(), content.length,
+        final MemoryBlobStore.Blob myContent = content;
+        return new ContentStream(getName(), myContent.openStream(), getMediaType(), myContent.getLength(),
                                  new Date(lastModificationDate));
     }
 
@@ -559,7 +556,7 @@ public class MemoryVirtualFile implements VirtualFile {
         }
 
         try {
-            this.content = ByteStreams.toByteArray(content);
+            setContent(mountPoint.getBlobStore().put(content));
         } catch (IOException e) {
             throw new ServerException(String.format("We were unable to set the content of '%s'. ", getPath()));
         }
@@ -587,7 +584,7 @@ public class MemoryVirtualFile implements VirtualFile {
         if (!isFile()) {
             return 0;
         }
-        return content.length;
+        return content.getLength();
     }
 
     @Override
@@ -669,7 +666,7 @@ public class MemoryVirtualFile implements VirtualFile {
 
         VirtualFile virtualFile;
         if (isFile()) {
-            virtualFile = newFile((MemoryVirtualFile) parent, nameToCopy, Arrays.copyOf(content, content.length), getMediaType());
+            virtualFile = newFile((MemoryVirtualFile) parent, nameToCopy, content, getMediaType());
         } else {
             virtualFile = newFolder((MemoryVirtualFile) parent, nameToCopy);
             LazyIterator<VirtualFile> children = getChildren(VirtualFileFilter.ALL);
@@ -686,6 +683,7 @@ public class MemoryVirtualFile implements VirtualFile {
             }
         }
         if (!((MemoryVirtualFile)parent).addChild(virtualFile)) {
+            ((MemoryVirtualFile)virtualFile).releaseTree();
             throw new ConflictException(String.format("Item '%s' already exists. ", (parent.getPath() + '/' + name)));
         }
         return virtualFile;
@@ -795,18 +793,17 @@ public class MemoryVirtualFile implements VirtualFile {
          * intended to change the VirtualFile name after moving
          */
         if (!("".equals(String.valueOf(newName).trim()) || null == newName)) {
-            if (((MemoryVirtualFile) parent).children.containsKey(destinationName)) {
+            if (((MemoryVirtualFile) parent).children.putIfAbsent(destinationName, this) != null) {
                 throw new ConflictException(String.format("Item '%s' already exists. ", (parent.getPath() + '/' + destinationName)));
             }
-            this.parent.children.remove(getName());
+            this.parent.children.remove(getName(), this);
             this.parent = (MemoryVirtualFile) parent;
-            this.parent.children.put(destinationName, this);
             this.name = destinationName;
         } else { // default behavior is to move with current name
             if (!((MemoryVirtualFile) parent).addChild(this)) {
-            throw new ConflictException(String.format("Item '%s' already exists. ", (parent.getPath() + '/' + name)));
-        }
-        this.parent.children.remove(getName());
+                throw new ConflictException(String.format("Item '%s' already exists. ", (parent.getPath() + '/' + name)));
+            }
+            this.parent.children.remove(getName(), this);
             this.parent = (MemoryVirtualFile) parent;
         }
         this.path = null;
@@ -889,11 +886,10 @@ public class MemoryVirtualFile implements VirtualFile {
             }
         }
 
-        if (parent.getChild(newName) != null) {
+        if (parent.children.putIfAbsent(newName, this) != null) {
             throw new ConflictException(String.format("Item '%s' already exists. ", newName));
         }
-        parent.children.remove(name);
-        parent.children.put(newName, this);
+        parent.children.remove(name, this);
         name = newName;
         path = null;
 
@@ -972,6 +968,7 @@ public class MemoryVirtualFile implements VirtualFile {
             }
             for (VirtualFile virtualFile : toDelete) {
                 mountPoint.deleteItem(virtualFile.getId());
+                ((MemoryVirtualFile)virtualFile).releaseContent();
                 ((MemoryVirtualFile)virtualFile).exists = false;
             }
         } else {
@@ -979,8 +976,9 @@ public class MemoryVirtualFile implements VirtualFile {
                 throw new ForbiddenException(String.format("Unable delete item '%s'. Item is locked. ", getPath()));
             }
             mountPoint.deleteItem(getId());
+            releaseContent();
         }
-        parent.children.remove(name);
+        parent.children.remove(name, this);
         exists = false;
         parent = null;
         path = null;
@@ -1016,7 +1014,9 @@ public class MemoryVirtualFile implements VirtualFile {
                         final ZipEntry zipEntry = new ZipEntry(zipEntryName);
                         zipEntry.setTime(current.getLastModificationDate());
                         zipOut.putNextEntry(zipEntry);
-                        zipOut.write(((MemoryVirtualFile)current).content);
+                        try (InputStream content = ((MemoryVirtualFile)current).content.openStream()) {
+                            ByteStreams.copy(content, zipOut);
+                        }
                         zipOut.closeEntry();
                     } else if (current.isFolder()) {
                         final ZipEntry zipEntry = new ZipEntry(zipEntryName + '/');
@@ -1038,6 +1038,12 @@ public class MemoryVirtualFile implements VirtualFile {
 
     @Override
     public void unzip(InputStream zipped, boolean overwrite, int stripNumber) throws ForbiddenException, ServerException {
+        unzip(zipped, overwrite, stripNumber, LineConsumer.DEV_NULL);
+    }
+
+    @Override
+    public void unzip(InputStream zipped, boolean overwrite, int stripNumber, LineConsumer progress)
+            throws ForbiddenException, ServerException {
         checkExist();
         if (!hasPermission(BasicPermissions.WRITE.value(), true)) {
             throw new ForbiddenException(String.format("We were unable to import a ZIP file to '%s' as part of the import." +
@@ -1103,7 +1109,11 @@ public class MemoryVirtualFile implements VirtualFile {
                         mountPoint.getEventService().publish(new UpdateContentEvent(mountPoint.getWorkspaceId(), file.getPath()));
                     } else {
                         file = newFile((MemoryVirtualFile)current, name, noCloseZip, ContentTypeGuesser.guessContentType(name));
-                        ((MemoryVirtualFile)current).addChild(file);
+                        if (!((MemoryVirtualFile)current).addChild(file)) {
+                            // File is created concurrently.
+                            ((MemoryVirtualFile)file).releaseContent();
+                            throw new ForbiddenException(String.format("File '%s' already exists. ", file.getPath()));
+                        }
                         mountPoint.putItem((MemoryVirtualFile)file);
                         mountPoint.getEventService().publish(new CreateEvent(mountPoint.getWorkspaceId(), file.getPath(), false));
                     }
@@ -1132,7 +1142,7 @@ public class MemoryVirtualFile implements VirtualFile {
     }
 
     @Override
-    public String lock(long timeout) throws ForbiddenException, ConflictException {
+    public synchronized String lock(long timeout) throws ForbiddenException, ConflictException {
         checkExist();
         if (!isFile()) {
             throw new ForbiddenException(String.format("Unable lock '%s'. Locking allowed for files only. ", getPath()));
@@ -1152,7 +1162,7 @@ public class MemoryVirtualFile implements VirtualFile {
     }
 
     @Override
-    public VirtualFile unlock(String lockToken) throws ForbiddenException, ConflictException {
+    public synchronized VirtualFile unlock(String lockToken) throws ForbiddenException, ConflictException {
         checkExist();
         if (!isFile()) {
             throw new ForbiddenException(String.format("Unable unlock '%s'. Locking allowed for files only. ", getPath()));
@@ -1211,6 +1221,7 @@ public class MemoryVirtualFile implements VirtualFile {
             throw new ServerException(String.format("Unable set content of '%s'. ", getPath() + e.getMessage()));
         }
         if (!addChild(newFile)) {
+            newFile.releaseContent();
             throw new ConflictException(String.format("Item with the name '%s' already exists. ", name));
         }
         mountPoint.putItem(newFile);
@@ -1325,6 +1336,30 @@ public class MemoryVirtualFile implements VirtualFile {
         return true;
     }
 
+    private synchronized void setContent(MemoryBlobStore.Blob newContent) {
+        if (!contentReleased) {
+            mountPoint.getBlobStore().release(content);
+        }
+        content = newContent;
+        contentReleased = false;
+    }
+
+    /** Releases content of removed file in {@link MemoryBlobStore}. */
+    synchronized void releaseContent() {
+        if (type == FILE && !contentReleased) {
+            contentReleased = true;
+            mountPoint.getBlobStore().release(content);
+        }
+    }
+
+    /** Releases content of all files of tree which isn't added to virtual filesystem. */
+    private void releaseTree() {
+        releaseContent();
+        for (VirtualFile child : children.values()) {
+            ((MemoryVirtualFile)child).releaseTree();
+        }
+    }
+
     private void checkExist() {
         if (!exists) {
             throw new RuntimeException(String.format("Item '%s' already removed. ", name));
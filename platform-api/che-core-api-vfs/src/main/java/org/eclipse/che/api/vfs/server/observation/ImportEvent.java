@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.server.observation;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Published once when content of archive is imported to the folder, instead of event for each created or updated item.
+ */
+@EventOrigin("vfs")
+public class ImportEvent extends VirtualFileEvent {
+    private int created;
+    private int updated;
+
+    public ImportEvent(String workspaceId, String path, int created, int updated) {
+        super(workspaceId, path, ChangeType.IMPORTED, true);
+        this.created = created;
+        this.updated = updated;
+    }
+
+    public ImportEvent() {
+    }
+
+    /** Gets number of files and folders which were created by import. */
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    /** Gets number of existed files which were overwritten by import. */
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+}
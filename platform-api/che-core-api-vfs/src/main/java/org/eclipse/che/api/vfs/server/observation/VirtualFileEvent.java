@@ -19,6 +19,7 @@ public abstract class VirtualFileEvent {
         CONTENT_UPDATED("content_updated"),
         CREATED("created"),
         DELETED("deleted"),
+        IMPORTED("imported"),
         MOVED("moved"),
         PROPERTIES_UPDATED("properties_updated"),
         RENAMED("renamed");
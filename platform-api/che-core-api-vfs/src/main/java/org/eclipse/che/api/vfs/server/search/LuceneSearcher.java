@@ -14,16 +14,27 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.regex.Pattern;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.IndexWriter;
@@ -33,16 +44,24 @@ import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHitCountCollector;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
+import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.server.LazyIterator;
 import org.eclipse.che.api.vfs.server.MountPoint;
@@ -61,11 +80,23 @@ public abstract class LuceneSearcher implements SearcherWithMetadata<String> {
     private static final Logger LOG          = LoggerFactory.getLogger(LuceneSearcher.class);
     private static final int    RESULT_LIMIT = 1000;
 
+    /** Max number of snippets for each found file. */
+    private static final int         MAX_SNIPPETS       = 3;
+    /** Max number of lines of file which are checked when snippets are collected. */
+    private static final int         MAX_SNIPPET_LINES  = 10000;
+    /** Max length of snippet, longer lines are truncated around highlighted word. */
+    private static final int         MAX_SNIPPET_LENGTH = 200;
+    private static final Pattern     QUERY_WORD_CLEANER = Pattern.compile("^[+\\-!(\"]+|[)\"]+$|[~^].*$|\\\\");
+    private static final Set<String> QUERY_OPERATORS    = new HashSet<>(Arrays.asList("AND", "OR", "NOT", "&&", "||"));
+    /** Hits are sorted by relevance, hits with the same relevance are sorted by path to keep order of pages stable. */
+    private static final Sort        HITS_SORT          = new Sort(SortField.FIELD_SCORE, new SortField("path", SortField.Type.STRING));
+
     private final VirtualFileFilter filter;
 
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
     private boolean isClosed;
+    private volatile MountPoint mountPoint;
 
     public LuceneSearcher(Set<String> indexedMediaTypes) {
         this(new MediaTypeFilter(indexedMediaTypes));
@@ -97,10 +128,16 @@ public abstract class LuceneSearcher implements SearcherWithMetadata<String> {
      *         if any virtual filesystem error
      */
     public void init(MountPoint mountPoint) throws ServerException {
-        doInit();
+        doInit(mountPoint);
         addTree(mountPoint.getRoot());
     }
 
+    /** Same as {@link #doInit()} but also remembers MountPoint which is used for reading snippets of found files. */
+    protected final void doInit(MountPoint mountPoint) throws ServerException {
+        this.mountPoint = mountPoint;
+        doInit();
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
             luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
@@ -134,35 +171,8 @@ public abstract class LuceneSearcher implements SearcherWithMetadata<String> {
 
     @Override
     public SearchResult<String> searchWithMetadata(QueryExpression query) throws ServerException {
-        final BooleanQuery luceneQuery = new BooleanQuery();
-        final String name = query.getName();
-        final String path = query.getPath();
-        final String mediaType = query.getMediaType();
-        final String text = query.getText();
         final int maxItems = query.getMaxItems();
-        
-        if (maxItems < -1) {
-            throw new ServerException(String.format("Query parameter 'maxItems' =%d should be a natural number or have value of -1 to indicate maximum result count.",
-                maxItems));
-        }
-
-        if (path != null) {
-            luceneQuery.add(new PrefixQuery(new Term("path", path)), BooleanClause.Occur.MUST);
-        }
-        if (name != null) {
-            luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
-        }
-        if (mediaType != null) {
-            luceneQuery.add(new TermQuery(new Term("mediatype", mediaType)), BooleanClause.Occur.MUST);
-        }
-        if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
-            try {
-                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-            } catch (ParseException e) {
-                throw new ServerException(e.getMessage());
-            }
-        }
+        final BooleanQuery luceneQuery = createLuceneQuery(query);
         IndexSearcher luceneSearcher = null;
         try {
             searcherManager.maybeRefresh();
@@ -172,7 +182,7 @@ public abstract class LuceneSearcher implements SearcherWithMetadata<String> {
             // setting start time
             long startTime = System.currentTimeMillis();
             // conducting search
-            final TopDocs topDocs = luceneSearcher.search(luceneQuery, resultLimit);
+            final TopDocs topDocs = luceneSearcher.search(luceneQuery, resultLimit, HITS_SORT);
             // setting end time
             long endTime = System.currentTimeMillis();
             // calculating elapsed time for search operation
@@ -197,6 +207,218 @@ public abstract class LuceneSearcher implements SearcherWithMetadata<String> {
         }
     }
 
+    /**
+     * Collects only the best matches which are needed for requested page instead of all matched items. Next page may be requested with
+     * cursor, see {@link SearchHits#getNextCursor()}, in this case Lucene doesn't need to collect items of previous pages. Cursor contains
+     * relevance and path of the last item of page, unlike to internal Lucene id of document path isn't changed when index is updated.
+     * Snippets are read from content of found files, so only files of requested page are read.
+     */
+    @Override
+    public SearchHits searchHits(QueryExpression query) throws BadRequestException, ServerException {
+        final int maxItems = query.getMaxItems();
+        final int skipCount = query.getSkipCount();
+        if (skipCount < 0) {
+            throw new ServerException(String.format("Query parameter 'skipCount' =%d should not be negative.", skipCount));
+        }
+        final BooleanQuery luceneQuery = createLuceneQuery(query);
+        final FieldDoc after = parseCursor(query.getAfter());
+        final int pageSize = maxItems == -1 ? RESULT_LIMIT : Math.min(maxItems, RESULT_LIMIT);
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            if (pageSize == 0) {
+                final TotalHitCountCollector counter = new TotalHitCountCollector();
+                luceneSearcher.search(luceneQuery, counter);
+                return new SearchHits(Collections.<SearchHit>emptyList(), counter.getTotalHits(), null);
+            }
+            final TopDocs topDocs;
+            final ScoreDoc[] page;
+            if (after != null) {
+                topDocs = luceneSearcher.searchAfter(after, luceneQuery, pageSize, HITS_SORT, true, false);
+                page = topDocs.scoreDocs;
+            } else {
+                topDocs = luceneSearcher.search(luceneQuery, skipCount + pageSize, HITS_SORT, true, false);
+                page = skipCount < topDocs.scoreDocs.length
+                       ? Arrays.copyOfRange(topDocs.scoreDocs, skipCount, topDocs.scoreDocs.length) : new ScoreDoc[0];
+            }
+            final List<String> words = query.getText() == null || !query.isSnippets()
+                                       ? Collections.<String>emptyList() : getQueryWords(query.getText());
+            final List<SearchHit> hits = new ArrayList<>(page.length);
+            for (ScoreDoc scoreDoc : page) {
+                final String path = luceneSearcher.doc(scoreDoc.doc).get("path");
+                hits.add(new SearchHit(path, scoreDoc.score, getSnippets(path, words)));
+            }
+            final String nextCursor = page.length == pageSize && (after != null || skipCount + pageSize < topDocs.totalHits)
+                                      ? formatCursor(hits.get(hits.size() - 1)) : null;
+            return new SearchHits(hits, topDocs.totalHits, nextCursor);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+    }
+
+    private static String formatCursor(SearchHit hit) {
+        return Integer.toHexString(Float.floatToIntBits(hit.getScore())) + '_' + hit.getPath();
+    }
+
+    private static FieldDoc parseCursor(String cursor) throws BadRequestException {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        final int separator = cursor.indexOf('_');
+        try {
+            if (separator > 0 && separator < cursor.length() - 1) {
+                final float score = Float.intBitsToFloat(Integer.parseUnsignedInt(cursor.substring(0, separator), 16));
+                final BytesRef path = new BytesRef(cursor.substring(separator + 1));
+                // Document id doesn't matter, path is unique, so only hits which are sorted after cursor are collected.
+                return new FieldDoc(Integer.MAX_VALUE, score, new Object[]{score, path});
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new BadRequestException(String.format("Invalid search cursor '%s'.", cursor));
+    }
+
+    /**
+     * Gets words of text query which should be highlighted in snippets. Query syntax is handled roughly, e.g. operators are skipped, words
+     * with wildcards are kept but regular expressions are ignored.
+     */
+    private static List<String> getQueryWords(String text) {
+        final List<String> words = new ArrayList<>();
+        for (String token : text.trim().split("\\s+")) {
+            if (token.isEmpty() || QUERY_OPERATORS.contains(token) || token.startsWith("/")) {
+                continue;
+            }
+            final int fieldSeparator = token.indexOf(':');
+            if (fieldSeparator > 0 && token.charAt(fieldSeparator - 1) != '\\') {
+                token = token.substring(fieldSeparator + 1);
+            }
+            final String word = QUERY_WORD_CLEANER.matcher(token).replaceAll("").toLowerCase(Locale.ENGLISH);
+            if (!word.isEmpty() && !"*".equals(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static boolean matches(String term, String word) {
+        if (word.indexOf('*') < 0 && word.indexOf('?') < 0) {
+            return term.equals(word);
+        }
+        final StringBuilder regex = new StringBuilder();
+        for (String part : word.split("(?=[*?])|(?<=[*?])")) {
+            if ("*".equals(part)) {
+                regex.append(".*");
+            } else if ("?".equals(part)) {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(part));
+            }
+        }
+        return term.matches(regex.toString());
+    }
+
+    /** Reads lines of file which contain words of text query. Returns empty list if file is not available. */
+    private List<SearchHit.Snippet> getSnippets(String path, List<String> words) {
+        final MountPoint myMountPoint = mountPoint;
+        if (words.isEmpty() || myMountPoint == null) {
+            return Collections.emptyList();
+        }
+        final List<SearchHit.Snippet> snippets = new ArrayList<>(MAX_SNIPPETS);
+        final Analyzer analyzer = makeAnalyzer();
+        try {
+            final VirtualFile file = myMountPoint.getVirtualFile(path);
+            if (!file.isFile() || !filter.accept(file)) {
+                return Collections.emptyList();
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getContent().getStream(), StandardCharsets.UTF_8))) {
+                String line;
+                int lineNumber = 0;
+                while (snippets.size() < MAX_SNIPPETS && lineNumber < MAX_SNIPPET_LINES && (line = reader.readLine()) != null) {
+                    lineNumber++;
+                    final SearchHit.Snippet snippet = findSnippet(analyzer, lineNumber, line, words);
+                    if (snippet != null) {
+                        snippets.add(snippet);
+                    }
+                }
+            }
+        } catch (NotFoundException | ForbiddenException | ServerException | IOException e) {
+            // File may be removed or changed after it was indexed.
+            LOG.debug(e.getMessage(), e);
+        } finally {
+            analyzer.close();
+        }
+        return snippets;
+    }
+
+    private SearchHit.Snippet findSnippet(Analyzer analyzer, int lineNumber, String line, List<String> words) throws IOException {
+        int start = -1;
+        int end = -1;
+        try (TokenStream tokens = analyzer.tokenStream("text", line)) {
+            final CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            final OffsetAttribute offset = tokens.addAttribute(OffsetAttribute.class);
+            tokens.reset();
+            while (start < 0 && tokens.incrementToken()) {
+                final String termValue = term.toString();
+                for (String word : words) {
+                    if (matches(termValue, word)) {
+                        start = offset.startOffset();
+                        end = offset.endOffset();
+                        break;
+                    }
+                }
+            }
+            tokens.end();
+        }
+        if (start < 0) {
+            return null;
+        }
+        if (line.length() <= MAX_SNIPPET_LENGTH) {
+            return new SearchHit.Snippet(lineNumber, line, start, end);
+        }
+        final int from = Math.max(0, Math.min(start - MAX_SNIPPET_LENGTH / 4, line.length() - MAX_SNIPPET_LENGTH));
+        final int to = Math.min(line.length(), from + MAX_SNIPPET_LENGTH);
+        return new SearchHit.Snippet(lineNumber, line.substring(from, to), start - from, Math.min(end, to) - from);
+    }
+
+    private BooleanQuery createLuceneQuery(QueryExpression query) throws ServerException {
+        final BooleanQuery luceneQuery = new BooleanQuery();
+        final String name = query.getName();
+        final String path = query.getPath();
+        final String mediaType = query.getMediaType();
+        final String text = query.getText();
+        final int maxItems = query.getMaxItems();
+        
+        if (maxItems < -1) {
+            throw new ServerException(String.format("Query parameter 'maxItems' =%d should be a natural number or have value of -1 to indicate maximum result count.",
+                maxItems));
+        }
+
+        if (path != null) {
+            luceneQuery.add(new PrefixQuery(new Term("path", path)), BooleanClause.Occur.MUST);
+        }
+        if (name != null) {
+            luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
+        }
+        if (mediaType != null) {
+            luceneQuery.add(new TermQuery(new Term("mediatype", mediaType)), BooleanClause.Occur.MUST);
+        }
+        if (text != null) {
+            QueryParser qParser = new QueryParser("text", makeAnalyzer());
+            try {
+                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
+            } catch (ParseException e) {
+                throw new ServerException(e.getMessage());
+            }
+        }
+        return luceneQuery;
+    }
+
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
         doAdd(virtualFile);
@@ -290,6 +512,7 @@ public abstract class LuceneSearcher implements SearcherWithMetadata<String> {
     protected Document createDocument(VirtualFile virtualFile, Reader inReader) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath(), Field.Store.YES));
+        doc.add(new SortedDocValuesField("path", new BytesRef(virtualFile.getPath())));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
         doc.add(new StringField("mediatype", getMediaType(virtualFile), Field.Store.YES));
         if (inReader != null) {
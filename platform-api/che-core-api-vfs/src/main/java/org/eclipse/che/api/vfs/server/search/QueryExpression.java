@@ -17,6 +17,9 @@ public class QueryExpression {
     private String mediaType;
     private String text;
     private int maxItems = -1;
+    private int    skipCount;
+    private String after;
+    private boolean snippets = true;
 
     public String getPath() {
         return path;
@@ -73,4 +76,34 @@ public class QueryExpression {
         this.maxItems = maxItems;
         return this;
     }
+
+    public int getSkipCount() {
+        return skipCount;
+    }
+
+    /** Sets number of the best matches to skip. Ignored if cursor is set with {@link #setAfter(String)}. */
+    public QueryExpression setSkipCount(int skipCount) {
+        this.skipCount = skipCount;
+        return this;
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    /** Sets cursor of previous page, see {@link SearchHits#getNextCursor()}. */
+    public QueryExpression setAfter(String after) {
+        this.after = after;
+        return this;
+    }
+
+    public boolean isSnippets() {
+        return snippets;
+    }
+
+    /** Sets whether lines of found files which match text query should be read, see {@link SearchHit#getSnippets()}. Enabled by default. */
+    public QueryExpression setSnippets(boolean snippets) {
+        this.snippets = snippets;
+        return this;
+    }
 }
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.server.search;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single item found by {@link Searcher#searchHits(QueryExpression)}.
+ */
+public class SearchHit {
+    private final String        path;
+    private final float         score;
+    private final List<Snippet> snippets;
+
+    public SearchHit(String path, float score, List<Snippet> snippets) {
+        this.path = path;
+        this.score = score;
+        this.snippets = snippets == null ? Collections.<Snippet>emptyList() : Collections.unmodifiableList(snippets);
+    }
+
+    /** Path of found item. */
+    public String getPath() {
+        return path;
+    }
+
+    /** Relevance of item, greater value means better match. */
+    public float getScore() {
+        return score;
+    }
+
+    /** Lines of file which contain words from text query. Empty list if query doesn't contain text or lines are not available. */
+    public List<Snippet> getSnippets() {
+        return snippets;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{path='" + path + "', score=" + score + ", snippets=" + snippets + '}';
+    }
+
+    /** Line of file with highlighted word. */
+    public static class Snippet {
+        private final int    lineNumber;
+        private final String line;
+        private final int    start;
+        private final int    end;
+
+        /**
+         * @param lineNumber
+         *         number of line, starting from 1
+         * @param line
+         *         text of line, may be truncated if line is too long
+         * @param start
+         *         start offset of highlighted word in {@code line}
+         * @param end
+         *         end offset (exclusive) of highlighted word in {@code line}
+         */
+        public Snippet(int lineNumber, String line, int start, int end) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.start = start;
+            this.end = end;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getLine() {
+            return line;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return "Snippet{lineNumber=" + lineNumber + ", line='" + line + "', start=" + start + ", end=" + end + '}';
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.server.search;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page of items found by {@link Searcher#searchHits(QueryExpression)}.
+ */
+public class SearchHits {
+    private final List<SearchHit> hits;
+    private final int             totalHits;
+    private final String          nextCursor;
+
+    public SearchHits(List<SearchHit> hits, int totalHits, String nextCursor) {
+        this.hits = Collections.unmodifiableList(hits);
+        this.totalHits = totalHits;
+        this.nextCursor = nextCursor;
+    }
+
+    /** Found items, the best matches go first. */
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+
+    /** Total number of items which match query, not only items on this page. */
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * Cursor which should be passed to {@link QueryExpression#setAfter(String)} to get next page. {@code null} if there is no more items.
+     * Cursor doesn't guarantee exact continuation if index is changed between requests.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
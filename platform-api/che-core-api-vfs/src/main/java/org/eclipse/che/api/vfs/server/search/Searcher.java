@@ -10,9 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.server.search;
 
+import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.server.VirtualFile;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface Searcher {
     /**
      * Return paths of matched items on virtual filesystem.
@@ -25,6 +29,37 @@ public interface Searcher {
      */
     String[] search(QueryExpression query) throws ServerException;
 
+    /**
+     * Returns page of matched items. Unlike to {@link #search(QueryExpression)} only items of requested page are collected, see
+     * {@link QueryExpression#getMaxItems()}, {@link QueryExpression#getSkipCount()} and {@link QueryExpression#getAfter()}. Default
+     * implementation gets paths up to the end of requested page with {@link #search(QueryExpression)}, it doesn't support cursors, doesn't
+     * provide scores and snippets and total number of hits may be limited by the end of page.
+     *
+     * @param query
+     *         query expression
+     * @return page of matched items
+     * @throws BadRequestException
+     *         if cursor of previous page is invalid
+     * @throws ServerException
+     *         if an error occurs
+     */
+    default SearchHits searchHits(QueryExpression query) throws BadRequestException, ServerException {
+        final int skipCount = Math.max(query.getSkipCount(), 0);
+        final int maxItems = query.getMaxItems();
+        final String[] paths = search(new QueryExpression().setPath(query.getPath())
+                                                           .setName(query.getName())
+                                                           .setMediaType(query.getMediaType())
+                                                           .setText(query.getText())
+                                                           .setMaxItems(maxItems < 0 ? -1 : skipCount + maxItems));
+        final int from = Math.min(skipCount, paths.length);
+        final int to = maxItems < 0 ? paths.length : Math.min(paths.length, from + maxItems);
+        final List<SearchHit> hits = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            hits.add(new SearchHit(paths[i], 0, null));
+        }
+        return new SearchHits(hits, paths.length, null);
+    }
+
     /**
      * Add VirtualFile to index.
      *
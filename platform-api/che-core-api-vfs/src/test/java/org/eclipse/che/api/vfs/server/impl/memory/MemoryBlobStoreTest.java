@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.server.impl.memory;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.vfs.server.VirtualFile;
+import org.eclipse.che.api.vfs.server.VirtualFileFilter;
+import org.eclipse.che.api.vfs.server.VirtualFileSystemImpl;
+import org.eclipse.che.api.vfs.server.VirtualFileSystemUserContext;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.user.User;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MemoryBlobStoreTest extends MemoryFileSystemTest {
+    private MemoryBlobStore  blobStore;
+    private MemoryMountPoint memoryMountPoint;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        blobStore = new MemoryBlobStore(-1);
+        memoryMountPoint = newMountPoint("blob-ws", blobStore);
+    }
+
+    public void testFilesWithTheSameContentShareBlob() throws Exception {
+        final VirtualFile root = memoryMountPoint.getRoot();
+        final VirtualFile file1 = root.createFile("file1", MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        final VirtualFile file2 = root.createFile("file2", MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        assertEquals(1, blobStore.size());
+        assertEquals(DEFAULT_CONTENT, readContent(file1));
+        assertEquals(DEFAULT_CONTENT, readContent(file2));
+
+        file1.delete(null);
+        assertEquals(1, blobStore.size());
+        assertEquals(DEFAULT_CONTENT, readContent(file2));
+        file2.delete(null);
+        assertEquals(0, blobStore.size());
+    }
+
+    public void testCopySharesContent() throws Exception {
+        final VirtualFile root = memoryMountPoint.getRoot();
+        final VirtualFile folder = root.createFolder("folder");
+        folder.createFile("file", MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        final VirtualFile copy = folder.copyTo(root.createFolder("destination"));
+        assertEquals(1, blobStore.size());
+        assertEquals(DEFAULT_CONTENT, readContent(copy.getChild("file")));
+
+        folder.delete(null);
+        assertEquals(1, blobStore.size());
+        copy.delete(null);
+        assertEquals(0, blobStore.size());
+    }
+
+    public void testUpdateContentReleasesPreviousContent() throws Exception {
+        final VirtualFile file = memoryMountPoint.getRoot()
+                                                 .createFile("file", MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        file.updateContent(new ByteArrayInputStream("updated".getBytes()), null);
+        assertEquals(1, blobStore.size());
+        assertEquals("updated", readContent(file));
+        assertEquals(7, file.getLength());
+    }
+
+    public void testCloneToOtherMountPointSharesContent() throws Exception {
+        final VirtualFile folder = memoryMountPoint.getRoot().createFolder("folder");
+        folder.createFile("file1", MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        folder.createFile("file2", MediaType.TEXT_PLAIN, new ByteArrayInputStream("other".getBytes()));
+        final MemoryMountPoint other = newMountPoint("other-blob-ws", blobStore);
+        final VirtualFile clone = VirtualFileSystemImpl.clone(folder, other.getRoot(), null);
+        assertEquals(2, blobStore.size());
+        assertEquals(DEFAULT_CONTENT, readContent(clone.getChild("file1")));
+        assertEquals("other", readContent(clone.getChild("file2")));
+
+        memoryMountPoint.reset();
+        assertEquals(2, blobStore.size());
+        other.reset();
+        assertEquals(0, blobStore.size());
+    }
+
+    public void testCreateFileWithExistedNameReleasesContent() throws Exception {
+        final VirtualFile root = memoryMountPoint.getRoot();
+        final VirtualFile file = root.createFile("file", MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        try {
+            root.createFile("file", MediaType.TEXT_PLAIN, new ByteArrayInputStream("other".getBytes()));
+            fail("ConflictException expected. ");
+        } catch (ConflictException e) {
+            // expected
+        }
+        assertEquals(1, blobStore.size());
+        assertEquals(DEFAULT_CONTENT, readContent(file));
+
+        file.delete(null);
+        assertEquals(0, blobStore.size());
+    }
+
+    public void testOffHeapContent() throws Exception {
+        final MemoryMountPoint offHeap = newMountPoint("off-heap-ws", new MemoryBlobStore(0));
+        final VirtualFile file = offHeap.getRoot()
+                                        .createFile("file", MediaType.TEXT_PLAIN, new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
+        assertEquals(DEFAULT_CONTENT, readContent(file));
+        assertEquals(DEFAULT_CONTENT, readContent(file));
+        assertEquals(DEFAULT_CONTENT_BYTES.length, file.getLength());
+    }
+
+    public void testConcurrentCreate() throws Exception {
+        final VirtualFile folder = memoryMountPoint.getRoot().createFolder("folder");
+        final User user = EnvironmentContext.getCurrent().getUser();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<Void>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        EnvironmentContext.getCurrent().setUser(user);
+                        for (int i = 0; i < 100; i++) {
+                            folder.createFile("file_" + thread + '_' + i, MediaType.TEXT_PLAIN,
+                                              new ByteArrayInputStream(("content_" + i).getBytes()));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(800, folder.getChildren(VirtualFileFilter.ALL).size());
+        assertEquals(100, blobStore.size());
+    }
+
+    private MemoryMountPoint newMountPoint(String workspaceId, MemoryBlobStore blobStore) {
+        return new MemoryMountPoint(workspaceId, new EventService(), null, VirtualFileSystemUserContext.newInstance(), blobStore);
+    }
+
+    private String readContent(VirtualFile file) throws Exception {
+        try (InputStream content = file.getContent().getStream()) {
+            return new String(ByteStreams.toByteArray(content));
+        }
+    }
+}
@@ -29,8 +29,12 @@ import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
+import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.vfs.server.VirtualFile;
 import org.eclipse.che.api.vfs.server.search.LuceneSearcher;
+import org.eclipse.che.api.vfs.server.search.QueryExpression;
+import org.eclipse.che.api.vfs.server.search.SearchHit;
+import org.eclipse.che.api.vfs.server.search.SearchHits;
 import org.eclipse.che.api.vfs.shared.dto.Item;
 import org.eclipse.che.api.vfs.shared.dto.ItemList;
 import org.eclipse.che.commons.lang.Pair;
@@ -175,6 +179,54 @@ public class SearcherTest extends MemoryFileSystemTest {
         assertEquals(false, ((ItemList)response.getEntity()).isHasMoreItems());
     }
 
+    public void testSearchHitsPageMatchesFullSearch() throws Exception {
+        VirtualFile folder = searchTestFolder.createFolder("SearcherTest_Many");
+        for (int i = 0; i < 500; i++) {
+            folder.createFile("file" + i, MediaType.TEXT_PLAIN, new ByteArrayInputStream(("line\nsome common word " + i).getBytes()));
+        }
+        QueryExpression query = new QueryExpression().setPath(folder.getPath()).setText("common");
+        String[] all = searcher.search(query);
+        assertEquals(500, all.length);
+
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            SearchHits hits = searcher.searchHits(new QueryExpression().setPath(folder.getPath()).setText("common").setMaxItems(20)
+                                                                       .setAfter(cursor));
+            assertEquals(500, hits.getTotalHits());
+            for (SearchHit hit : hits.getHits()) {
+                paged.add(hit.getPath());
+                assertEquals(1, hit.getSnippets().size());
+                SearchHit.Snippet snippet = hit.getSnippets().get(0);
+                assertEquals(2, snippet.getLineNumber());
+                assertEquals("common", snippet.getLine().substring(snippet.getStart(), snippet.getEnd()));
+            }
+            cursor = hits.getNextCursor();
+        } while (cursor != null);
+        assertEquals(Arrays.asList(all), paged);
+
+        SearchHits skipped = searcher.searchHits(new QueryExpression().setPath(folder.getPath()).setText("common").setMaxItems(20)
+                                                                      .setSkipCount(40));
+        assertEquals(20, skipped.getHits().size());
+        assertEquals(all[40], skipped.getHits().get(0).getPath());
+    }
+
+    public void testSearchHitsInvalidCursor() throws Exception {
+        try {
+            searcher.searchHits(new QueryExpression().setText("to").setMaxItems(1).setAfter("cursor"));
+            fail("BadRequestException is expected");
+        } catch (BadRequestException expected) {
+        }
+    }
+
+    public void testSearchHitsWithoutSnippets() throws Exception {
+        SearchHits hits = searcher.searchHits(new QueryExpression().setText("to").setSnippets(false));
+        assertFalse(hits.getHits().isEmpty());
+        for (SearchHit hit : hits.getHits()) {
+            assertTrue(hit.getSnippets().isEmpty());
+        }
+    }
+
     public void testDelete() throws Exception {
         searcherManager.maybeRefresh();
         IndexSearcher luceneSearcher = searcherManager.acquire();
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Publish when workspace is updated or removed.
+ */
+@EventOrigin("workspace")
+public class WorkspaceModifiedEvent {
+    private final String workspaceId;
+
+    public WorkspaceModifiedEvent(String workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceModifiedEvent{" +
+               "workspaceId='" + workspaceId + '\'' +
+               '}';
+    }
+}
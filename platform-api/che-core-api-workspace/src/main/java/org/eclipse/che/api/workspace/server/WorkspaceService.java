@@ -24,6 +24,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.Description;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
@@ -67,10 +68,13 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriBuilder;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static java.lang.Boolean.parseBoolean;
 import static java.util.Arrays.asList;
@@ -99,6 +103,7 @@ public class WorkspaceService extends Service {
     private final UserProfileDao profileDao;
     private final PreferenceDao  preferenceDao;
     private final AccountDao     accountDao;
+    private final EventService   eventService;
 
     @Inject
     public WorkspaceService(WorkspaceDao workspaceDao,
@@ -106,7 +111,8 @@ public class WorkspaceService extends Service {
                             MemberDao memberDao,
                             AccountDao accountDao,
                             UserProfileDao profileDao,
-                            PreferenceDao preferenceDao
+                            PreferenceDao preferenceDao,
+                            EventService eventService
                            ) {
 
         this.workspaceDao = workspaceDao;
@@ -115,6 +121,7 @@ public class WorkspaceService extends Service {
         this.accountDao = accountDao;
         this.profileDao = profileDao;
         this.preferenceDao = preferenceDao;
+        this.eventService = eventService;
     }
 
     /**
@@ -434,6 +441,7 @@ public class WorkspaceService extends Service {
             workspace.setName(newName);
         }
         workspaceDao.update(workspace);
+        eventService.publish(new WorkspaceModifiedEvent(workspace.getId()));
 
         LOG.info("EVENT#workspace-updated# WS#{}# WS-ID#{}#", workspace.getName(), workspace.getId());
         return toDescriptor(workspace, context);
@@ -502,17 +510,7 @@ public class WorkspaceService extends Service {
     @Produces(APPLICATION_JSON)
     public List<MemberDescriptor> getMembershipsOfCurrentUser(@Context SecurityContext context) throws NotFoundException,
                                                                                                        ServerException {
-        final List<Member> members = memberDao.getUserRelationships(currentUser().getId());
-        final List<MemberDescriptor> memberships = new ArrayList<>(members.size());
-        for (Member member : members) {
-            try {
-                final Workspace workspace = workspaceDao.getById(member.getWorkspaceId());
-                memberships.add(toDescriptor(member, workspace, context));
-            } catch (NotFoundException nfEx) {
-                LOG.error("Workspace {} doesn't exist but user {} refers to it. ", member.getWorkspaceId(), currentUser().getId());
-            }
-        }
-        return memberships;
+        return toMemberships(currentUser().getId(), context);
     }
 
     /**
@@ -552,17 +550,7 @@ public class WorkspaceService extends Service {
                                                                                                         BadRequestException,
                                                                                                         ServerException {
         requiredNotNull(userId, "User ID");
-        final List<Member> members = memberDao.getUserRelationships(userId);
-        final List<MemberDescriptor> memberships = new ArrayList<>(members.size());
-        for (Member member : members) {
-            try {
-                final Workspace workspace = workspaceDao.getById(member.getWorkspaceId());
-                memberships.add(toDescriptor(member, workspace, context));
-            } catch (NotFoundException nfEx) {
-                LOG.error("Workspace {} doesn't exist but user {} refers to it. ", member.getWorkspaceId(), userId);
-            }
-        }
-        return memberships;
+        return toMemberships(userId, context);
     }
 
     /**
@@ -681,6 +669,7 @@ public class WorkspaceService extends Service {
         final Workspace workspace = workspaceDao.getById(wsId);
         if (null != workspace.getAttributes().remove(attributeName)) {
             workspaceDao.update(workspace);
+            eventService.publish(new WorkspaceModifiedEvent(wsId));
         }
     }
 
@@ -825,6 +814,32 @@ public class WorkspaceService extends Service {
                        @PathParam("id")
                        String wsId) throws NotFoundException, ServerException, ConflictException {
         workspaceDao.remove(wsId);
+        eventService.publish(new WorkspaceModifiedEvent(wsId));
+    }
+
+    /**
+     * Gets all memberships of user, workspaces of memberships are fetched with single {@link WorkspaceDao#getByIds(Collection)} call.
+     */
+    private List<MemberDescriptor> toMemberships(String userId, SecurityContext context) throws ServerException {
+        final List<Member> members = memberDao.getUserRelationships(userId);
+        final Set<String> workspaceIds = new HashSet<>(members.size());
+        for (Member member : members) {
+            workspaceIds.add(member.getWorkspaceId());
+        }
+        final Map<String, Workspace> workspaces = new HashMap<>(workspaceIds.size());
+        for (Workspace workspace : workspaceDao.getByIds(workspaceIds)) {
+            workspaces.put(workspace.getId(), workspace);
+        }
+        final List<MemberDescriptor> memberships = new ArrayList<>(members.size());
+        for (Member member : members) {
+            final Workspace workspace = workspaces.get(member.getWorkspaceId());
+            if (workspace == null) {
+                LOG.error("Workspace {} doesn't exist but user {} refers to it. ", member.getWorkspaceId(), userId);
+            } else {
+                memberships.add(toDescriptor(member, workspace, context));
+            }
+        }
+        return memberships;
     }
 
     private void createTemporaryWorkspace(Workspace workspace) throws ConflictException, ServerException {
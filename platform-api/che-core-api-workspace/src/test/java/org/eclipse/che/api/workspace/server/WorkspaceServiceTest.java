@@ -16,6 +16,7 @@ import org.eclipse.che.api.account.server.dao.Account;
 import org.eclipse.che.api.account.server.dao.AccountDao;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
@@ -75,6 +76,7 @@ import static javax.ws.rs.core.Response.Status.NO_CONTENT;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.eclipse.che.api.user.server.Constants.LINK_REL_GET_USER_BY_ID;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -108,6 +110,8 @@ public class WorkspaceServiceTest {
     @Mock
     PreferenceDao      preferenceDao;
     @Mock
+    EventService       eventService;
+    @Mock
     SecurityContext    securityContext;
     @Mock
     EnvironmentContext environmentContext;
@@ -128,6 +132,7 @@ public class WorkspaceServiceTest {
         dependencies.addComponent(UserProfileDao.class, profileDao);
         dependencies.addComponent(AccountDao.class, accountDao);
         dependencies.addComponent(PreferenceDao.class, preferenceDao);
+        dependencies.addComponent(EventService.class, eventService);
         final ApplicationProviderBinder binder = new ApplicationProviderBinder();
         binder.addExceptionMapper(ApiExceptionMapper.class);
         final URI uri = new URI(BASE_URI);
@@ -456,6 +461,34 @@ public class WorkspaceServiceTest {
         assertTrue(testWorkspace.getAttributes().isEmpty());
     }
 
+    @Test
+    public void shouldFetchWorkspacesOfAllMembershipsAtOnce() throws Exception {
+        final List<Member> members = new ArrayList<>(500);
+        final List<Workspace> workspaces = new ArrayList<>(500);
+        for (int i = 0; i < 500; i++) {
+            final String wsId = "workspace" + i;
+            members.add(new Member().withUserId(testUser.getId())
+                                    .withWorkspaceId(wsId)
+                                    .withRoles(singletonList("workspace/developer")));
+            workspaces.add(new Workspace().withId(wsId)
+                                          .withName("ws" + i)
+                                          .withAccountId("test_account_id"));
+        }
+        // membership that refers to removed workspace
+        members.add(new Member().withUserId(testUser.getId())
+                                .withWorkspaceId("removed_workspace")
+                                .withRoles(singletonList("workspace/developer")));
+        when(memberDao.getUserRelationships(testUser.getId())).thenReturn(members);
+        when(workspaceDao.getByIds(anyCollectionOf(String.class))).thenReturn(workspaces);
+        prepareRole("user");
+
+        final List<MemberDescriptor> descriptors = doGet(SERVICE_PATH + "/all");
+
+        assertEquals(descriptors.size(), 500);
+        verify(workspaceDao).getByIds(anyCollectionOf(String.class));
+        verify(workspaceDao, never()).getById(anyString());
+    }
+
     @Test
     public void shouldBeAbleToUpdateWorkspace() throws Exception {
         final Workspace testWorkspace = createWorkspace().withAttributes(new HashMap<>(singletonMap("test", "test")));
@@ -470,6 +503,7 @@ public class WorkspaceServiceTest {
         assertEquals(descriptor.getAttributes().size(), 1);
         assertEquals(descriptor.getAttributes().get("test"), "other_value");
         verify(workspaceDao).update(testWorkspace);
+        verify(eventService).publish(any(WorkspaceModifiedEvent.class));
     }
 
     @Test